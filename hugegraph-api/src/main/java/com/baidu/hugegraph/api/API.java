@@ -55,6 +55,8 @@ public class API {
                                APPLICATION_JSON + ";charset=" + CHARSET;
     public static final String JSON = MediaType.APPLICATION_JSON_TYPE
                                                .getSubtype();
+    public static final String APPLICATION_BINARY_JSON =
+                               "application/x-hugegraph-binary";
 
     public static final String ACTION_APPEND = "append";
     public static final String ACTION_ELIMINATE = "eliminate";
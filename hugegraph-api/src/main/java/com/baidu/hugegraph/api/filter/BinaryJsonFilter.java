@@ -0,0 +1,154 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.api.filter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import jakarta.annotation.Priority;
+import jakarta.inject.Singleton;
+import jakarta.ws.rs.Priorities;
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.container.PreMatching;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.ext.Provider;
+import jakarta.ws.rs.ext.ReaderInterceptor;
+import jakarta.ws.rs.ext.ReaderInterceptorContext;
+import jakarta.ws.rs.ext.WriterInterceptor;
+import jakarta.ws.rs.ext.WriterInterceptorContext;
+
+import com.baidu.hugegraph.api.API;
+import com.baidu.hugegraph.serializer.BinaryJsonCodec;
+import com.baidu.hugegraph.serializer.BinaryJsonCodec.Encoder;
+
+/**
+ * Negotiate the binary json format of BinaryJsonCodec, the resources always
+ * consume and produce json, so the request with binary body is decoded to
+ * json before reading, and the json response is encoded to binary after
+ * writing if the client accepts the binary format.
+ */
+@Provider
+@Singleton
+@PreMatching
+/*
+ * NOTE: decode after the body is decompressed by DecompressInterceptor,
+ * and encode before the body is compressed by CompressInterceptor
+ */
+@Priority(Priorities.USER + 100)
+public class BinaryJsonFilter implements ContainerRequestFilter,
+                                         ContainerResponseFilter,
+                                         ReaderInterceptor,
+                                         WriterInterceptor {
+
+    public static final MediaType BINARY_JSON_TYPE =
+                        MediaType.valueOf(API.APPLICATION_BINARY_JSON);
+
+    private static final String DECODE_REQUEST = "binary-json-request";
+    private static final String ENCODE_RESPONSE = "binary-json-response";
+
+    // Keep the other types if the resource doesn't produce json
+    private static final String ACCEPT_JSON = MediaType.APPLICATION_JSON +
+                                              ", */*;q=0.8";
+
+    @Override
+    public void filter(ContainerRequestContext context) {
+        String type = context.getHeaderString(HttpHeaders.CONTENT_TYPE);
+        if (type != null && isBinaryJson(type)) {
+            context.getHeaders().putSingle(HttpHeaders.CONTENT_TYPE,
+                                           MediaType.APPLICATION_JSON);
+            context.setProperty(DECODE_REQUEST, true);
+        }
+
+        String accept = context.getHeaderString(HttpHeaders.ACCEPT);
+        if (accept == null) {
+            return;
+        }
+        for (String acceptType : accept.split(",")) {
+            if (isBinaryJson(acceptType)) {
+                context.getHeaders().putSingle(HttpHeaders.ACCEPT,
+                                               ACCEPT_JSON);
+                context.setProperty(ENCODE_RESPONSE, true);
+                break;
+            }
+        }
+    }
+
+    @Override
+    public void filter(ContainerRequestContext requestContext,
+                       ContainerResponseContext responseContext) {
+        if (requestContext.getProperty(ENCODE_RESPONSE) == null ||
+            !responseContext.hasEntity()) {
+            return;
+        }
+        MediaType type = responseContext.getMediaType();
+        if (type == null ||
+            !MediaType.APPLICATION_JSON_TYPE.isCompatible(type)) {
+            requestContext.removeProperty(ENCODE_RESPONSE);
+        }
+    }
+
+    @Override
+    public Object aroundReadFrom(ReaderInterceptorContext context)
+                                 throws IOException, WebApplicationException {
+        if (context.getProperty(DECODE_REQUEST) != null) {
+            // Decode while reading, the streaming body like ingest is kept
+            InputStream input = context.getInputStream();
+            context.setInputStream(BinaryJsonCodec.decoder(input));
+        }
+        return context.proceed();
+    }
+
+    @Override
+    public void aroundWriteTo(WriterInterceptorContext context)
+                              throws IOException, WebApplicationException {
+        if (context.getProperty(ENCODE_RESPONSE) == null) {
+            context.proceed();
+            return;
+        }
+        // The entity is still written by the json writer
+        MediaType type = context.getMediaType();
+        context.getHeaders().putSingle(HttpHeaders.CONTENT_TYPE,
+                                       BINARY_JSON_TYPE);
+        context.setMediaType(type);
+
+        // Encode while writing, the whole json body is not buffered
+        OutputStream output = context.getOutputStream();
+        Encoder encoder = BinaryJsonCodec.encoder(output);
+        context.setOutputStream(encoder);
+        context.proceed();
+        encoder.finish();
+        context.setOutputStream(output);
+    }
+
+    private static boolean isBinaryJson(String type) {
+        // Ignore the parameters like charset and q
+        int end = type.indexOf(';');
+        if (end >= 0) {
+            type = type.substring(0, end);
+        }
+        return API.APPLICATION_BINARY_JSON.equalsIgnoreCase(type.trim());
+    }
+}
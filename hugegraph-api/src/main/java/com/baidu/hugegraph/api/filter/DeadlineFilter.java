@@ -0,0 +1,128 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.api.filter;
+
+import java.util.concurrent.TimeUnit;
+
+import jakarta.inject.Singleton;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.PreMatching;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.ext.Provider;
+
+import org.glassfish.grizzly.CloseListener;
+import org.glassfish.grizzly.CloseType;
+import org.glassfish.grizzly.Closeable;
+import org.glassfish.grizzly.Connection;
+import org.glassfish.grizzly.http.server.Request;
+import org.glassfish.jersey.server.ContainerRequest;
+import org.glassfish.jersey.server.monitoring.ApplicationEvent;
+import org.glassfish.jersey.server.monitoring.ApplicationEventListener;
+import org.glassfish.jersey.server.monitoring.RequestEvent;
+import org.glassfish.jersey.server.monitoring.RequestEventListener;
+
+import com.baidu.hugegraph.config.HugeConfig;
+import com.baidu.hugegraph.config.ServerOptions;
+import com.baidu.hugegraph.util.CancelToken;
+
+/**
+ * Bind a cancel token to each request, it's cancelled when the request
+ * timeout(the option restserver.request_timeout) is passed or the client
+ * is disconnected, then the traverser threads and backend iterators of the
+ * request stop soon.
+ * The token is unbound when the request is finished, which is after the
+ * response entity is written, so that the streaming responses are also
+ * cancelled while they are being written.
+ */
+@Provider
+@Singleton
+@PreMatching
+public class DeadlineFilter implements ContainerRequestFilter,
+                                       ApplicationEventListener {
+
+    private static final String CLOSE_LISTENER = "cancel-close-listener";
+    private static final String CONNECTION = "cancel-connection";
+
+    private static final RequestEventListener UNBINDER = event -> {
+        if (event.getType() != RequestEvent.Type.FINISHED) {
+            return;
+        }
+        // The entity is written by the thread which the token is bound to
+        CancelToken.current(null);
+
+        ContainerRequest request = event.getContainerRequest();
+        Object listener = request.getProperty(CLOSE_LISTENER);
+        if (listener == null) {
+            return;
+        }
+        request.removeProperty(CLOSE_LISTENER);
+        Connection<?> connection = (Connection<?>) request.getProperty(
+                                                   CONNECTION);
+        request.removeProperty(CONNECTION);
+        connection.removeCloseListener((CloseListener<?, ?>) listener);
+    };
+
+    @Context
+    private jakarta.inject.Provider<HugeConfig> configProvider;
+
+    @Context
+    private jakarta.inject.Provider<Request> requestProvider;
+
+    @Override
+    public void filter(ContainerRequestContext context) {
+        HugeConfig config = this.configProvider.get();
+        long timeout = config.get(ServerOptions.REQUEST_TIMEOUT);
+        // Never timeout if the option is -1
+        timeout = timeout > 0L ? TimeUnit.SECONDS.toMillis(timeout) : 0L;
+        CancelToken token = new CancelToken(timeout);
+        // Override the token of the previous request served by the thread
+        CancelToken.current(token);
+
+        Connection<?> connection = this.connection();
+        if (connection != null) {
+            CloseListener<Closeable, CloseType> listener;
+            listener = (closeable, type) -> {
+                token.cancel("the client is disconnected");
+            };
+            connection.addCloseListener(listener);
+            context.setProperty(CLOSE_LISTENER, listener);
+            context.setProperty(CONNECTION, connection);
+        }
+    }
+
+    @Override
+    public void onEvent(ApplicationEvent event) {
+        // pass
+    }
+
+    @Override
+    public RequestEventListener onRequest(RequestEvent event) {
+        return UNBINDER;
+    }
+
+    private Connection<?> connection() {
+        Request request = this.requestProvider.get();
+        if (request == null || request.getContext() == null) {
+            return null;
+        }
+        return request.getContext().getConnection();
+    }
+}
@@ -50,6 +50,7 @@ import com.baidu.hugegraph.HugeException;
 import com.baidu.hugegraph.api.API;
 import com.baidu.hugegraph.config.HugeConfig;
 import com.baidu.hugegraph.config.ServerOptions;
+import com.baidu.hugegraph.exception.CancelledException;
 import com.baidu.hugegraph.exception.HugeGremlinException;
 import com.baidu.hugegraph.exception.NotFoundException;
 import com.codahale.metrics.annotation.Timed;
@@ -63,6 +64,8 @@ public class ExceptionFilter {
             Response.Status.NOT_FOUND.getStatusCode();
     private static final int INTERNAL_SERVER_ERROR =
             Response.Status.INTERNAL_SERVER_ERROR.getStatusCode();
+    private static final int REQUEST_TIMEOUT_ERROR =
+            Response.Status.REQUEST_TIMEOUT.getStatusCode();
 
     public static class TracedExceptionMapper extends API {
 
@@ -149,6 +152,20 @@ public class ExceptionFilter {
         }
     }
 
+    @Provider
+    public static class CancelledExceptionMapper
+                  extends TracedExceptionMapper
+                  implements ExceptionMapper<CancelledException> {
+
+        @Override
+        public Response toResponse(CancelledException exception) {
+            return Response.status(REQUEST_TIMEOUT_ERROR)
+                           .type(MediaType.APPLICATION_JSON)
+                           .entity(formatException(exception, this.trace()))
+                           .build();
+        }
+    }
+
     @Provider
     public static class NoSuchElementExceptionMapper
                   extends TracedExceptionMapper
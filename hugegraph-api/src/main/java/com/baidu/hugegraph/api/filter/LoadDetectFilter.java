@@ -22,7 +22,10 @@ package com.baidu.hugegraph.api.filter;
 import java.util.List;
 import java.util.Set;
 
+import jakarta.annotation.Priority;
 import jakarta.inject.Singleton;
+import jakarta.ws.rs.HttpMethod;
+import jakarta.ws.rs.Priorities;
 import jakarta.ws.rs.ServiceUnavailableException;
 import jakarta.ws.rs.container.ContainerRequestContext;
 import jakarta.ws.rs.container.ContainerRequestFilter;
@@ -33,17 +36,25 @@ import jakarta.ws.rs.ext.Provider;
 
 import com.baidu.hugegraph.config.HugeConfig;
 import com.baidu.hugegraph.config.ServerOptions;
-import com.baidu.hugegraph.define.WorkLoad;
+import com.baidu.hugegraph.server.AdmissionController;
+import com.baidu.hugegraph.server.AdmissionController.Permit;
+import com.baidu.hugegraph.server.AdmissionController.RequestClass;
 import com.baidu.hugegraph.util.Bytes;
 import com.baidu.hugegraph.util.E;
 import com.google.common.collect.ImmutableSet;
-import com.google.common.util.concurrent.RateLimiter;
 
 @Provider
 @Singleton
 @PreMatching
+/*
+ * NOTE: admit the requests before authentication, so that the overloaded
+ * server rejects them without the cost of authenticating
+ */
+@Priority(Priorities.AUTHENTICATION - 50)
 public class LoadDetectFilter implements ContainerRequestFilter {
 
+    public static final String PERMIT = "admission-permit";
+
     private static final Set<String> WHITE_API_LIST = ImmutableSet.of(
             "",
             "apis",
@@ -51,14 +62,10 @@ public class LoadDetectFilter implements ContainerRequestFilter {
             "versions"
     );
 
-    // Call gc every 30+ seconds if memory is low and request frequently
-    private static final RateLimiter GC_RATE_LIMITER =
-                         RateLimiter.create(1.0 / 30);
-
     @Context
     private jakarta.inject.Provider<HugeConfig> configProvider;
     @Context
-    private jakarta.inject.Provider<WorkLoad> loadProvider;
+    private jakarta.inject.Provider<AdmissionController> admissionProvider;
 
     @Override
     public void filter(ContainerRequestContext context) {
@@ -67,24 +74,15 @@ public class LoadDetectFilter implements ContainerRequestFilter {
         }
 
         HugeConfig config = this.configProvider.get();
-
-        int maxWorkerThreads = config.get(ServerOptions.MAX_WORKER_THREADS);
-        WorkLoad load = this.loadProvider.get();
-        // There will be a thread doesn't work, dedicated to statistics
-        if (load.incrementAndGet() >= maxWorkerThreads) {
-            throw new ServiceUnavailableException(String.format(
-                      "The server is too busy to process the request, " +
-                      "you can config %s to adjust it or try again later",
-                      ServerOptions.MAX_WORKER_THREADS.name()));
-        }
+        RequestClass clazz = requestClass(context);
 
         long minFreeMemory = config.get(ServerOptions.MIN_FREE_MEMORY);
         long allocatedMem = Runtime.getRuntime().totalMemory() -
                             Runtime.getRuntime().freeMemory();
         long presumableFreeMem = (Runtime.getRuntime().maxMemory() -
                                   allocatedMem) / Bytes.MB;
-        if (presumableFreeMem < minFreeMemory) {
-            gcIfNeeded();
+        // Keep serving the point reads, they allocate little memory
+        if (presumableFreeMem < minFreeMemory && clazz != RequestClass.READ) {
             throw new ServiceUnavailableException(String.format(
                       "The server available memory %s(MB) is below than " +
                       "threshold %s(MB) and can't process the request, " +
@@ -92,6 +90,18 @@ public class LoadDetectFilter implements ContainerRequestFilter {
                       presumableFreeMem, minFreeMemory,
                       ServerOptions.MIN_FREE_MEMORY.name()));
         }
+
+        AdmissionController admission = this.admissionProvider.get();
+        Permit permit = admission.acquire(clazz, tenant(context));
+        if (permit == null) {
+            throw new ServiceUnavailableException(String.format(
+                      "The server is too busy to process the %s request, " +
+                      "you can config %s or %s to adjust it or try again " +
+                      "later", clazz.string(),
+                      ServerOptions.MAX_WORKER_THREADS.name(),
+                      ServerOptions.ADMISSION_QUEUE_SIZE.name()));
+        }
+        context.setProperty(PERMIT, permit);
     }
 
     public static boolean isWhiteAPI(ContainerRequestContext context) {
@@ -102,9 +112,39 @@ public class LoadDetectFilter implements ContainerRequestFilter {
         return WHITE_API_LIST.contains(rootPath);
     }
 
-    private static void gcIfNeeded() {
-        if (GC_RATE_LIMITER.tryAcquire(1)) {
-            System.gc();
+    private static RequestClass requestClass(ContainerRequestContext context) {
+        List<PathSegment> segments = context.getUriInfo().getPathSegments();
+        String root = segments.get(0).getPath();
+        if (root.equals("gremlin")) {
+            return RequestClass.GREMLIN;
+        }
+        if (root.equals("graphs") && segments.size() > 2) {
+            String resource = segments.get(2).getPath();
+            if (resource.equals("traversers")) {
+                return RequestClass.TRAVERSAL;
+            } else if (resource.equals("cypher")) {
+                return RequestClass.GREMLIN;
+            }
+        }
+        String method = context.getMethod();
+        if (method.equals(HttpMethod.GET) || method.equals(HttpMethod.HEAD) ||
+            method.equals(HttpMethod.OPTIONS)) {
+            return RequestClass.READ;
+        }
+        return RequestClass.WRITE;
+    }
+
+    private static String tenant(ContainerRequestContext context) {
+        /*
+         * Take the graph as the tenant rather than the user, since the user
+         * is not authenticated yet, and a client could claim a new user for
+         * each request to get a fresh round-robin turn
+         */
+        List<PathSegment> segments = context.getUriInfo().getPathSegments();
+        if (segments.get(0).getPath().equals("graphs") &&
+            segments.size() > 1) {
+            return segments.get(1).getPath();
         }
+        return "";
     }
 }
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.api.filter;
+
+import jakarta.inject.Singleton;
+import jakarta.ws.rs.ext.Provider;
+
+import org.glassfish.jersey.server.ContainerRequest;
+import org.glassfish.jersey.server.monitoring.ApplicationEvent;
+import org.glassfish.jersey.server.monitoring.ApplicationEventListener;
+import org.glassfish.jersey.server.monitoring.RequestEvent;
+import org.glassfish.jersey.server.monitoring.RequestEventListener;
+
+import com.baidu.hugegraph.server.AdmissionController.Permit;
+
+/**
+ * Release the admission permit when the request is finished, which is after
+ * the response entity is written, so that the streaming responses are also
+ * under admission control while they are being written.
+ */
+@Provider
+@Singleton
+public class LoadReleaseListener implements ApplicationEventListener {
+
+    private static final RequestEventListener RELEASER = event -> {
+        if (event.getType() != RequestEvent.Type.FINISHED) {
+            return;
+        }
+        // The permit is absent if the request is rejected or white api
+        ContainerRequest request = event.getContainerRequest();
+        Object permit = request.getProperty(LoadDetectFilter.PERMIT);
+        if (permit == null) {
+            return;
+        }
+        request.removeProperty(LoadDetectFilter.PERMIT);
+        ((Permit) permit).release();
+    };
+
+    @Override
+    public void onEvent(ApplicationEvent event) {
+        // pass
+    }
+
+    @Override
+    public RequestEventListener onRequest(RequestEvent event) {
+        return RELEASER;
+    }
+}
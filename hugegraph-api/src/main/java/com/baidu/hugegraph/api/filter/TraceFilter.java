@@ -0,0 +1,95 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.api.filter;
+
+import jakarta.annotation.Priority;
+import jakarta.inject.Singleton;
+import jakarta.ws.rs.Priorities;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.container.PreMatching;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.ext.Provider;
+
+import com.baidu.hugegraph.server.TraceRecorder;
+import com.baidu.hugegraph.util.Trace;
+
+/**
+ * Trace the sampled requests from the earliest request filter to the latest
+ * response filter, the spans of the transactions, index queries, backend
+ * queries and serialization are put under the root span of the request,
+ * then the trace is recorded by TraceRecorder.
+ */
+@Provider
+@Singleton
+@PreMatching
+/*
+ * NOTE: the request filter with the lowest priority value is called first,
+ * and the response filter with the lowest priority value is called last
+ */
+@Priority(Priorities.AUTHENTICATION - 100)
+public class TraceFilter implements ContainerRequestFilter,
+                                    ContainerResponseFilter {
+
+    private static final String START_TIME = "trace-start-time";
+    private static final String TRACE_SCOPE = "trace-scope";
+
+    @Context
+    private jakarta.inject.Provider<TraceRecorder> recorderProvider;
+
+    @Override
+    public void filter(ContainerRequestContext context) {
+        // Don't leak the span of the previous request served by the thread
+        Trace.activeSpan(null);
+        if (LoadDetectFilter.isWhiteAPI(context)) {
+            return;
+        }
+        context.setProperty(START_TIME, System.currentTimeMillis());
+        if (this.recorderProvider.get().sample()) {
+            context.setProperty(TRACE_SCOPE, Trace.start(request(context)));
+        }
+    }
+
+    @Override
+    public void filter(ContainerRequestContext requestContext,
+                       ContainerResponseContext responseContext) {
+        Object startTime = requestContext.getProperty(START_TIME);
+        if (startTime == null) {
+            return;
+        }
+        long elapsed = System.currentTimeMillis() - (long) startTime;
+
+        Trace trace = null;
+        Object scope = requestContext.getProperty(TRACE_SCOPE);
+        if (scope != null) {
+            requestContext.removeProperty(TRACE_SCOPE);
+            ((Trace.Scope) scope).close();
+            trace = ((Trace.Scope) scope).trace();
+        }
+        this.recorderProvider.get().record(request(requestContext),
+                                           elapsed, trace);
+    }
+
+    private static String request(ContainerRequestContext context) {
+        return context.getMethod() + " /" + context.getUriInfo().getPath();
+    }
+}
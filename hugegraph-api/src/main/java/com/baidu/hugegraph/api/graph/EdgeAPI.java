@@ -20,11 +20,14 @@
 package com.baidu.hugegraph.api.graph;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Set;
 
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.annotation.security.RolesAllowed;
@@ -45,6 +48,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
 import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.util.CloseableIterator;
 import org.apache.tinkerpop.gremlin.util.function.TriFunction;
 import org.slf4j.Logger;
 
@@ -137,10 +141,10 @@ public class EdgeAPI extends BatchAPI {
 
         HugeGraph g = graph(manager, graph);
 
-        TriFunction<HugeGraph, Object, String, Vertex> getVertex =
-                    checkVertex ? EdgeAPI::getVertex : EdgeAPI::newVertex;
-
         return this.commit(config, g, jsonEdges.size(), () -> {
+            TriFunction<HugeGraph, Object, String, Vertex> getVertex =
+                        checkVertex ? getVertices(g, jsonEdges) :
+                                      EdgeAPI::newVertex;
             List<Id> ids = new ArrayList<>(jsonEdges.size());
             for (JsonEdge jsonEdge : jsonEdges) {
                 /*
@@ -181,8 +185,6 @@ public class EdgeAPI extends BatchAPI {
 
         HugeGraph g = graph(manager, graph);
         Map<Id, JsonEdge> map = new HashMap<>(req.jsonEdges.size());
-        TriFunction<HugeGraph, Object, String, Vertex> getVertex =
-                    req.checkVertex ? EdgeAPI::getVertex : EdgeAPI::newVertex;
 
         return this.commit(config, g, map.size(), () -> {
             // 1.Put all newEdges' properties into map (combine first)
@@ -204,6 +206,9 @@ public class EdgeAPI extends BatchAPI {
             });
 
             // 3.Add all finalEdges
+            TriFunction<HugeGraph, Object, String, Vertex> getVertex =
+                        req.checkVertex ? getVertices(g, map.values()) :
+                                          EdgeAPI::newVertex;
             List<Edge> edges = new ArrayList<>(map.size());
             map.values().forEach(finalEdge -> {
                 Vertex srcVertex = getVertex.apply(g, finalEdge.source,
@@ -405,6 +410,11 @@ public class EdgeAPI extends BatchAPI {
             throw new IllegalArgumentException(String.format(
                       "Invalid vertex id '%s'", id));
         }
+        return checkVertexLabel(vertex, id, label);
+    }
+
+    private static Vertex checkVertexLabel(HugeVertex vertex,
+                                           Object id, String label) {
         if (label != null && !vertex.label().equals(label)) {
             throw new IllegalArgumentException(String.format(
                       "The label of vertex '%s' is unmatched, users expect " +
@@ -415,7 +425,44 @@ public class EdgeAPI extends BatchAPI {
         return vertex.copy();
     }
 
-    private static Vertex newVertex(HugeGraph g, Object id, String label) {
+    /**
+     * Query the distinct source and target vertices of all the edges by one
+     * multi-ids query (through the vertex cache if enabled), then get the
+     * vertices of each edge from them and check the labels in memory
+     */
+    static TriFunction<HugeGraph, Object, String, Vertex>
+           getVertices(HugeGraph graph, Collection<JsonEdge> edges) {
+        Set<Id> ids = new HashSet<>(edges.size());
+        for (JsonEdge edge : edges) {
+            ids.add(HugeVertex.getIdValue(edge.source));
+            ids.add(HugeVertex.getIdValue(edge.target));
+        }
+        ids.remove(null);
+
+        Map<Id, HugeVertex> vertices = new HashMap<>(ids.size());
+        if (!ids.isEmpty()) {
+            Iterator<Vertex> iter = graph.vertices(ids.toArray());
+            try {
+                while (iter.hasNext()) {
+                    HugeVertex vertex = (HugeVertex) iter.next();
+                    vertices.put(vertex.id(), vertex);
+                }
+            } finally {
+                CloseableIterator.closeIterator(iter);
+            }
+        }
+
+        return (g, id, label) -> {
+            HugeVertex vertex = vertices.get(HugeVertex.getIdValue(id));
+            if (vertex == null) {
+                throw new IllegalArgumentException(String.format(
+                          "Invalid vertex id '%s'", id));
+            }
+            return checkVertexLabel(vertex, id, label);
+        };
+    }
+
+    static Vertex newVertex(HugeGraph g, Object id, String label) {
         VertexLabel vl = vertexLabel(g, label, "Invalid vertex label '%s'");
         Id idValue = HugeVertex.getIdValue(id);
         return new HugeVertex(g, idValue, vl);
@@ -509,7 +556,7 @@ public class EdgeAPI extends BatchAPI {
         }
     }
 
-    private static class JsonEdge extends JsonElement {
+    static class JsonEdge extends JsonElement {
 
         @JsonProperty("outV")
         public Object source;
@@ -0,0 +1,516 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.api.graph;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.annotation.security.RolesAllowed;
+import jakarta.inject.Singleton;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.DefaultValue;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.Context;
+
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.apache.tinkerpop.gremlin.structure.Transaction;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.util.function.TriFunction;
+import org.slf4j.Logger;
+
+import com.baidu.hugegraph.HugeException;
+import com.baidu.hugegraph.HugeGraph;
+import com.baidu.hugegraph.api.API;
+import com.baidu.hugegraph.api.filter.DecompressInterceptor.Decompress;
+import com.baidu.hugegraph.api.filter.StatusFilter.Status;
+import com.baidu.hugegraph.api.graph.EdgeAPI.JsonEdge;
+import com.baidu.hugegraph.api.graph.VertexAPI.JsonVertex;
+import com.baidu.hugegraph.auth.HugeGraphAuthProxy.ContextThreadPoolExecutor;
+import com.baidu.hugegraph.backend.query.Query;
+import com.baidu.hugegraph.config.HugeConfig;
+import com.baidu.hugegraph.config.ServerOptions;
+import com.baidu.hugegraph.core.GraphManager;
+import com.baidu.hugegraph.exception.CancelledException;
+import com.baidu.hugegraph.exception.NotFoundException;
+import com.baidu.hugegraph.metrics.MetricsUtil;
+import com.baidu.hugegraph.util.E;
+import com.baidu.hugegraph.util.Log;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.annotation.Timed;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+/**
+ * Streaming ingest of vertices and edges, the request body is NDJSON that
+ * each line is a vertex or an edge with a "type" field, like:
+ * {"type": "vertex", "label": "person", "properties": {"name": "marko"}}
+ * {"type": "edge", "label": "knows", "outV": "1:marko", "outVLabel": ...}
+ *
+ * The elements are grouped into batches of Query.COMMIT_BATCH, and put into
+ * a bounded queue which is drained by a writer thread in the background,
+ * the http stream won't be read until the queue has free space.
+ * The writers of each graph are dedicated threads up to batch.ingest_writers,
+ * the ingest requests beyond it are rejected instead of waiting for a free
+ * writer.
+ *
+ * The progress of the running ingest requests can be listed by GET, the
+ * committed elements are also reported in the error response if an ingest
+ * request is failed, the batches before the failure won't be rolled back.
+ */
+@Path("graphs/{graph}/graph/ingest")
+@Singleton
+@Tag(name = "IngestAPI")
+public class IngestAPI extends BatchAPI {
+
+    private static final Logger LOG = Log.logger(IngestAPI.class);
+
+    public static final String APPLICATION_NDJSON = "application/x-ndjson";
+
+    private static final String TYPE_VERTEX = "vertex";
+    private static final String TYPE_EDGE = "edge";
+
+    private static final String INGEST_WRITER = "ingest-writer-%d";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final int BATCH_SIZE = (int) Query.COMMIT_BATCH;
+    private static final long OFFER_INTERVAL = 1000L;
+    // Release the idle writers of a graph after the time in seconds
+    private static final long WRITER_KEEP_ALIVE = 60L;
+
+    private static final Meter INGEST_METER =
+                         MetricsUtil.registerMeter(IngestAPI.class,
+                                                   "ingest-elements");
+
+    private static final AtomicLong INGEST_IDS = new AtomicLong();
+
+    private final Map<String, ThreadPoolExecutor> writers =
+                                                  new ConcurrentHashMap<>();
+    private final Map<Long, IngestJob> jobs = new ConcurrentHashMap<>();
+
+    @POST
+    @Timed
+    @Decompress
+    @Status(Status.CREATED)
+    @Consumes({APPLICATION_NDJSON, APPLICATION_JSON})
+    @Produces(APPLICATION_JSON_WITH_CHARSET)
+    @RolesAllowed({"admin", "$owner=$graph $action=vertex_write",
+                   "$owner=$graph $action=edge_write"})
+    public Map<String, Object> ingest(@Context HugeConfig config,
+                                      @Context GraphManager manager,
+                                      @PathParam("graph") String graph,
+                                      @QueryParam("check_vertex")
+                                      @DefaultValue("true")
+                                      boolean checkVertex,
+                                      InputStream body) {
+        LOG.debug("Graph [{}] ingest elements with check_vertex={}",
+                  graph, checkVertex);
+        E.checkArgumentNotNull(body, "The request body can't be empty");
+
+        HugeGraph g = graph(manager, graph);
+        int queueSize = config.get(ServerOptions.INGEST_QUEUE_SIZE);
+        long timeout = TimeUnit.SECONDS.toMillis(
+                       config.get(ServerOptions.INGEST_TIMEOUT));
+        IngestJob job = new IngestJob(g, graph, queueSize,
+                                      checkVertex, timeout);
+        Future<Map<String, Object>> writer;
+        try {
+            writer = this.writers(config, graph).submit(job);
+        } catch (RejectedExecutionException e) {
+            throw new HugeException("The rest server is too busy to ingest " +
+                                    "graph '%s', the writers are all in use",
+                                    graph);
+        }
+
+        this.jobs.put(job.id(), job);
+        try {
+            this.read(body, job, writer);
+            waitWriter(writer);
+            return job.progress();
+        } catch (IllegalArgumentException e) {
+            // Let the writer commit the batches before the invalid element
+            try {
+                if (job.offer(IngestJob.END, writer)) {
+                    waitWriter(writer);
+                }
+            } catch (Throwable e2) {
+                LOG.warn("Failed to wait for ingest writer", e2);
+            }
+            throw job.failure(e);
+        } catch (RuntimeException e) {
+            if (!writer.isDone()) {
+                job.abort();
+                try {
+                    waitWriter(writer);
+                } catch (Throwable e2) {
+                    LOG.warn("Failed to wait for aborted ingest writer", e2);
+                }
+            }
+            throw job.failure(e);
+        } finally {
+            this.jobs.remove(job.id());
+        }
+    }
+
+    @GET
+    @Timed
+    @Produces(APPLICATION_JSON_WITH_CHARSET)
+    @RolesAllowed({"admin", "$owner=$graph $action=vertex_write",
+                   "$owner=$graph $action=edge_write"})
+    public Map<String, Object> list(@Context GraphManager manager,
+                                    @PathParam("graph") String graph) {
+        LOG.debug("Graph [{}] list running ingests", graph);
+
+        // Check the graph is existed and accessible
+        graph(manager, graph);
+        List<Map<String, Object>> ingests = new ArrayList<>();
+        for (IngestJob job : this.jobs.values()) {
+            if (job.graphName().equals(graph)) {
+                ingests.add(job.progress());
+            }
+        }
+        return ImmutableMap.of("ingests", ingests);
+    }
+
+    @GET
+    @Timed
+    @Path("{id}")
+    @Produces(APPLICATION_JSON_WITH_CHARSET)
+    @RolesAllowed({"admin", "$owner=$graph $action=vertex_write",
+                   "$owner=$graph $action=edge_write"})
+    public Map<String, Object> get(@Context GraphManager manager,
+                                   @PathParam("graph") String graph,
+                                   @PathParam("id") long id) {
+        LOG.debug("Graph [{}] get ingest: {}", graph, id);
+
+        graph(manager, graph);
+        IngestJob job = this.jobs.get(id);
+        if (job == null || !job.graphName().equals(graph)) {
+            throw new NotFoundException("Can't find running ingest with " +
+                                        "id '%s'", id);
+        }
+        return job.progress();
+    }
+
+    private ThreadPoolExecutor writers(HugeConfig config, String graph) {
+        return this.writers.computeIfAbsent(graph, name -> {
+            int size = config.get(ServerOptions.INGEST_WRITERS);
+            /*
+             * Pass the auth context to the writer to check permission
+             * while writing, and reject the request without waiting
+             * in a queue if all writers of the graph are in use
+             */
+            ThreadPoolExecutor writers = new ContextThreadPoolExecutor(
+                    size, size, new SynchronousQueue<>(),
+                    new BasicThreadFactory.Builder()
+                                          .namingPattern(name + "-" +
+                                                         INGEST_WRITER)
+                                          .daemon(true)
+                                          .build());
+            // Don't hold the threads for the graphs not ingested any more
+            writers.setKeepAliveTime(WRITER_KEEP_ALIVE, TimeUnit.SECONDS);
+            writers.allowCoreThreadTimeOut(true);
+            return writers;
+        });
+    }
+
+    private void read(InputStream body, IngestJob job,
+                      Future<?> writer) {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(
+                                body, StandardCharsets.UTF_8));
+        List<Object> batch = new ArrayList<>(BATCH_SIZE);
+        int lineNumber = 0;
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.trim().isEmpty()) {
+                    continue;
+                }
+                batch.add(parseElement(line, lineNumber));
+                if (batch.size() >= BATCH_SIZE) {
+                    if (!job.offer(batch, writer)) {
+                        // The writer is failed, thrown by waitWriter()
+                        return;
+                    }
+                    batch = new ArrayList<>(BATCH_SIZE);
+                }
+            }
+        } catch (IOException e) {
+            throw new HugeException("Failed to read ingest stream at " +
+                                    "line %s", e, lineNumber);
+        }
+        if (!batch.isEmpty() && !job.offer(batch, writer)) {
+            return;
+        }
+        job.offer(IngestJob.END, writer);
+    }
+
+    private static Object parseElement(String line, int lineNumber) {
+        try {
+            JsonNode json = MAPPER.readTree(line);
+            JsonNode type = json.get("type");
+            if (type != null && TYPE_VERTEX.equals(type.asText())) {
+                JsonVertex vertex = MAPPER.treeToValue(json, JsonVertex.class);
+                vertex.checkCreate(true);
+                return vertex;
+            } else if (type != null && TYPE_EDGE.equals(type.asText())) {
+                JsonEdge edge = MAPPER.treeToValue(json, JsonEdge.class);
+                edge.checkCreate(true);
+                return edge;
+            }
+            throw new IllegalArgumentException(String.format(
+                      "The type at line %s must be '%s' or '%s', " +
+                      "but got '%s'", lineNumber, TYPE_VERTEX, TYPE_EDGE,
+                      type == null ? null : type.asText()));
+        } catch (IOException e) {
+            throw new IllegalArgumentException(String.format(
+                      "Invalid json at line %s: %s", lineNumber,
+                      e.getMessage()));
+        }
+    }
+
+    private static Map<String, Object> waitWriter(
+                                       Future<Map<String, Object>> writer) {
+        try {
+            // The writer won't wait for a batch longer than the timeout
+            return writer.get();
+        } catch (InterruptedException e) {
+            throw new HugeException("Interrupted while waiting for ingest " +
+                                    "writer", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new HugeException("Failed to execute ingest writer",
+                                    cause);
+        }
+    }
+
+    private static class IngestJob implements Callable<Map<String, Object>> {
+
+        // Mark the end of the stream, compared by reference
+        private static final List<Object> END = ImmutableList.of();
+
+        private final long id;
+        private final HugeGraph graph;
+        private final String graphName;
+        private final long startTime;
+        private final BlockingQueue<List<Object>> batches;
+        private final boolean checkVertex;
+        // The max time in milliseconds to wait for taking or putting a batch
+        private final long timeout;
+
+        private volatile boolean aborted;
+
+        // The committed elements, updated by the writer only
+        private volatile long vertices;
+        private volatile long edges;
+        private volatile int batchCount;
+
+        public IngestJob(HugeGraph graph, String graphName, int queueSize,
+                         boolean checkVertex, long timeout) {
+            this.id = INGEST_IDS.incrementAndGet();
+            // NOTE: write through the graph of the request to check auth
+            this.graph = graph;
+            this.graphName = graphName;
+            this.startTime = System.currentTimeMillis();
+            this.batches = new ArrayBlockingQueue<>(queueSize);
+            this.checkVertex = checkVertex;
+            this.timeout = timeout;
+            this.aborted = false;
+        }
+
+        public long id() {
+            return this.id;
+        }
+
+        public String graphName() {
+            return this.graphName;
+        }
+
+        public Map<String, Object> progress() {
+            return ImmutableMap.<String, Object>builder()
+                               .put("id", this.id)
+                               .put("vertices", this.vertices)
+                               .put("edges", this.edges)
+                               .put("batches", this.batchCount)
+                               .put("pending_batches", this.batches.size())
+                               .put("elapsed", System.currentTimeMillis() -
+                                               this.startTime)
+                               .build();
+        }
+
+        /**
+         * Attach the committed elements to the exception of a failed
+         * ingest, keep the type of exception to respond the same status
+         */
+        public RuntimeException failure(RuntimeException e) {
+            String message = String.format(
+                             "%s, committed %s vertices and %s edges " +
+                             "(%s batches) before it", e.getMessage(),
+                             this.vertices, this.edges, this.batchCount);
+            if (e instanceof IllegalArgumentException) {
+                return new IllegalArgumentException(message, e);
+            } else if (e instanceof CancelledException) {
+                return new CancelledException(message);
+            } else if (e instanceof NotFoundException) {
+                return new NotFoundException("%s", e, message);
+            } else if (e instanceof HugeException) {
+                return new HugeException(message, e);
+            }
+            LOG.warn("Failed to ingest graph '{}': {}",
+                     this.graphName, message, e);
+            return e;
+        }
+
+        /**
+         * Put a batch into the queue, wait if the queue is full until the
+         * writer takes a batch away, return false if the writer is done.
+         * Throw an exception if the writer doesn't take it in the timeout.
+         */
+        public boolean offer(List<Object> batch, Future<?> writer) {
+            long deadline = System.currentTimeMillis() + this.timeout;
+            try {
+                while (!this.batches.offer(batch, OFFER_INTERVAL,
+                                           TimeUnit.MILLISECONDS)) {
+                    if (writer.isDone()) {
+                        return false;
+                    }
+                    if (System.currentTimeMillis() >= deadline) {
+                        throw new HugeException(
+                                  "Timeout to wait for the ingest writer " +
+                                  "to take a batch after %s ms",
+                                  this.timeout);
+                    }
+                }
+            } catch (InterruptedException e) {
+                throw new HugeException("Interrupted while queueing " +
+                                        "ingest batch", e);
+            }
+            return !writer.isDone();
+        }
+
+        public void abort() {
+            this.aborted = true;
+            // Wake up the writer if it's waiting for batches
+            this.batches.clear();
+            this.batches.offer(END);
+        }
+
+        @Override
+        public Map<String, Object> call() throws Exception {
+            try {
+                return this.execute();
+            } finally {
+                // The writer thread is reused by other ingest requests
+                Transaction tx = this.graph.tx();
+                if (tx.isOpen()) {
+                    tx.close();
+                }
+            }
+        }
+
+        private Map<String, Object> execute() throws InterruptedException {
+            while (true) {
+                List<Object> batch = this.batches.poll(this.timeout,
+                                                       TimeUnit.MILLISECONDS);
+                if (batch == null) {
+                    // Don't hold the writer if the stream is stalled
+                    throw new HugeException(
+                              "Timeout to wait for the ingest stream to " +
+                              "send a batch after %s ms", this.timeout);
+                }
+                if (batch == END || this.aborted) {
+                    break;
+                }
+                List<JsonVertex> jsonVertices = new ArrayList<>();
+                List<JsonEdge> jsonEdges = new ArrayList<>();
+                for (Object element : batch) {
+                    if (element instanceof JsonVertex) {
+                        jsonVertices.add((JsonVertex) element);
+                    } else {
+                        assert element instanceof JsonEdge;
+                        jsonEdges.add((JsonEdge) element);
+                    }
+                }
+                this.write(jsonVertices, jsonEdges);
+
+                this.vertices += jsonVertices.size();
+                this.edges += jsonEdges.size();
+                this.batchCount++;
+                INGEST_METER.mark(batch.size());
+            }
+            return this.progress();
+        }
+
+        private void write(List<JsonVertex> jsonVertices,
+                           List<JsonEdge> jsonEdges) {
+            HugeGraph g = this.graph;
+            API.commit(g, () -> {
+                // Add vertices first to let edges link to them in the batch
+                for (JsonVertex vertex : jsonVertices) {
+                    g.addVertex(vertex.properties());
+                }
+                if (jsonEdges.isEmpty()) {
+                    return null;
+                }
+                TriFunction<HugeGraph, Object, String, Vertex> getVertex =
+                            this.checkVertex ?
+                            EdgeAPI.getVertices(g, jsonEdges) :
+                            EdgeAPI::newVertex;
+                for (JsonEdge edge : jsonEdges) {
+                    Vertex source = getVertex.apply(g, edge.source,
+                                                    edge.sourceLabel);
+                    Vertex target = getVertex.apply(g, edge.target,
+                                                    edge.targetLabel);
+                    source.addEdge(edge.label, target, edge.properties());
+                }
+                return null;
+            });
+        }
+    }
+}
@@ -421,7 +421,7 @@ public class VertexAPI extends BatchAPI {
         }
     }
 
-    private static class JsonVertex extends JsonElement {
+    static class JsonVertex extends JsonElement {
 
         @Override
         public void checkCreate(boolean isBatch) {
@@ -62,15 +62,13 @@ public class CypherAPI extends GremlinQueryAPI {
         String gremlin = this.translateCpyher2Gremlin(graph, cypher);
         LOG.debug("translated gremlin is {}", gremlin);
 
-        String auth = headers.getHeaderString(HttpHeaders.AUTHORIZATION);
         String request = "{"
                          + "\"gremlin\":\"" + gremlin + "\","
                          + "\"bindings\":{},"
                          + "\"language\":\"gremlin-groovy\","
                          + "\"aliases\":{\"g\":\"__g_" + graph + "\"}}";
 
-        Response response = this.client().doPostRequest(auth, request);
-        return transformResponseIfNeeded(response);
+        return this.doPostRequest(headers, request);
     }
 
     private String translateCpyher2Gremlin(String graph, String cypher) {
@@ -73,11 +73,10 @@ public class GremlinAPI extends GremlinQueryAPI {
         // .build();
         // Response.temporaryRedirect(UriBuilder.fromUri(location).build())
         // .build();
-        String auth = headers.getHeaderString(HttpHeaders.AUTHORIZATION);
-        Response response = this.client().doPostRequest(auth, request);
+        Response response = this.doPostRequest(headers, request);
         GREMLIN_INPUT_HISTOGRAM.update(request.length());
-        GREMLIN_OUTPUT_HISTOGRAM.update(response.getLength());
-        return transformResponseIfNeeded(response);
+        GREMLIN_OUTPUT_HISTOGRAM.update(responseLength(response));
+        return response;
     }
 
     @GET
@@ -87,12 +86,11 @@ public class GremlinAPI extends GremlinQueryAPI {
     public Response get(@Context HugeConfig conf,
                         @Context HttpHeaders headers,
                         @Context UriInfo uriInfo) {
-        String auth = headers.getHeaderString(HttpHeaders.AUTHORIZATION);
         String query = uriInfo.getRequestUri().getRawQuery();
         MultivaluedMap<String, String> params = uriInfo.getQueryParameters();
-        Response response = this.client().doGetRequest(auth, params);
+        Response response = this.doGetRequest(headers, params);
         GREMLIN_INPUT_HISTOGRAM.update(query.length());
-        GREMLIN_OUTPUT_HISTOGRAM.update(response.getLength());
-        return transformResponseIfNeeded(response);
+        GREMLIN_OUTPUT_HISTOGRAM.update(responseLength(response));
+        return response;
     }
 }
@@ -2,10 +2,12 @@ package com.baidu.hugegraph.api.gremlin;
 
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 import com.baidu.hugegraph.api.API;
 import com.baidu.hugegraph.config.HugeConfig;
 import com.baidu.hugegraph.config.ServerOptions;
+import com.baidu.hugegraph.core.GraphManager;
 import com.baidu.hugegraph.exception.HugeGremlinException;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
@@ -14,6 +16,7 @@ import jakarta.inject.Provider;
 import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedMap;
 import jakarta.ws.rs.core.Response;
 
 public class GremlinQueryAPI extends API {
@@ -32,6 +35,9 @@ public class GremlinQueryAPI extends API {
     @Context
     private Provider<HugeConfig> configProvider;
 
+    @Context
+    private Provider<GraphManager> managerProvider;
+
     private GremlinClient client;
 
     public GremlinClient client() {
@@ -46,6 +52,62 @@ public class GremlinQueryAPI extends API {
         return this.client;
     }
 
+    /**
+     * Get the executor of the gremlin server in the same process
+     * @return  the local executor, or null if the requests need to be
+     *          forwarded to the gremlin server by client()
+     */
+    public LocalGremlinExecutor localExecutor() {
+        HugeConfig config = this.configProvider.get();
+        if (!config.get(ServerOptions.GREMLIN_SERVER_IN_PROCESS)) {
+            return null;
+        }
+        return this.managerProvider.get().gremlinExecutor();
+    }
+
+    protected Response doPostRequest(HttpHeaders headers, String request) {
+        this.managerProvider.get().checkGremlinStarted();
+        LocalGremlinExecutor executor = this.localExecutor();
+        if (executor != null) {
+            byte[] result = executor.execute(request, this.timeout());
+            return Response.ok(result, MediaType.APPLICATION_JSON_TYPE
+                                                .withCharset(CHARSET))
+                           .build();
+        }
+        String auth = headers.getHeaderString(HttpHeaders.AUTHORIZATION);
+        Response response = this.client().doPostRequest(auth, request);
+        return transformResponseIfNeeded(response);
+    }
+
+    protected Response doGetRequest(HttpHeaders headers,
+                                    MultivaluedMap<String, String> params) {
+        this.managerProvider.get().checkGremlinStarted();
+        LocalGremlinExecutor executor = this.localExecutor();
+        if (executor != null) {
+            byte[] result = executor.execute(params, this.timeout());
+            return Response.ok(result, MediaType.APPLICATION_JSON_TYPE
+                                                .withCharset(CHARSET))
+                           .build();
+        }
+        String auth = headers.getHeaderString(HttpHeaders.AUTHORIZATION);
+        Response response = this.client().doGetRequest(auth, params);
+        return transformResponseIfNeeded(response);
+    }
+
+    private long timeout() {
+        HugeConfig config = this.configProvider.get();
+        int timeout = config.get(ServerOptions.GREMLIN_SERVER_TIMEOUT);
+        return TimeUnit.SECONDS.toMillis(timeout);
+    }
+
+    protected static int responseLength(Response response) {
+        Object entity = response.getEntity();
+        if (entity instanceof byte[]) {
+            return ((byte[]) entity).length;
+        }
+        return response.getLength();
+    }
+
     protected static Response transformResponseIfNeeded(Response response) {
         MediaType mediaType = response.getMediaType();
         if (mediaType != null) {
@@ -69,13 +131,19 @@ public class GremlinQueryAPI extends API {
 
         @SuppressWarnings("unchecked")
         Map<String, Object> map = response.readEntity(Map.class);
-        String exClassName = (String) map.get("Exception-Class");
+        throw gremlinException(status.getStatusCode(), map);
+    }
+
+    protected static HugeGremlinException gremlinException(
+                                          int status,
+                                          Map<String, Object> response) {
+        String exClassName = (String) response.get("Exception-Class");
         if (FORBIDDEN_REQUEST_EXCEPTIONS.contains(exClassName)) {
-            status = Response.Status.FORBIDDEN;
+            status = Response.Status.FORBIDDEN.getStatusCode();
         } else if (matchBadRequestException(exClassName)) {
-            status = Response.Status.BAD_REQUEST;
+            status = Response.Status.BAD_REQUEST.getStatusCode();
         }
-        throw new HugeGremlinException(status.getStatusCode(), map);
+        return new HugeGremlinException(status, response);
     }
 
     private static boolean matchBadRequestException(String exClass) {
@@ -0,0 +1,369 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.api.gremlin;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import javax.script.Bindings;
+import javax.script.SimpleBindings;
+
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.core.Response;
+
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.apache.tinkerpop.gremlin.driver.MessageSerializer;
+import org.apache.tinkerpop.gremlin.driver.message.ResponseMessage;
+import org.apache.tinkerpop.gremlin.driver.message.ResponseStatusCode;
+import org.apache.tinkerpop.gremlin.driver.ser.MessageTextSerializer;
+import org.apache.tinkerpop.gremlin.groovy.engine.GremlinExecutor;
+import org.apache.tinkerpop.gremlin.groovy.engine.GremlinExecutor.LifeCycle;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalSource;
+import org.apache.tinkerpop.gremlin.server.GraphManager;
+import org.apache.tinkerpop.gremlin.server.GremlinServer;
+import org.apache.tinkerpop.gremlin.server.Settings;
+import org.apache.tinkerpop.gremlin.server.util.ServerGremlinExecutor;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+import org.apache.tinkerpop.shaded.jackson.databind.JsonNode;
+import org.apache.tinkerpop.shaded.jackson.databind.ObjectMapper;
+
+import com.baidu.hugegraph.HugeException;
+import com.baidu.hugegraph.exception.CancelledException;
+import com.baidu.hugegraph.testutil.Whitebox;
+import com.baidu.hugegraph.util.CancelToken;
+import com.baidu.hugegraph.util.E;
+import com.baidu.hugegraph.util.StringEncoding;
+import com.baidu.hugegraph.util.Trace;
+import com.google.common.collect.ImmutableMap;
+
+/**
+ * Execute the gremlin requests by the GremlinExecutor of the gremlin server
+ * in the same process, instead of forwarding them to the http endpoint of
+ * the gremlin server. The request arguments, the bindings of graphs and the
+ * transaction management are the same as the http endpoint, and the result
+ * is serialized by the same serializer of the gremlin server, so the
+ * response is the same except that it skips the extra http hop.
+ */
+public class LocalGremlinExecutor {
+
+    private static final String ARG_GREMLIN = "gremlin";
+    private static final String ARG_BINDINGS = "bindings";
+    private static final String ARG_LANGUAGE = "language";
+    private static final String ARG_ALIASES = "aliases";
+
+    private static final String MIME_TYPE = "application/json";
+    private static final ResponseStatusCode SUCCESS =
+                                            ResponseStatusCode.SUCCESS;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final GremlinExecutor gremlinExecutor;
+    private final GraphManager graphManager;
+    private final Settings settings;
+    private final MessageTextSerializer<?> serializer;
+
+    public LocalGremlinExecutor(GremlinServer server) {
+        ServerGremlinExecutor executor = server.getServerGremlinExecutor();
+        E.checkState(executor != null,
+                     "The gremlin server has not been started");
+        this.gremlinExecutor = executor.getGremlinExecutor();
+        this.graphManager = executor.getGraphManager();
+        this.settings = executor.getSettings();
+
+        // The serializers are only exposed by the channelizer
+        Map<String, MessageSerializer<?>> serializers =
+                Whitebox.getInternalState(server.getChannelizer(),
+                                          "serializers");
+        MessageSerializer<?> serializer = serializers.get(MIME_TYPE);
+        E.checkState(serializer instanceof MessageTextSerializer,
+                     "Can't find the text serializer for '%s' of " +
+                     "gremlin server", MIME_TYPE);
+        this.serializer = (MessageTextSerializer<?>) serializer;
+    }
+
+    /**
+     * Execute the json request like the POST of gremlin http endpoint
+     * @param request   the json request with gremlin, bindings, language
+     *                  and aliases
+     * @param timeout   the timeout in milliseconds of waiting for result
+     * @return          the serialized response message
+     */
+    public byte[] execute(String request, long timeout) {
+        JsonNode body;
+        try {
+            body = MAPPER.readTree(request);
+        } catch (IOException e) {
+            throw badRequest("body could not be parsed");
+        }
+        JsonNode gremlin = body == null ? null : body.get(ARG_GREMLIN);
+        if (gremlin == null) {
+            throw badRequest("no gremlin script supplied");
+        }
+
+        JsonNode bindingsNode = body.get(ARG_BINDINGS);
+        if (bindingsNode != null && !bindingsNode.isObject()) {
+            throw badRequest("bindings must be a Map");
+        }
+        Map<String, Object> bindings = new HashMap<>();
+        if (bindingsNode != null) {
+            Iterator<Map.Entry<String, JsonNode>> fields =
+                                                  bindingsNode.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                bindings.put(field.getKey(), fromJsonNode(field.getValue()));
+            }
+        }
+
+        JsonNode aliasesNode = body.get(ARG_ALIASES);
+        if (aliasesNode != null && !aliasesNode.isObject()) {
+            throw badRequest("aliases must be a Map");
+        }
+        Map<String, String> aliases = new HashMap<>();
+        if (aliasesNode != null) {
+            Iterator<Map.Entry<String, JsonNode>> fields =
+                                                  aliasesNode.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                aliases.put(field.getKey(), field.getValue().asText());
+            }
+        }
+
+        JsonNode language = body.get(ARG_LANGUAGE);
+        return this.execute(gremlin.asText(), bindings,
+                            language == null ? null : language.asText(),
+                            aliases, timeout);
+    }
+
+    /**
+     * Execute the request like the GET of gremlin http endpoint
+     * @param params    the query params with gremlin, bindings.[key],
+     *                  language and aliases.[key]
+     * @param timeout   the timeout in milliseconds of waiting for result
+     * @return          the serialized response message
+     */
+    public byte[] execute(MultivaluedMap<String, String> params,
+                          long timeout) {
+        String gremlin = params.getFirst(ARG_GREMLIN);
+        if (gremlin == null || gremlin.isEmpty()) {
+            throw badRequest("no gremlin script supplied");
+        }
+
+        Map<String, Object> bindings = new HashMap<>();
+        Map<String, String> aliases = new HashMap<>();
+        String bindingsPrefix = ARG_BINDINGS + ".";
+        String aliasesPrefix = ARG_ALIASES + ".";
+        for (Map.Entry<String, List<String>> e : params.entrySet()) {
+            String key = e.getKey();
+            if (key.startsWith(bindingsPrefix)) {
+                bindings.put(key.substring(bindingsPrefix.length()),
+                             e.getValue().get(0));
+            } else if (key.startsWith(aliasesPrefix)) {
+                aliases.put(key.substring(aliasesPrefix.length()),
+                            e.getValue().get(0));
+            }
+        }
+        return this.execute(gremlin, bindings, params.getFirst(ARG_LANGUAGE),
+                            aliases, timeout);
+    }
+
+    private byte[] execute(String gremlin, Map<String, Object> args,
+                           String language, Map<String, String> aliases,
+                           long timeout) {
+        Bindings bindings = this.createBindings(args, aliases);
+        // Pass the cancel token and trace span of the request to the thread
+        CancelToken token = CancelToken.current();
+        Trace.Span span = Trace.activeSpan();
+        LifeCycle lifeCycle = LifeCycle.build().beforeEval(b -> {
+            CancelToken.current(token);
+            Trace.activeSpan(span);
+        }).transformResult(result -> {
+            /*
+             * Serialize in the gremlin thread like the http endpoint, since
+             * the transactions of graph are bound to the thread
+             */
+            List<Object> data = new ArrayList<>();
+            try (Trace.Scope scope = Trace.begin("gremlin.iterate")) {
+                Iterator<?> iter = IteratorUtils.asIterator(result);
+                iter.forEachRemaining(data::add);
+                scope.rows(data.size());
+            }
+            ResponseMessage message = ResponseMessage.build(UUID.randomUUID())
+                                                     .code(SUCCESS)
+                                                     .result(data)
+                                                     .create();
+            this.commit(aliases);
+            try (Trace.Scope scope = Trace.begin("gremlin.serialize")) {
+                String json = this.serializer.serializeResponseAsString(
+                                              message);
+                return StringEncoding.encode(json);
+            } catch (Exception e) {
+                throw new HugeException("Error during serialization for %s",
+                                        e, message);
+            }
+        }).afterSuccess(b -> {
+            this.resetContext();
+        }).afterTimeout(b -> {
+            this.rollback(aliases);
+            this.resetContext();
+        }).afterFailure((b, e) -> {
+            this.rollback(aliases);
+            this.resetContext();
+        }).create();
+
+        CompletableFuture<Object> future = this.gremlinExecutor.eval(
+                                           gremlin, language, bindings,
+                                           lifeCycle);
+        try {
+            return (byte[]) future.get(timeout, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            if (cause instanceof CancelledException) {
+                throw (CancelledException) cause;
+            }
+            String message = cause.getMessage();
+            if (message == null) {
+                message = String.format("Error encountered evaluating " +
+                                        "script: %s", gremlin);
+            }
+            throw GremlinQueryAPI.gremlinException(
+                  Response.Status.INTERNAL_SERVER_ERROR.getStatusCode(),
+                  errorResponse(message, cause));
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            String message = String.format("Waiting for the result exceeded " +
+                                           "the timeout of %s ms for " +
+                                           "request: %s", timeout, gremlin);
+            throw GremlinQueryAPI.gremlinException(
+                  Response.Status.INTERNAL_SERVER_ERROR.getStatusCode(),
+                  errorResponse(message, e));
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            throw new HugeException("Interrupted while waiting for the " +
+                                    "result of gremlin request", e);
+        }
+    }
+
+    private Bindings createBindings(Map<String, Object> args,
+                                    Map<String, String> aliases) {
+        Bindings bindings = new SimpleBindings();
+        // Rebind the graphs and traversal sources to the aliases
+        for (Map.Entry<String, String> e : aliases.entrySet()) {
+            Graph graph = this.graphManager.getGraph(e.getValue());
+            if (graph != null) {
+                bindings.put(e.getKey(), graph);
+                continue;
+            }
+            TraversalSource g = this.graphManager.getTraversalSource(
+                                e.getValue());
+            if (g == null) {
+                throw badRequest(String.format(
+                      "Could not rebind [%s] to [%s] as [%s] not in the " +
+                      "Graph or TraversalSource global bindings",
+                      e.getKey(), e.getValue(), e.getValue()));
+            }
+            bindings.put(e.getKey(), g);
+        }
+        bindings.putAll(args);
+        return bindings;
+    }
+
+    private void commit(Map<String, String> aliases) {
+        if (this.settings.strictTransactionManagement) {
+            this.graphManager.commit(new HashSet<>(aliases.values()));
+        } else {
+            this.graphManager.commitAll();
+        }
+    }
+
+    private void rollback(Map<String, String> aliases) {
+        // Don't leave the dirty transaction to the next script of the thread
+        if (this.settings.strictTransactionManagement) {
+            this.graphManager.rollback(new HashSet<>(aliases.values()));
+        } else {
+            this.graphManager.rollbackAll();
+        }
+    }
+
+    private void resetContext() {
+        // The gremlin threads are pooled, don't leak the request context
+        CancelToken.current(null);
+        Trace.activeSpan(null);
+    }
+
+    private static RuntimeException badRequest(String message) {
+        return GremlinQueryAPI.gremlinException(
+               Response.Status.BAD_REQUEST.getStatusCode(),
+               ImmutableMap.of("message", message));
+    }
+
+    private static Map<String, Object> errorResponse(String message,
+                                                     Throwable e) {
+        // Keep the same fields as the error response of http endpoint
+        List<String> exceptions = new ArrayList<>();
+        for (Throwable cause : ExceptionUtils.getThrowableList(e)) {
+            exceptions.add(cause.getClass().getName());
+        }
+        Map<String, Object> response = new HashMap<>();
+        response.put("message", message);
+        response.put("Exception-Class", e.getClass().getName());
+        response.put("exceptions", exceptions);
+        response.put("stackTrace", ExceptionUtils.getStackTrace(e));
+        return response;
+    }
+
+    private static Object fromJsonNode(JsonNode node) {
+        if (node.isNull()) {
+            return null;
+        } else if (node.isObject()) {
+            Map<String, Object> map = new HashMap<>();
+            Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                map.put(field.getKey(), fromJsonNode(field.getValue()));
+            }
+            return map;
+        } else if (node.isArray()) {
+            List<Object> list = new ArrayList<>(node.size());
+            for (int i = 0; i < node.size(); i++) {
+                list.add(fromJsonNode(node.get(i)));
+            }
+            return list;
+        } else if (node.isFloatingPointNumber()) {
+            return node.asDouble();
+        } else if (node.isIntegralNumber()) {
+            return node.asLong();
+        } else if (node.isBoolean()) {
+            return node.asBoolean();
+        } else {
+            return node.asText();
+        }
+    }
+}
@@ -28,11 +28,14 @@ import java.util.Map;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.annotation.security.RolesAllowed;
 import jakarta.inject.Singleton;
+import jakarta.ws.rs.DefaultValue;
 import jakarta.ws.rs.GET;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
 import jakarta.ws.rs.core.Context;
 
+import org.apache.tinkerpop.gremlin.server.util.MetricManager;
 import org.slf4j.Logger;
 
 import com.baidu.hugegraph.HugeGraph;
@@ -40,13 +43,18 @@ import com.baidu.hugegraph.api.API;
 import com.baidu.hugegraph.backend.store.BackendMetrics;
 import com.baidu.hugegraph.core.GraphManager;
 import com.baidu.hugegraph.metrics.MetricsModule;
+import com.baidu.hugegraph.metrics.PrometheusExporter;
 import com.baidu.hugegraph.metrics.ServerReporter;
 import com.baidu.hugegraph.metrics.SystemMetrics;
+import com.baidu.hugegraph.server.TraceRecorder;
+import com.baidu.hugegraph.util.E;
 import com.baidu.hugegraph.util.InsertionOrderUtil;
 import com.baidu.hugegraph.util.JsonUtil;
 import com.baidu.hugegraph.util.Log;
 import com.codahale.metrics.Metric;
+import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.annotation.Timed;
+import com.google.common.collect.ImmutableMap;
 
 @Singleton
 @Path("metrics")
@@ -160,4 +168,30 @@ public class MetricsAPI extends API {
         ServerReporter reporter = ServerReporter.instance();
         return JsonUtil.toJson(reporter.timers());
     }
+
+    @GET
+    @Timed
+    @Path("prometheus")
+    @Produces(PrometheusExporter.CONTENT_TYPE)
+    @RolesAllowed({"admin", "$owner= $action=metrics_read"})
+    public String prometheus() {
+        MetricRegistry registry = MetricManager.INSTANCE.getRegistry();
+        return PrometheusExporter.export(registry);
+    }
+
+    @GET
+    @Timed
+    @Path("traces")
+    @Produces(APPLICATION_JSON_WITH_CHARSET)
+    @RolesAllowed({"admin", "$owner= $action=metrics_read"})
+    public String traces(@Context TraceRecorder recorder,
+                         @QueryParam("slow") @DefaultValue("false")
+                         boolean slow,
+                         @QueryParam("limit") @DefaultValue("10") int limit) {
+        LOG.debug("Get traces with slow: {}, limit: {}", slow, limit);
+        E.checkArgument(limit > 0,
+                        "The limit must be > 0, but got %s", limit);
+        return JsonUtil.toJson(ImmutableMap.of("traces",
+                                               recorder.traces(slow, limit)));
+    }
 }
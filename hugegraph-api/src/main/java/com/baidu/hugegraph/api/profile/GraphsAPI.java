@@ -31,6 +31,7 @@ import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.DELETE;
 import jakarta.ws.rs.ForbiddenException;
 import jakarta.ws.rs.GET;
+import jakarta.ws.rs.NotFoundException;
 import jakarta.ws.rs.NotSupportedException;
 import jakarta.ws.rs.PUT;
 import jakarta.ws.rs.POST;
@@ -50,6 +51,7 @@ import com.baidu.hugegraph.auth.HugeAuthenticator.RequiredPerm;
 import com.baidu.hugegraph.auth.HugePermission;
 import com.baidu.hugegraph.config.HugeConfig;
 import com.baidu.hugegraph.core.GraphManager;
+import com.baidu.hugegraph.core.GraphManager.GraphStatus;
 import com.baidu.hugegraph.server.RestServer;
 import com.baidu.hugegraph.type.define.GraphMode;
 import com.baidu.hugegraph.type.define.GraphReadMode;
@@ -105,6 +107,24 @@ public class GraphsAPI extends API {
         return ImmutableMap.of("name", g.name(), "backend", g.backend());
     }
 
+    @GET
+    @Timed
+    @Path("{name}/status")
+    @Produces(APPLICATION_JSON_WITH_CHARSET)
+    @RolesAllowed({"admin", "$owner=$name"})
+    public Object status(@Context GraphManager manager,
+                         @PathParam("name") String name) {
+        LOG.debug("Get status of graph '{}'", name);
+
+        // Don't wait for the graph to be started
+        GraphStatus status = manager.graphStatus(name);
+        if (status == null) {
+            throw new NotFoundException(String.format(
+                      "Graph '%s' does not exist", name));
+        }
+        return ImmutableMap.of("name", name, "status", status.string());
+    }
+
     @DELETE
     @Timed
     @Path("{name}")
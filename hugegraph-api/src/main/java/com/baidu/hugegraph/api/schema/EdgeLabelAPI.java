@@ -22,6 +22,7 @@ package com.baidu.hugegraph.api.schema;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.annotation.security.RolesAllowed;
@@ -36,6 +37,8 @@ import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.QueryParam;
 import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.Request;
+import jakarta.ws.rs.core.SecurityContext;
 
 import org.apache.commons.collections.CollectionUtils;
 import org.slf4j.Logger;
@@ -113,9 +116,11 @@ public class EdgeLabelAPI extends API {
     @Timed
     @Produces(APPLICATION_JSON_WITH_CHARSET)
     @RolesAllowed({"admin", "$owner=$graph $action=edge_label_read"})
-    public String list(@Context GraphManager manager,
+    public Object list(@Context GraphManager manager,
                        @PathParam("graph") String graph,
-                       @QueryParam("names") List<String> names) {
+                       @QueryParam("names") List<String> names,
+                       @Context SecurityContext sc,
+                       @Context Request request) {
         boolean listAll = CollectionUtils.isEmpty(names);
         if (listAll) {
             LOG.debug("Graph [{}] list edge labels", graph);
@@ -124,14 +129,18 @@ public class EdgeLabelAPI extends API {
         }
 
         HugeGraph g = graph(manager, graph);
-        List<EdgeLabel> labels;
         if (listAll) {
-            labels = g.schema().getEdgeLabels();
-        } else {
-            labels = new ArrayList<>(names.size());
-            for (String name : names) {
-                labels.add(g.schema().getEdgeLabel(name));
-            }
+            Supplier<String> lister = () -> {
+                List<EdgeLabel> labels = g.schema().getEdgeLabels();
+                return manager.serializer(g).writeEdgeLabels(labels);
+            };
+            return SchemaSnapshot.response(g, "edgelabels", sc, request,
+                                           lister);
+        }
+
+        List<EdgeLabel> labels = new ArrayList<>(names.size());
+        for (String name : names) {
+            labels.add(g.schema().getEdgeLabel(name));
         }
         return manager.serializer(g).writeEdgeLabels(labels);
     }
@@ -22,6 +22,7 @@ package com.baidu.hugegraph.api.schema;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.annotation.security.RolesAllowed;
@@ -36,6 +37,8 @@ import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.QueryParam;
 import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.Request;
+import jakarta.ws.rs.core.SecurityContext;
 
 import org.apache.commons.collections.CollectionUtils;
 import org.slf4j.Logger;
@@ -114,9 +117,11 @@ public class IndexLabelAPI extends API {
     @Timed
     @Produces(APPLICATION_JSON_WITH_CHARSET)
     @RolesAllowed({"admin", "$owner=$graph $action=index_label_read"})
-    public String list(@Context GraphManager manager,
+    public Object list(@Context GraphManager manager,
                        @PathParam("graph") String graph,
-                       @QueryParam("names") List<String> names) {
+                       @QueryParam("names") List<String> names,
+                       @Context SecurityContext sc,
+                       @Context Request request) {
         boolean listAll = CollectionUtils.isEmpty(names);
         if (listAll) {
             LOG.debug("Graph [{}] list index labels", graph);
@@ -125,14 +130,19 @@ public class IndexLabelAPI extends API {
         }
 
         HugeGraph g = graph(manager, graph);
-        List<IndexLabel> labels;
         if (listAll) {
-            labels = g.schema().getIndexLabels();
-        } else {
-            labels = new ArrayList<>(names.size());
-            for (String name : names) {
-                labels.add(g.schema().getIndexLabel(name));
-            }
+            Supplier<String> lister = () -> {
+                List<IndexLabel> labels = g.schema().getIndexLabels();
+                return manager.serializer(g)
+                              .writeIndexlabels(mapIndexLabels(labels));
+            };
+            return SchemaSnapshot.response(g, "indexlabels", sc, request,
+                                           lister);
+        }
+
+        List<IndexLabel> labels = new ArrayList<>(names.size());
+        for (String name : names) {
+            labels.add(g.schema().getIndexLabel(name));
         }
         return manager.serializer(g).writeIndexlabels(mapIndexLabels(labels));
     }
@@ -208,6 +218,10 @@ public class IndexLabelAPI extends API {
         public IndexType indexType;
         @JsonProperty("fields")
         public String[] fields;
+        @JsonProperty("include_properties")
+        public String[] includeProperties;
+        @JsonProperty("dimension")
+        public int dimension;
         @JsonProperty("user_data")
         public Userdata userdata;
         @JsonProperty("check_exist")
@@ -247,6 +261,12 @@ public class IndexLabelAPI extends API {
             E.checkArgument(this.indexType == null,
                             "The index type of index label '%s' must be null",
                             this.name);
+            E.checkArgument(this.includeProperties == null,
+                            "The include properties of index label '%s' " +
+                            "must be null", this.name);
+            E.checkArgument(this.dimension == 0,
+                            "The dimension of index label '%s' must be 0",
+                            this.name);
         }
 
         private IndexLabel.Builder convert2Builder(HugeGraph g) {
@@ -271,6 +291,13 @@ public class IndexLabelAPI extends API {
             if (this.fields != null && this.fields.length > 0) {
                 builder.by(this.fields);
             }
+            if (this.includeProperties != null &&
+                this.includeProperties.length > 0) {
+                builder.include(this.includeProperties);
+            }
+            if (this.dimension > 0) {
+                builder.dimension(this.dimension);
+            }
             if (this.userdata != null) {
                 builder.userdata(this.userdata);
             }
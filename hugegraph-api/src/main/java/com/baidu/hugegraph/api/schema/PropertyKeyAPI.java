@@ -22,6 +22,7 @@ package com.baidu.hugegraph.api.schema;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.annotation.security.RolesAllowed;
@@ -36,6 +37,8 @@ import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.QueryParam;
 import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.Request;
+import jakarta.ws.rs.core.SecurityContext;
 
 import org.apache.commons.collections.CollectionUtils;
 import org.slf4j.Logger;
@@ -135,9 +138,11 @@ public class PropertyKeyAPI extends API {
     @Timed
     @Produces(APPLICATION_JSON_WITH_CHARSET)
     @RolesAllowed({"admin", "$owner=$graph $action=property_key_read"})
-    public String list(@Context GraphManager manager,
+    public Object list(@Context GraphManager manager,
                        @PathParam("graph") String graph,
-                       @QueryParam("names") List<String> names) {
+                       @QueryParam("names") List<String> names,
+                       @Context SecurityContext sc,
+                       @Context Request request) {
         boolean listAll = CollectionUtils.isEmpty(names);
         if (listAll) {
             LOG.debug("Graph [{}] list property keys", graph);
@@ -146,14 +151,18 @@ public class PropertyKeyAPI extends API {
         }
 
         HugeGraph g = graph(manager, graph);
-        List<PropertyKey> propKeys;
         if (listAll) {
-            propKeys = g.schema().getPropertyKeys();
-        } else {
-            propKeys = new ArrayList<>(names.size());
-            for (String name : names) {
-                propKeys.add(g.schema().getPropertyKey(name));
-            }
+            Supplier<String> lister = () -> {
+                List<PropertyKey> propKeys = g.schema().getPropertyKeys();
+                return manager.serializer(g).writePropertyKeys(propKeys);
+            };
+            return SchemaSnapshot.response(g, "propertykeys", sc, request,
+                                           lister);
+        }
+
+        List<PropertyKey> propKeys = new ArrayList<>(names.size());
+        for (String name : names) {
+            propKeys.add(g.schema().getPropertyKey(name));
         }
         return manager.serializer(g).writePropertyKeys(propKeys);
     }
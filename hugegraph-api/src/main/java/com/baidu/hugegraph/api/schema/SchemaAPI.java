@@ -31,6 +31,9 @@ import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.Request;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.SecurityContext;
 
 import org.slf4j.Logger;
 
@@ -52,19 +55,23 @@ public class SchemaAPI extends API {
     @Timed
     @Produces(APPLICATION_JSON_WITH_CHARSET)
     @RolesAllowed({"admin", "$owner=$graph $action=schema_read"})
-    public String list(@Context GraphManager manager,
-                       @PathParam("graph") String graph) {
+    public Response list(@Context GraphManager manager,
+                         @PathParam("graph") String graph,
+                         @Context SecurityContext sc,
+                         @Context Request request) {
         LOG.debug("Graph [{}] list all schema", graph);
 
         HugeGraph g = graph(manager, graph);
-        SchemaManager schema = g.schema();
+        return SchemaSnapshot.response(g, "schema", sc, request, () -> {
+            SchemaManager schema = g.schema();
 
-        Map<String, List<?>> schemaMap = new LinkedHashMap<>(4);
-        schemaMap.put("propertykeys", schema.getPropertyKeys());
-        schemaMap.put("vertexlabels", schema.getVertexLabels());
-        schemaMap.put("edgelabels", schema.getEdgeLabels());
-        schemaMap.put("indexlabels", schema.getIndexLabels());
+            Map<String, List<?>> schemaMap = new LinkedHashMap<>(4);
+            schemaMap.put("propertykeys", schema.getPropertyKeys());
+            schemaMap.put("vertexlabels", schema.getVertexLabels());
+            schemaMap.put("edgelabels", schema.getEdgeLabels());
+            schemaMap.put("indexlabels", schema.getIndexLabels());
 
-        return manager.serializer(g).writeMap(schemaMap);
+            return manager.serializer(g).writeMap(schemaMap);
+        });
     }
 }
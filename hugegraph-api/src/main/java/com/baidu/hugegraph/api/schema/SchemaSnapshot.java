@@ -0,0 +1,116 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.api.schema;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import jakarta.ws.rs.core.CacheControl;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.Request;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.SecurityContext;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.lang3.tuple.Pair;
+
+import com.baidu.hugegraph.HugeGraph;
+import com.baidu.hugegraph.api.filter.AuthenticationFilter.Authorizer;
+import com.baidu.hugegraph.auth.RolePermission;
+
+/**
+ * The serialized responses of listing schema, which are kept until the
+ * schema version of the graph is changed by the schema cache events, and
+ * tagged with the digest of the body, so that polling the schema with
+ * If-None-Match costs just a lookup if the schema is not changed.
+ *
+ * The schema listed is filtered by the role of the user, so the responses
+ * are kept by the role.
+ */
+final class SchemaSnapshot {
+
+    // The max number of responses of a graph, like kinds * roles
+    private static final int MAX_RESPONSES = 256;
+
+    private static final Map<String, SchemaSnapshot> SNAPSHOTS =
+                                                     new ConcurrentHashMap<>();
+
+    private static final CacheControl NO_CACHE = new CacheControl();
+
+    static {
+        // Let the clients revalidate the responses with the etag every time
+        NO_CACHE.setNoCache(true);
+        NO_CACHE.setNoTransform(false);
+    }
+
+    private final long version;
+    private final Map<Pair<String, RolePermission>, Body> bodies;
+
+    private SchemaSnapshot(long version) {
+        this.version = version;
+        this.bodies = new ConcurrentHashMap<>();
+    }
+
+    public static Response response(HugeGraph g, String kind,
+                                    SecurityContext context, Request request,
+                                    Supplier<String> serializer) {
+        // NOTE: get the version before listing the schema
+        long version = g.schemaVersion();
+        String graph = g.name();
+        SchemaSnapshot snapshot = SNAPSHOTS.get(graph);
+        if (snapshot == null || snapshot.version != version) {
+            snapshot = new SchemaSnapshot(version);
+            SNAPSHOTS.put(graph, snapshot);
+        }
+
+        RolePermission role = null;
+        if (context instanceof Authorizer) {
+            role = ((Authorizer) context).role();
+        }
+        Pair<String, RolePermission> key = Pair.of(kind, role);
+        Body body = snapshot.bodies.get(key);
+        if (body == null) {
+            body = new Body(serializer.get());
+            if (snapshot.bodies.size() < MAX_RESPONSES) {
+                snapshot.bodies.putIfAbsent(key, body);
+            }
+        }
+
+        Response.ResponseBuilder builder;
+        builder = request.evaluatePreconditions(body.etag);
+        if (builder == null) {
+            builder = Response.ok(body.content);
+        }
+        return builder.tag(body.etag).cacheControl(NO_CACHE).build();
+    }
+
+    private static final class Body {
+
+        private final String content;
+        private final EntityTag etag;
+
+        public Body(String content) {
+            this.content = content;
+            // Weak tag since the body may be compressed or encoded
+            this.etag = new EntityTag(DigestUtils.md5Hex(content), true);
+        }
+    }
+}
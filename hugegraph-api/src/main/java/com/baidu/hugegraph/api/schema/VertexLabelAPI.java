@@ -22,6 +22,7 @@ package com.baidu.hugegraph.api.schema;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.annotation.security.RolesAllowed;
@@ -36,6 +37,8 @@ import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.QueryParam;
 import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.Request;
+import jakarta.ws.rs.core.SecurityContext;
 
 import org.apache.commons.collections.CollectionUtils;
 import org.slf4j.Logger;
@@ -116,9 +119,11 @@ public class VertexLabelAPI extends API {
     @Timed
     @Produces(APPLICATION_JSON_WITH_CHARSET)
     @RolesAllowed({"admin", "$owner=$graph $action=vertex_label_read"})
-    public String list(@Context GraphManager manager,
+    public Object list(@Context GraphManager manager,
                        @PathParam("graph") String graph,
-                       @QueryParam("names") List<String> names) {
+                       @QueryParam("names") List<String> names,
+                       @Context SecurityContext sc,
+                       @Context Request request) {
         boolean listAll = CollectionUtils.isEmpty(names);
         if (listAll) {
             LOG.debug("Graph [{}] list vertex labels", graph);
@@ -127,14 +132,18 @@ public class VertexLabelAPI extends API {
         }
 
         HugeGraph g = graph(manager, graph);
-        List<VertexLabel> labels;
         if (listAll) {
-            labels = g.schema().getVertexLabels();
-        } else {
-            labels = new ArrayList<>(names.size());
-            for (String name : names) {
-                labels.add(g.schema().getVertexLabel(name));
-            }
+            Supplier<String> lister = () -> {
+                List<VertexLabel> labels = g.schema().getVertexLabels();
+                return manager.serializer(g).writeVertexLabels(labels);
+            };
+            return SchemaSnapshot.response(g, "vertexlabels", sc, request,
+                                           lister);
+        }
+
+        List<VertexLabel> labels = new ArrayList<>(names.size());
+        for (String name : names) {
+            labels.add(g.schema().getVertexLabel(name));
         }
         return manager.serializer(g).writeVertexLabels(labels);
     }
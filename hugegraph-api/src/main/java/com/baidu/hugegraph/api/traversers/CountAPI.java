@@ -83,11 +83,27 @@ public class CountAPI extends API {
 
         HugeGraph g = graph(manager, graph);
         List<EdgeStep> steps = steps(g, request);
-        CountTraverser traverser = new CountTraverser(g);
-        long count = traverser.count(sourceId, steps, request.containsTraversed,
-                                     request.dedupSize);
 
-        return manager.serializer(g).writeMap(ImmutableMap.of("count", count));
+        List<String> stepKeys = new ArrayList<>(request.steps.size());
+        List<List<String>> stepLabels = new ArrayList<>(request.steps.size());
+        for (Step step : request.steps) {
+            stepKeys.add(TraverserAPI.stepKey(step.direction, step.labels,
+                                              step.properties, step.maxDegree,
+                                              step.skipDegree));
+            stepLabels.add(step.labels);
+        }
+        String key = TraverserAPI.cacheKey("count", sourceId, stepKeys,
+                                           request.containsTraversed,
+                                           request.dedupSize);
+        List<String> labels = TraverserAPI.stepLabels(stepLabels);
+        return TraverserAPI.cachedResult(g, key, labels, () -> {
+            CountTraverser traverser = new CountTraverser(g);
+            long count = traverser.count(sourceId, steps,
+                                         request.containsTraversed,
+                                         request.dedupSize);
+            return manager.serializer(g).writeMap(ImmutableMap.of("count",
+                                                                  count));
+        });
     }
 
     private static List<EdgeStep> steps(HugeGraph graph, CountRequest request) {
@@ -71,7 +71,7 @@ public class CustomizedPathsAPI extends API {
     @Timed
     @Consumes(APPLICATION_JSON)
     @Produces(APPLICATION_JSON_WITH_CHARSET)
-    public String post(@Context GraphManager manager,
+    public Object post(@Context GraphManager manager,
                        @PathParam("graph") String graph,
                        PathRequest request) {
         E.checkArgumentNotNull(request, "The path request body can't be null");
@@ -82,12 +82,17 @@ public class CustomizedPathsAPI extends API {
         if (request.sortBy == null) {
             request.sortBy = SortBy.NONE;
         }
+        E.checkArgument(!request.stream || !request.withVertex,
+                        "Can't stream paths with vertex");
+        E.checkArgument(!request.stream || request.sortBy == SortBy.NONE,
+                        "Can't stream paths with sort by '%s'",
+                        request.sortBy);
 
         LOG.debug("Graph [{}] get customized paths from source vertex '{}', " +
-                  "with steps '{}', sort by '{}', capacity '{}', limit '{}' " +
-                  "and with_vertex '{}'", graph, request.sources, request.steps,
-                  request.sortBy, request.capacity, request.limit,
-                  request.withVertex);
+                  "with steps '{}', sort by '{}', capacity '{}', limit '{}', " +
+                  "with_vertex '{}' and stream '{}'", graph, request.sources,
+                  request.steps, request.sortBy, request.capacity,
+                  request.limit, request.withVertex, request.stream);
 
         HugeGraph g = graph(manager, graph);
         Iterator<Vertex> sources = request.sources.vertices(g);
@@ -95,6 +100,13 @@ public class CustomizedPathsAPI extends API {
         boolean sorted = request.sortBy != SortBy.NONE;
 
         CustomizePathsTraverser traverser = new CustomizePathsTraverser(g);
+        if (request.stream) {
+            return TraverserAPI.streamPaths("paths", emitter -> {
+                traverser.customizedPaths(sources, steps, false,
+                                          request.capacity, request.limit,
+                                          emitter);
+            });
+        }
         List<HugeTraverser.Path> paths;
         paths = traverser.customizedPaths(sources, steps, sorted,
                                           request.capacity, request.limit);
@@ -144,14 +156,16 @@ public class CustomizedPathsAPI extends API {
         public long limit = Long.parseLong(DEFAULT_PATHS_LIMIT);
         @JsonProperty("with_vertex")
         public boolean withVertex = false;
+        @JsonProperty("stream")
+        public boolean stream = false;
 
         @Override
         public String toString() {
             return String.format("PathRequest{sourceVertex=%s,steps=%s," +
                                  "sortBy=%s,capacity=%s,limit=%s," +
-                                 "withVertex=%s}", this.sources, this.steps,
-                                 this.sortBy, this.capacity, this.limit,
-                                 this.withVertex);
+                                 "withVertex=%s,stream=%s}", this.sources,
+                                 this.steps, this.sortBy, this.capacity,
+                                 this.limit, this.withVertex, this.stream);
         }
     }
 
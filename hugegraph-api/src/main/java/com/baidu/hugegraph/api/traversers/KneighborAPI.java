@@ -22,6 +22,7 @@ package com.baidu.hugegraph.api.traversers;
 import static com.baidu.hugegraph.traversal.algorithm.HugeTraverser.DEFAULT_ELEMENTS_LIMIT;
 import static com.baidu.hugegraph.traversal.algorithm.HugeTraverser.DEFAULT_MAX_DEGREE;
 
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
@@ -93,12 +94,18 @@ public class KneighborAPI extends TraverserAPI {
 
         HugeGraph g = graph(manager, graph);
 
-        Set<Id> ids;
-        try (KneighborTraverser traverser = new KneighborTraverser(g)) {
-            ids = traverser.kneighbor(source, dir, edgeLabel,
-                                      depth, maxDegree, limit);
-        }
-        return manager.serializer(g).writeList("vertices", ids);
+        String key = cacheKey("kneighbor", source, dir, edgeLabel, depth,
+                              maxDegree, limit);
+        List<String> labels = edgeLabel == null ? ImmutableList.of() :
+                              ImmutableList.of(edgeLabel);
+        return cachedResult(g, key, labels, () -> {
+            Set<Id> ids;
+            try (KneighborTraverser traverser = new KneighborTraverser(g)) {
+                ids = traverser.kneighbor(source, dir, edgeLabel,
+                                          depth, maxDegree, limit);
+            }
+            return manager.serializer(g).writeList("vertices", ids);
+        });
     }
 
     @POST
@@ -129,6 +136,22 @@ public class KneighborAPI extends TraverserAPI {
 
         EdgeStep step = step(g, request.step);
 
+        if (request.withVertex) {
+            // The vertices may be updated without changing any edge
+            return this.kneighbor(manager, g, sourceId, step, request);
+        }
+        String key = cacheKey("kneighbor", sourceId, request.step.cacheKey(),
+                              request.maxDepth, request.limit,
+                              request.countOnly, request.withPath);
+        List<String> labels = stepLabels(Collections.singletonList(
+                                         request.step.labels));
+        return cachedResult(g, key, labels, () -> {
+            return this.kneighbor(manager, g, sourceId, step, request);
+        });
+    }
+
+    private String kneighbor(GraphManager manager, HugeGraph g, Id sourceId,
+                             EdgeStep step, Request request) {
         KneighborRecords results;
         try (KneighborTraverser traverser = new KneighborTraverser(g)) {
             results = traverser.customizedKneighbor(sourceId, step,
@@ -23,6 +23,7 @@ import static com.baidu.hugegraph.traversal.algorithm.HugeTraverser.DEFAULT_CAPA
 import static com.baidu.hugegraph.traversal.algorithm.HugeTraverser.DEFAULT_ELEMENTS_LIMIT;
 import static com.baidu.hugegraph.traversal.algorithm.HugeTraverser.DEFAULT_MAX_DEGREE;
 
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
@@ -98,12 +99,18 @@ public class KoutAPI extends TraverserAPI {
 
         HugeGraph g = graph(manager, graph);
 
-        Set<Id> ids;
-        try (KoutTraverser traverser = new KoutTraverser(g)) {
-            ids = traverser.kout(sourceId, dir, edgeLabel, depth,
-                                 nearest, maxDegree, capacity, limit);
-        }
-        return manager.serializer(g).writeList("vertices", ids);
+        String key = cacheKey("kout", sourceId, dir, edgeLabel, depth,
+                              nearest, maxDegree, capacity, limit);
+        List<String> labels = edgeLabel == null ? ImmutableList.of() :
+                              ImmutableList.of(edgeLabel);
+        return cachedResult(g, key, labels, () -> {
+            Set<Id> ids;
+            try (KoutTraverser traverser = new KoutTraverser(g)) {
+                ids = traverser.kout(sourceId, dir, edgeLabel, depth,
+                                     nearest, maxDegree, capacity, limit);
+            }
+            return manager.serializer(g).writeList("vertices", ids);
+        });
     }
 
     @POST
@@ -136,6 +143,23 @@ public class KoutAPI extends TraverserAPI {
 
         EdgeStep step = step(g, request.step);
 
+        if (request.withVertex) {
+            // The vertices may be updated without changing any edge
+            return this.kout(manager, g, sourceId, step, request);
+        }
+        String key = cacheKey("kout", sourceId, request.step.cacheKey(),
+                              request.maxDepth, request.nearest,
+                              request.countOnly, request.capacity,
+                              request.limit, request.withPath);
+        List<String> labels = stepLabels(Collections.singletonList(
+                                         request.step.labels));
+        return cachedResult(g, key, labels, () -> {
+            return this.kout(manager, g, sourceId, step, request);
+        });
+    }
+
+    private String kout(GraphManager manager, HugeGraph g, Id sourceId,
+                        EdgeStep step, Request request) {
         KoutRecords results;
         try (KoutTraverser traverser = new KoutTraverser(g)) {
             results = traverser.customizedKout(sourceId, step,
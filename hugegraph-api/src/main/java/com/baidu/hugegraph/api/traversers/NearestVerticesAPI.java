@@ -0,0 +1,111 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.api.traversers;
+
+import java.util.Iterator;
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.inject.Singleton;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.Context;
+
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.slf4j.Logger;
+
+import com.baidu.hugegraph.HugeGraph;
+import com.baidu.hugegraph.api.API;
+import com.baidu.hugegraph.api.filter.CompressInterceptor.Compress;
+import com.baidu.hugegraph.backend.query.Condition;
+import com.baidu.hugegraph.backend.query.ConditionQuery;
+import com.baidu.hugegraph.core.GraphManager;
+import com.baidu.hugegraph.schema.PropertyKey;
+import com.baidu.hugegraph.server.RestServer;
+import com.baidu.hugegraph.type.HugeType;
+import com.baidu.hugegraph.type.define.HugeKeys;
+import com.baidu.hugegraph.util.E;
+import com.baidu.hugegraph.util.Log;
+import com.codahale.metrics.annotation.Timed;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+@Path("graphs/{graph}/traversers/nearestvertices")
+@Singleton
+@Tag(name = "NearestVerticesAPI")
+public class NearestVerticesAPI extends API {
+
+    private static final Logger LOG = Log.logger(RestServer.class);
+
+    private static final int MAX_TOP = 1000;
+
+    @POST
+    @Timed
+    @Compress
+    @Produces(APPLICATION_JSON_WITH_CHARSET)
+    public String post(@Context GraphManager manager,
+                       @PathParam("graph") String graph,
+                       NearestRequest request) {
+        LOG.debug("Graph [{}] get nearest vertices with request {}",
+                  graph, request);
+
+        E.checkArgumentNotNull(request, "The request body can't be null");
+        E.checkArgumentNotNull(request.property,
+                               "The property of request can't be null");
+        E.checkArgument(request.vector != null && !request.vector.isEmpty(),
+                        "The vector of request can't be null or empty");
+        E.checkArgument(request.top > 0 && request.top <= MAX_TOP,
+                        "The top of request must be in (0, %s], " +
+                        "but got: %s", MAX_TOP, request.top);
+
+        HugeGraph g = graph(manager, graph);
+        PropertyKey property = g.propertyKey(request.property);
+
+        ConditionQuery query = new ConditionQuery(HugeType.VERTEX);
+        if (request.label != null) {
+            query.eq(HugeKeys.LABEL, g.vertexLabel(request.label).id());
+        }
+        query.query(Condition.nearest(property.id(), new Condition.Nearest(
+                                      request.vector, request.top)));
+
+        Iterator<Vertex> vertices = g.vertices(query);
+        return manager.serializer(g).writeVertices(vertices, false);
+    }
+
+    private static class NearestRequest {
+
+        @JsonProperty("label")
+        public String label;
+        @JsonProperty("property")
+        public String property;
+        @JsonProperty("vector")
+        public List<Float> vector;
+        @JsonProperty("top")
+        public int top = 10;
+
+        @Override
+        public String toString() {
+            return String.format("NearestRequest{label=%s,property=%s," +
+                                 "vector=%s,top=%s}", this.label,
+                                 this.property, this.vector, this.top);
+        }
+    }
+}
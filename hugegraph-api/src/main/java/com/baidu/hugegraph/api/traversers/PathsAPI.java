@@ -71,7 +71,7 @@ public class PathsAPI extends TraverserAPI {
     @GET
     @Timed
     @Produces(APPLICATION_JSON_WITH_CHARSET)
-    public String get(@Context GraphManager manager,
+    public Object get(@Context GraphManager manager,
                       @PathParam("graph") String graph,
                       @QueryParam("source") String source,
                       @QueryParam("target") String target,
@@ -83,12 +83,14 @@ public class PathsAPI extends TraverserAPI {
                       @QueryParam("capacity")
                       @DefaultValue(DEFAULT_CAPACITY) long capacity,
                       @QueryParam("limit")
-                      @DefaultValue(DEFAULT_PATHS_LIMIT) long limit) {
+                      @DefaultValue(DEFAULT_PATHS_LIMIT) long limit,
+                      @QueryParam("stream")
+                      @DefaultValue("false") boolean stream) {
         LOG.debug("Graph [{}] get paths from '{}', to '{}' with " +
                   "direction {}, edge label {}, max depth '{}', " +
-                  "max degree '{}', capacity '{}' and limit '{}'",
-                  graph, source, target, direction, edgeLabel, depth,
-                  maxDegree, capacity, limit);
+                  "max degree '{}', capacity '{}', limit '{}' and " +
+                  "stream '{}'", graph, source, target, direction, edgeLabel,
+                  depth, maxDegree, capacity, limit, stream);
 
         Id sourceId = VertexAPI.checkAndParseVertexId(source);
         Id targetId = VertexAPI.checkAndParseVertexId(target);
@@ -96,6 +98,13 @@ public class PathsAPI extends TraverserAPI {
 
         HugeGraph g = graph(manager, graph);
         PathsTraverser traverser = new PathsTraverser(g);
+        if (stream) {
+            return streamPaths("paths", emitter -> {
+                traverser.paths(sourceId, dir, targetId, dir.opposite(),
+                                edgeLabel, depth, maxDegree, capacity,
+                                limit, emitter);
+            });
+        }
         HugeTraverser.PathSet paths = traverser.paths(sourceId, dir, targetId,
                                                       dir.opposite(), edgeLabel,
                                                       depth, maxDegree, capacity,
@@ -107,7 +116,7 @@ public class PathsAPI extends TraverserAPI {
     @Timed
     @Consumes(APPLICATION_JSON)
     @Produces(APPLICATION_JSON_WITH_CHARSET)
-    public String post(@Context GraphManager manager,
+    public Object post(@Context GraphManager manager,
                        @PathParam("graph") String graph,
                        Request request) {
         E.checkArgumentNotNull(request, "The request body can't be null");
@@ -120,13 +129,15 @@ public class PathsAPI extends TraverserAPI {
         E.checkArgument(request.depth > 0 && request.depth <= DEFAULT_MAX_DEPTH,
                         "The depth of request must be in (0, %s], " +
                         "but got: %s", DEFAULT_MAX_DEPTH, request.depth);
+        E.checkArgument(!request.stream || !request.withVertex,
+                        "Can't stream paths with vertex");
 
         LOG.debug("Graph [{}] get paths from source vertices '{}', target " +
                   "vertices '{}', with step '{}', max depth '{}', " +
-                  "capacity '{}', limit '{}' and with_vertex '{}'",
-                  graph, request.sources, request.targets, request.step,
-                  request.depth, request.capacity, request.limit,
-                  request.withVertex);
+                  "capacity '{}', limit '{}', with_vertex '{}' and " +
+                  "stream '{}'", graph, request.sources, request.targets,
+                  request.step, request.depth, request.capacity,
+                  request.limit, request.withVertex, request.stream);
 
         HugeGraph g = graph(manager, graph);
         Iterator<Vertex> sources = request.sources.vertices(g);
@@ -134,6 +145,13 @@ public class PathsAPI extends TraverserAPI {
         EdgeStep step = step(g, request.step);
 
         CollectionPathsTraverser traverser = new CollectionPathsTraverser(g);
+        if (request.stream) {
+            return streamPaths("paths", emitter -> {
+                traverser.paths(sources, targets, step, request.depth,
+                                request.nearest, request.capacity,
+                                request.limit, emitter);
+            });
+        }
         Collection<HugeTraverser.Path> paths;
         paths = traverser.paths(sources, targets, step, request.depth,
                                 request.nearest, request.capacity,
@@ -172,15 +190,17 @@ public class PathsAPI extends TraverserAPI {
         public long limit = Long.parseLong(DEFAULT_PATHS_LIMIT);
         @JsonProperty("with_vertex")
         public boolean withVertex = false;
+        @JsonProperty("stream")
+        public boolean stream = false;
 
         @Override
         public String toString() {
             return String.format("PathRequest{sources=%s,targets=%s,step=%s," +
                                  "maxDepth=%s,nearest=%s,capacity=%s," +
-                                 "limit=%s,withVertex=%s}", this.sources,
-                                 this.targets, this.step, this.depth,
-                                 this.nearest, this.capacity,
-                                 this.limit, this.withVertex);
+                                 "limit=%s,withVertex=%s,stream=%s}",
+                                 this.sources, this.targets, this.step,
+                                 this.depth, this.nearest, this.capacity,
+                                 this.limit, this.withVertex, this.stream);
         }
     }
 }
@@ -37,7 +37,6 @@ import jakarta.ws.rs.core.Context;
 import org.slf4j.Logger;
 
 import com.baidu.hugegraph.HugeGraph;
-import com.baidu.hugegraph.api.API;
 import com.baidu.hugegraph.api.graph.EdgeAPI;
 import com.baidu.hugegraph.api.graph.VertexAPI;
 import com.baidu.hugegraph.backend.id.Id;
@@ -53,7 +52,7 @@ import com.google.common.collect.ImmutableList;
 @Path("graphs/{graph}/traversers/shortestpath")
 @Singleton
 @Tag(name = "ShortestPathAPI")
-public class ShortestPathAPI extends API {
+public class ShortestPathAPI extends TraverserAPI {
 
     private static final Logger LOG = Log.logger(RestServer.class);
 
@@ -84,14 +83,20 @@ public class ShortestPathAPI extends API {
 
         HugeGraph g = graph(manager, graph);
 
-        ShortestPathTraverser traverser = new ShortestPathTraverser(g);
-
         List<String> edgeLabels = edgeLabel == null ? ImmutableList.of() :
                                   ImmutableList.of(edgeLabel);
-        HugeTraverser.Path path = traverser.shortestPath(sourceId, targetId,
-                                                         dir, edgeLabels, depth,
-                                                         maxDegree, skipDegree,
-                                                         capacity);
-        return manager.serializer(g).writeList("path", path.vertices());
+        String key = cacheKey("shortestpath", sourceId, targetId, dir,
+                              edgeLabel, depth, maxDegree, skipDegree,
+                              capacity);
+        return cachedResult(g, key, edgeLabels, () -> {
+            ShortestPathTraverser traverser = new ShortestPathTraverser(g);
+            HugeTraverser.Path path = traverser.shortestPath(sourceId,
+                                                             targetId, dir,
+                                                             edgeLabels, depth,
+                                                             maxDegree,
+                                                             skipDegree,
+                                                             capacity);
+            return manager.serializer(g).writeList("path", path.vertices());
+        });
     }
 }
@@ -64,7 +64,7 @@ public class TemplatePathsAPI extends TraverserAPI {
     @Timed
     @Consumes(APPLICATION_JSON)
     @Produces(APPLICATION_JSON_WITH_CHARSET)
-    public String post(@Context GraphManager manager,
+    public Object post(@Context GraphManager manager,
                        @PathParam("graph") String graph,
                        Request request) {
         E.checkArgumentNotNull(request, "The request body can't be null");
@@ -74,12 +74,15 @@ public class TemplatePathsAPI extends TraverserAPI {
                                "The targets of request can't be null");
         E.checkArgument(request.steps != null && !request.steps.isEmpty(),
                         "The steps of request can't be empty");
+        E.checkArgument(!request.stream || !request.withVertex,
+                        "Can't stream paths with vertex");
 
         LOG.debug("Graph [{}] get template paths from source vertices '{}', " +
                   "target vertices '{}', with steps '{}', " +
-                  "capacity '{}', limit '{}' and with_vertex '{}'",
-                  graph, request.sources, request.targets, request.steps,
-                  request.capacity, request.limit, request.withVertex);
+                  "capacity '{}', limit '{}', with_vertex '{}' and " +
+                  "stream '{}'", graph, request.sources, request.targets,
+                  request.steps, request.capacity, request.limit,
+                  request.withVertex, request.stream);
 
         HugeGraph g = graph(manager, graph);
         Iterator<Vertex> sources = request.sources.vertices(g);
@@ -87,6 +90,13 @@ public class TemplatePathsAPI extends TraverserAPI {
         List<RepeatEdgeStep> steps = steps(g, request.steps);
 
         TemplatePathsTraverser traverser = new TemplatePathsTraverser(g);
+        if (request.stream) {
+            return streamPaths("paths", emitter -> {
+                traverser.templatePaths(sources, targets, steps,
+                                        request.withRing, request.capacity,
+                                        request.limit, emitter);
+            });
+        }
         Set<HugeTraverser.Path> paths;
         paths = traverser.templatePaths(sources, targets, steps,
                                         request.withRing, request.capacity,
@@ -139,15 +149,17 @@ public class TemplatePathsAPI extends TraverserAPI {
         public long limit = Long.parseLong(DEFAULT_PATHS_LIMIT);
         @JsonProperty("with_vertex")
         public boolean withVertex = false;
+        @JsonProperty("stream")
+        public boolean stream = false;
 
         @Override
         public String toString() {
             return String.format("TemplatePathsRequest{sources=%s,targets=%s," +
                                  "steps=%s,withRing=%s,capacity=%s,limit=%s," +
-                                 "withVertex=%s}",
+                                 "withVertex=%s,stream=%s}",
                                  this.sources, this.targets, this.steps,
                                  this.withRing, this.capacity, this.limit,
-                                 this.withVertex);
+                                 this.withVertex, this.stream);
         }
     }
 
@@ -21,23 +21,136 @@ package com.baidu.hugegraph.api.traversers;
 
 import static com.baidu.hugegraph.traversal.algorithm.HugeTraverser.DEFAULT_MAX_DEGREE;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import jakarta.ws.rs.core.StreamingOutput;
 
 import com.baidu.hugegraph.HugeGraph;
 import com.baidu.hugegraph.api.API;
+import com.baidu.hugegraph.backend.cache.TraversalCache;
+import com.baidu.hugegraph.backend.id.Id;
+import com.baidu.hugegraph.serializer.PathsWriter;
+import com.baidu.hugegraph.traversal.algorithm.HugeTraverser.PathEmitter;
 import com.baidu.hugegraph.traversal.algorithm.steps.EdgeStep;
 import com.baidu.hugegraph.type.define.Directions;
 import com.fasterxml.jackson.annotation.JsonAlias;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 
 public class TraverserAPI extends API {
 
+    // Don't cache too large results, measured by the length of response
+    private static final int MAX_CACHED_RESULT_LENGTH = 1024 * 1024;
+
     protected static EdgeStep step(HugeGraph graph, Step step) {
         return new EdgeStep(graph, step.direction, step.labels, step.properties,
                             step.maxDegree, step.skipDegree);
     }
 
+    /**
+     * Get the response from the traversal cache if it's enabled, otherwise
+     * compute it directly
+     * @param key        the normalized request, it must contain all the
+     *                   arguments which affect the response
+     * @param edgeLabels the names of the traversed edge labels, empty means
+     *                   any edge label may be traversed
+     */
+    protected static String cachedResult(HugeGraph graph, String key,
+                                         Collection<String> edgeLabels,
+                                         Supplier<String> computer) {
+        TraversalCache cache = graph.traversalCache();
+        if (cache == null) {
+            return computer.get();
+        }
+        List<Id> labels = new ArrayList<>(edgeLabels.size());
+        for (String label : edgeLabels) {
+            labels.add(graph.edgeLabel(label).id());
+        }
+        return cache.getOrCompute(key, labels, computer, result -> {
+            return result.length() <= MAX_CACHED_RESULT_LENGTH;
+        });
+    }
+
+    /**
+     * Write the paths into the response as soon as they are found instead
+     * of holding all of them, the traversal is executed while writing the
+     * response. An error before any path is sent is responded as usual,
+     * but an error after that can't change the status 200 sent already,
+     * it ends the written paths with "complete":false and an error field:
+     * {"paths":[...],"complete":false,"error":{"exception":...}}
+     * NOTE: the client of a streamed request must check the "complete"
+     * field even if the status is 200
+     */
+    protected static StreamingOutput streamPaths(String name,
+                                                 Consumer<PathEmitter> paths) {
+        return output -> {
+            PathsWriter writer = new PathsWriter(name, false, output);
+            try {
+                paths.accept(writer);
+            } catch (RuntimeException e) {
+                if (!writer.started()) {
+                    throw e;
+                }
+                LOG.warn("Failed to stream {} after some were written",
+                         name, e);
+                writer.fail(e);
+                return;
+            }
+            writer.finish();
+        };
+    }
+
+    protected static String cacheKey(Object... parts) {
+        StringBuilder key = new StringBuilder();
+        for (Object part : parts) {
+            if (key.length() > 0) {
+                key.append('|');
+            }
+            if (part instanceof Id) {
+                // Distinguish number id from string id with the same literal
+                key.append(((Id) part).type()).append(':');
+            }
+            key.append(part);
+        }
+        return key.toString();
+    }
+
+    protected static String stepKey(Directions direction, List<String> labels,
+                                    Map<String, Object> properties,
+                                    long maxDegree, long skipDegree) {
+        // Sort labels and properties to share results of the same step
+        List<String> sortedLabels = labels == null ? ImmutableList.of() :
+                                    new ArrayList<>(new TreeSet<>(labels));
+        Map<String, Object> sortedProps = properties == null ?
+                                          ImmutableMap.of() :
+                                          new TreeMap<>(properties);
+        return String.format("Step{%s,%s,%s,%s,%s}", direction, sortedLabels,
+                             sortedProps, maxDegree, skipDegree);
+    }
+
+    /**
+     * Collect the edge labels traversed by the steps, empty if any step may
+     * traverse any edge label
+     */
+    protected static List<String> stepLabels(List<List<String>> stepLabels) {
+        List<String> labels = new ArrayList<>();
+        for (List<String> step : stepLabels) {
+            if (step == null || step.isEmpty()) {
+                return ImmutableList.of();
+            }
+            labels.addAll(step);
+        }
+        return new ArrayList<>(new TreeSet<>(labels));
+    }
+
     protected static class Step {
 
         @JsonProperty("direction")
@@ -52,6 +165,11 @@ public class TraverserAPI extends API {
         @JsonProperty("skip_degree")
         public long skipDegree = 0L;
 
+        public String cacheKey() {
+            return stepKey(this.direction, this.labels, this.properties,
+                           this.maxDegree, this.skipDegree);
+        }
+
         @Override
         public String toString() {
             return String.format("Step{direction=%s,labels=%s,properties=%s," +
@@ -28,6 +28,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSo
 import org.apache.tinkerpop.gremlin.server.GraphManager;
 import org.apache.tinkerpop.gremlin.server.GremlinServer;
 import org.apache.tinkerpop.gremlin.server.Settings;
+import org.apache.tinkerpop.gremlin.server.util.ServerGremlinExecutor;
 import org.apache.tinkerpop.gremlin.server.util.ThreadFactoryUtil;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.slf4j.Logger;
@@ -88,9 +89,20 @@ public class ContextGremlinServer extends GremlinServer {
         this.eventHub.unlisten(Events.GRAPH_DROP);
     }
 
+    @Override
+    public synchronized CompletableFuture<ServerGremlinExecutor> start()
+                                 throws Exception {
+        return super.start().thenApply(executor -> {
+            // Let RestServer execute the gremlin requests in the process
+            this.eventHub.notify(Events.GREMLIN_START, this);
+            return executor;
+        });
+    }
+
     @Override
     public synchronized CompletableFuture<Void> stop() {
         try {
+            this.eventHub.notify(Events.GREMLIN_STOP, this);
             return super.stop();
         } finally {
             this.unlistenChanges();
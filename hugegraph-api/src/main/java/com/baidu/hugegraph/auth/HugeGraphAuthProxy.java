@@ -28,6 +28,7 @@ import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Future;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadFactory;
@@ -70,6 +71,7 @@ import com.baidu.hugegraph.auth.HugeAuthenticator.User;
 import com.baidu.hugegraph.auth.SchemaDefine.AuthElement;
 import com.baidu.hugegraph.backend.cache.Cache;
 import com.baidu.hugegraph.backend.cache.CacheManager;
+import com.baidu.hugegraph.backend.cache.TraversalCache;
 import com.baidu.hugegraph.backend.id.Id;
 import com.baidu.hugegraph.backend.id.IdGenerator;
 import com.baidu.hugegraph.backend.query.Query;
@@ -100,6 +102,7 @@ import com.baidu.hugegraph.task.TaskScheduler;
 import com.baidu.hugegraph.task.TaskStatus;
 import com.baidu.hugegraph.type.HugeType;
 import com.baidu.hugegraph.type.Nameable;
+import com.baidu.hugegraph.type.define.Directions;
 import com.baidu.hugegraph.type.define.GraphMode;
 import com.baidu.hugegraph.type.define.GraphReadMode;
 import com.baidu.hugegraph.type.define.NodeRole;
@@ -380,6 +383,12 @@ public final class HugeGraphAuthProxy implements HugeGraph {
         });
     }
 
+    @Override
+    public long schemaVersion() {
+        this.verifyAnyPermission();
+        return this.hugegraph.schemaVersion();
+    }
+
     @Override
     public boolean existsIndexLabel(String label) {
         verifyNameExistsPermission(ResourceType.INDEX_LABEL, label);
@@ -527,6 +536,12 @@ public final class HugeGraphAuthProxy implements HugeGraph {
 
     }
 
+    @Override
+    public long queryDegree(Id vertex, Directions dir, Id... labels) {
+        this.verifyPermission(HugePermission.READ, ResourceType.EDGE_AGGR);
+        return this.hugegraph.queryDegree(vertex, dir, labels);
+    }
+
     @Override
     public Transaction tx() {
         /*
@@ -663,6 +678,18 @@ public final class HugeGraphAuthProxy implements HugeGraph {
         return this.hugegraph.started();
     }
 
+    @Override
+    public void warmUp() {
+        this.verifyAdminPermission();
+        this.hugegraph.warmUp();
+    }
+
+    @Override
+    public void closeTx() {
+        this.verifyAdminPermission();
+        this.hugegraph.closeTx();
+    }
+
     @Override
     public boolean closed() {
         this.verifyAdminPermission();
@@ -694,6 +721,20 @@ public final class HugeGraphAuthProxy implements HugeGraph {
         this.authManager.switchAuthManager(authManager);
     }
 
+    @Override
+    public TraversalCache traversalCache() {
+        /*
+         * The cached results are shared by all users, so only the user who
+         * can read all the resources is allowed to use them
+         */
+        Object allowed = verifyResPermission(HugePermission.READ, false, () -> {
+            String graph = this.hugegraph.name();
+            Nameable elem = HugeResource.NameObject.ANY;
+            return ResourceObject.of(graph, ResourceType.ALL, elem);
+        });
+        return allowed == null ? null : this.hugegraph.traversalCache();
+    }
+
     @Override
     public RaftGroupManager raftGroupManager() {
         this.verifyAdminPermission();
@@ -1831,8 +1872,15 @@ public final class HugeGraphAuthProxy implements HugeGraph {
 
         public ContextThreadPoolExecutor(int corePoolSize, int maxPoolSize,
                                          ThreadFactory threadFactory) {
+            this(corePoolSize, maxPoolSize,
+                 new LinkedBlockingQueue<Runnable>(), threadFactory);
+        }
+
+        public ContextThreadPoolExecutor(int corePoolSize, int maxPoolSize,
+                                         BlockingQueue<Runnable> queue,
+                                         ThreadFactory threadFactory) {
             super(corePoolSize, maxPoolSize, 0L, TimeUnit.MILLISECONDS,
-                  new LinkedBlockingQueue<Runnable>(), threadFactory);
+                  queue, threadFactory);
         }
 
         @Override
@@ -23,6 +23,7 @@ import static com.baidu.hugegraph.config.OptionChecker.allowValues;
 import static com.baidu.hugegraph.config.OptionChecker.disallowEmpty;
 import static com.baidu.hugegraph.config.OptionChecker.nonNegativeInt;
 import static com.baidu.hugegraph.config.OptionChecker.positiveInt;
+import static com.baidu.hugegraph.config.OptionChecker.rangeDouble;
 import static com.baidu.hugegraph.config.OptionChecker.rangeInt;
 
 public class ServerOptions extends OptionHolder {
@@ -84,6 +85,28 @@ public class ServerOptions extends OptionHolder {
                     64
             );
 
+    public static final ConfigOption<Integer> ADMISSION_QUEUE_SIZE =
+            new ConfigOption<>(
+                    "restserver.admission_queue_size",
+                    "The maximum number of requests waiting for admission " +
+                    "of each request class(read, write, traversal and " +
+                    "gremlin), requests will be rejected when the queue " +
+                    "is full, set to 0 to reject without waiting. The " +
+                    "waiting requests of all classes are also limited to " +
+                    "half of restserver.max_worker_threads.",
+                    nonNegativeInt(),
+                    16
+            );
+
+    public static final ConfigOption<Integer> ADMISSION_WAIT_TIMEOUT =
+            new ConfigOption<>(
+                    "restserver.admission_wait_timeout",
+                    "The maximum time in milliseconds a request can wait " +
+                    "for admission, requests will be rejected when timeout.",
+                    nonNegativeInt(),
+                    1000
+            );
+
     public static final ConfigOption<Integer> REQUEST_TIMEOUT =
             new ConfigOption<>(
                     "restserver.request_timeout",
@@ -93,6 +116,35 @@ public class ServerOptions extends OptionHolder {
                     30
             );
 
+    public static final ConfigOption<Double> TRACE_SAMPLE_RATE =
+            new ConfigOption<>(
+                    "restserver.trace_sample_rate",
+                    "The rate of requests to record the trace of spans " +
+                    "like transaction, index query, backend query and " +
+                    "serialization, set to 0 to disable the tracing.",
+                    rangeDouble(0.0, 1.0),
+                    1.0
+            );
+
+    public static final ConfigOption<Integer> TRACE_CAPACITY =
+            new ConfigOption<>(
+                    "restserver.trace_capacity",
+                    "The number of the recent traces and the slow traces " +
+                    "to keep in memory respectively.",
+                    positiveInt(),
+                    100
+            );
+
+    public static final ConfigOption<Integer> SLOW_REQUEST_THRESHOLD =
+            new ConfigOption<>(
+                    "restserver.slow_request_threshold",
+                    "The time in milliseconds above which a request is " +
+                    "logged to the slow query log with its trace if " +
+                    "sampled, set to 0 to disable the slow query log.",
+                    nonNegativeInt(),
+                    1000
+            );
+
     public static final ConfigOption<Integer> CONN_IDLE_TIMEOUT =
             new ConfigOption<>(
                     "restserver.connection_idle_timeout",
@@ -135,6 +187,17 @@ public class ServerOptions extends OptionHolder {
                     2 * CoreOptions.CPUS
             );
 
+    public static final ConfigOption<Boolean> GREMLIN_SERVER_IN_PROCESS =
+            new ConfigOption<>(
+                    "gremlinserver.in_process",
+                    "Whether to execute the gremlin requests by the gremlin " +
+                    "server in the same process directly, the requests " +
+                    "are forwarded to gremlinserver.url if disabled or the " +
+                    "gremlin server isn't in the same process.",
+                    disallowEmpty(),
+                    true
+            );
+
     public static final ConfigOption<String> GRAPHS =
             new ConfigOption<>(
                     "graphs",
@@ -177,6 +240,37 @@ public class ServerOptions extends OptionHolder {
                     nonNegativeInt(),
                     0);
 
+    public static final ConfigOption<Integer> INGEST_QUEUE_SIZE =
+            new ConfigOption<>(
+                    "batch.ingest_queue_size",
+                    "The maximum number of pending batches of each ingest " +
+                    "request, the request stream won't be read when the " +
+                    "pending batches reach it.",
+                    rangeInt(1, 1024),
+                    16
+            );
+
+    public static final ConfigOption<Integer> INGEST_WRITERS =
+            new ConfigOption<>(
+                    "batch.ingest_writers",
+                    "The maximum number of ingest requests of each graph " +
+                    "written at the same time, each one is written by a " +
+                    "dedicated thread, the requests beyond it will be " +
+                    "rejected.",
+                    rangeInt(1, 1024),
+                    4
+            );
+
+    public static final ConfigOption<Integer> INGEST_TIMEOUT =
+            new ConfigOption<>(
+                    "batch.ingest_timeout",
+                    "The timeout in seconds to wait for the writer to take " +
+                    "a batch of an ingest request, or to wait for the " +
+                    "request stream to send a batch.",
+                    positiveInt(),
+                    60
+            );
+
     public static final ConfigOption<String> RAFT_GROUP_PEERS =
             new ConfigOption<>(
                     "raft.group_peers",
@@ -266,4 +360,45 @@ public class ServerOptions extends OptionHolder {
                     disallowEmpty(),
                     true
             );
+
+    public static final ConfigOption<Integer> GRAPH_LOAD_THREADS =
+            new ConfigOption<>(
+                    "graphs.load_threads",
+                    "The number of threads to start the graphs in parallel " +
+                    "when the server starts.",
+                    positiveInt(),
+                    CoreOptions.CPUS
+            );
+
+    public static final ConfigOption<Boolean> GRAPH_LAZY_LOAD =
+            new ConfigOption<>(
+                    "graphs.lazy_load",
+                    "Whether to start the graphs in the background, the " +
+                    "server accepts requests before the graphs are started, " +
+                    "the requests to a starting graph will start it first " +
+                    "and wait for it, but the auth graph is started before " +
+                    "serving and gremlin server after all the graphs.",
+                    disallowEmpty(),
+                    false
+            );
+
+    public static final ConfigOption<Integer> GRAPH_LOAD_WAIT_TIMEOUT =
+            new ConfigOption<>(
+                    "graphs.load_wait_timeout",
+                    "The timeout in seconds for a request to wait for the " +
+                    "graph which is starting, the request will be rejected " +
+                    "with 503 after timeout, 0 means not to wait.",
+                    nonNegativeInt(),
+                    30
+            );
+
+    public static final ConfigOption<Boolean> GRAPH_WARM_UP =
+            new ConfigOption<>(
+                    "graphs.warm_up",
+                    "Whether to warm up the graphs in the background after " +
+                    "they are started, like loading the schema cache and " +
+                    "reloading the ramtable if it's enabled.",
+                    disallowEmpty(),
+                    true
+            );
 }
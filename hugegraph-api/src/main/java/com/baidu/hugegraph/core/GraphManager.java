@@ -19,17 +19,33 @@
 
 package com.baidu.hugegraph.core;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import jakarta.ws.rs.ServiceUnavailableException;
 
 import org.apache.commons.configuration2.PropertiesConfiguration;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.apache.tinkerpop.gremlin.server.GremlinServer;
 import org.apache.tinkerpop.gremlin.server.auth.AuthenticationException;
 import org.apache.tinkerpop.gremlin.server.util.MetricManager;
 import org.apache.tinkerpop.gremlin.structure.Graph;
@@ -38,8 +54,10 @@ import org.apache.tinkerpop.gremlin.structure.util.GraphFactory;
 import org.slf4j.Logger;
 
 import com.alipay.sofa.rpc.config.ServerConfig;
+import com.baidu.hugegraph.HugeException;
 import com.baidu.hugegraph.HugeFactory;
 import com.baidu.hugegraph.HugeGraph;
+import com.baidu.hugegraph.api.gremlin.LocalGremlinExecutor;
 import com.baidu.hugegraph.auth.AuthManager;
 import com.baidu.hugegraph.auth.HugeAuthenticator;
 import com.baidu.hugegraph.auth.HugeFactoryAuthProxy;
@@ -50,6 +68,7 @@ import com.baidu.hugegraph.backend.cache.CacheManager;
 import com.baidu.hugegraph.backend.id.Id;
 import com.baidu.hugegraph.backend.id.IdGenerator;
 import com.baidu.hugegraph.backend.store.BackendStoreSystemInfo;
+import com.baidu.hugegraph.backend.store.memory.InMemoryDBStoreProvider;
 import com.baidu.hugegraph.config.CoreOptions;
 import com.baidu.hugegraph.config.HugeConfig;
 import com.baidu.hugegraph.config.ServerOptions;
@@ -78,8 +97,17 @@ public final class GraphManager {
 
     private static final Logger LOG = Log.logger(RestServer.class);
 
+    private static final String GRAPH_LOADER = "graph-loader-%d";
+    private static final long LOADER_KEEP_ALIVE = 60L;
+
     private final String graphsDir;
     private final Map<String, Graph> graphs;
+    private final Map<String, GraphStarter> starters;
+    // The graphs to be started in order, and the requested ones first
+    private final Queue<GraphStarter> pendingStarters;
+    private final Queue<GraphStarter> urgentStarters;
+    private final ThreadPoolExecutor loader;
+    private final int loadWaitTimeout;
     private final HugeAuthenticator authenticator;
     private final RpcServer rpcServer;
     private final RpcClientProvider rpcClient;
@@ -90,14 +118,32 @@ public final class GraphManager {
 
     private final EventHub eventHub;
 
+    private volatile LocalGremlinExecutor gremlinExecutor;
+    // The gremlin server is starting, or waiting for the graphs
+    private volatile boolean gremlinStarting;
+
     public GraphManager(HugeConfig conf, EventHub hub) {
         this.graphsDir = conf.get(ServerOptions.GRAPHS);
         this.graphs = new ConcurrentHashMap<>();
+        this.starters = new ConcurrentHashMap<>();
+        this.pendingStarters = new ConcurrentLinkedQueue<>();
+        this.urgentStarters = new ConcurrentLinkedQueue<>();
+        int loadThreads = conf.get(ServerOptions.GRAPH_LOAD_THREADS);
+        this.loader = new ThreadPoolExecutor(
+                      loadThreads, loadThreads,
+                      LOADER_KEEP_ALIVE, TimeUnit.SECONDS,
+                      new LinkedBlockingQueue<>(),
+                      new BasicThreadFactory.Builder()
+                                            .namingPattern(GRAPH_LOADER)
+                                            .build());
+        this.loader.allowCoreThreadTimeOut(true);
+        this.loadWaitTimeout = conf.get(ServerOptions.GRAPH_LOAD_WAIT_TIMEOUT);
         this.authenticator = HugeAuthenticator.loadAuthenticator(conf);
         this.rpcServer = new RpcServer(conf);
         this.rpcClient = new RpcClientProvider(conf);
         this.eventHub = hub;
         this.conf = conf;
+        this.gremlinStarting = false;
 
         this.listenChanges();
 
@@ -109,10 +155,7 @@ public final class GraphManager {
         this.startRpcServer();
 
         // Raft will load snapshot firstly then launch election and replay log
-        this.waitGraphsReady();
-
-        this.checkBackendVersionOrExit(conf);
-        this.serverStarted(conf);
+        this.startGraphs(conf);
 
         this.addMetrics(conf);
     }
@@ -200,14 +243,45 @@ public final class GraphManager {
         return Collections.unmodifiableSet(this.graphs.keySet());
     }
 
+    /**
+     * Get the graph by name, wait for it to be started if it's starting,
+     * the graph waiting in the load queue will be started first
+     * @param name  the name of the graph
+     * @return      the started graph, or null if the graph doesn't exist
+     * @throws ServiceUnavailableException if the graph is still starting
+     *         after waiting for the graphs.load_wait_timeout
+     */
     public HugeGraph graph(String name) {
-        Graph graph = this.graphs.get(name);
-        if (graph == null) {
+        GraphStarter starter = this.starters.get(name);
+        if (starter != null) {
+            if (!starter.isDone() && starter.prioritize()) {
+                this.urgentStarters.offer(starter);
+            }
+            if (!starter.await(this.loadWaitTimeout)) {
+                throw new ServiceUnavailableException(String.format(
+                          "Graph '%s' is starting, you can config %s to " +
+                          "adjust the waiting time or try again later",
+                          name, ServerOptions.GRAPH_LOAD_WAIT_TIMEOUT.name()));
+            }
+        }
+        return this.instance(name);
+    }
+
+    /**
+     * Get the status of the graph without waiting for it to be started
+     * @param name  the name of the graph
+     * @return      the status of the graph, or null if it doesn't exist
+     */
+    public GraphStatus graphStatus(String name) {
+        if (!this.graphs.containsKey(name)) {
             return null;
-        } else if (graph instanceof HugeGraph) {
-            return (HugeGraph) graph;
         }
-        throw new NotSupportException("graph instance of %s", graph.getClass());
+        GraphStarter starter = this.starters.get(name);
+        if (starter == null) {
+            // The graph created dynamically has been started
+            return GraphStatus.READY;
+        }
+        return starter.status();
     }
 
     public Serializer serializer(Graph g) {
@@ -256,7 +330,26 @@ public final class GraphManager {
         return this.authenticator().authManager();
     }
 
+    public LocalGremlinExecutor gremlinExecutor() {
+        return this.gremlinExecutor;
+    }
+
+    /**
+     * Check whether the gremlin server can accept requests, it's started
+     * after all the graphs bound to it are started
+     * @throws ServiceUnavailableException if the gremlin server is still
+     *         starting, or waiting for the lazily loaded graphs
+     */
+    public void checkGremlinStarted() {
+        if (this.gremlinStarting) {
+            throw new ServiceUnavailableException(
+                      "The gremlin server is starting after the graphs " +
+                      "started, please try again later");
+        }
+    }
+
     public void close() {
+        this.loader.shutdown();
         this.destroyRpcServer();
         this.unlistenChanges();
     }
@@ -342,6 +435,16 @@ public final class GraphManager {
         });
     }
 
+    private HugeGraph instance(String name) {
+        Graph graph = this.graphs.get(name);
+        if (graph == null) {
+            return null;
+        } else if (graph instanceof HugeGraph) {
+            return (HugeGraph) graph;
+        }
+        throw new NotSupportException("graph instance of %s", graph.getClass());
+    }
+
     private void loadGraph(String name, String graphConfPath) {
         HugeConfig config = new HugeConfig(graphConfPath);
 
@@ -366,47 +469,146 @@ public final class GraphManager {
         }
     }
 
-    private void waitGraphsReady() {
+    private void startGraphs(HugeConfig config) {
+        this.initServerInfo(config);
+
         com.alipay.remoting.rpc.RpcServer remotingRpcServer =
                                           this.remotingRpcServer();
-        this.graphs.keySet().forEach(name -> {
-            HugeGraph graph = this.graph(name);
-            graph.waitReady(remotingRpcServer);
-        });
+        boolean warmUp = config.get(ServerOptions.GRAPH_WARM_UP);
+        List<GraphStarter> starters = new ArrayList<>();
+        List<GraphStarter> mainStarters = new ArrayList<>();
+        for (String name : this.graphs()) {
+            HugeGraph graph = this.instance(name);
+            boolean background = !InMemoryDBStoreProvider.TYPE.equals(
+                                                       graph.backend());
+            GraphStarter starter = new GraphStarter(graph, remotingRpcServer,
+                                                    warmUp, background);
+            this.starters.put(name, starter);
+            if (background) {
+                starters.add(starter);
+                this.pendingStarters.offer(starter);
+                this.loader.execute(this::startNextGraph);
+            } else {
+                mainStarters.add(starter);
+            }
+        }
+
+        boolean lazyLoad = config.get(ServerOptions.GRAPH_LAZY_LOAD);
+        if (lazyLoad) {
+            LOG.info("Graphs {} will be started in the background",
+                     starters.stream().map(s -> s.name)
+                             .collect(Collectors.toList()));
+        }
+
+        // The authenticator holds the graph storing users directly
+        this.startAuthGraph(config);
+
+        /*
+         * Start the non-persistent graphs in the main thread, since they
+         * need to be initialized with the admin user which is only allowed
+         * to be created by the main thread
+         */
+        for (GraphStarter starter : mainStarters) {
+            starter.tryStart();
+            starter.await();
+        }
+
+        if (lazyLoad) {
+            return;
+        }
+        for (GraphStarter starter : starters) {
+            starter.await();
+        }
     }
 
-    private void checkBackendVersionOrExit(HugeConfig config) {
-        LOG.info("Check backend version");
-        for (String graph : this.graphs()) {
-            // TODO: close tx from main thread
-            HugeGraph hugegraph = this.graph(graph);
-            if (!hugegraph.backendStoreFeatures().supportsPersistence()) {
-                hugegraph.initBackend();
-                if (this.requireAuthentication()) {
-                    String token = config.get(ServerOptions.AUTH_ADMIN_TOKEN);
-                    try {
-                        this.authenticator.initAdminUser(token);
-                    } catch (Exception e) {
-                        throw new BackendException(
-                                  "The backend store of '%s' can't " +
-                                  "initialize admin user", hugegraph.name());
-                    }
-                }
+    private void startAuthGraph(HugeConfig config) {
+        if (this.authenticator == null) {
+            return;
+        }
+        String name = config.get(ServerOptions.AUTH_GRAPH_STORE);
+        GraphStarter starter = this.starters.get(name);
+        if (starter == null) {
+            return;
+        }
+        // Start it in the main thread unless a loader has started it
+        starter.tryStart();
+        starter.await();
+    }
+
+    /**
+     * Start one of the pending graphs, the requested graphs first, each
+     * task submitted to the loader starts exactly one graph, since the
+     * starters requested are both in the urgent and pending queues
+     */
+    private void startNextGraph() {
+        GraphStarter starter;
+        while ((starter = this.urgentStarters.poll()) != null) {
+            if (starter.tryStart()) {
+                return;
             }
-            BackendStoreSystemInfo info = hugegraph.backendStoreSystemInfo();
-            if (!info.exists()) {
-                throw new BackendException(
-                          "The backend store of '%s' has not been initialized",
-                          hugegraph.name());
+        }
+        while ((starter = this.pendingStarters.poll()) != null) {
+            if (starter.tryStart()) {
+                return;
             }
-            if (!info.checkVersion()) {
-                throw new BackendException(
-                          "The backend store version is inconsistent");
+        }
+    }
+
+    private void startGraph(HugeGraph graph,
+                            com.alipay.remoting.rpc.RpcServer rpcServer) {
+        LOG.info("Starting graph '{}'...", graph.name());
+        try {
+            graph.waitReady(rpcServer);
+            this.checkBackendVersionOrExit(graph);
+            graph.serverStarted(this.server, this.role);
+        } finally {
+            // The loader threads are reused to start the other graphs
+            graph.closeTx();
+        }
+        LOG.info("Graph '{}' has been started", graph.name());
+    }
+
+    private void warmUpGraph(HugeGraph graph) {
+        long start = System.currentTimeMillis();
+        try {
+            graph.warmUp();
+            LOG.info("Graph '{}' has been warmed up in {}ms", graph.name(),
+                     System.currentTimeMillis() - start);
+        } catch (Throwable e) {
+            LOG.warn("Failed to warm up graph '{}'", graph.name(), e);
+        } finally {
+            graph.closeTx();
+        }
+    }
+
+    private void checkBackendVersionOrExit(HugeGraph hugegraph) {
+        LOG.info("Check backend version of graph '{}'", hugegraph.name());
+        if (!hugegraph.backendStoreFeatures().supportsPersistence()) {
+            hugegraph.initBackend();
+            if (this.requireAuthentication()) {
+                String token = this.conf.get(ServerOptions.AUTH_ADMIN_TOKEN);
+                try {
+                    this.authenticator.initAdminUser(token);
+                } catch (Exception e) {
+                    throw new BackendException(
+                              "The backend store of '%s' can't " +
+                              "initialize admin user", hugegraph.name());
+                }
             }
         }
+        BackendStoreSystemInfo info = hugegraph.backendStoreSystemInfo();
+        if (!info.exists()) {
+            throw new BackendException(
+                      "The backend store of '%s' has not been initialized",
+                      hugegraph.name());
+        }
+        if (!info.checkVersion()) {
+            throw new BackendException(
+                      "The backend store version is inconsistent");
+        }
     }
 
-    private void serverStarted(HugeConfig config) {
+    private void initServerInfo(HugeConfig config) {
         String server = config.get(ServerOptions.SERVER_ID);
         String role = config.get(ServerOptions.SERVER_ROLE);
         E.checkArgument(StringUtils.isNotEmpty(server),
@@ -415,11 +617,6 @@ public final class GraphManager {
                         "The server role can't be null or empty");
         this.server = IdGenerator.of(server);
         this.role = NodeRole.valueOf(role.toUpperCase());
-        for (String graph : this.graphs()) {
-            HugeGraph hugegraph = this.graph(graph);
-            assert hugegraph != null;
-            hugegraph.serverStarted(this.server, this.role);
-        }
     }
 
     private void addMetrics(HugeConfig config) {
@@ -472,6 +669,37 @@ public final class GraphManager {
             event.checkArgs(HugeGraph.class);
             HugeGraph graph = (HugeGraph) event.args()[0];
             this.graphs.remove(graph.name());
+            this.starters.remove(graph.name());
+            return null;
+        });
+        this.eventHub.listen(Events.GREMLIN_STARTING, event -> {
+            LOG.debug("RestServer accepts event '{}'", event.name());
+            /*
+             * The scripts reference the graphs bound to gremlin server
+             * directly, let gremlin server start after all of them started
+             */
+            this.gremlinStarting = true;
+            for (GraphStarter starter : this.starters.values()) {
+                starter.await();
+            }
+            return null;
+        });
+        this.eventHub.listen(Events.GREMLIN_START, event -> {
+            LOG.debug("RestServer accepts event '{}'", event.name());
+            event.checkArgs(GremlinServer.class);
+            GremlinServer server = (GremlinServer) event.args()[0];
+            this.gremlinStarting = false;
+            try {
+                this.gremlinExecutor = new LocalGremlinExecutor(server);
+            } catch (Exception e) {
+                LOG.warn("Can't execute gremlin requests in the process, " +
+                         "they will be forwarded to gremlin server", e);
+            }
+            return null;
+        });
+        this.eventHub.listen(Events.GREMLIN_STOP, event -> {
+            LOG.debug("RestServer accepts event '{}'", event.name());
+            this.gremlinExecutor = null;
             return null;
         });
     }
@@ -479,6 +707,9 @@ public final class GraphManager {
     private void unlistenChanges() {
         this.eventHub.unlisten(Events.GRAPH_CREATE);
         this.eventHub.unlisten(Events.GRAPH_DROP);
+        this.eventHub.unlisten(Events.GREMLIN_STARTING);
+        this.eventHub.unlisten(Events.GREMLIN_START);
+        this.eventHub.unlisten(Events.GREMLIN_STOP);
     }
 
     private void notifyAndWaitEvent(String event, HugeGraph graph) {
@@ -537,7 +768,7 @@ public final class GraphManager {
                                    TypedOption<?, ?> option) {
         Object incomingValue = config.get(option);
         for (String graphName : this.graphs.keySet()) {
-            HugeGraph graph = this.graph(graphName);
+            HugeGraph graph = this.instance(graphName);
             Object existedValue = graph.option(option);
             E.checkArgument(!incomingValue.equals(existedValue),
                             "The value '%s' of option '%s' conflicts with " +
@@ -569,4 +800,141 @@ public final class GraphManager {
             MetricsUtil.registerGauge(Cache.class, cap, () -> cache.capacity());
         }
     }
+
+    public enum GraphStatus {
+
+        STARTING,
+
+        // The graph is serving requests while warming up in the background
+        WARMING_UP,
+
+        READY,
+
+        FAILED;
+
+        public String string() {
+            return this.name().toLowerCase();
+        }
+    }
+
+    private final class GraphStarter extends FutureTask<Void> {
+
+        private final HugeGraph graph;
+        private final String name;
+        private final boolean warmUp;
+        // Whether to start it by the loader instead of the main thread
+        private final boolean background;
+        private final AtomicBoolean started;
+        private final AtomicBoolean prioritized;
+        private volatile boolean warmingUp;
+
+        public GraphStarter(HugeGraph graph,
+                            com.alipay.remoting.rpc.RpcServer rpcServer,
+                            boolean warmUp, boolean background) {
+            super(() -> {
+                GraphManager.this.startGraph(graph, rpcServer);
+                return null;
+            });
+            this.graph = graph;
+            this.name = graph.name();
+            this.warmUp = warmUp;
+            this.background = background;
+            this.started = new AtomicBoolean(false);
+            this.prioritized = new AtomicBoolean(false);
+            this.warmingUp = false;
+        }
+
+        /**
+         * Start the graph in the current thread if it's not started yet
+         * @return true if started by the current thread
+         */
+        public boolean tryStart() {
+            if (!this.started.compareAndSet(false, true)) {
+                return false;
+            }
+            this.run();
+            return true;
+        }
+
+        /**
+         * Mark the graph to be started by the next idle loader
+         * @return true if it should be put into the urgent queue, just once
+         */
+        public boolean prioritize() {
+            return this.background &&
+                   this.prioritized.compareAndSet(false, true);
+        }
+
+        public GraphStatus status() {
+            if (!this.isDone()) {
+                return GraphStatus.STARTING;
+            }
+            try {
+                this.get();
+            } catch (Throwable e) {
+                return GraphStatus.FAILED;
+            }
+            return this.warmingUp ? GraphStatus.WARMING_UP : GraphStatus.READY;
+        }
+
+        public void await() {
+            try {
+                this.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new HugeException("Interrupted while waiting for " +
+                                        "graph '%s' to start", this.name);
+            } catch (ExecutionException | CancellationException e) {
+                throw this.failed(e);
+            }
+        }
+
+        /**
+         * Wait for the graph to be started at most the timeout
+         * @param timeout the timeout in seconds, 0 means not to wait
+         * @return false if the graph is still starting after timeout
+         */
+        public boolean await(long timeout) {
+            try {
+                this.get(timeout, TimeUnit.SECONDS);
+                return true;
+            } catch (TimeoutException e) {
+                return false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new HugeException("Interrupted while waiting for " +
+                                        "graph '%s' to start", this.name);
+            } catch (ExecutionException | CancellationException e) {
+                throw this.failed(e);
+            }
+        }
+
+        private HugeException failed(Exception e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            return new HugeException("Failed to start graph '%s': %s",
+                                     cause, this.name, cause.getMessage());
+        }
+
+        @Override
+        protected void set(Void result) {
+            if (this.warmUp) {
+                // Mark warming up before the graph is visible as started
+                this.warmingUp = true;
+                GraphManager.this.loader.execute(() -> {
+                    try {
+                        GraphManager.this.warmUpGraph(this.graph);
+                    } finally {
+                        this.warmingUp = false;
+                    }
+                });
+            }
+            super.set(result);
+        }
+
+        @Override
+        protected void setException(Throwable e) {
+            LOG.error("Failed to start graph '{}'", this.name, e);
+            super.setException(e);
+        }
+    }
 }
@@ -0,0 +1,254 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.metrics;
+
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.baidu.hugegraph.backend.cache.Cache;
+import com.baidu.hugegraph.backend.cache.CacheManager;
+import com.baidu.hugegraph.backend.id.Id;
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Snapshot;
+import com.codahale.metrics.Timer;
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Export the metrics in the Prometheus text format (version 0.0.4):
+ * the latency histograms of backend operations, raft commands and caches
+ * are exported as Prometheus histograms with labels, and the metrics of
+ * the dropwizard registry are exported as gauges, counters and summaries.
+ * All the metrics are read without lock, so it's cheap to be scraped.
+ */
+public final class PrometheusExporter {
+
+    public static final String CONTENT_TYPE =
+                        "text/plain; version=0.0.4; charset=utf-8";
+
+    private static final String PREFIX = "hugegraph_";
+    private static final String PACKAGE = "com.baidu.hugegraph.";
+
+    private static final double NANOS_PER_SECOND = 1e9;
+    private static final double[] QUANTILES = {0.5, 0.75, 0.95, 0.99};
+
+    private static final String CACHE_LATENCY = "cache_access_seconds";
+    private static final List<String> CACHE_LABELS = ImmutableList.of(
+                                                     "cache");
+
+    // The values of label "le" in seconds of the histogram buckets
+    private static final String[] BUCKET_BOUNDS;
+
+    static {
+        long[] bounds = LatencyHistogram.bounds();
+        BUCKET_BOUNDS = new String[bounds.length + 1];
+        for (int i = 0; i < bounds.length; i++) {
+            BUCKET_BOUNDS[i] = BigDecimal.valueOf(bounds[i], 9)
+                                         .stripTrailingZeros()
+                                         .toPlainString();
+        }
+        BUCKET_BOUNDS[bounds.length] = "+Inf";
+    }
+
+    public static String export(MetricRegistry registry) {
+        StringBuilder sb = new StringBuilder(64 * 1024);
+        for (LatencyMetrics family : LatencyMetrics.families()) {
+            String name = PREFIX + family.name();
+            writeHeader(sb, name, family.help(), "histogram");
+            for (Map.Entry<List<String>, LatencyHistogram> e :
+                 family.histograms().entrySet()) {
+                writeHistogram(sb, name, family.labelNames(), e.getKey(),
+                               e.getValue());
+            }
+        }
+
+        String name = PREFIX + CACHE_LATENCY;
+        writeHeader(sb, name, "The latency of the cache accesses",
+                    "histogram");
+        Map<String, Cache<Id, Object>> caches = CacheManager.instance()
+                                                            .caches();
+        for (Map.Entry<String, Cache<Id, Object>> e : caches.entrySet()) {
+            writeHistogram(sb, name, CACHE_LABELS,
+                           ImmutableList.of(e.getKey()),
+                           e.getValue().latency());
+        }
+
+        writeRegistry(sb, registry);
+        return sb.toString();
+    }
+
+    private static void writeRegistry(StringBuilder sb,
+                                      MetricRegistry registry) {
+        // Skip the names conflicted after sanitized, or the scrape fails
+        Set<String> names = new HashSet<>();
+        for (Map.Entry<String, Gauge> e : registry.getGauges().entrySet()) {
+            Object value = e.getValue().getValue();
+            double number;
+            if (value instanceof Number) {
+                number = ((Number) value).doubleValue();
+            } else if (value instanceof Boolean) {
+                number = (Boolean) value ? 1.0 : 0.0;
+            } else {
+                // Ignore the gauges of non-numeric value
+                continue;
+            }
+            String name = metricName(e.getKey());
+            if (names.add(name)) {
+                writeHeader(sb, name, null, "gauge");
+                writeSample(sb, name, number);
+            }
+        }
+
+        // The dropwizard counter can be decreased, export it as a gauge
+        for (Map.Entry<String, Counter> e :
+             registry.getCounters().entrySet()) {
+            String name = metricName(e.getKey());
+            if (names.add(name)) {
+                writeHeader(sb, name, null, "gauge");
+                writeSample(sb, name, e.getValue().getCount());
+            }
+        }
+
+        for (Map.Entry<String, Meter> e : registry.getMeters().entrySet()) {
+            String name = metricName(e.getKey()) + "_total";
+            if (names.add(name)) {
+                writeHeader(sb, name, null, "counter");
+                writeSample(sb, name, e.getValue().getCount());
+            }
+        }
+
+        for (Map.Entry<String, Histogram> e :
+             registry.getHistograms().entrySet()) {
+            String name = metricName(e.getKey());
+            if (names.add(name)) {
+                Histogram histogram = e.getValue();
+                writeSummary(sb, name, histogram.getSnapshot(),
+                             histogram.getCount(), 1.0);
+            }
+        }
+
+        for (Map.Entry<String, Timer> e : registry.getTimers().entrySet()) {
+            String name = metricName(e.getKey()) + "_seconds";
+            if (names.add(name)) {
+                Timer timer = e.getValue();
+                writeSummary(sb, name, timer.getSnapshot(), timer.getCount(),
+                             NANOS_PER_SECOND);
+            }
+        }
+    }
+
+    private static void writeHistogram(StringBuilder sb, String name,
+                                       List<String> labelNames,
+                                       List<String> labelValues,
+                                       LatencyHistogram histogram) {
+        long[] counts = histogram.cumulativeCounts();
+        for (int i = 0; i < counts.length; i++) {
+            sb.append(name).append("_bucket{");
+            writeLabels(sb, labelNames, labelValues);
+            if (!labelNames.isEmpty()) {
+                sb.append(',');
+            }
+            sb.append("le=\"").append(BUCKET_BOUNDS[i]).append("\"} ")
+              .append(counts[i]).append('\n');
+        }
+        sb.append(name).append("_sum{");
+        writeLabels(sb, labelNames, labelValues);
+        sb.append("} ").append(histogram.sum() / NANOS_PER_SECOND)
+          .append('\n');
+        sb.append(name).append("_count{");
+        writeLabels(sb, labelNames, labelValues);
+        sb.append("} ").append(counts[counts.length - 1]).append('\n');
+    }
+
+    private static void writeSummary(StringBuilder sb, String name,
+                                     Snapshot snapshot, long count,
+                                     double unit) {
+        writeHeader(sb, name, null, "summary");
+        for (double quantile : QUANTILES) {
+            sb.append(name).append("{quantile=\"").append(quantile)
+              .append("\"} ").append(snapshot.getValue(quantile) / unit)
+              .append('\n');
+        }
+        writeSample(sb, name + "_count", count);
+    }
+
+    private static void writeHeader(StringBuilder sb, String name,
+                                    String help, String type) {
+        if (help != null) {
+            sb.append("# HELP ").append(name).append(' ')
+              .append(help.replace("\\", "\\\\").replace("\n", "\\n"))
+              .append('\n');
+        }
+        sb.append("# TYPE ").append(name).append(' ').append(type)
+          .append('\n');
+    }
+
+    private static void writeSample(StringBuilder sb, String name,
+                                    double value) {
+        sb.append(name).append(' ').append(value).append('\n');
+    }
+
+    private static void writeLabels(StringBuilder sb, List<String> names,
+                                    List<String> values) {
+        assert names.size() == values.size();
+        for (int i = 0; i < names.size(); i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append(names.get(i)).append("=\"");
+            String value = values.get(i);
+            for (int j = 0; j < value.length(); j++) {
+                char c = value.charAt(j);
+                if (c == '\\' || c == '"') {
+                    sb.append('\\').append(c);
+                } else if (c == '\n') {
+                    sb.append("\\n");
+                } else {
+                    sb.append(c);
+                }
+            }
+            sb.append('"');
+        }
+    }
+
+    private static String metricName(String name) {
+        if (name.startsWith(PACKAGE)) {
+            name = name.substring(PACKAGE.length());
+        }
+        StringBuilder sb = new StringBuilder(PREFIX.length() + name.length());
+        sb.append(PREFIX);
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') ||
+                (c >= '0' && c <= '9') || c == '_') {
+                sb.append(c);
+            } else {
+                sb.append('_');
+            }
+        }
+        return sb.toString();
+    }
+}
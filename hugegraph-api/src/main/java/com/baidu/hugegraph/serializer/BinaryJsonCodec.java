@@ -0,0 +1,502 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.serializer;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.Buffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.baidu.hugegraph.HugeException;
+import com.baidu.hugegraph.backend.serializer.BytesBuffer;
+import com.baidu.hugegraph.util.E;
+import com.baidu.hugegraph.util.StringEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+
+/**
+ * A compact binary encoding of json documents, the json tokens are written
+ * as one byte tags, integers are written as varlong and doubles as 8 bytes.
+ * Each string (field names, ids, labels and values) is written only once
+ * in a document and then referenced by the index of a dictionary, the
+ * dictionary is built while encoding/decoding, so it's not transferred.
+ *
+ * Multiple root values are allowed, they are decoded to json separated by
+ * line breaks, like NDJSON.
+ *
+ * The documents are transcoded while streaming by encoder() and decoder(),
+ * only a small buffer is kept in memory whatever the size of a document.
+ */
+public final class BinaryJsonCodec {
+
+    private static final JsonFactory FACTORY = new JsonFactory();
+
+    private static final byte[] MAGIC = {'H', 'G', 'B', 1};
+
+    private static final byte START_OBJECT = 0x01;
+    private static final byte END_OBJECT = 0x02;
+    private static final byte START_ARRAY = 0x03;
+    private static final byte END_ARRAY = 0x04;
+    private static final byte FIELD_NAME = 0x05;
+    private static final byte STRING = 0x06;
+    private static final byte INTEGER = 0x07;
+    private static final byte DOUBLE = 0x08;
+    private static final byte TRUE = 0x09;
+    private static final byte FALSE = 0x0a;
+    private static final byte NULL = 0x0b;
+    private static final byte BIG_NUMBER = 0x0c;
+
+    // The string reference 0 means a raw string, 1 means a new dict string
+    private static final int RAW_STRING = 0;
+    private static final int DICT_STRING = 1;
+    private static final int DICT_OFFSET = 2;
+
+    private static final int MAX_DICT_STRING_LENGTH = 128;
+    private static final int MAX_DICT_SIZE = 1 << 16;
+
+    private static final int MAX_VINT_LENGTH = 5;
+    private static final int MAX_VLONG_LENGTH = 10;
+
+    private static final int BUF_SIZE = 1024;
+
+    private BinaryJsonCodec() {
+    }
+
+    public static byte[] encode(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(
+                                    Math.max(json.length / 2, BUF_SIZE));
+        try (Encoder encoder = encoder(out)) {
+            encoder.write(json);
+        } catch (IOException e) {
+            throw new HugeException("Failed to encode json: %s",
+                                    e, e.getMessage());
+        }
+        return out.toByteArray();
+    }
+
+    public static byte[] decode(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(
+                                    Math.max(bytes.length * 2, BUF_SIZE));
+        try (InputStream decoder = decoder(new ByteArrayInputStream(bytes))) {
+            byte[] buffer = new byte[BUF_SIZE];
+            int read;
+            while ((read = decoder.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+        } catch (IOException e) {
+            throw new HugeException("Failed to decode binary json: %s",
+                                    e, e.getMessage());
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Create a stream that encodes the json written to it into binary json,
+     * and writes the binary json to the out stream
+     * @param out   the stream of binary json
+     * @return      the stream of json
+     */
+    public static Encoder encoder(OutputStream out) throws IOException {
+        return new Encoder(out);
+    }
+
+    /**
+     * Create a stream that decodes the binary json read from the in stream,
+     * and returns the json when reading it
+     * @param in    the stream of binary json
+     * @return      the stream of json
+     */
+    public static InputStream decoder(InputStream in) throws IOException {
+        // The tags are read byte by byte
+        return new Decoder(new BufferedInputStream(in, BUF_SIZE));
+    }
+
+    private static void writeString(BytesBuffer buffer,
+                                    Map<String, Integer> dict,
+                                    String value) {
+        Integer index = dict.get(value);
+        if (index != null) {
+            buffer.writeVInt(index + DICT_OFFSET);
+            return;
+        }
+        if (value.length() <= MAX_DICT_STRING_LENGTH &&
+            dict.size() < MAX_DICT_SIZE) {
+            dict.put(value, dict.size());
+            buffer.writeVInt(DICT_STRING);
+        } else {
+            buffer.writeVInt(RAW_STRING);
+        }
+        buffer.writeBigBytes(StringEncoding.encode(value));
+    }
+
+    public static final class Encoder extends OutputStream {
+
+        private final OutputStream out;
+        private final JsonParser parser;
+        private final ByteArrayFeeder feeder;
+        private final BytesBuffer buffer;
+        private final Map<String, Integer> dict;
+        private boolean finished;
+
+        private Encoder(OutputStream out) throws IOException {
+            this.out = out;
+            this.parser = FACTORY.createNonBlockingByteArrayParser();
+            this.feeder = (ByteArrayFeeder) this.parser
+                                                .getNonBlockingInputFeeder();
+            this.buffer = BytesBuffer.allocate(BUF_SIZE);
+            this.dict = new HashMap<>();
+            this.finished = false;
+
+            this.buffer.write(MAGIC);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            this.write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            E.checkState(!this.finished, "The encoder has been finished");
+            if (len == 0) {
+                return;
+            }
+            // All the fed input is consumed by encodeTokens()
+            this.feeder.feedInput(b, off, off + len);
+            this.encodeTokens();
+        }
+
+        @Override
+        public void flush() throws IOException {
+            this.flushBuffer();
+            this.out.flush();
+        }
+
+        /**
+         * Encode the rest of json and write it to the out stream, the out
+         * stream is not closed
+         */
+        public void finish() throws IOException {
+            if (this.finished) {
+                return;
+            }
+            this.finished = true;
+            this.feeder.endOfInput();
+            try {
+                this.encodeTokens();
+            } finally {
+                this.parser.close();
+            }
+            this.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                this.finish();
+            } finally {
+                this.out.close();
+            }
+        }
+
+        private void encodeTokens() throws IOException {
+            BytesBuffer buffer = this.buffer;
+            JsonParser parser = this.parser;
+            JsonToken token;
+            while ((token = parser.nextToken()) != null &&
+                   token != JsonToken.NOT_AVAILABLE) {
+                switch (token) {
+                    case START_OBJECT:
+                        buffer.write(START_OBJECT);
+                        break;
+                    case END_OBJECT:
+                        buffer.write(END_OBJECT);
+                        break;
+                    case START_ARRAY:
+                        buffer.write(START_ARRAY);
+                        break;
+                    case END_ARRAY:
+                        buffer.write(END_ARRAY);
+                        break;
+                    case FIELD_NAME:
+                        buffer.write(FIELD_NAME);
+                        writeString(buffer, this.dict,
+                                    parser.getCurrentName());
+                        break;
+                    case VALUE_STRING:
+                        buffer.write(STRING);
+                        writeString(buffer, this.dict, parser.getText());
+                        break;
+                    case VALUE_NUMBER_INT:
+                        if (parser.getNumberType() ==
+                            JsonParser.NumberType.BIG_INTEGER) {
+                            buffer.write(BIG_NUMBER);
+                            writeString(buffer, this.dict, parser.getText());
+                        } else {
+                            buffer.write(INTEGER);
+                            buffer.writeVLong(parser.getLongValue());
+                        }
+                        break;
+                    case VALUE_NUMBER_FLOAT:
+                        buffer.write(DOUBLE);
+                        buffer.writeDouble(parser.getDoubleValue());
+                        break;
+                    case VALUE_TRUE:
+                        buffer.write(TRUE);
+                        break;
+                    case VALUE_FALSE:
+                        buffer.write(FALSE);
+                        break;
+                    case VALUE_NULL:
+                        buffer.write(NULL);
+                        break;
+                    default:
+                        throw new HugeException("Unsupported json token %s",
+                                                token);
+                }
+                if (buffer.position() >= BUF_SIZE) {
+                    this.flushBuffer();
+                }
+            }
+        }
+
+        private void flushBuffer() throws IOException {
+            if (this.buffer.position() > 0) {
+                this.out.write(this.buffer.array(), 0,
+                               this.buffer.position());
+                ((Buffer) this.buffer.asByteBuffer()).clear();
+            }
+        }
+    }
+
+    private static final class Decoder extends InputStream {
+
+        private static final byte[] EMPTY = new byte[0];
+
+        private final InputStream in;
+        private final ByteArrayOutputStream json;
+        private final JsonGenerator generator;
+        private final List<String> dict;
+        private byte[] chunk;
+        private int position;
+        private int depth;
+        private boolean started;
+        private boolean ended;
+
+        private Decoder(InputStream in) throws IOException {
+            this.in = in;
+            this.json = new ByteArrayOutputStream(BUF_SIZE * 2);
+            this.generator = FACTORY.createGenerator(this.json);
+            this.generator.setRootValueSeparator(null);
+            this.dict = new ArrayList<>();
+            this.chunk = EMPTY;
+            this.position = 0;
+            this.depth = 0;
+            this.started = false;
+            this.ended = false;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] b = new byte[1];
+            int read = this.read(b, 0, 1);
+            return read < 0 ? -1 : b[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            while (this.position >= this.chunk.length) {
+                if (this.ended) {
+                    return -1;
+                }
+                this.decodeChunk();
+            }
+            int read = Math.min(len, this.chunk.length - this.position);
+            System.arraycopy(this.chunk, this.position, b, off, read);
+            this.position += read;
+            return read;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                this.generator.close();
+            } finally {
+                this.in.close();
+            }
+        }
+
+        private void decodeChunk() throws IOException {
+            if (!this.started) {
+                this.started = true;
+                byte[] magic = new byte[MAGIC.length];
+                int read = 0;
+                int n;
+                while (read < magic.length &&
+                       (n = this.in.read(magic, read,
+                                         magic.length - read)) >= 0) {
+                    read += n;
+                }
+                E.checkArgument(read == MAGIC.length &&
+                                magic[0] == MAGIC[0] && magic[1] == MAGIC[1] &&
+                                magic[2] == MAGIC[2] && magic[3] == MAGIC[3],
+                                "Invalid binary json header");
+            }
+            while (this.json.size() < BUF_SIZE) {
+                int tag = this.in.read();
+                if (tag < 0) {
+                    E.checkArgument(this.depth == 0,
+                                    "Incomplete binary json document");
+                    this.ended = true;
+                    break;
+                }
+                this.decodeTag((byte) tag);
+            }
+            this.generator.flush();
+            this.chunk = this.json.toByteArray();
+            this.position = 0;
+            this.json.reset();
+        }
+
+        private void decodeTag(byte tag) throws IOException {
+            JsonGenerator generator = this.generator;
+            switch (tag) {
+                case START_OBJECT:
+                    generator.writeStartObject();
+                    this.depth++;
+                    break;
+                case END_OBJECT:
+                    generator.writeEndObject();
+                    this.depth--;
+                    break;
+                case START_ARRAY:
+                    generator.writeStartArray();
+                    this.depth++;
+                    break;
+                case END_ARRAY:
+                    generator.writeEndArray();
+                    this.depth--;
+                    break;
+                case FIELD_NAME:
+                    generator.writeFieldName(this.readString());
+                    break;
+                case STRING:
+                    generator.writeString(this.readString());
+                    break;
+                case INTEGER:
+                    generator.writeNumber(this.readVLong());
+                    break;
+                case DOUBLE:
+                    generator.writeNumber(this.readDouble());
+                    break;
+                case TRUE:
+                    generator.writeBoolean(true);
+                    break;
+                case FALSE:
+                    generator.writeBoolean(false);
+                    break;
+                case NULL:
+                    generator.writeNull();
+                    break;
+                case BIG_NUMBER:
+                    generator.writeNumber(this.readString());
+                    break;
+                default:
+                    throw new IllegalArgumentException(String.format(
+                              "Invalid binary json tag %s", tag));
+            }
+            if (this.depth == 0) {
+                // Separate the root values by line breaks
+                generator.writeRaw('\n');
+            }
+        }
+
+        private String readString() throws IOException {
+            int ref = this.readVInt();
+            if (ref >= DICT_OFFSET) {
+                int index = ref - DICT_OFFSET;
+                E.checkArgument(index < this.dict.size(),
+                                "Invalid binary json string reference %s",
+                                ref);
+                return this.dict.get(index);
+            }
+            int length = this.readVInt();
+            E.checkArgument(length >= 0,
+                            "Invalid binary json string length %s", length);
+            String value = StringEncoding.decode(this.readFully(length));
+            if (ref == DICT_STRING) {
+                this.dict.add(value);
+            }
+            return value;
+        }
+
+        private int readVInt() throws IOException {
+            return this.readVar(MAX_VINT_LENGTH).readVInt();
+        }
+
+        private long readVLong() throws IOException {
+            return this.readVar(MAX_VLONG_LENGTH).readVLong();
+        }
+
+        private double readDouble() throws IOException {
+            return BytesBuffer.wrap(this.readFully(BytesBuffer.DOUBLE_LEN))
+                              .readDouble();
+        }
+
+        private BytesBuffer readVar(int maxLength) throws IOException {
+            // Read the bytes of a varint/varlong, the last one is < 0x80
+            byte[] bytes = new byte[maxLength];
+            int length = 0;
+            while (length < maxLength) {
+                int b = this.in.read();
+                E.checkArgument(b >= 0, "Incomplete binary json document");
+                bytes[length++] = (byte) b;
+                if ((b & 0x80) == 0) {
+                    break;
+                }
+            }
+            return BytesBuffer.wrap(bytes, 0, length);
+        }
+
+        private byte[] readFully(int length) throws IOException {
+            byte[] bytes = new byte[length];
+            int read = 0;
+            while (read < length) {
+                int n = this.in.read(bytes, read, length - read);
+                E.checkArgument(n >= 0, "Incomplete binary json document");
+                read += n;
+            }
+            return bytes;
+        }
+    }
+}
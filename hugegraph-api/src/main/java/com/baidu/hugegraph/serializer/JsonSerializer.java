@@ -49,6 +49,7 @@ import com.baidu.hugegraph.traversal.algorithm.SingleSourceShortestPathTraverser
 import com.baidu.hugegraph.traversal.algorithm.SingleSourceShortestPathTraverser.WeightedPaths;
 import com.baidu.hugegraph.traversal.optimize.TraversalUtil;
 import com.baidu.hugegraph.util.JsonUtil;
+import com.baidu.hugegraph.util.Trace;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 
@@ -84,10 +85,19 @@ public class JsonSerializer implements Serializer {
 
     private String writeIterator(String label, Iterator<?> iter,
                                  boolean paging) {
+        // The iteration is traced under the serialization
+        try (Trace.Scope scope = Trace.begin("serialize", label)) {
+            return this.writeIterator(label, iter, paging, scope);
+        }
+    }
+
+    private String writeIterator(String label, Iterator<?> iter,
+                                 boolean paging, Trace.Scope scope) {
         // Early throw if needed
         iter.hasNext();
 
         // Serialize Iterator
+        long count = 0L;
         try (ByteArrayOutputStream out = new ByteArrayOutputStream(LBUF_SIZE)) {
             out.write("{".getBytes(API.CHARSET));
 
@@ -102,6 +112,7 @@ public class JsonSerializer implements Serializer {
                     first = false;
                 }
                 out.write(JsonUtil.toJson(iter.next()).getBytes(API.CHARSET));
+                count++;
             }
             out.write("]".getBytes(API.CHARSET));
 
@@ -131,6 +142,7 @@ public class JsonSerializer implements Serializer {
         } catch (Exception e) {
             throw new HugeException("Failed to serialize %s", e, label);
         } finally {
+            scope.rows(count);
             try {
                 CloseableIterator.closeIterator(iter);
             } catch (Exception e) {
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.serializer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import com.baidu.hugegraph.HugeException;
+import com.baidu.hugegraph.api.API;
+import com.baidu.hugegraph.api.filter.ExceptionFilter;
+import com.baidu.hugegraph.traversal.algorithm.HugeTraverser.Path;
+import com.baidu.hugegraph.traversal.algorithm.HugeTraverser.PathEmitter;
+import com.baidu.hugegraph.util.E;
+import com.baidu.hugegraph.util.JsonUtil;
+
+/**
+ * Write the paths into the output stream one by one as soon as they are
+ * found, the result is in the same format as Serializer.writePaths().
+ * The traverser is blocked while the stream is blocked by a slow client.
+ * If the traverser fails after some paths have been written, the status 200
+ * has been sent, so the result ends with a "complete" field of false and an
+ * "error" field like: {"paths":[...],"complete":false,"error":{...}}, the
+ * client must check the "complete" field to tell it from a complete result,
+ * which has no such field.
+ */
+public class PathsWriter implements PathEmitter {
+
+    private final String name;
+    private final boolean withCrossPoint;
+    private final OutputStream out;
+
+    private boolean started;
+
+    public PathsWriter(String name, boolean withCrossPoint,
+                       OutputStream out) {
+        this.name = name;
+        this.withCrossPoint = withCrossPoint;
+        this.out = out;
+        this.started = false;
+    }
+
+    @Override
+    public synchronized boolean emit(Path path) {
+        if (this.started) {
+            this.write(",");
+        } else {
+            // Delay writing until a path found, to report early errors
+            this.start();
+        }
+        this.write(JsonUtil.toJson(path.toMap(this.withCrossPoint)));
+        return true;
+    }
+
+    public synchronized void finish() {
+        if (!this.started) {
+            this.start();
+        }
+        this.write("]}");
+        this.flush();
+    }
+
+    /**
+     * End the written paths with a "complete" field of false and an "error"
+     * field, so that the client can tell a failed response from a complete
+     * one, since the status 200 has been sent with the first path
+     */
+    public synchronized void fail(Throwable error) {
+        E.checkState(this.started, "Can't write error before any path");
+        this.write("],\"complete\":false,\"error\":");
+        this.write(ExceptionFilter.formatException(error, false));
+        this.write("}");
+        this.flush();
+    }
+
+    public synchronized boolean started() {
+        return this.started;
+    }
+
+    private void start() {
+        this.write(String.format("{\"%s\":[", this.name));
+        this.started = true;
+    }
+
+    private void flush() {
+        try {
+            this.out.flush();
+        } catch (IOException e) {
+            throw new HugeException("Failed to flush %s", e, this.name);
+        }
+    }
+
+    private void write(String content) {
+        try {
+            this.out.write(content.getBytes(API.CHARSET));
+        } catch (IOException e) {
+            // Like the client closed the connection, stop the traverser
+            throw new HugeException("Failed to write %s", e, this.name);
+        }
+    }
+}
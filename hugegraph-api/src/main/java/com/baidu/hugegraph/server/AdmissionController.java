@@ -0,0 +1,420 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.server;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import com.baidu.hugegraph.util.E;
+
+/**
+ * Admit the requests by class, each request class has a weighted share of
+ * the concurrency limit reserved and a bounded waiting queue, the waiting
+ * requests of a class are admitted in round-robin order of the tenants, so
+ * that a tenant can't starve the others of the same class.
+ *
+ * The shares only take effect under contention: a class can borrow the idle
+ * capacity beyond its share, except the unused shares of the other classes
+ * which have requests waiting, so an idle server runs any class of requests
+ * up to the whole limit.
+ *
+ * The concurrency limit is adjusted by the gradient of the latency of the
+ * point reads: the limit shrinks when the short-term latency exceeds the
+ * long-term latency, and the reserved share keeps the point reads
+ * responsive under heavy traversals.
+ *
+ * NOTE: a waiting request blocks the server worker thread, so the total
+ * number of waiting requests of all classes is capped by maxWaiters, which
+ * should be below the number of workers to keep some workers serving.
+ */
+public final class AdmissionController {
+
+    // The tolerated ratio of the short-term latency to the long-term one
+    private static final double TOLERANCE = 1.5;
+    private static final double MIN_GRADIENT = 0.5;
+    private static final double SHORT_RTT_FACTOR = 0.2;
+    private static final double LONG_RTT_FACTOR = 0.01;
+    private static final double LIMIT_SMOOTHING = 0.2;
+
+    private final int maxLimit;
+    private final int minLimit;
+    private final int queueSize;
+    private final int maxWaiters;
+    private final long waitTimeout;
+    private final int totalWeight;
+
+    private final Map<RequestClass, ClassState> classes;
+
+    private double limit;
+    private int inflight;
+    private int waiting;
+    private double shortRtt;
+    private double longRtt;
+
+    public AdmissionController(int maxLimit, int queueSize, int maxWaiters,
+                               long waitTimeout) {
+        E.checkArgument(maxLimit > 0,
+                        "The max limit must be > 0, but got %s", maxLimit);
+        E.checkArgument(queueSize >= 0,
+                        "The queue size must be >= 0, but got %s", queueSize);
+        E.checkArgument(maxWaiters >= 0,
+                        "The max waiters must be >= 0, but got %s",
+                        maxWaiters);
+        E.checkArgument(waitTimeout >= 0,
+                        "The wait timeout must be >= 0, but got %s",
+                        waitTimeout);
+        this.maxLimit = maxLimit;
+        this.minLimit = Math.min(RequestClass.values().length, maxLimit);
+        this.queueSize = queueSize;
+        this.maxWaiters = maxWaiters;
+        this.waitTimeout = waitTimeout;
+
+        int weights = 0;
+        this.classes = new EnumMap<>(RequestClass.class);
+        for (RequestClass clazz : RequestClass.values()) {
+            this.classes.put(clazz, new ClassState());
+            weights += clazz.weight();
+        }
+        this.totalWeight = weights;
+
+        this.limit = maxLimit;
+        this.inflight = 0;
+        this.waiting = 0;
+        this.shortRtt = 0.0D;
+        this.longRtt = 0.0D;
+    }
+
+    /**
+     * Acquire a permit for the request, wait in the queue of the request
+     * class if there is no capacity left for the class, the request is not
+     * queued if the queue is full or there are maxWaiters requests waiting
+     * @param clazz     the class of the request
+     * @param tenant    the tenant of the request, like the graph name
+     * @return          the permit to be released after the request is done,
+     *                  or null if the queue is full or waiting timeout
+     */
+    public Permit acquire(RequestClass clazz, String tenant) {
+        E.checkArgumentNotNull(clazz, "The request class can't be null");
+        E.checkArgumentNotNull(tenant, "The tenant can't be null");
+        Waiter waiter;
+        synchronized (this) {
+            ClassState state = this.classes.get(clazz);
+            if (state.waiting == 0 && this.runnable(clazz)) {
+                return this.admit(clazz, tenant);
+            }
+            if (state.waiting >= this.queueSize ||
+                this.waiting >= this.maxWaiters) {
+                return null;
+            }
+            waiter = new Waiter(clazz, tenant);
+            state.enqueue(waiter);
+            this.waiting++;
+        }
+
+        boolean admitted;
+        try {
+            admitted = waiter.await(this.waitTimeout);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            admitted = false;
+        }
+        if (admitted) {
+            return waiter.permit;
+        }
+
+        synchronized (this) {
+            if (waiter.permit != null) {
+                // Admitted just after timeout
+                return waiter.permit;
+            }
+            if (this.classes.get(clazz).remove(waiter)) {
+                this.waiting--;
+            }
+            return null;
+        }
+    }
+
+    public void release(Permit permit) {
+        E.checkArgumentNotNull(permit, "The permit can't be null");
+        long rtt = System.nanoTime() - permit.startTime;
+        synchronized (this) {
+            E.checkState(!permit.released, "The permit has been released");
+            permit.released = true;
+            this.inflight--;
+            this.classes.get(permit.clazz).inflight--;
+            if (permit.clazz.latencySensitive()) {
+                this.updateLimit(rtt);
+            }
+            this.dispatch();
+        }
+    }
+
+    public synchronized int limit() {
+        return (int) this.limit;
+    }
+
+    public synchronized int inflight() {
+        return this.inflight;
+    }
+
+    public synchronized int inflight(RequestClass clazz) {
+        return this.classes.get(clazz).inflight;
+    }
+
+    public synchronized int waiting() {
+        return this.waiting;
+    }
+
+    public synchronized int waiting(RequestClass clazz) {
+        return this.classes.get(clazz).waiting;
+    }
+
+    private int share(RequestClass clazz) {
+        int share = (int) (this.limit * clazz.weight() / this.totalWeight);
+        return Math.max(share, 1);
+    }
+
+    private boolean runnable(RequestClass clazz) {
+        int limit = (int) this.limit;
+        if (this.inflight >= limit) {
+            return false;
+        }
+        ClassState state = this.classes.get(clazz);
+        if (state.inflight < this.share(clazz)) {
+            return true;
+        }
+        // Borrow the idle capacity except the shares reserved for waiters
+        int reserved = 0;
+        for (Map.Entry<RequestClass, ClassState> e :
+             this.classes.entrySet()) {
+            RequestClass other = e.getKey();
+            ClassState otherState = e.getValue();
+            if (other != clazz && otherState.waiting > 0) {
+                reserved += Math.max(this.share(other) - otherState.inflight,
+                                     0);
+            }
+        }
+        return this.inflight + reserved < limit;
+    }
+
+    private Permit admit(RequestClass clazz, String tenant) {
+        this.inflight++;
+        this.classes.get(clazz).inflight++;
+        return new Permit(clazz, tenant);
+    }
+
+    private void dispatch() {
+        while (true) {
+            // Select the class by smooth weighted round-robin
+            RequestClass selected = null;
+            int weights = 0;
+            for (Map.Entry<RequestClass, ClassState> e :
+                 this.classes.entrySet()) {
+                RequestClass clazz = e.getKey();
+                ClassState state = e.getValue();
+                if (state.waiting == 0 || !this.runnable(clazz)) {
+                    continue;
+                }
+                state.credit += clazz.weight();
+                weights += clazz.weight();
+                if (selected == null ||
+                    state.credit > this.classes.get(selected).credit) {
+                    selected = clazz;
+                }
+            }
+            if (selected == null) {
+                return;
+            }
+            ClassState state = this.classes.get(selected);
+            state.credit -= weights;
+            Waiter waiter = state.dequeue();
+            this.waiting--;
+            waiter.admit(this.admit(selected, waiter.tenant));
+        }
+    }
+
+    private void updateLimit(long rtt) {
+        if (this.longRtt == 0.0D) {
+            this.shortRtt = rtt;
+            this.longRtt = rtt;
+            return;
+        }
+        this.shortRtt += (rtt - this.shortRtt) * SHORT_RTT_FACTOR;
+        this.longRtt += (rtt - this.longRtt) * LONG_RTT_FACTOR;
+        if (this.shortRtt < this.longRtt / 2.0D) {
+            // Recover the long-term latency quickly after the load drops
+            this.longRtt = this.shortRtt * 2.0D;
+        }
+
+        double gradient = TOLERANCE * this.longRtt / this.shortRtt;
+        gradient = Math.max(MIN_GRADIENT, Math.min(1.0D, gradient));
+        // Allow some requests to queue while the latency is stable
+        double newLimit = this.limit * gradient + Math.sqrt(this.limit);
+        newLimit = this.limit * (1.0D - LIMIT_SMOOTHING) +
+                   newLimit * LIMIT_SMOOTHING;
+        this.limit = Math.max(this.minLimit,
+                              Math.min(this.maxLimit, newLimit));
+    }
+
+    public enum RequestClass {
+
+        READ(4, true),
+
+        WRITE(2, false),
+
+        TRAVERSAL(1, false),
+
+        GREMLIN(1, false);
+
+        private final int weight;
+        private final boolean latencySensitive;
+
+        RequestClass(int weight, boolean latencySensitive) {
+            this.weight = weight;
+            this.latencySensitive = latencySensitive;
+        }
+
+        public int weight() {
+            return this.weight;
+        }
+
+        public boolean latencySensitive() {
+            return this.latencySensitive;
+        }
+
+        public String string() {
+            return this.name().toLowerCase();
+        }
+    }
+
+    public final class Permit {
+
+        private final RequestClass clazz;
+        private final String tenant;
+        private final long startTime;
+        private boolean released;
+
+        private Permit(RequestClass clazz, String tenant) {
+            this.clazz = clazz;
+            this.tenant = tenant;
+            this.startTime = System.nanoTime();
+            this.released = false;
+        }
+
+        /**
+         * Release the permit to the controller which admitted it
+         */
+        public void release() {
+            AdmissionController.this.release(this);
+        }
+
+        public RequestClass requestClass() {
+            return this.clazz;
+        }
+
+        public String tenant() {
+            return this.tenant;
+        }
+    }
+
+    private static final class ClassState {
+
+        // The waiters grouped by tenant, in round-robin order
+        private final LinkedHashMap<String, Deque<Waiter>> tenants;
+        private int waiting;
+        private int inflight;
+        private int credit;
+
+        public ClassState() {
+            this.tenants = new LinkedHashMap<>();
+            this.waiting = 0;
+            this.inflight = 0;
+            this.credit = 0;
+        }
+
+        public void enqueue(Waiter waiter) {
+            Deque<Waiter> waiters = this.tenants.get(waiter.tenant);
+            if (waiters == null) {
+                waiters = new ArrayDeque<>();
+                this.tenants.put(waiter.tenant, waiters);
+            }
+            waiters.addLast(waiter);
+            this.waiting++;
+        }
+
+        public Waiter dequeue() {
+            Iterator<Map.Entry<String, Deque<Waiter>>> iter =
+                    this.tenants.entrySet().iterator();
+            assert iter.hasNext();
+            Map.Entry<String, Deque<Waiter>> entry = iter.next();
+            iter.remove();
+            Waiter waiter = entry.getValue().pollFirst();
+            if (!entry.getValue().isEmpty()) {
+                // Move the tenant to the tail
+                this.tenants.put(entry.getKey(), entry.getValue());
+            }
+            this.waiting--;
+            return waiter;
+        }
+
+        public boolean remove(Waiter waiter) {
+            Deque<Waiter> waiters = this.tenants.get(waiter.tenant);
+            if (waiters != null && waiters.remove(waiter)) {
+                if (waiters.isEmpty()) {
+                    this.tenants.remove(waiter.tenant);
+                }
+                this.waiting--;
+                return true;
+            }
+            return false;
+        }
+    }
+
+    private static final class Waiter {
+
+        private final RequestClass clazz;
+        private final String tenant;
+        private final CountDownLatch latch;
+        private volatile Permit permit;
+
+        public Waiter(RequestClass clazz, String tenant) {
+            this.clazz = clazz;
+            this.tenant = tenant;
+            this.latch = new CountDownLatch(1);
+            this.permit = null;
+        }
+
+        public boolean await(long timeout) throws InterruptedException {
+            return this.latch.await(timeout, TimeUnit.MILLISECONDS);
+        }
+
+        public void admit(Permit permit) {
+            assert permit.clazz == this.clazz;
+            this.permit = permit;
+            this.latch.countDown();
+        }
+    }
+}
@@ -39,8 +39,8 @@ import org.glassfish.jersey.server.monitoring.RequestEventListener;
 
 import com.baidu.hugegraph.HugeException;
 import com.baidu.hugegraph.config.HugeConfig;
+import com.baidu.hugegraph.config.ServerOptions;
 import com.baidu.hugegraph.core.GraphManager;
-import com.baidu.hugegraph.define.WorkLoad;
 import com.baidu.hugegraph.event.EventHub;
 import com.baidu.hugegraph.util.E;
 import com.baidu.hugegraph.version.CoreVersion;
@@ -75,8 +75,11 @@ public class ApplicationConfig extends ResourceConfig {
         // Register GraphManager to context
         register(new GraphManagerFactory(conf, hub));
 
-        // Register WorkLoad to context
-        register(new WorkLoadFactory());
+        // Register AdmissionController to context
+        register(new AdmissionControllerFactory(conf));
+
+        // Register TraceRecorder to context
+        register(new TraceRecorderFactory(conf));
 
         // Let @Metric annotations work
         MetricRegistry registry = MetricManager.INSTANCE.getRegistry();
@@ -162,28 +165,67 @@ public class ApplicationConfig extends ResourceConfig {
         }
     }
 
-    private class WorkLoadFactory extends AbstractBinder
-                                  implements Factory<WorkLoad> {
+    private class AdmissionControllerFactory
+            extends AbstractBinder
+            implements Factory<AdmissionController> {
+
+        private final AdmissionController admission;
+
+        public AdmissionControllerFactory(HugeConfig conf) {
+            int workers = conf.get(ServerOptions.MAX_WORKER_THREADS);
+            // There will be a thread doesn't work, dedicated to statistics
+            int maxLimit = workers - 1;
+            int queueSize = conf.get(ServerOptions.ADMISSION_QUEUE_SIZE);
+            // The waiting requests block at most half of the workers
+            int maxWaiters = workers / 2;
+            long timeout = conf.get(ServerOptions.ADMISSION_WAIT_TIMEOUT);
+            this.admission = new AdmissionController(maxLimit, queueSize,
+                                                     maxWaiters, timeout);
+        }
+
+        @Override
+        public AdmissionController provide() {
+            return this.admission;
+        }
+
+        @Override
+        public void dispose(AdmissionController admission) {
+            // pass
+        }
+
+        @Override
+        protected void configure() {
+            bindFactory(this).to(AdmissionController.class)
+                             .in(RequestScoped.class);
+        }
+    }
+
+    private class TraceRecorderFactory extends AbstractBinder
+                                       implements Factory<TraceRecorder> {
 
-        private final WorkLoad load;
+        private final TraceRecorder recorder;
 
-        public WorkLoadFactory() {
-            this.load = new WorkLoad();
+        public TraceRecorderFactory(HugeConfig conf) {
+            double sampleRate = conf.get(ServerOptions.TRACE_SAMPLE_RATE);
+            long threshold = conf.get(ServerOptions.SLOW_REQUEST_THRESHOLD);
+            int capacity = conf.get(ServerOptions.TRACE_CAPACITY);
+            this.recorder = new TraceRecorder(sampleRate, threshold, capacity);
         }
 
         @Override
-        public WorkLoad provide() {
-            return this.load;
+        public TraceRecorder provide() {
+            return this.recorder;
         }
 
         @Override
-        public void dispose(WorkLoad workLoad) {
+        public void dispose(TraceRecorder recorder) {
             // pass
         }
 
         @Override
         protected void configure() {
-            bindFactory(this).to(WorkLoad.class).in(RequestScoped.class);
+            bindFactory(this).to(TraceRecorder.class)
+                             .in(RequestScoped.class);
         }
     }
 }
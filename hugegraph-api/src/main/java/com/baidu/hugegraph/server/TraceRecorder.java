@@ -0,0 +1,139 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.server;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.slf4j.Logger;
+
+import com.baidu.hugegraph.util.E;
+import com.baidu.hugegraph.util.JsonUtil;
+import com.baidu.hugegraph.util.Log;
+import com.baidu.hugegraph.util.Trace;
+
+/**
+ * Keep the recent traces and the slow traces of the requests in memory,
+ * and log the slow requests to the slow query log, the requests are traced
+ * by sampling, the slow requests which are not sampled are logged with the
+ * elapsed time only.
+ */
+public final class TraceRecorder {
+
+    // The slow query log, which is separated from the server log
+    private static final Logger LOG = Log.logger(TraceRecorder.class);
+
+    private final double sampleRate;
+    private final long slowThreshold;
+    private final int capacity;
+
+    private final Deque<Trace> recentTraces;
+    private final Deque<Trace> slowTraces;
+
+    public TraceRecorder(double sampleRate, long slowThreshold,
+                         int capacity) {
+        E.checkArgument(sampleRate >= 0.0D && sampleRate <= 1.0D,
+                        "The sample rate must be in [0, 1], but got %s",
+                        sampleRate);
+        E.checkArgument(slowThreshold >= 0L,
+                        "The slow threshold must be >= 0, but got %s",
+                        slowThreshold);
+        E.checkArgument(capacity > 0,
+                        "The capacity must be > 0, but got %s", capacity);
+        this.sampleRate = sampleRate;
+        this.slowThreshold = slowThreshold;
+        this.capacity = capacity;
+        this.recentTraces = new ArrayDeque<>(capacity);
+        this.slowTraces = new ArrayDeque<>(capacity);
+    }
+
+    /**
+     * @return whether to trace the request
+     */
+    public boolean sample() {
+        if (this.sampleRate >= 1.0D) {
+            return true;
+        }
+        return this.sampleRate > 0.0D &&
+               ThreadLocalRandom.current().nextDouble() < this.sampleRate;
+    }
+
+    /**
+     * Record a finished request
+     * @param request   the method and path of the request
+     * @param elapsed   the elapsed time in milliseconds of the request
+     * @param trace     the trace of the request, null if not sampled
+     */
+    public void record(String request, long elapsed, Trace trace) {
+        boolean slow = this.slowThreshold > 0L &&
+                       elapsed >= this.slowThreshold;
+        if (slow) {
+            if (trace == null) {
+                LOG.info("{} took {}ms", request, elapsed);
+            } else {
+                LOG.info("{} took {}ms: {}", request, elapsed,
+                         JsonUtil.toJson(trace.root().asMap()));
+            }
+        }
+        if (trace == null) {
+            return;
+        }
+        synchronized (this) {
+            add(this.recentTraces, trace, this.capacity);
+            if (slow) {
+                add(this.slowTraces, trace, this.capacity);
+            }
+        }
+    }
+
+    /**
+     * @param slow  whether to get the slow traces only
+     * @param limit the max number of traces to get
+     * @return      the traces in order of newest first
+     */
+    public List<Map<String, Object>> traces(boolean slow, int limit) {
+        List<Trace> traces = new ArrayList<>();
+        synchronized (this) {
+            Deque<Trace> deque = slow ? this.slowTraces : this.recentTraces;
+            Iterator<Trace> iter = deque.descendingIterator();
+            while (iter.hasNext() && traces.size() < limit) {
+                traces.add(iter.next());
+            }
+        }
+        // Convert out of the lock since it may be slow for big traces
+        List<Map<String, Object>> results = new ArrayList<>(traces.size());
+        for (Trace trace : traces) {
+            results.add(trace.asMap());
+        }
+        return results;
+    }
+
+    private static void add(Deque<Trace> traces, Trace trace, int capacity) {
+        if (traces.size() >= capacity) {
+            traces.removeFirst();
+        }
+        traces.addLast(trace);
+    }
+}
@@ -23,6 +23,8 @@ import java.io.InterruptedIOException;
 
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalInterruptedException;
 
+import com.baidu.hugegraph.exception.CancelledException;
+
 public class HugeException extends RuntimeException {
 
     private static final long serialVersionUID = -8711375282196157058L;
@@ -59,6 +61,7 @@ public class HugeException extends RuntimeException {
         Throwable rootCause = HugeException.rootCause(e);
         return rootCause instanceof InterruptedException ||
                rootCause instanceof TraversalInterruptedException ||
-               rootCause instanceof InterruptedIOException;
+               rootCause instanceof InterruptedIOException ||
+               rootCause instanceof CancelledException;
     }
 }
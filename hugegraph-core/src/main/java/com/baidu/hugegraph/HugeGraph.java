@@ -33,6 +33,7 @@ import org.apache.tinkerpop.gremlin.structure.VertexProperty;
 
 import com.alipay.remoting.rpc.RpcServer;
 import com.baidu.hugegraph.auth.AuthManager;
+import com.baidu.hugegraph.backend.cache.TraversalCache;
 import com.baidu.hugegraph.backend.id.Id;
 import com.baidu.hugegraph.backend.query.Query;
 import com.baidu.hugegraph.backend.store.BackendFeatures;
@@ -55,6 +56,7 @@ import com.baidu.hugegraph.traversal.optimize.HugeCountStepStrategy;
 import com.baidu.hugegraph.traversal.optimize.HugeGraphStepStrategy;
 import com.baidu.hugegraph.traversal.optimize.HugeVertexStepStrategy;
 import com.baidu.hugegraph.type.HugeType;
+import com.baidu.hugegraph.type.define.Directions;
 import com.baidu.hugegraph.type.define.GraphMode;
 import com.baidu.hugegraph.type.define.GraphReadMode;
 import com.baidu.hugegraph.type.define.NodeRole;
@@ -128,6 +130,8 @@ public interface HugeGraph extends Graph {
 
     boolean existsIndexLabel(String label);
 
+    long schemaVersion();
+
     @Override
     Vertex addVertex(Object... keyValues);
 
@@ -175,6 +179,8 @@ public interface HugeGraph extends Graph {
 
     Number queryNumber(Query query);
 
+    long queryDegree(Id vertex, Directions dir, Id... labels);
+
     String name();
 
     String backend();
@@ -199,8 +205,12 @@ public interface HugeGraph extends Graph {
 
     boolean started();
 
+    void warmUp();
+
     boolean closed();
 
+    void closeTx();
+
     <T> T metadata(HugeType type, String meta, Object... args);
 
     void initBackend();
@@ -230,6 +240,11 @@ public interface HugeGraph extends Graph {
 
     RaftGroupManager raftGroupManager();
 
+    /**
+     * The cache of traverser results, null if not enabled
+     */
+    TraversalCache traversalCache();
+
     void proxy(HugeGraph graph);
 
     boolean sameAs(HugeGraph graph);
@@ -19,7 +19,11 @@
 
 package com.baidu.hugegraph;
 
+import java.util.concurrent.ExecutorService;
+
 import com.baidu.hugegraph.analyzer.Analyzer;
+import com.baidu.hugegraph.backend.cache.TraversalCache;
+import com.baidu.hugegraph.backend.cache.VectorIndexCache;
 import com.baidu.hugegraph.backend.serializer.AbstractSerializer;
 import com.baidu.hugegraph.backend.store.BackendFeatures;
 import com.baidu.hugegraph.backend.store.BackendStore;
@@ -28,6 +32,7 @@ import com.baidu.hugegraph.backend.tx.GraphTransaction;
 import com.baidu.hugegraph.backend.tx.SchemaTransaction;
 import com.baidu.hugegraph.config.HugeConfig;
 import com.baidu.hugegraph.event.EventHub;
+import com.baidu.hugegraph.schema.IndexStatistics;
 import com.baidu.hugegraph.task.ServerInfoManager;
 import com.baidu.hugegraph.type.define.GraphMode;
 import com.baidu.hugegraph.type.define.GraphReadMode;
@@ -89,4 +94,12 @@ public interface HugeGraphParams {
     RateLimiter readRateLimiter();
 
     RamTable ramtable();
+
+    TraversalCache traversalCache();
+
+    VectorIndexCache vectorIndexCache();
+
+    IndexStatistics.Tracker indexStatisticsTracker();
+
+    ExecutorService queryExecutor();
 }
@@ -23,6 +23,7 @@ import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -51,6 +52,8 @@ import com.baidu.hugegraph.backend.cache.CacheNotifier.GraphCacheNotifier;
 import com.baidu.hugegraph.backend.cache.CacheNotifier.SchemaCacheNotifier;
 import com.baidu.hugegraph.backend.cache.CachedGraphTransaction;
 import com.baidu.hugegraph.backend.cache.CachedSchemaTransaction;
+import com.baidu.hugegraph.backend.cache.TraversalCache;
+import com.baidu.hugegraph.backend.cache.VectorIndexCache;
 import com.baidu.hugegraph.backend.id.Id;
 import com.baidu.hugegraph.backend.id.IdGenerator;
 import com.baidu.hugegraph.backend.id.SnowflakeIdGenerator;
@@ -79,6 +82,7 @@ import com.baidu.hugegraph.rpc.RpcServiceConfig4Client;
 import com.baidu.hugegraph.rpc.RpcServiceConfig4Server;
 import com.baidu.hugegraph.schema.EdgeLabel;
 import com.baidu.hugegraph.schema.IndexLabel;
+import com.baidu.hugegraph.schema.IndexStatistics;
 import com.baidu.hugegraph.schema.PropertyKey;
 import com.baidu.hugegraph.schema.SchemaElement;
 import com.baidu.hugegraph.schema.SchemaLabel;
@@ -93,13 +97,16 @@ import com.baidu.hugegraph.task.ServerInfoManager;
 import com.baidu.hugegraph.task.TaskManager;
 import com.baidu.hugegraph.task.TaskScheduler;
 import com.baidu.hugegraph.type.HugeType;
+import com.baidu.hugegraph.type.define.Directions;
 import com.baidu.hugegraph.type.define.GraphMode;
 import com.baidu.hugegraph.type.define.GraphReadMode;
 import com.baidu.hugegraph.type.define.NodeRole;
 import com.baidu.hugegraph.util.ConfigUtil;
+import com.baidu.hugegraph.util.Consumers;
 import com.baidu.hugegraph.util.DateUtil;
 import com.baidu.hugegraph.util.E;
 import com.baidu.hugegraph.util.Events;
+import com.baidu.hugegraph.util.ExecutorUtil;
 import com.baidu.hugegraph.util.LockUtil;
 import com.baidu.hugegraph.util.Log;
 import com.baidu.hugegraph.variables.HugeVariables;
@@ -129,6 +136,8 @@ public class StandardHugeGraph implements HugeGraph {
            CoreOptions.OLTP_CONCURRENT_THREADS,
            CoreOptions.OLTP_CONCURRENT_DEPTH,
            CoreOptions.OLTP_COLLECTION_TYPE,
+           CoreOptions.OLTP_RECORDS_MEMORY_LIMIT,
+           CoreOptions.OLTP_RECORDS_SPILL_PATH,
            CoreOptions.VERTEX_DEFAULT_LABEL,
            CoreOptions.VERTEX_ENCODE_PK_NUMBER,
            CoreOptions.STORE_GRAPH,
@@ -137,6 +146,8 @@ public class StandardHugeGraph implements HugeGraph {
 
     private static final Logger LOG = Log.logger(HugeGraph.class);
 
+    private static final String QUERY_WORKER = "query-worker-%d";
+
     private volatile boolean started;
     private volatile boolean closed;
     private volatile GraphMode mode;
@@ -164,6 +175,11 @@ public class StandardHugeGraph implements HugeGraph {
     private final TinkerPopTransaction tx;
 
     private final RamTable ramtable;
+    private final TraversalCache traversalCache;
+    private final VectorIndexCache vectorIndexCache;
+    private final IndexStatistics.Tracker indexStatisticsTracker;
+    private final int queryThreads;
+    private final ExecutorService queryExecutor;
 
     public StandardHugeGraph(HugeConfig config) {
         this.params = new StandardHugeGraphParams();
@@ -189,6 +205,27 @@ public class StandardHugeGraph implements HugeGraph {
             this.ramtable = null;
         }
 
+        long resultCacheCapacity = config.get(
+                                   CoreOptions.OLTP_RESULT_CACHE_CAPACITY);
+        if (resultCacheCapacity > 0L) {
+            int expire = config.get(CoreOptions.OLTP_RESULT_CACHE_EXPIRE);
+            this.traversalCache = new TraversalCache(
+                                  config.get(CoreOptions.STORE),
+                                  resultCacheCapacity, expire);
+        } else {
+            this.traversalCache = null;
+        }
+        this.vectorIndexCache = new VectorIndexCache();
+        this.indexStatisticsTracker = new IndexStatistics.Tracker();
+
+        this.queryThreads = config.get(CoreOptions.QUERY_CONCURRENT_THREADS);
+        if (this.queryThreads > 0) {
+            this.queryExecutor = ExecutorUtil.newFixedThreadPool(
+                                 this.queryThreads, QUERY_WORKER);
+        } else {
+            this.queryExecutor = null;
+        }
+
         this.taskManager = TaskManager.instance();
 
         this.features = new HugeFeatures(this, true);
@@ -280,6 +317,21 @@ public class StandardHugeGraph implements HugeGraph {
         return this.started;
     }
 
+    @Override
+    public void warmUp() {
+        LOG.info("Warm up schema cache for graph '{}'...", this.name);
+        SchemaTransaction schemaTx = this.schemaTransaction();
+        schemaTx.getPropertyKeys();
+        schemaTx.getVertexLabels();
+        schemaTx.getEdgeLabels();
+        schemaTx.getIndexLabels();
+
+        if (this.ramtable != null) {
+            LOG.info("Reload ramtable for graph '{}'...", this.name);
+            this.reloadRamtable();
+        }
+    }
+
     @Override
     public boolean closed() {
         if (this.closed && !this.tx.closed()) {
@@ -348,6 +400,7 @@ public class StandardHugeGraph implements HugeGraph {
         LockUtil.lock(this.name, LockUtil.GRAPH_LOCK);
         try {
             this.storeProvider.clear();
+            this.indexStatisticsTracker.clear();
         } finally {
             LockUtil.unlock(this.name, LockUtil.GRAPH_LOCK);
             this.loadGraphStore().close();
@@ -365,6 +418,8 @@ public class StandardHugeGraph implements HugeGraph {
         LockUtil.lock(this.name, LockUtil.GRAPH_LOCK);
         try {
             this.storeProvider.truncate();
+            // The ids of index labels may be reused after truncated
+            this.indexStatisticsTracker.clear();
             this.storeProvider.initSystemInfo(this);
             this.serverStarted(this.serverInfoManager().selfServerId(),
                                this.serverInfoManager().selfServerRole());
@@ -686,6 +741,11 @@ public class StandardHugeGraph implements HugeGraph {
         return this.graphTransaction().queryNumber(query);
     }
 
+    @Override
+    public long queryDegree(Id vertex, Directions dir, Id... labels) {
+        return this.graphTransaction().queryDegree(vertex, dir, labels);
+    }
+
     @Override
     public Id addPropertyKey(PropertyKey pkey) {
         assert this.name.equals(pkey.graph().name());
@@ -878,6 +938,11 @@ public class StandardHugeGraph implements HugeGraph {
         return this.schemaTransaction().getIndexLabel(name) != null;
     }
 
+    @Override
+    public long schemaVersion() {
+        return this.schemaTransaction().version();
+    }
+
     @Override
     public Transaction tx() {
         return this.tx;
@@ -895,11 +960,15 @@ public class StandardHugeGraph implements HugeGraph {
         }
         this.taskManager.closeScheduler(this.params);
         try {
+            this.closeQueryExecutor();
             this.closeTx();
         } finally {
             this.closed = true;
             this.storeProvider.close();
             LockUtil.destroy(this.name);
+            if (this.traversalCache != null) {
+                this.traversalCache.close();
+            }
         }
         // Make sure that all transactions are closed in all threads
         E.checkState(this.tx.closed(),
@@ -1004,6 +1073,11 @@ public class StandardHugeGraph implements HugeGraph {
         this.authManager = authManager;
     }
 
+    @Override
+    public TraversalCache traversalCache() {
+        return this.traversalCache;
+    }
+
     @Override
     public RaftGroupManager raftGroupManager() {
         if (!(this.storeProvider instanceof RaftBackendStoreProvider)) {
@@ -1072,7 +1146,8 @@ public class StandardHugeGraph implements HugeGraph {
                                                    this.schemaEventHub, proxy));
     }
 
-    private void closeTx() {
+    @Override
+    public void closeTx() {
         try {
             if (this.tx.isOpen()) {
                 this.tx.close();
@@ -1082,6 +1157,21 @@ public class StandardHugeGraph implements HugeGraph {
         }
     }
 
+    private void closeQueryExecutor() {
+        if (this.queryExecutor == null) {
+            return;
+        }
+        try {
+            // The query workers open the tx of their own threads
+            Consumers.executeOncePerThread(this.queryExecutor,
+                                           this.queryThreads, this::closeTx);
+        } catch (InterruptedException e) {
+            throw new HugeException("Interrupted when closing query tx", e);
+        } finally {
+            this.queryExecutor.shutdown();
+        }
+    }
+
     private void waitUntilAllTasksCompleted() {
         long timeout = this.configuration.get(CoreOptions.TASK_WAIT_TIMEOUT);
         try {
@@ -1230,6 +1320,26 @@ public class StandardHugeGraph implements HugeGraph {
         public RamTable ramtable() {
             return StandardHugeGraph.this.ramtable;
         }
+
+        @Override
+        public TraversalCache traversalCache() {
+            return StandardHugeGraph.this.traversalCache;
+        }
+
+        @Override
+        public VectorIndexCache vectorIndexCache() {
+            return StandardHugeGraph.this.vectorIndexCache;
+        }
+
+        @Override
+        public IndexStatistics.Tracker indexStatisticsTracker() {
+            return StandardHugeGraph.this.indexStatisticsTracker;
+        }
+
+        @Override
+        public ExecutorService queryExecutor() {
+            return StandardHugeGraph.this.queryExecutor;
+        }
     }
 
     private class TinkerPopTransaction extends AbstractThreadLocalTransaction {
@@ -26,6 +26,7 @@ import java.util.function.Function;
 
 import org.slf4j.Logger;
 
+import com.baidu.hugegraph.metrics.LatencyHistogram;
 import com.baidu.hugegraph.perf.PerfUtil.Watched;
 import com.baidu.hugegraph.util.Log;
 
@@ -44,6 +45,7 @@ public abstract class AbstractCache<K, V> implements Cache<K, V> {
     private volatile boolean enabledMetrics;
     private final LongAdder hits;
     private final LongAdder miss;
+    private final LatencyHistogram latency;
 
     // NOTE: the count in number of items, not in bytes
     private final long capacity;
@@ -67,6 +69,7 @@ public abstract class AbstractCache<K, V> implements Cache<K, V> {
         this.enabledMetrics = false;
         this.hits = new LongAdder();
         this.miss = new LongAdder();
+        this.latency = new LatencyHistogram();
     }
 
     @Watched(prefix = "cache")
@@ -76,10 +79,14 @@ public abstract class AbstractCache<K, V> implements Cache<K, V> {
             return null;
         }
 
-        V value = this.access(id);
-
+        V value;
         if (this.enabledMetrics) {
+            long start = System.nanoTime();
+            value = this.access(id);
+            this.latency.record(System.nanoTime() - start);
             this.collectMetrics(id, value);
+        } else {
+            value = this.access(id);
         }
 
         return value;
@@ -92,10 +99,14 @@ public abstract class AbstractCache<K, V> implements Cache<K, V> {
             return null;
         }
 
-        V value = this.access(id);
-
+        V value;
         if (this.enabledMetrics) {
+            long start = System.nanoTime();
+            value = this.access(id);
+            this.latency.record(System.nanoTime() - start);
             this.collectMetrics(id, value);
+        } else {
+            value = this.access(id);
         }
 
         // Do fetch and update the cache if cache missed
@@ -222,6 +233,11 @@ public abstract class AbstractCache<K, V> implements Cache<K, V> {
         return this.miss.sum();
     }
 
+    @Override
+    public final LatencyHistogram latency() {
+        return this.latency;
+    }
+
     @Override
     public final long capacity() {
         return this.capacity;
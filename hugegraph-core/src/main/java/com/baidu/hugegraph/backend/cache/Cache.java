@@ -22,6 +22,8 @@ package com.baidu.hugegraph.backend.cache;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
+import com.baidu.hugegraph.metrics.LatencyHistogram;
+
 public interface Cache<K, V> {
 
     public static final String ACTION_INVALID = "invalid";
@@ -65,6 +67,8 @@ public interface Cache<K, V> {
 
     public long miss();
 
+    public LatencyHistogram latency();
+
     public <T> T attachment(T object);
 
     public <T> T attachment();
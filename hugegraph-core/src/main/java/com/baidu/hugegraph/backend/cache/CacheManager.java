@@ -121,6 +121,14 @@ public class CacheManager {
         return cache;
     }
 
+    public void remove(String name) {
+        Cache<Id, ?> cache = this.caches.remove(name);
+        if (cache != null) {
+            cache.clear();
+            LOG.info("Removed cache '{}'", name);
+        }
+    }
+
     public <V> Cache<Id, V> offheapCache(HugeGraph graph, String name,
                                          long capacity, long avgElemSize) {
         if (!this.caches.containsKey(name)) {
@@ -30,6 +30,7 @@ import com.baidu.hugegraph.backend.store.BackendStore;
 import com.baidu.hugegraph.backend.store.BackendStoreProvider;
 import com.baidu.hugegraph.config.HugeConfig;
 import com.baidu.hugegraph.type.HugeType;
+import com.baidu.hugegraph.type.define.Directions;
 import com.baidu.hugegraph.util.StringEncoding;
 
 /**
@@ -137,6 +138,49 @@ public class CachedBackendStore implements BackendStore {
         return this.store.getCounter(type);
     }
 
+    @Override
+    public void increaseLabelCounter(HugeType type, Id label,
+                                     long increment) {
+        this.store.increaseLabelCounter(type, label, increment);
+    }
+
+    @Override
+    public long getLabelCounter(HugeType type, Id label) {
+        return this.store.getLabelCounter(type, label);
+    }
+
+    @Override
+    public void increaseDegreeCounter(Id vertex, Directions dir, Id label,
+                                      long increment) {
+        this.store.increaseDegreeCounter(vertex, dir, label, increment);
+    }
+
+    @Override
+    public long getDegreeCounter(Id vertex, Directions dir, Id label) {
+        return this.store.getDegreeCounter(vertex, dir, label);
+    }
+
+    @Override
+    public byte[] getBitmapIndex(Id indexLabel, String value, long chunk) {
+        return this.store.getBitmapIndex(indexLabel, value, chunk);
+    }
+
+    @Override
+    public Iterator<byte[]> queryBitmapIndex(Id indexLabel, String value) {
+        return this.store.queryBitmapIndex(indexLabel, value);
+    }
+
+    @Override
+    public void putBitmapIndex(Id indexLabel, String value, long chunk,
+                               byte[] bitmap) {
+        this.store.putBitmapIndex(indexLabel, value, chunk, bitmap);
+    }
+
+    @Override
+    public void deleteBitmapIndex(Id indexLabel) {
+        this.store.deleteBitmapIndex(indexLabel);
+    }
+
     @Override
     public boolean isSchemaStore() {
         return this.store.isSchemaStore();
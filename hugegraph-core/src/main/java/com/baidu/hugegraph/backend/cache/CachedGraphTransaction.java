@@ -51,6 +51,7 @@ import com.baidu.hugegraph.structure.HugeVertex;
 import com.baidu.hugegraph.type.HugeType;
 import com.baidu.hugegraph.util.E;
 import com.baidu.hugegraph.util.Events;
+import com.baidu.hugegraph.util.Trace;
 import com.google.common.collect.ImmutableSet;
 
 public final class CachedGraphTransaction extends GraphTransaction {
@@ -61,6 +62,11 @@ public final class CachedGraphTransaction extends GraphTransaction {
     private static final long AVG_VERTEX_ENTRY_SIZE = 40L;
     private static final long AVG_EDGE_ENTRY_SIZE = 100L;
 
+    private static final String VERTEX_CACHE_HITS = "vertex_cache_hits";
+    private static final String VERTEX_CACHE_MISSES = "vertex_cache_misses";
+    private static final String EDGE_CACHE_HITS = "edge_cache_hits";
+    private static final String EDGE_CACHE_MISSES = "edge_cache_misses";
+
     private final Cache<Id, Object> verticesCache;
     private final Cache<Id, Object> edgesCache;
 
@@ -173,6 +179,9 @@ public final class CachedGraphTransaction extends GraphTransaction {
                      */
                     // this.edgesCache.invalidate(id);
                     this.edgesCache.clear();
+                    this.invalidateTraversalCache(type, args[2]);
+                } else if (type == HugeType.EDGE_LABEL) {
+                    this.invalidateTraversalCache(type, args[2]);
                 }
                 return true;
             } else if (Cache.ACTION_CLEAR.equals(args[0])) {
@@ -206,16 +215,32 @@ public final class CachedGraphTransaction extends GraphTransaction {
     private void clearCache(HugeType type, boolean notify) {
         if (type == null || type == HugeType.VERTEX) {
             this.verticesCache.clear();
+            // The vectors will be reloaded from backend
+            this.params().vectorIndexCache().clear();
         }
         if (type == null || type == HugeType.EDGE) {
             this.edgesCache.clear();
         }
+        if (type == null || type == HugeType.EDGE ||
+            type == HugeType.EDGE_LABEL) {
+            TraversalCache traversalCache = this.params().traversalCache();
+            if (traversalCache != null) {
+                traversalCache.clear();
+            }
+        }
 
         if (notify) {
             this.notifyChanges(Cache.ACTION_CLEARED, null, null);
         }
     }
 
+    private void invalidateTraversalCache(HugeType type, Object ids) {
+        TraversalCache traversalCache = this.params().traversalCache();
+        if (traversalCache != null) {
+            traversalCache.invalidate(type, ids);
+        }
+    }
+
     private boolean enableCacheVertex() {
         return this.verticesCache.capacity() > 0L;
     }
@@ -246,16 +271,20 @@ public final class CachedGraphTransaction extends GraphTransaction {
             HugeVertex vertex = (HugeVertex) this.verticesCache.get(vertexId);
             if (vertex != null) {
                 if (!vertex.expired()) {
+                    Trace.count(VERTEX_CACHE_HITS, 1L);
                     return QueryResults.iterator(vertex);
                 }
                 this.verticesCache.invalidate(vertexId);
             }
+            Trace.count(VERTEX_CACHE_MISSES, 1L);
             Iterator<HugeVertex> rs = super.queryVerticesFromBackend(query);
             vertex = QueryResults.one(rs);
             if (vertex == null) {
                 return QueryResults.emptyIterator();
             }
             if (needCacheVertex(vertex)) {
+                // The cached vertex is shared, decode it before caching
+                vertex.decodeLazyProperties();
                 this.verticesCache.update(vertex.id(), vertex);
             }
             return QueryResults.iterator(vertex);
@@ -275,6 +304,9 @@ public final class CachedGraphTransaction extends GraphTransaction {
             }
         }
 
+        Trace.count(VERTEX_CACHE_HITS, vertices.size());
+        Trace.count(VERTEX_CACHE_MISSES, newQuery.idsSize());
+
         // Join results from cache and backend
         ExtendableIterator<HugeVertex> results = new ExtendableIterator<>();
         if (!vertices.isEmpty()) {
@@ -291,6 +323,7 @@ public final class CachedGraphTransaction extends GraphTransaction {
             for (HugeVertex vertex : listIterator.list()) {
                 // Skip large vertex
                 if (needCacheVertex(vertex)) {
+                    vertex.decodeLazyProperties();
                     this.verticesCache.update(vertex.id(), vertex);
                 }
             }
@@ -329,8 +362,10 @@ public final class CachedGraphTransaction extends GraphTransaction {
 
         if (value != null) {
             // Not cached or the cache expired
+            Trace.count(EDGE_CACHE_HITS, 1L);
             return edges.iterator();
         }
+        Trace.count(EDGE_CACHE_MISSES, 1L);
 
         Iterator<HugeEdge> rs = super.queryEdgesFromBackend(query);
 
@@ -349,6 +384,10 @@ public final class CachedGraphTransaction extends GraphTransaction {
         if (edges.size() == 0) {
             this.edgesCache.update(cacheKey, Collections.emptyList());
         } else if (edges.size() <= MAX_CACHE_EDGES_PER_QUERY) {
+            // The cached edges are shared, decode them before caching
+            for (HugeEdge edge : edges) {
+                edge.decodeLazyProperties();
+            }
             this.edgesCache.update(cacheKey, edges);
         }
 
@@ -365,6 +404,7 @@ public final class CachedGraphTransaction extends GraphTransaction {
         int vertexOffset = 0;
 
         int edgesInTxSize = this.edgesInTxSize();
+        Set<Id> edgeLabels = this.edgeLabelsInTx();
 
         try {
             super.commitMutation2Backend(mutations);
@@ -405,6 +445,19 @@ public final class CachedGraphTransaction extends GraphTransaction {
                 this.edgesCache.clear();
                 this.notifyChanges(Cache.ACTION_CLEARED, HugeType.EDGE, null);
             }
+
+            // Invalidate traversal results of the changed edge labels
+            if (!deletions.isEmpty()) {
+                // The edges of the removed vertices are unknown here
+                this.clearCache(HugeType.EDGE_LABEL, false);
+                this.notifyChanges(Cache.ACTION_CLEARED,
+                                   HugeType.EDGE_LABEL, null);
+            } else if (!edgeLabels.isEmpty()) {
+                Id[] labels = edgeLabels.toArray(new Id[0]);
+                this.invalidateTraversalCache(HugeType.EDGE_LABEL, labels);
+                this.notifyChanges(Cache.ACTION_INVALIDED,
+                                   HugeType.EDGE_LABEL, labels);
+            }
         }
     }
 
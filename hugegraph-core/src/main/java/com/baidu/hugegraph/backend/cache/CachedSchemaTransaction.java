@@ -23,6 +23,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import com.baidu.hugegraph.HugeGraphParams;
 import com.baidu.hugegraph.backend.id.Id;
@@ -162,6 +163,7 @@ public final class CachedSchemaTransaction extends SchemaTransaction {
         this.idCache.clear();
         this.nameCache.clear();
         this.arrayCaches.clear();
+        this.arrayCaches.updateVersion();
 
         if (notify) {
             this.notifyChanges(Cache.ACTION_CLEARED, null, null);
@@ -197,6 +199,8 @@ public final class CachedSchemaTransaction extends SchemaTransaction {
 
         // remove from optimized array cache
         this.arrayCaches.remove(type, id);
+
+        this.arrayCaches.updateVersion();
     }
 
     private static Id generateId(HugeType type, Id id) {
@@ -214,10 +218,16 @@ public final class CachedSchemaTransaction extends SchemaTransaction {
         super.addSchema(schema);
 
         this.updateCache(schema);
+        this.arrayCaches.updateVersion();
 
         this.notifyChanges(Cache.ACTION_INVALIDED, schema.type(), schema.id());
     }
 
+    @Override
+    public long version() {
+        return this.arrayCaches.version();
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     protected <T extends SchemaElement> T getSchema(HugeType type, Id id) {
@@ -302,6 +312,8 @@ public final class CachedSchemaTransaction extends SchemaTransaction {
 
     private static final class SchemaCaches<V extends SchemaElement> {
 
+        private static final AtomicLong VERSIONS = new AtomicLong(0L);
+
         private final int size;
 
         private final IntObjectMap<V> pks;
@@ -311,6 +323,9 @@ public final class CachedSchemaTransaction extends SchemaTransaction {
 
         private final CachedTypes cachedTypes;
 
+        // The version of the cached schema, unique among all the graphs
+        private volatile long version;
+
         public SchemaCaches(int size) {
             // TODO: improve size of each type for optimized array cache
             this.size = size;
@@ -321,6 +336,7 @@ public final class CachedSchemaTransaction extends SchemaTransaction {
             this.ils = new IntObjectMap<>(size);
 
             this.cachedTypes = new CachedTypes();
+            this.version = VERSIONS.incrementAndGet();
         }
 
         public void updateIfNeeded(V schema) {
@@ -431,6 +447,14 @@ public final class CachedSchemaTransaction extends SchemaTransaction {
         public CachedTypes cachedTypes() {
             return this.cachedTypes;
         }
+
+        public long version() {
+            return this.version;
+        }
+
+        public void updateVersion() {
+            this.version = VERSIONS.incrementAndGet();
+        }
     }
 
     private static class CachedTypes
@@ -0,0 +1,211 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.backend.cache;
+
+import java.lang.reflect.Array;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+
+import com.baidu.hugegraph.backend.id.EdgeId;
+import com.baidu.hugegraph.backend.id.Id;
+import com.baidu.hugegraph.backend.id.IdGenerator;
+import com.baidu.hugegraph.type.HugeType;
+import com.baidu.hugegraph.util.E;
+import com.baidu.hugegraph.util.Log;
+
+/**
+ * Cache the results of traverser requests, each result records the versions
+ * of the edge labels it traversed, and it's treated as missed once any of
+ * the versions changed. The versions are increased by the graph transaction
+ * after edges committed, or on the graph cache events received from other
+ * nodes.
+ */
+public final class TraversalCache {
+
+    private static final Logger LOG = Log.logger(TraversalCache.class);
+
+    private final String name;
+    private final Cache<Id, Object> results;
+
+    // Increased when all the results should be invalidated
+    private final AtomicLong globalVersion;
+    // Increased when edges of any label changed
+    private final AtomicLong anyLabelVersion;
+    private final Map<Id, AtomicLong> labelVersions;
+
+    public TraversalCache(String graph, long capacity, long expire) {
+        this.name = "traversal-" + graph;
+        this.results = CacheManager.instance().cache(this.name, capacity);
+        // Convert the unit from seconds to milliseconds
+        this.results.expire(expire * 1000L);
+        this.results.enableMetrics(true);
+        this.results.clear();
+
+        this.globalVersion = new AtomicLong(0L);
+        this.anyLabelVersion = new AtomicLong(0L);
+        this.labelVersions = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Get the cached result of the request, or compute and cache it
+     * @param key        the normalized request
+     * @param edgeLabels the edge labels traversed, empty means any label
+     * @param computer   used to compute the result if missed
+     * @param cacheable  whether the computed result can be cached, like
+     *                   it's not too large
+     */
+    @SuppressWarnings("unchecked")
+    public <V> V getOrCompute(String key, Collection<Id> edgeLabels,
+                              Supplier<V> computer, Predicate<V> cacheable) {
+        Id cacheKey = IdGenerator.of(key);
+        Object value = this.results.get(cacheKey);
+        if (value != null) {
+            Result result = (Result) value;
+            if (result.versions.equals(this.versions(edgeLabels))) {
+                return (V) result.value;
+            }
+            this.results.invalidate(cacheKey);
+        }
+
+        // Take the versions before computing to avoid missing changes
+        Versions versions = this.versions(edgeLabels);
+        V computed = computer.get();
+        if (computed != null && cacheable.test(computed)) {
+            this.results.update(cacheKey, new Result(versions, computed));
+        }
+        return computed;
+    }
+
+    public void clear() {
+        this.globalVersion.incrementAndGet();
+        this.results.clear();
+    }
+
+    /**
+     * Unregister the results from CacheManager, called when the graph is
+     * closed or dropped
+     */
+    public void close() {
+        this.globalVersion.incrementAndGet();
+        CacheManager.instance().remove(this.name);
+    }
+
+    /**
+     * Invalidate the results which traversed the changed edges
+     * @param type  EDGE_LABEL with the label ids, or edge type with edge ids
+     * @param ids   an Id or an array of Id, null means unknown edges
+     */
+    public void invalidate(HugeType type, Object ids) {
+        E.checkArgument(type == HugeType.EDGE_LABEL || type.isEdge(),
+                        "Expect edge label or edge type, but got %s", type);
+        if (ids instanceof Id) {
+            this.invalidate(type, (Id) ids);
+        } else if (ids != null && ids.getClass().isArray()) {
+            int size = Array.getLength(ids);
+            for (int i = 0; i < size; i++) {
+                Object id = Array.get(ids, i);
+                E.checkArgument(id instanceof Id,
+                                "Expect instance of Id in array, " +
+                                "but got '%s'", id.getClass());
+                this.invalidate(type, (Id) id);
+            }
+        } else {
+            this.globalVersion.incrementAndGet();
+        }
+    }
+
+    private void invalidate(HugeType type, Id id) {
+        Id label;
+        if (type == HugeType.EDGE_LABEL) {
+            label = id;
+        } else if (id instanceof EdgeId) {
+            label = ((EdgeId) id).edgeLabelId();
+        } else {
+            // Unknown edge label
+            LOG.debug("Invalidate all traversal results due to edge {}", id);
+            this.globalVersion.incrementAndGet();
+            return;
+        }
+        this.anyLabelVersion.incrementAndGet();
+        this.labelVersions.computeIfAbsent(label, k -> new AtomicLong(0L))
+                          .incrementAndGet();
+    }
+
+    private Versions versions(Collection<Id> edgeLabels) {
+        long global = this.globalVersion.get();
+        if (edgeLabels == null || edgeLabels.isEmpty()) {
+            return new Versions(global, this.anyLabelVersion.get(), null);
+        }
+        long[] versions = new long[edgeLabels.size()];
+        int i = 0;
+        for (Id label : edgeLabels) {
+            AtomicLong version = this.labelVersions.get(label);
+            versions[i++] = version == null ? 0L : version.get();
+        }
+        return new Versions(global, -1L, versions);
+    }
+
+    private static final class Versions {
+
+        private final long global;
+        private final long anyLabel;
+        private final long[] labels;
+
+        public Versions(long global, long anyLabel, long[] labels) {
+            this.global = global;
+            this.anyLabel = anyLabel;
+            this.labels = labels;
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            if (!(object instanceof Versions)) {
+                return false;
+            }
+            Versions other = (Versions) object;
+            return this.global == other.global &&
+                   this.anyLabel == other.anyLabel &&
+                   Arrays.equals(this.labels, other.labels);
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(this.global) ^ Long.hashCode(this.anyLabel);
+        }
+    }
+
+    private static final class Result {
+
+        private final Versions versions;
+        private final Object value;
+
+        public Result(Versions versions, Object value) {
+            this.versions = versions;
+            this.value = value;
+        }
+    }
+}
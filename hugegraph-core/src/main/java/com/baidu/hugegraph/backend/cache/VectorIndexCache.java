@@ -0,0 +1,97 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.backend.cache;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+
+import com.baidu.hugegraph.backend.id.Id;
+import com.baidu.hugegraph.util.Log;
+import com.baidu.hugegraph.util.collection.HnswIndex;
+
+/**
+ * Cache the HNSW graphs of vector index labels, the graph of an index label
+ * is loaded from the index entries in backend on the first query, and then
+ * updated by the graph transactions after the changes committed. The graph
+ * is dropped when the index label is removed or rebuilt, or the graph cache
+ * is cleared, and will be loaded again on the next query.
+ */
+public final class VectorIndexCache {
+
+    private static final Logger LOG = Log.logger(VectorIndexCache.class);
+
+    private final Map<Id, HnswIndex<Id>> indexes;
+
+    public VectorIndexCache() {
+        this.indexes = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Get the HNSW graph of an index label, or load it if not cached
+     * @param indexLabel the id of vector index label
+     * @param loader     used to load the graph from backend if missed
+     * @return           the HNSW graph of element ids
+     */
+    public HnswIndex<Id> index(Id indexLabel,
+                               Function<Id, HnswIndex<Id>> loader) {
+        /*
+         * The updates of the index label are blocked until the loading is
+         * done, so the changes committed during loading are not lost
+         */
+        return this.indexes.computeIfAbsent(indexLabel, label -> {
+            HnswIndex<Id> index = loader.apply(label);
+            LOG.debug("Loaded {} vectors of index label '{}'",
+                      index.size(), label);
+            return index;
+        });
+    }
+
+    /**
+     * Update the vector of an element if the graph is loaded
+     * @param indexLabel the id of vector index label
+     * @param element    the id of element
+     * @param vector     the new vector, null means the element is removed
+     */
+    public void update(Id indexLabel, Id element, float[] vector) {
+        this.indexes.computeIfPresent(indexLabel, (label, index) -> {
+            if (vector == null) {
+                index.remove(element);
+            } else {
+                index.add(element, vector);
+            }
+            return index;
+        });
+    }
+
+    public void invalidate(Id indexLabel) {
+        this.indexes.remove(indexLabel);
+    }
+
+    public void clear() {
+        this.indexes.clear();
+    }
+
+    public int size() {
+        return this.indexes.size();
+    }
+}
@@ -71,11 +71,23 @@ public abstract class IdHolder {
 
         // Used by Joint Index
         private final Set<Id> ids;
+        // Used by scoring search index, the ids are sorted by scores
+        private final boolean keepOrder;
 
         public FixedIdHolder(Query query, Set<Id> ids) {
+            this(query, ids, false);
+        }
+
+        public FixedIdHolder(Query query, Set<Id> ids, boolean keepOrder) {
             super(query);
             E.checkArgumentNotNull(ids, "The ids can't be null");
             this.ids = ids;
+            this.keepOrder = keepOrder;
+        }
+
+        @Override
+        public boolean keepOrder() {
+            return this.keepOrder;
         }
 
         @Override
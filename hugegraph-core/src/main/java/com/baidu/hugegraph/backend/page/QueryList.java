@@ -20,10 +20,24 @@
 package com.baidu.hugegraph.backend.page;
 
 import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
-
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.apache.tinkerpop.gremlin.structure.util.CloseableIterator;
+
+import com.baidu.hugegraph.HugeException;
 import com.baidu.hugegraph.backend.id.Id;
 import com.baidu.hugegraph.backend.page.IdHolder.BatchIdHolder;
 import com.baidu.hugegraph.backend.page.IdHolder.FixedIdHolder;
@@ -32,7 +46,10 @@ import com.baidu.hugegraph.backend.query.ConditionQuery.OptimizedType;
 import com.baidu.hugegraph.backend.query.IdQuery;
 import com.baidu.hugegraph.backend.query.Query;
 import com.baidu.hugegraph.backend.query.QueryResults;
+import com.baidu.hugegraph.iterator.ExtendableIterator;
+import com.baidu.hugegraph.task.TaskManager.ContextCallable;
 import com.baidu.hugegraph.util.Bytes;
+import com.baidu.hugegraph.util.Consumers;
 import com.baidu.hugegraph.util.E;
 
 public final class QueryList<R> {
@@ -41,11 +58,19 @@ public final class QueryList<R> {
     // The size of each page fetched by the inner page
     private final QueryResults.Fetcher<R> fetcher;
     private final List<FlattenQuery<R>> queries;
+    // The executor to fetch the sub-queries concurrently, null if disabled
+    private ExecutorService executor;
+    private boolean ordered;
+    // The max number of results of a sub-query fetched into memory
+    private long capacity;
 
     public QueryList(Query parent, QueryResults.Fetcher<R> fetcher) {
         this.parent = parent;
         this.fetcher = fetcher;
         this.queries = new ArrayList<>();
+        this.executor = null;
+        this.ordered = true;
+        this.capacity = 0L;
     }
 
     protected Query parent() {
@@ -61,6 +86,11 @@ public final class QueryList<R> {
         this.queries.add(new IndexQuery(holders, indexBatchSize));
     }
 
+    public void add(Supplier<IdHolderList> holders, long indexBatchSize) {
+        // The index query is deferred to the worker which fetches it
+        this.queries.add(new IndexQuery(holders, indexBatchSize));
+    }
+
     public void add(Query query) {
         // TODO: maybe need do dedup(for -> flatten)
         this.queries.add(new OptimizedQuery(query));
@@ -78,6 +108,30 @@ public final class QueryList<R> {
         return this.queries.isEmpty();
     }
 
+    /**
+     * Fetch the sub-queries concurrently by the executor instead of one by
+     * one, at most capacity results of each sub-query are fetched into
+     * memory by a worker, and the rest are iterated from the same backend
+     * iterator by the iterating thread
+     * @param executor  the executor to run the sub-queries
+     * @param ordered   merge the results in the order of sub-queries if true,
+     *                  otherwise in the order of completion
+     * @param capacity  the max number of results of a sub-query fetched by
+     *                  a worker
+     */
+    public void concurrent(ExecutorService executor, boolean ordered,
+                           long capacity) {
+        E.checkNotNull(executor, "executor");
+        E.checkArgument(!this.parent.paging(),
+                        "Can't fetch paging query concurrently: %s",
+                        this.parent);
+        E.checkArgument(capacity > 0L,
+                        "The capacity must be > 0, but got %s", capacity);
+        this.executor = executor;
+        this.ordered = ordered;
+        this.capacity = capacity;
+    }
+
     @Override
     public String toString() {
         return String.format("Query{root:%s,queries:%s}",
@@ -96,6 +150,12 @@ public final class QueryList<R> {
             return iter.results();
         }
 
+        if (this.executor != null && this.queries.size() > 1) {
+            @SuppressWarnings("resource") // closed by QueryResults
+            ConcurrentFetcher fetcher = new ConcurrentFetcher();
+            return QueryResults.flatMap(fetcher, results -> results);
+        }
+
         // Fetch all results once
         return QueryResults.flatMap(this.queries.iterator(), q -> q.iterator());
     }
@@ -198,22 +258,39 @@ public final class QueryList<R> {
     private class IndexQuery implements FlattenQuery<R> {
 
         // One IdHolder each sub-query
-        private final IdHolderList holders;
+        private IdHolderList holders;
+        // Do the index query on the first iteration if not done yet
+        private final Supplier<IdHolderList> indexQuery;
         // Fetching ids size each time, default 100
         private final long batchSize;
 
         public IndexQuery(IdHolderList holders, long batchSize) {
             this.holders = holders;
+            this.indexQuery = null;
+            this.batchSize = batchSize;
+        }
+
+        public IndexQuery(Supplier<IdHolderList> indexQuery, long batchSize) {
+            this.holders = null;
+            this.indexQuery = indexQuery;
             this.batchSize = batchSize;
         }
 
+        private IdHolderList holders() {
+            if (this.holders == null) {
+                this.holders = this.indexQuery.get();
+            }
+            return this.holders;
+        }
+
         @Override
         public QueryResults<R> iterator() {
             // Iterate all
-            if (this.holders.size() == 1) {
-                return this.each(this.holders.get(0));
+            IdHolderList holders = this.holders();
+            if (holders.size() == 1) {
+                return this.each(holders.get(0));
             }
-            return QueryResults.flatMap(this.holders.iterator(), this::each);
+            return QueryResults.flatMap(holders.iterator(), this::each);
         }
 
         private QueryResults<R> each(IdHolder holder) {
@@ -265,9 +342,10 @@ public final class QueryList<R> {
         @Override
         public PageResults<R> iterator(int index, String page, long pageSize) {
             // Iterate by paging
-            E.checkArgument(0 <= index && index <= this.holders.size(),
+            IdHolderList holders = this.holders();
+            E.checkArgument(0 <= index && index <= holders.size(),
                             "Invalid page index %s", index);
-            IdHolder holder = this.holders.get(index);
+            IdHolder holder = holders.get(index);
             Query bindQuery = holder.query();
             this.updateResultsFilter(bindQuery);
             PageIds pageIds = holder.fetchNext(page, pageSize);
@@ -282,11 +360,14 @@ public final class QueryList<R> {
 
         @Override
         public int total() {
-            return this.holders.size();
+            return this.holders().size();
         }
 
         @Override
         public String toString() {
+            if (this.holders == null) {
+                return "IndexQuery{<deferred>}";
+            }
             return String.format("IndexQuery{%s}", this.holders);
         }
 
@@ -322,6 +403,172 @@ public final class QueryList<R> {
         }
     }
 
+    /**
+     * Fetch each sub-query by a task of the executor, and iterate the fetched
+     * results in the order of sub-queries or in the order of completion.
+     * The tasks share the limit of parent query: once the fetched results
+     * reach the limit, the tasks not started yet are skipped, and a skipped
+     * sub-query is fetched again only if its results are iterated (e.g. some
+     * fetched results are filtered out by the upper layer).
+     * A task fetches at most capacity results into memory, if there are more
+     * results, the backend iterator is kept open and handed over to the
+     * iterating thread to continue, such iterators not handed over yet are
+     * closed when the fetcher is closed.
+     */
+    private class ConcurrentFetcher implements Iterator<QueryResults<R>>,
+                                               AutoCloseable {
+
+        private final ExecutorService executor;
+        private final CompletionService<QueryResults<R>> completion;
+        private final List<Future<QueryResults<R>>> futures;
+        private final Map<Future<QueryResults<R>>, FlattenQuery<R>> tasks;
+        private final AtomicLong remaining;
+        // The open iterators of the fetched sub-queries not handed over yet
+        private final Map<FlattenQuery<R>, Iterator<R>> opened;
+        private int cursor;
+        private volatile boolean closed;
+
+        public ConcurrentFetcher() {
+            this.executor = QueryList.this.executor;
+            this.completion = ordered ? null :
+                              new ExecutorCompletionService<>(this.executor);
+            this.futures = new ArrayList<>(queries.size());
+            this.tasks = new IdentityHashMap<>(queries.size());
+            this.remaining = new AtomicLong(parent().limit());
+            this.opened = new IdentityHashMap<>();
+            this.cursor = 0;
+            this.closed = false;
+
+            try {
+                for (FlattenQuery<R> query : queries) {
+                    // Pass the context and cancel token to the fetch thread
+                    Callable<QueryResults<R>> task;
+                    task = new ContextCallable<>(() -> {
+                        return this.fetch(query, true);
+                    });
+                    Future<QueryResults<R>> future;
+                    if (this.completion != null) {
+                        future = this.completion.submit(task);
+                    } else {
+                        future = this.executor.submit(task);
+                    }
+                    this.futures.add(future);
+                    this.tasks.put(future, query);
+                }
+            } catch (RuntimeException e) {
+                this.close();
+                throw e;
+            }
+        }
+
+        private QueryResults<R> fetch(FlattenQuery<R> query,
+                                      boolean skippable) {
+            if (this.closed ||
+                skippable && this.remaining.get() <= 0L) {
+                // Skip it since enough results have been fetched
+                return null;
+            }
+            QueryResults<R> results = query.iterator();
+            if (results == null) {
+                return QueryResults.empty();
+            }
+            Iterator<R> iter = results.iterator();
+            List<R> fetched = new ArrayList<>();
+            boolean handover = false;
+            try {
+                while (fetched.size() < capacity && iter.hasNext()) {
+                    fetched.add(iter.next());
+                }
+                if (fetched.isEmpty()) {
+                    return QueryResults.empty();
+                }
+                this.remaining.addAndGet(-fetched.size());
+                if (!iter.hasNext()) {
+                    return results.withIterator(fetched.iterator());
+                }
+                /*
+                 * Keep the iterator open and let the iterating thread go on
+                 * from the current position, unless the fetcher is closed
+                 */
+                synchronized (this.opened) {
+                    if (this.closed) {
+                        return null;
+                    }
+                    this.opened.put(query, iter);
+                    handover = true;
+                }
+            } finally {
+                if (!handover) {
+                    CloseableIterator.closeIterator(iter);
+                }
+            }
+            return results.withIterator(new ExtendableIterator<>(
+                                        fetched.iterator(), iter));
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !this.closed && this.cursor < this.futures.size();
+        }
+
+        @Override
+        public QueryResults<R> next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException();
+            }
+            try {
+                Future<QueryResults<R>> future;
+                if (this.completion != null) {
+                    future = this.completion.take();
+                } else {
+                    future = this.futures.get(this.cursor);
+                }
+                this.cursor++;
+
+                FlattenQuery<R> query = this.tasks.get(future);
+                QueryResults<R> results = future.get();
+                if (results == null) {
+                    // The skipped sub-query is needed, fetch it now
+                    results = this.executor.submit(new ContextCallable<>(() -> {
+                        return this.fetch(query, false);
+                    })).get();
+                }
+                // The open iterator is closed with the results from now on
+                synchronized (this.opened) {
+                    this.opened.remove(query);
+                }
+                return results;
+            } catch (InterruptedException e) {
+                this.close();
+                throw new HugeException("Interrupted while fetching " +
+                                        "sub-queries of %s", e, parent());
+            } catch (ExecutionException e) {
+                this.close();
+                throw Consumers.wrapException(e.getCause());
+            }
+        }
+
+        @Override
+        public void close() {
+            if (this.closed) {
+                return;
+            }
+            List<Iterator<R>> opened;
+            synchronized (this.opened) {
+                this.closed = true;
+                opened = new ArrayList<>(this.opened.values());
+                this.opened.clear();
+            }
+            // The fetched results are dropped, and the pending are cancelled
+            for (Future<QueryResults<R>> future : this.futures) {
+                future.cancel(false);
+            }
+            for (Iterator<R> iter : opened) {
+                CloseableIterator.closeIterator(iter);
+            }
+        }
+    }
+
     public static class PageResults<R> {
 
         public static final PageResults<?> EMPTY = new PageResults<>(
@@ -0,0 +1,329 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.backend.query;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import com.baidu.hugegraph.backend.id.Id;
+import com.baidu.hugegraph.backend.query.Condition.Relation;
+import com.baidu.hugegraph.backend.query.Condition.RelationType;
+import com.baidu.hugegraph.structure.HugeElement;
+import com.baidu.hugegraph.structure.HugeProperty;
+
+/**
+ * The conditions of a query compiled into a tree of element predicates once
+ * per query. The relation type and the type of query value are resolved when
+ * compiling, so that the property values of the same type as the query value
+ * are compared as primitives, and the values of IN are looked up in a hash
+ * set. The other conditions and values fall back to Condition.test(), which
+ * keeps the results same as the conditions before compiled.
+ */
+public abstract class CompiledCondition {
+
+    public static final CompiledCondition TRUE = new AndCondition(
+                                                 new CompiledCondition[0]);
+
+    public abstract boolean test(HugeElement element);
+
+    public static CompiledCondition compile(Collection<Condition> conditions) {
+        if (conditions.isEmpty()) {
+            return TRUE;
+        }
+        if (conditions.size() == 1) {
+            return compile(conditions.iterator().next());
+        }
+        List<CompiledCondition> compiled = new ArrayList<>(conditions.size());
+        for (Condition condition : conditions) {
+            compiled.add(compile(condition));
+        }
+        return new AndCondition(compiled.toArray(new CompiledCondition[0]));
+    }
+
+    public static CompiledCondition compile(Condition condition) {
+        switch (condition.type()) {
+            case AND:
+                List<CompiledCondition> ands = new ArrayList<>();
+                collect(ands, condition, Condition.ConditionType.AND);
+                return new AndCondition(ands.toArray(new CompiledCondition[0]));
+            case OR:
+                List<CompiledCondition> ors = new ArrayList<>();
+                collect(ors, condition, Condition.ConditionType.OR);
+                return new OrCondition(ors.toArray(new CompiledCondition[0]));
+            case RELATION:
+                return compileRelation((Relation) condition);
+            default:
+                return new GenericCondition(condition);
+        }
+    }
+
+    private static void collect(List<CompiledCondition> results,
+                                Condition condition,
+                                Condition.ConditionType type) {
+        // Flatten the nested conditions of the same logic type
+        if (condition.type() == type) {
+            Condition.BinCondition bin = (Condition.BinCondition) condition;
+            collect(results, bin.left(), type);
+            collect(results, bin.right(), type);
+        } else {
+            results.add(compile(condition));
+        }
+    }
+
+    private static CompiledCondition compileRelation(Relation relation) {
+        Object value = relation.value();
+        if (relation.isSysprop() || value == null) {
+            return new GenericCondition(relation);
+        }
+        Id key = (Id) relation.key();
+        switch (relation.relation()) {
+            case EQ:
+                if (value instanceof String) {
+                    return new StringEquals(relation, key, (String) value);
+                }
+                // Compare number and date like the other comparisons
+                // fallthrough
+            case NEQ:
+            case GT:
+            case GTE:
+            case LT:
+            case LTE:
+                if (NumberCompare.supports(value)) {
+                    return new NumberCompare(relation, key, (Number) value);
+                }
+                if (value.getClass() == Date.class) {
+                    return new DateCompare(relation, key, (Date) value);
+                }
+                break;
+            case IN:
+            case NOT_IN:
+                if (value instanceof Collection) {
+                    return new InSet(relation, key, (Collection<?>) value);
+                }
+                break;
+            default:
+                break;
+        }
+        return new GenericCondition(relation);
+    }
+
+    private static boolean matches(RelationType relation, int result) {
+        switch (relation) {
+            case EQ:
+                return result == 0;
+            case NEQ:
+                return result != 0;
+            case GT:
+                return result > 0;
+            case GTE:
+                return result >= 0;
+            case LT:
+                return result < 0;
+            case LTE:
+                return result <= 0;
+            default:
+                throw new AssertionError(String.format(
+                          "Unexpected relation type '%s'", relation));
+        }
+    }
+
+    private static final class AndCondition extends CompiledCondition {
+
+        private final CompiledCondition[] conditions;
+
+        public AndCondition(CompiledCondition[] conditions) {
+            this.conditions = conditions;
+        }
+
+        @Override
+        public boolean test(HugeElement element) {
+            for (CompiledCondition condition : this.conditions) {
+                if (!condition.test(element)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private static final class OrCondition extends CompiledCondition {
+
+        private final CompiledCondition[] conditions;
+
+        public OrCondition(CompiledCondition[] conditions) {
+            this.conditions = conditions;
+        }
+
+        @Override
+        public boolean test(HugeElement element) {
+            for (CompiledCondition condition : this.conditions) {
+                if (condition.test(element)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private static final class GenericCondition extends CompiledCondition {
+
+        private final Condition condition;
+
+        public GenericCondition(Condition condition) {
+            this.condition = condition;
+        }
+
+        @Override
+        public boolean test(HugeElement element) {
+            return this.condition.test(element);
+        }
+    }
+
+    private abstract static class UserpropCondition extends CompiledCondition {
+
+        protected final Relation relation;
+        private final Id key;
+
+        public UserpropCondition(Relation relation, Id key) {
+            this.relation = relation;
+            this.key = key;
+        }
+
+        @Override
+        public boolean test(HugeElement element) {
+            HugeProperty<?> prop = element.getProperty(this.key);
+            Object value = prop != null ? prop.value() : null;
+            if (value == null) {
+                // Same as UserpropRelation.test()
+                return false;
+            }
+            return this.test(value);
+        }
+
+        protected abstract boolean test(Object value);
+
+        protected boolean testGeneric(Object value) {
+            return this.relation.test(value);
+        }
+    }
+
+    private static final class StringEquals extends UserpropCondition {
+
+        private final String expected;
+
+        public StringEquals(Relation relation, Id key, String expected) {
+            super(relation, key);
+            this.expected = expected;
+        }
+
+        @Override
+        protected boolean test(Object value) {
+            if (value instanceof String) {
+                return this.expected.equals(value);
+            }
+            return this.testGeneric(value);
+        }
+    }
+
+    private static final class NumberCompare extends UserpropCondition {
+
+        private final RelationType type;
+        private final Class<?> clazz;
+        private final long longValue;
+        private final double doubleValue;
+
+        public NumberCompare(Relation relation, Id key, Number expected) {
+            super(relation, key);
+            this.type = relation.relation();
+            this.clazz = expected.getClass();
+            this.longValue = expected.longValue();
+            this.doubleValue = expected.doubleValue();
+        }
+
+        @Override
+        protected boolean test(Object value) {
+            // Compare as NumericUtil.compareNumber() with the same class
+            if (value.getClass() != this.clazz) {
+                return this.testGeneric(value);
+            }
+            int result;
+            if (this.clazz == Double.class) {
+                result = Double.compare(((Double) value).doubleValue(),
+                                        this.doubleValue);
+            } else if (this.clazz == Float.class) {
+                result = Float.compare(((Float) value).floatValue(),
+                                       (float) this.doubleValue);
+            } else {
+                result = Long.compare(((Number) value).longValue(),
+                                      this.longValue);
+            }
+            return matches(this.type, result);
+        }
+
+        public static boolean supports(Object value) {
+            Class<?> clazz = value.getClass();
+            return clazz == Integer.class || clazz == Long.class ||
+                   clazz == Double.class || clazz == Float.class ||
+                   clazz == Short.class || clazz == Byte.class;
+        }
+    }
+
+    private static final class DateCompare extends UserpropCondition {
+
+        private final RelationType type;
+        private final long time;
+
+        public DateCompare(Relation relation, Id key, Date expected) {
+            super(relation, key);
+            this.type = relation.relation();
+            this.time = expected.getTime();
+        }
+
+        @Override
+        protected boolean test(Object value) {
+            if (value.getClass() != Date.class) {
+                return this.testGeneric(value);
+            }
+            return matches(this.type,
+                           Long.compare(((Date) value).getTime(), this.time));
+        }
+    }
+
+    private static final class InSet extends UserpropCondition {
+
+        private final Set<?> values;
+        private final boolean negated;
+
+        public InSet(Relation relation, Id key, Collection<?> values) {
+            super(relation, key);
+            this.values = new HashSet<>(values);
+            this.negated = relation.relation() == RelationType.NOT_IN;
+        }
+
+        @Override
+        protected boolean test(Object value) {
+            return this.values.contains(value) != this.negated;
+        }
+    }
+}
@@ -20,6 +20,7 @@
 package com.baidu.hugegraph.backend.query;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Date;
 import java.util.List;
@@ -131,6 +132,12 @@ public abstract class Condition {
             return v1 != null && ((Map<?, ?>) v1).containsKey(v2);
         }),
 
+        NEAREST("nearest", null, Nearest.class, (v1, v2) -> {
+            // The nearest vectors are selected by vector index
+            return v1 instanceof Collection &&
+                   ((Collection<?>) v1).size() == ((Nearest) v2).dimension();
+        }),
+
         SCAN("scan", (v1, v2) -> {
             assert v2 != null;
             /*
@@ -272,6 +279,10 @@ public abstract class Condition {
         public boolean isSecondaryType() {
             return this == EQ;
         }
+
+        public boolean isVectorType() {
+            return this == NEAREST;
+        }
     }
 
     public abstract ConditionType type();
@@ -414,6 +425,10 @@ public abstract class Condition {
         return new UserpropRelation(key, RelationType.CONTAINS, value);
     }
 
+    public static Relation nearest(Id key, Nearest value) {
+        return new UserpropRelation(key, RelationType.NEAREST, value);
+    }
+
     /**
      * Condition defines
      */
@@ -811,4 +826,64 @@ public abstract class Condition {
             return this.keyMin != null || this.keyMax != null;
         }
     }
+
+    /**
+     * The value of nearest condition: the query vector and the max count of
+     * the nearest results
+     */
+    public static final class Nearest {
+
+        private final float[] vector;
+        private final int top;
+
+        public Nearest(List<?> vector, int top) {
+            E.checkArgument(vector != null && !vector.isEmpty(),
+                            "The vector of nearest query can't be empty");
+            E.checkArgument(top > 0,
+                            "The top of nearest query must be > 0, " +
+                            "but got %s", top);
+            this.vector = new float[vector.size()];
+            for (int i = 0; i < this.vector.length; i++) {
+                Object value = vector.get(i);
+                E.checkArgument(value instanceof Number,
+                                "The vector of nearest query must be " +
+                                "numbers, but got %s", vector);
+                this.vector[i] = ((Number) value).floatValue();
+            }
+            this.top = top;
+        }
+
+        public float[] vector() {
+            return this.vector;
+        }
+
+        public int dimension() {
+            return this.vector.length;
+        }
+
+        public int top() {
+            return this.top;
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            if (!(object instanceof Nearest)) {
+                return false;
+            }
+            Nearest other = (Nearest) object;
+            return this.top == other.top &&
+                   Arrays.equals(this.vector, other.vector);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(this.vector) ^ this.top;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("nearest(%s, %s)",
+                                 Arrays.toString(this.vector), this.top);
+        }
+    }
 }
@@ -80,6 +80,9 @@ public class ConditionQuery extends IdQuery {
     private OptimizedType optimizedType = OptimizedType.NONE;
     private ResultsFilter resultsFilter = null;
     private Element2IndexValueMap element2IndexValueMap = null;
+    private Map<Id, HugeElement> coveredElements = null;
+    // The conditions compiled on the first test(), reset if changed
+    private CompiledCondition compiledConditions = null;
 
     public ConditionQuery(HugeType resultType) {
         super(resultType);
@@ -106,6 +109,7 @@ public class ConditionQuery extends IdQuery {
             this.conditions = InsertionOrderUtil.newList();
         }
         this.conditions.add(condition);
+        this.compiledConditions = null;
         return this;
     }
 
@@ -165,10 +169,12 @@ public class ConditionQuery extends IdQuery {
 
     public void resetConditions(List<Condition> conditions) {
         this.conditions = conditions;
+        this.compiledConditions = null;
     }
 
     public void resetConditions() {
         this.conditions = EMPTY_CONDITIONS;
+        this.compiledConditions = null;
     }
 
     public void recordIndexValue(Id propertyId, Id id, Object indexValue) {
@@ -197,6 +203,30 @@ public class ConditionQuery extends IdQuery {
         return this.element2IndexValueMap.getLeftIndex(elementId);
     }
 
+    /**
+     * Record the element built from the values saved in a covering index,
+     * which is returned as a result without querying it from backend
+     * @param element the element with the values of the query keys
+     */
+    public void recordCoveredElement(HugeElement element) {
+        if (this.coveredElements == null) {
+            this.coveredElements = new HashMap<>();
+        }
+        this.coveredElements.put(element.id(), element);
+    }
+
+    public boolean hasCoveredElements() {
+        return this.coveredElements != null &&
+               !this.coveredElements.isEmpty();
+    }
+
+    public HugeElement removeCoveredElement(Id elementId) {
+        if (this.coveredElements == null) {
+            return null;
+        }
+        return this.coveredElements.remove(elementId);
+    }
+
     private Element2IndexValueMap element2IndexValueMap() {
         if (this.element2IndexValueMap == null) {
             this.element2IndexValueMap = new Element2IndexValueMap();
@@ -293,6 +323,7 @@ public class ConditionQuery extends IdQuery {
                 iter.remove();
             }
         }
+        this.compiledConditions = null;
     }
 
     public boolean containsCondition(HugeKeys key) {
@@ -415,6 +446,7 @@ public class ConditionQuery extends IdQuery {
 
     public void resetUserpropConditions() {
         this.conditions.removeIf(condition -> !condition.isSysprop());
+        this.compiledConditions = null;
     }
 
     public Set<Id> userpropKeys() {
@@ -563,6 +595,10 @@ public class ConditionQuery extends IdQuery {
             return this.resultsFilter.test(element);
         }
 
+        if (this.element2IndexValueMap == null) {
+            return this.compiledConditions().test(element);
+        }
+
         /*
          * NOTE: seems need to keep call checkRangeIndex() for each condition,
          * so don't break early even if test() return false.
@@ -576,6 +612,15 @@ public class ConditionQuery extends IdQuery {
         return valid;
     }
 
+    private CompiledCondition compiledConditions() {
+        CompiledCondition compiled = this.compiledConditions;
+        if (compiled == null) {
+            compiled = CompiledCondition.compile(this.conditions);
+            this.compiledConditions = compiled;
+        }
+        return compiled;
+    }
+
     public void checkFlattened() {
         E.checkState(this.isFlattened(),
                      "Query has none-flatten condition: %s", this);
@@ -619,10 +664,13 @@ public class ConditionQuery extends IdQuery {
             ConditionQuery cq = ((ConditionQuery) originQuery);
             /*
              * Two sub-query(flatten) will both set optimized of originQuery,
-             * here we just keep the higher one, this may not be a perfect way
+             * here we just keep the higher one, this may not be a perfect way.
+             * NOTE: the sub-queries may be optimized concurrently.
              */
-            if (optimizedType.ordinal() > cq.optimized().ordinal()) {
-                cq.optimized(optimizedType);
+            synchronized (cq) {
+                if (optimizedType.ordinal() > cq.optimized().ordinal()) {
+                    cq.optimized(optimizedType);
+                }
             }
         }
     }
@@ -38,6 +38,7 @@ import com.baidu.hugegraph.iterator.ListIterator;
 import com.baidu.hugegraph.iterator.MapperIterator;
 import com.baidu.hugegraph.perf.PerfUtil.Watched;
 import com.baidu.hugegraph.type.Idfiable;
+import com.baidu.hugegraph.util.CancelToken;
 import com.baidu.hugegraph.util.E;
 import com.baidu.hugegraph.util.InsertionOrderUtil;
 
@@ -94,6 +95,13 @@ public class QueryResults<R> {
         return fetched;
     }
 
+    public QueryResults<R> withIterator(Iterator<R> results) {
+        // Keep the queries of the results, e.g. for sorting by input ids
+        QueryResults<R> replaced = new QueryResults<>(results);
+        replaced.addQueries(this.queries);
+        return replaced;
+    }
+
     public List<Query> queries() {
         return Collections.unmodifiableList(this.queries);
     }
@@ -196,6 +204,7 @@ public class QueryResults<R> {
                 T result = iterator.next();
                 list.add(result);
                 Query.checkForceCapacity(list.size());
+                CancelToken.checkCurrent();
             }
         } finally {
             CloseableIterator.closeIterator(iterator);
@@ -211,6 +220,7 @@ public class QueryResults<R> {
                 assert result.id() != null;
                 map.put(result.id(), result);
                 Query.checkForceCapacity(map.size());
+                CancelToken.checkCurrent();
             }
         } finally {
             CloseableIterator.closeIterator(iterator);
@@ -222,6 +232,7 @@ public class QueryResults<R> {
         @SuppressWarnings("unchecked")
         QueryResults<R>[] qr = new QueryResults[1];
         qr[0] = new QueryResults<>(new FlatMapperIterator<>(iterator, i -> {
+            CancelToken.checkCurrent();
             QueryResults<R> results = func.apply(i);
             if (results == null || !results.iterator().hasNext()) {
                 return null;
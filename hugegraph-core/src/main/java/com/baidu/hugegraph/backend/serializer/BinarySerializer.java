@@ -42,6 +42,7 @@ import com.baidu.hugegraph.backend.query.Query;
 import com.baidu.hugegraph.backend.serializer.BinaryBackendEntry.BinaryId;
 import com.baidu.hugegraph.backend.store.BackendEntry;
 import com.baidu.hugegraph.backend.store.BackendEntry.BackendColumn;
+import com.baidu.hugegraph.config.CoreOptions;
 import com.baidu.hugegraph.config.HugeConfig;
 import com.baidu.hugegraph.schema.EdgeLabel;
 import com.baidu.hugegraph.schema.IndexLabel;
@@ -52,6 +53,7 @@ import com.baidu.hugegraph.structure.HugeEdge;
 import com.baidu.hugegraph.structure.HugeEdgeProperty;
 import com.baidu.hugegraph.structure.HugeElement;
 import com.baidu.hugegraph.structure.HugeIndex;
+import com.baidu.hugegraph.structure.HugeIndex.Posting;
 import com.baidu.hugegraph.structure.HugeProperty;
 import com.baidu.hugegraph.structure.HugeVertex;
 import com.baidu.hugegraph.structure.HugeVertexProperty;
@@ -69,6 +71,7 @@ import com.baidu.hugegraph.type.define.SerialEnum;
 import com.baidu.hugegraph.type.define.WriteType;
 import com.baidu.hugegraph.util.Bytes;
 import com.baidu.hugegraph.util.E;
+import com.baidu.hugegraph.util.InsertionOrderUtil;
 import com.baidu.hugegraph.util.JsonUtil;
 import com.baidu.hugegraph.util.NumericUtil;
 import com.baidu.hugegraph.util.StringEncoding;
@@ -82,21 +85,32 @@ public class BinarySerializer extends AbstractSerializer {
     private final boolean keyWithIdPrefix;
     private final boolean indexWithIdPrefix;
     private final boolean enablePartition;
+    // Decode the properties of vertex or edge only when accessed
+    private final boolean lazyProperties;
 
     public BinarySerializer() {
         this(true, true, false);
     }
 
     public BinarySerializer(HugeConfig config) {
-        this(true, true, false);
+        this(true, true, false,
+             config.get(CoreOptions.QUERY_LAZY_DECODE_PROPERTIES));
     }
 
     public BinarySerializer(boolean keyWithIdPrefix,
                             boolean indexWithIdPrefix,
                             boolean enablePartition) {
+        this(keyWithIdPrefix, indexWithIdPrefix, enablePartition, false);
+    }
+
+    public BinarySerializer(boolean keyWithIdPrefix,
+                            boolean indexWithIdPrefix,
+                            boolean enablePartition,
+                            boolean lazyProperties) {
         this.keyWithIdPrefix = keyWithIdPrefix;
         this.indexWithIdPrefix = indexWithIdPrefix;
         this.enablePartition = enablePartition;
+        this.lazyProperties = lazyProperties;
     }
 
     @Override
@@ -234,6 +248,12 @@ public class BinarySerializer extends AbstractSerializer {
     protected void parseProperties(BytesBuffer buffer, HugeElement owner) {
         int size = buffer.readVInt();
         assert size >= 0;
+        if (this.lazyProperties && size > 0) {
+            // Just skip the values, they will be decoded when accessed
+            owner.lazyProperties(LazyProperties.parse(owner.graph(),
+                                                      buffer, size));
+            return;
+        }
         for (int i = 0; i < size; i++) {
             Id pkeyId = IdGenerator.of(buffer.readVInt());
             this.parseProperty(pkeyId, buffer, owner);
@@ -373,8 +393,16 @@ public class BinarySerializer extends AbstractSerializer {
     protected void parseIndexName(HugeGraph graph, ConditionQuery query,
                                   BinaryBackendEntry entry,
                                   HugeIndex index, Object fieldValues) {
+        boolean covering = index.indexLabel().covering();
+        boolean scoring = index.indexLabel().scoring();
         for (BackendColumn col : entry.columns()) {
-            if (indexFieldValuesUnmatched(col.value, fieldValues)) {
+            BytesBuffer value = null;
+            byte[] hashedValues = col.value;
+            if (covering || scoring) {
+                value = BytesBuffer.wrap(col.value);
+                hashedValues = value.readBytes();
+            }
+            if (indexFieldValuesUnmatched(hashedValues, fieldValues)) {
                 // Skip if field-values is not matched (just the same hash)
                 continue;
             }
@@ -385,9 +413,68 @@ public class BinarySerializer extends AbstractSerializer {
             Id elemId = buffer.readId();
             long expiredTime = index.hasTtl() ? buffer.readVLong() : 0L;
             index.elementIds(elemId, expiredTime);
+            if (covering) {
+                index.includedValues(elemId,
+                                     this.parseIncludedValues(graph, value));
+            }
+            if (scoring) {
+                index.posting(elemId, this.parsePosting(value));
+            }
         }
     }
 
+    protected byte[] formatPosting(HugeIndex index, byte[] hashedValues) {
+        Posting posting = index.posting(index.elementId());
+        E.checkState(posting != null,
+                     "Expect posting of search index '%s'", index);
+        BytesBuffer buffer = BytesBuffer.allocate(16);
+        // Write the field-values of hashed index-id at first
+        buffer.writeBytes(hashedValues == null ?
+                          BytesBuffer.BYTES_EMPTY : hashedValues);
+        buffer.writeVInt(posting.frequency());
+        buffer.writeVInt(posting.length());
+        buffer.writeInt(posting.textHash());
+        return buffer.bytes();
+    }
+
+    protected Posting parsePosting(BytesBuffer buffer) {
+        int frequency = buffer.readVInt();
+        int length = buffer.readVInt();
+        int textHash = buffer.readInt();
+        return new Posting(frequency, length, textHash);
+    }
+
+    protected byte[] formatIncludedValues(HugeIndex index,
+                                          byte[] hashedValues) {
+        Map<Id, Object> values = index.includedValues(index.elementId());
+        int size = values == null ? 0 : values.size();
+        BytesBuffer buffer = BytesBuffer.allocate(8 + 16 * size);
+        // Write the field-values of hashed index-id at first
+        buffer.writeBytes(hashedValues == null ?
+                          BytesBuffer.BYTES_EMPTY : hashedValues);
+        buffer.writeVInt(size);
+        if (values != null) {
+            for (Map.Entry<Id, Object> e : values.entrySet()) {
+                PropertyKey pkey = index.graph().propertyKey(e.getKey());
+                buffer.writeVInt(SchemaElement.schemaId(pkey.id()));
+                buffer.writeProperty(pkey, e.getValue());
+            }
+        }
+        return buffer.bytes();
+    }
+
+    protected Map<Id, Object> parseIncludedValues(HugeGraph graph,
+                                                  BytesBuffer buffer) {
+        int size = buffer.readVInt();
+        Map<Id, Object> values = InsertionOrderUtil.newMap();
+        for (int i = 0; i < size; i++) {
+            PropertyKey pkey = graph.propertyKey(
+                               IdGenerator.of(buffer.readVInt()));
+            values.put(pkey.id(), buffer.readProperty(pkey));
+        }
+        return values;
+    }
+
     @Override
     public BackendEntry writeVertex(HugeVertex vertex) {
         if (vertex.olap()) {
@@ -546,6 +633,13 @@ public class BinarySerializer extends AbstractSerializer {
                 // Save field-values as column value if the key is a hash string
                 value = StringEncoding.encode(index.fieldValues().toString());
             }
+            if (index.indexLabel().covering()) {
+                // Save the included property values of covering index
+                value = this.formatIncludedValues(index, value);
+            } else if (index.indexLabel().scoring()) {
+                // Save the posting of the word of scoring search index
+                value = this.formatPosting(index, value);
+            }
 
             entry = newBackendEntry(type, id);
             if (index.indexLabel().olap()) {
@@ -262,6 +262,10 @@ public final class BytesBuffer extends OutputStream {
         return bytes;
     }
 
+    public void skip(int length) {
+        this.buffer.position(this.buffer.position() + length);
+    }
+
     public boolean readBoolean() {
         return this.buffer.get() == 0 ? false : true;
     }
@@ -557,6 +561,24 @@ public final class BytesBuffer extends OutputStream {
         return values;
     }
 
+    /**
+     * Skip the value of the property without decoding it
+     * @param pkey the property key of the value
+     */
+    public void skipProperty(PropertyKey pkey) {
+        if (pkey.cardinality() == Cardinality.SINGLE) {
+            this.skipProperty(pkey.dataType());
+            return;
+        }
+
+        assert pkey.cardinality() == Cardinality.LIST ||
+               pkey.cardinality() == Cardinality.SET;
+        int size = this.readVInt();
+        for (int i = 0; i < size; i++) {
+            this.skipProperty(pkey.dataType());
+        }
+    }
+
     public void writeProperty(DataType dataType, Object value) {
         switch (dataType) {
             case BOOLEAN:
@@ -627,6 +649,35 @@ public final class BytesBuffer extends OutputStream {
         }
     }
 
+    public void skipProperty(DataType dataType) {
+        switch (dataType) {
+            case BOOLEAN:
+            case BYTE:
+            case INT:
+                this.readVInt();
+                break;
+            case FLOAT:
+                this.skip(FLOAT_LEN);
+                break;
+            case LONG:
+            case DATE:
+                this.readVLong();
+                break;
+            case DOUBLE:
+                this.skip(DOUBLE_LEN);
+                break;
+            case UUID:
+                this.skip(2 * LONG_LEN);
+                break;
+            default:
+                // TEXT, BLOB and kryo bytes are all prefixed with length
+                int length = this.readVInt();
+                assert length >= 0;
+                this.skip(length);
+                break;
+        }
+    }
+
     public BytesBuffer writeId(Id id) {
         return this.writeId(id, false);
     }
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.backend.serializer;
+
+import java.nio.ByteBuffer;
+
+import com.baidu.hugegraph.HugeGraph;
+import com.baidu.hugegraph.backend.id.IdGenerator;
+import com.baidu.hugegraph.schema.PropertyKey;
+import com.baidu.hugegraph.structure.HugeElement;
+import com.baidu.hugegraph.util.E;
+
+/**
+ * The properties of an element which are not decoded yet, it keeps the
+ * raw bytes read from backend and the offset of each property value,
+ * and the value of a property is decoded only when it's accessed.
+ *
+ * NOTE: this class is not thread safe, an element with lazy properties
+ * must decode all of them by HugeElement.decodeLazyProperties() before
+ * being shared by multiple threads, like being cached.
+ */
+public final class LazyProperties {
+
+    private final byte[] bytes;
+    private final PropertyKey[] keys;
+    private final int[] offsets;
+    // The count of properties not decoded
+    private int size;
+
+    private LazyProperties(byte[] bytes, PropertyKey[] keys, int[] offsets) {
+        this.bytes = bytes;
+        this.keys = keys;
+        this.offsets = offsets;
+        this.size = keys.length;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public boolean contains(int key) {
+        return this.indexOf(key) >= 0;
+    }
+
+    /**
+     * Decode the value of the property key and add it to the owner,
+     * do nothing if it doesn't exist or has been decoded or removed
+     * @param key   the id of property key
+     * @param owner the element to add the property
+     */
+    public void decode(int key, HugeElement owner) {
+        int index = this.indexOf(key);
+        if (index >= 0) {
+            this.decodeAt(index, owner);
+        }
+    }
+
+    public void decodeAll(HugeElement owner) {
+        for (int i = 0; i < this.keys.length && this.size > 0; i++) {
+            if (this.keys[i] != null) {
+                this.decodeAt(i, owner);
+            }
+        }
+    }
+
+    /**
+     * Remove the property key if it's not decoded, like the value of the
+     * property is overwritten or removed from the owner
+     * @param key the id of property key
+     * @return    true if the property key is removed
+     */
+    public boolean remove(int key) {
+        int index = this.indexOf(key);
+        if (index < 0) {
+            return false;
+        }
+        this.keys[index] = null;
+        this.size--;
+        return true;
+    }
+
+    private void decodeAt(int index, HugeElement owner) {
+        PropertyKey pkey = this.keys[index];
+        assert pkey != null;
+        // Mark as decoded before adding to owner to avoid decoding again
+        this.keys[index] = null;
+        this.size--;
+
+        int offset = this.offsets[index];
+        BytesBuffer buffer = BytesBuffer.wrap(this.bytes, offset,
+                                              this.bytes.length - offset);
+        owner.addProperty(pkey, buffer.readProperty(pkey));
+    }
+
+    private int indexOf(int key) {
+        // The number of properties is small, so search linearly
+        for (int i = 0; i < this.keys.length; i++) {
+            PropertyKey pkey = this.keys[i];
+            if (pkey != null && HugeElement.intFromId(pkey.id()) == key) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Read the property keys and skip the values from the buffer, then the
+     * buffer is positioned after the properties like they were decoded
+     * @param graph  the graph used to get the property keys
+     * @param buffer the buffer backed by an accessible array
+     * @param size   the count of properties in the buffer
+     * @return       the lazy properties with the offset of each value
+     */
+    public static LazyProperties parse(HugeGraph graph, BytesBuffer buffer,
+                                       int size) {
+        ByteBuffer origin = buffer.asByteBuffer();
+        E.checkArgument(origin.hasArray(),
+                        "Can't lazy parse properties from buffer without " +
+                        "accessible array");
+        PropertyKey[] keys = new PropertyKey[size];
+        int[] offsets = new int[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = graph.propertyKey(IdGenerator.of(buffer.readVInt()));
+            offsets[i] = origin.arrayOffset() + buffer.position();
+            buffer.skipProperty(keys[i]);
+        }
+        return new LazyProperties(origin.array(), keys, offsets);
+    }
+}
@@ -21,6 +21,7 @@ package com.baidu.hugegraph.backend.serializer;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -196,7 +197,8 @@ public class TextBackendEntry implements BackendEntry, Cloneable {
             List<Object> oldValues = JsonUtil.fromJson(oldValue, List.class);
             @SuppressWarnings("unchecked")
             List<Object> newValues = JsonUtil.fromJson(newValue, List.class);
-            values.addAll(oldValues);
+            // The covering entries appended replace the old ones with same id
+            values.addAll(removeCoveringEntries(oldValues, newValues));
             values.addAll(newValues);
             // Update the old value
             this.column(col.getKey(), JsonUtil.toJson(values));
@@ -226,13 +228,50 @@ public class TextBackendEntry implements BackendEntry, Cloneable {
             List<Object> oldValues = JsonUtil.fromJson(oldValue, List.class);
             @SuppressWarnings("unchecked")
             List<Object> newValues = JsonUtil.fromJson(newValue, List.class);
-            List<Object> values = new ArrayList<>(oldValues);
+            List<Object> values = removeCoveringEntries(oldValues, newValues);
             values.removeAll(newValues);
             // Update the old value
             this.column(col.getKey(), JsonUtil.toJson(values));
         }
     }
 
+    /**
+     * Remove the old entries of covering index with the same element ids as
+     * the removed ones, since the included values saved in them may differ
+     * @param values  the old entries of the element ids
+     * @param removed the entries being appended or eliminated
+     * @return        a copy of the values without the covering entries
+     */
+    private static List<Object> removeCoveringEntries(List<Object> values,
+                                                      List<Object> removed) {
+        Set<String> ids = new HashSet<>();
+        for (Object value : removed) {
+            String id = coveringEntryId(value);
+            if (id != null) {
+                ids.add(id);
+            }
+        }
+        List<Object> results = new ArrayList<>(values.size());
+        for (Object value : values) {
+            String id = coveringEntryId(value);
+            if (id == null || !ids.contains(id)) {
+                results.add(value);
+            }
+        }
+        return results;
+    }
+
+    private static String coveringEntryId(Object value) {
+        // The element id is saved with the included values of covering index
+        if (value instanceof Map) {
+            Map<?, ?> map = (Map<?, ?>) value;
+            if (map.containsKey(HugeKeys.PROPERTIES.string())) {
+                return String.valueOf(map.get(HugeKeys.ID.string()));
+            }
+        }
+        return null;
+    }
+
     @Override
     public String toString() {
         return String.format("%s: %s", this.id, this.columns.toString());
@@ -53,6 +53,7 @@ import com.baidu.hugegraph.structure.HugeEdgeProperty;
 import com.baidu.hugegraph.structure.HugeElement;
 import com.baidu.hugegraph.structure.HugeIndex;
 import com.baidu.hugegraph.structure.HugeIndex.IdWithExpiredTime;
+import com.baidu.hugegraph.structure.HugeIndex.Posting;
 import com.baidu.hugegraph.structure.HugeProperty;
 import com.baidu.hugegraph.structure.HugeVertex;
 import com.baidu.hugegraph.structure.HugeVertexProperty;
@@ -68,8 +69,9 @@ import com.baidu.hugegraph.type.define.IndexType;
 import com.baidu.hugegraph.type.define.SchemaStatus;
 import com.baidu.hugegraph.type.define.WriteType;
 import com.baidu.hugegraph.util.E;
+import com.baidu.hugegraph.util.InsertionOrderUtil;
 import com.baidu.hugegraph.util.JsonUtil;
-import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableList;
 
 public class TextSerializer extends AbstractSerializer {
 
@@ -372,7 +374,10 @@ public class TextSerializer extends AbstractSerializer {
             entry.column(formatSyspropName(HugeKeys.INDEX_LABEL_ID),
                          writeId(index.indexLabelId()));
             entry.column(formatSyspropName(HugeKeys.ELEMENT_IDS),
-                         writeElementId(index.elementId(), index.expiredTime()));
+                         writeElementId(index.elementId(), index.expiredTime(),
+                                        index.includedValues(
+                                              index.elementId()),
+                                        index.posting(index.elementId())));
             entry.subId(index.elementId());
         }
         return entry;
@@ -397,7 +402,9 @@ public class TextSerializer extends AbstractSerializer {
         IndexLabel indexLabel = IndexLabel.label(graph, readId(indexLabelId));
         HugeIndex index = new HugeIndex(graph, indexLabel);
         index.fieldValues(JsonUtil.fromJson(indexValues, Object.class));
-        for (IdWithExpiredTime elemId : readElementIds(elemIds)) {
+        Object[] values = JsonUtil.fromJson(elemIds, Object[].class);
+        for (Object value : values) {
+            IdWithExpiredTime elemId = readElementId(value);
             long expiredTime = elemId.expiredTime();
             Id id;
             if (indexLabel.queryType().isEdge()) {
@@ -406,6 +413,12 @@ public class TextSerializer extends AbstractSerializer {
                 id = elemId.id();
             }
             index.elementIds(id, expiredTime);
+            if (indexLabel.covering()) {
+                index.includedValues(id, readIncludedValues(graph, value));
+            }
+            if (indexLabel.scoring()) {
+                index.posting(id, readPosting(value));
+            }
         }
         // Memory backend might return empty BackendEntry
         return index;
@@ -844,45 +857,94 @@ public class TextSerializer extends AbstractSerializer {
         return ids;
     }
 
-    private static String writeElementId(Id id, long expiredTime) {
+    private static String writeElementId(Id id, long expiredTime,
+                                         Map<Id, Object> included,
+                                         Posting posting) {
         Object[] array = new Object[1];
         Object idValue = id.number() ? id.asLong() : id.asString();
-        if (expiredTime <= 0L) {
+        if (expiredTime <= 0L && included == null && posting == null) {
             array[0] = id;
         } else {
-            array[0] = ImmutableMap.of(HugeKeys.ID.string(), idValue,
-                                       HugeKeys.EXPIRED_TIME.string(),
-                                       expiredTime);
+            Map<String, Object> map = InsertionOrderUtil.newMap();
+            map.put(HugeKeys.ID.string(), idValue);
+            if (expiredTime > 0L) {
+                map.put(HugeKeys.EXPIRED_TIME.string(), expiredTime);
+            }
+            if (included != null) {
+                // Save the included property values of covering index
+                Map<String, String> properties = InsertionOrderUtil.newMap();
+                for (Map.Entry<Id, Object> e : included.entrySet()) {
+                    properties.put(writeId(e.getKey()),
+                                   JsonUtil.toJson(e.getValue()));
+                }
+                map.put(HugeKeys.PROPERTIES.string(), properties);
+            }
+            if (posting != null) {
+                // Save the posting of the word of scoring search index
+                map.put(HugeKeys.POSTING.string(), ImmutableList.of(
+                        posting.frequency(), posting.length(),
+                        posting.textHash()));
+            }
+            array[0] = map;
         }
         return JsonUtil.toJson(array);
     }
 
-    private static IdWithExpiredTime[] readElementIds(String str) {
-        Object[] values = JsonUtil.fromJson(str, Object[].class);
-        IdWithExpiredTime[] ids = new IdWithExpiredTime[values.length];
-        for (int i = 0; i < values.length; i++) {
-            Object idValue;
-            long expiredTime;
-            if (values[i] instanceof Map) {
-                @SuppressWarnings("unchecked")
-                Map<String, Object> map = (Map<String, Object>) values[i];
-                idValue = map.get(HugeKeys.ID.string());
-                expiredTime = ((Number) map.get(
-                              HugeKeys.EXPIRED_TIME.string())).longValue();
-            } else {
-                idValue = values[i];
-                expiredTime = 0L;
-            }
-            Id id;
-            if (idValue instanceof Number) {
-                id = IdGenerator.of(((Number) idValue).longValue());
-            } else {
-                assert idValue instanceof String;
-                id = IdGenerator.of(idValue.toString());
+    private static IdWithExpiredTime readElementId(Object value) {
+        Object idValue;
+        long expiredTime = 0L;
+        if (value instanceof Map) {
+            Map<?, ?> map = (Map<?, ?>) value;
+            idValue = map.get(HugeKeys.ID.string());
+            Object expired = map.get(HugeKeys.EXPIRED_TIME.string());
+            if (expired != null) {
+                expiredTime = ((Number) expired).longValue();
             }
-            ids[i] = new IdWithExpiredTime(id, expiredTime);
+        } else {
+            idValue = value;
         }
-        return ids;
+        Id id;
+        if (idValue instanceof Number) {
+            id = IdGenerator.of(((Number) idValue).longValue());
+        } else {
+            assert idValue instanceof String;
+            id = IdGenerator.of(idValue.toString());
+        }
+        return new IdWithExpiredTime(id, expiredTime);
+    }
+
+    private static Map<Id, Object> readIncludedValues(HugeGraph graph,
+                                                      Object value) {
+        Map<Id, Object> values = InsertionOrderUtil.newMap();
+        if (!(value instanceof Map)) {
+            return values;
+        }
+        Object properties = ((Map<?, ?>) value).get(
+                            HugeKeys.PROPERTIES.string());
+        if (!(properties instanceof Map)) {
+            return values;
+        }
+        for (Map.Entry<?, ?> e : ((Map<?, ?>) properties).entrySet()) {
+            PropertyKey pkey = graph.propertyKey(
+                               readId(e.getKey().toString()));
+            values.put(pkey.id(), JsonUtil.fromJson(e.getValue().toString(),
+                                                    pkey.implementClazz()));
+        }
+        return values;
+    }
+
+    private static Posting readPosting(Object value) {
+        if (!(value instanceof Map)) {
+            return null;
+        }
+        Object posting = ((Map<?, ?>) value).get(HugeKeys.POSTING.string());
+        if (!(posting instanceof List) || ((List<?>) posting).size() != 3) {
+            return null;
+        }
+        List<?> values = (List<?>) posting;
+        return new Posting(((Number) values.get(0)).intValue(),
+                           ((Number) values.get(1)).intValue(),
+                           ((Number) values.get(2)).intValue());
     }
 
     private static String writeLong(long value) {
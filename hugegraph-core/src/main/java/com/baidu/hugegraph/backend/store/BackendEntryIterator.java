@@ -28,6 +28,7 @@ import com.baidu.hugegraph.backend.query.Query;
 import com.baidu.hugegraph.exception.LimitExceedException;
 import com.baidu.hugegraph.exception.NotSupportException;
 import com.baidu.hugegraph.iterator.CIter;
+import com.baidu.hugegraph.util.CancelToken;
 import com.baidu.hugegraph.util.E;
 import com.baidu.hugegraph.util.Log;
 import org.slf4j.Logger;
@@ -99,6 +100,8 @@ public abstract class BackendEntryIterator implements CIter<BackendEntry> {
             throw new BackendException("Interrupted, maybe it is timed out",
                                        new InterruptedException());
         }
+        // Stop if the request is cancelled or timed out
+        CancelToken.checkCurrent();
     }
 
     protected final void checkCapacity() throws LimitExceedException {
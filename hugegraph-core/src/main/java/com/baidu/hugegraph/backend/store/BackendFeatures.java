@@ -74,4 +74,24 @@ public interface BackendFeatures {
     public boolean supportsTtl();
 
     public boolean supportsOlapProperties();
+
+    public default boolean supportsLabelCounter() {
+        return false;
+    }
+
+    public default boolean supportsDegreeCounter() {
+        return false;
+    }
+
+    public default boolean supportsBitmapIndex() {
+        return false;
+    }
+
+    public default boolean supportsCoveringIndex() {
+        return false;
+    }
+
+    public default boolean supportsScoringSearchIndex() {
+        return false;
+    }
 }
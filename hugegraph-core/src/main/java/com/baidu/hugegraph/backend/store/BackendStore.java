@@ -27,6 +27,7 @@ import com.baidu.hugegraph.backend.id.IdGenerator;
 import com.baidu.hugegraph.backend.query.Query;
 import com.baidu.hugegraph.config.HugeConfig;
 import com.baidu.hugegraph.type.HugeType;
+import com.baidu.hugegraph.type.define.Directions;
 import com.baidu.hugegraph.util.E;
 
 public interface BackendStore {
@@ -146,6 +147,55 @@ public interface BackendStore {
     // Get current counter for a specific type
     long getCounter(HugeType type);
 
+    // Increase the count of vertices or edges with a specific label
+    default void increaseLabelCounter(HugeType type, Id label,
+                                      long increment) {
+        throw new UnsupportedOperationException(
+                  "BackendStore.increaseLabelCounter()");
+    }
+
+    // Get the count of vertices or edges with a specific label, -1 if unknown
+    default long getLabelCounter(HugeType type, Id label) {
+        return -1L;
+    }
+
+    // Increase the degree of a vertex, the label is null for all labels
+    default void increaseDegreeCounter(Id vertex, Directions dir, Id label,
+                                       long increment) {
+        throw new UnsupportedOperationException(
+                  "BackendStore.increaseDegreeCounter()");
+    }
+
+    // Get the degree of a vertex in OUT or IN direction, -1 if unknown
+    default long getDegreeCounter(Id vertex, Directions dir, Id label) {
+        return -1L;
+    }
+
+    // Get a chunk of the bitmap index of the value, null if not exists
+    default byte[] getBitmapIndex(Id indexLabel, String value, long chunk) {
+        throw new UnsupportedOperationException(
+                  "BackendStore.getBitmapIndex()");
+    }
+
+    // Query all the chunks of the bitmap index of the value ordered by chunk
+    default Iterator<byte[]> queryBitmapIndex(Id indexLabel, String value) {
+        throw new UnsupportedOperationException(
+                  "BackendStore.queryBitmapIndex()");
+    }
+
+    // Put a chunk of the bitmap index of the value, delete it if empty
+    default void putBitmapIndex(Id indexLabel, String value, long chunk,
+                                byte[] bitmap) {
+        throw new UnsupportedOperationException(
+                  "BackendStore.putBitmapIndex()");
+    }
+
+    // Delete all the bitmap indexes of the index label
+    default void deleteBitmapIndex(Id indexLabel) {
+        throw new UnsupportedOperationException(
+                  "BackendStore.deleteBitmapIndex()");
+    }
+
     default void createOlapTable(Id pkId) {
         throw new UnsupportedOperationException("BackendStore.createOlapTable()");
     }
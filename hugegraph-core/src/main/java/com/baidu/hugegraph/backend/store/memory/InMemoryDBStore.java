@@ -20,15 +20,22 @@
 package com.baidu.hugegraph.backend.store.memory;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.slf4j.Logger;
 
 import com.baidu.hugegraph.backend.BackendException;
 import com.baidu.hugegraph.backend.LocalCounter;
 import com.baidu.hugegraph.backend.id.Id;
+import com.baidu.hugegraph.backend.id.IdGenerator;
 import com.baidu.hugegraph.backend.query.Query;
 import com.baidu.hugegraph.backend.serializer.TextBackendEntry;
 import com.baidu.hugegraph.backend.store.AbstractBackendStore;
@@ -40,7 +47,10 @@ import com.baidu.hugegraph.backend.store.BackendSession;
 import com.baidu.hugegraph.backend.store.BackendStoreProvider;
 import com.baidu.hugegraph.config.HugeConfig;
 import com.baidu.hugegraph.type.HugeType;
+import com.baidu.hugegraph.type.define.Directions;
+import com.baidu.hugegraph.util.E;
 import com.baidu.hugegraph.util.Log;
+import com.google.common.collect.ImmutableList;
 
 /**
  * NOTE:
@@ -301,6 +311,13 @@ public abstract class InMemoryDBStore
 
     public static class InMemoryGraphStore extends InMemoryDBStore {
 
+        private final Map<Id, AtomicLong> vertexLabelCounters;
+        private final Map<Id, AtomicLong> edgeLabelCounters;
+        // The key is [vertex, direction, label], label ZERO for all labels
+        private final Map<List<Object>, AtomicLong> degreeCounters;
+        // The key is [index label, value], the chunks are ordered by chunk
+        private final Map<List<Object>, NavigableMap<Long, byte[]>> bitmaps;
+
         public InMemoryGraphStore(BackendStoreProvider provider,
                                   String database, String store) {
             super(provider, database, store);
@@ -327,6 +344,11 @@ public abstract class InMemoryDBStore
                                  new InMemoryDBTables.ShardIndex());
             registerTableManager(HugeType.UNIQUE_INDEX,
                                  new InMemoryDBTables.UniqueIndex());
+
+            this.vertexLabelCounters = new ConcurrentHashMap<>();
+            this.edgeLabelCounters = new ConcurrentHashMap<>();
+            this.degreeCounters = new ConcurrentHashMap<>();
+            this.bitmaps = new ConcurrentHashMap<>();
         }
 
         @Override
@@ -334,6 +356,111 @@ public abstract class InMemoryDBStore
             return false;
         }
 
+        @Override
+        public void increaseLabelCounter(HugeType type, Id label,
+                                         long increment) {
+            this.labelCounters(type)
+                .computeIfAbsent(label, k -> new AtomicLong(0L))
+                .addAndGet(increment);
+        }
+
+        @Override
+        public long getLabelCounter(HugeType type, Id label) {
+            // All the data is written after the store opened
+            AtomicLong counter = this.labelCounters(type).get(label);
+            return counter == null ? 0L : counter.get();
+        }
+
+        private Map<Id, AtomicLong> labelCounters(HugeType type) {
+            E.checkArgument(type == HugeType.VERTEX || type == HugeType.EDGE,
+                            "Expect vertex or edge type, but got %s", type);
+            return type == HugeType.VERTEX ? this.vertexLabelCounters :
+                                             this.edgeLabelCounters;
+        }
+
+        @Override
+        public void increaseDegreeCounter(Id vertex, Directions dir, Id label,
+                                          long increment) {
+            this.degreeCounters
+                .computeIfAbsent(degreeKey(vertex, dir, label),
+                                 k -> new AtomicLong(0L))
+                .addAndGet(increment);
+        }
+
+        @Override
+        public long getDegreeCounter(Id vertex, Directions dir, Id label) {
+            AtomicLong counter = this.degreeCounters.get(
+                                 degreeKey(vertex, dir, label));
+            return counter == null ? 0L : counter.get();
+        }
+
+        private static List<Object> degreeKey(Id vertex, Directions dir,
+                                              Id label) {
+            E.checkArgument(dir == Directions.OUT || dir == Directions.IN,
+                            "Expect OUT or IN direction, but got %s", dir);
+            return ImmutableList.of(vertex, dir,
+                                    label == null ? IdGenerator.ZERO : label);
+        }
+
+        @Override
+        public byte[] getBitmapIndex(Id indexLabel, String value,
+                                     long chunk) {
+            NavigableMap<Long, byte[]> chunks = this.bitmaps.get(
+                                                ImmutableList.of(indexLabel,
+                                                                 value));
+            return chunks == null ? null : chunks.get(chunk);
+        }
+
+        @Override
+        public Iterator<byte[]> queryBitmapIndex(Id indexLabel, String value) {
+            NavigableMap<Long, byte[]> chunks = this.bitmaps.get(
+                                                ImmutableList.of(indexLabel,
+                                                                 value));
+            if (chunks == null) {
+                return Collections.emptyIterator();
+            }
+            return chunks.values().iterator();
+        }
+
+        @Override
+        public void putBitmapIndex(Id indexLabel, String value, long chunk,
+                                   byte[] bitmap) {
+            List<Object> key = ImmutableList.of(indexLabel, value);
+            if (bitmap == null || bitmap.length == 0) {
+                NavigableMap<Long, byte[]> chunks = this.bitmaps.get(key);
+                if (chunks != null) {
+                    chunks.remove(chunk);
+                }
+                return;
+            }
+            this.bitmaps.computeIfAbsent(key,
+                                         k -> new ConcurrentSkipListMap<>())
+                        .put(chunk, bitmap);
+        }
+
+        @Override
+        public void deleteBitmapIndex(Id indexLabel) {
+            this.bitmaps.keySet().removeIf(k -> k.get(0).equals(indexLabel));
+        }
+
+        @Override
+        public void clear(boolean clearSpace) {
+            this.vertexLabelCounters.clear();
+            this.edgeLabelCounters.clear();
+            this.degreeCounters.clear();
+            this.bitmaps.clear();
+            super.clear(clearSpace);
+        }
+
+        @Override
+        public void truncate() {
+            this.vertexLabelCounters.clear();
+            this.edgeLabelCounters.clear();
+            this.degreeCounters.clear();
+            this.bitmaps.clear();
+            super.truncate();
+        }
+
         @Override
         public Id nextId(HugeType type) {
             throw new UnsupportedOperationException(
@@ -476,5 +603,30 @@ public abstract class InMemoryDBStore
         public boolean supportsOlapProperties() {
             return false;
         }
+
+        @Override
+        public boolean supportsLabelCounter() {
+            return true;
+        }
+
+        @Override
+        public boolean supportsDegreeCounter() {
+            return true;
+        }
+
+        @Override
+        public boolean supportsBitmapIndex() {
+            return true;
+        }
+
+        @Override
+        public boolean supportsCoveringIndex() {
+            return true;
+        }
+
+        @Override
+        public boolean supportsScoringSearchIndex() {
+            return true;
+        }
     };
 }
@@ -51,12 +51,14 @@ public class RaftBackendStore implements BackendStore {
     private final RaftContext context;
     private final ThreadLocal<MutationBatch> mutationBatch;
     private final boolean isSafeRead;
+    private final BackendFeatures features;
 
     public RaftBackendStore(BackendStore store, RaftContext context) {
         this.store = store;
         this.context = context;
         this.mutationBatch = new ThreadLocal<>();
         this.isSafeRead = this.context.safeRead();
+        this.features = new RaftBackendFeatures(store.features());
     }
 
     public BackendStore originStore() {
@@ -177,7 +179,7 @@ public class RaftBackendStore implements BackendStore {
 
     @Override
     public BackendFeatures features() {
-        return this.store.features();
+        return this.features;
     }
 
     @Override
@@ -282,4 +284,163 @@ public class RaftBackendStore implements BackendStore {
             return this.increment;
         }
     }
+
+    /**
+     * The features of the origin store except the label counters, degree
+     * counters and bitmap indexes, which are read and written by the store
+     * methods out of the mutations and can't be replicated by raft.
+     */
+    private static final class RaftBackendFeatures implements BackendFeatures {
+
+        private final BackendFeatures features;
+
+        public RaftBackendFeatures(BackendFeatures features) {
+            this.features = features;
+        }
+
+        @Override
+        public boolean supportsPersistence() {
+            return this.features.supportsPersistence();
+        }
+
+        @Override
+        public boolean supportsSharedStorage() {
+            return this.features.supportsSharedStorage();
+        }
+
+        @Override
+        public boolean supportsSnapshot() {
+            return this.features.supportsSnapshot();
+        }
+
+        @Override
+        public boolean supportsScanToken() {
+            return this.features.supportsScanToken();
+        }
+
+        @Override
+        public boolean supportsScanKeyPrefix() {
+            return this.features.supportsScanKeyPrefix();
+        }
+
+        @Override
+        public boolean supportsScanKeyRange() {
+            return this.features.supportsScanKeyRange();
+        }
+
+        @Override
+        public boolean supportsQuerySchemaByName() {
+            return this.features.supportsQuerySchemaByName();
+        }
+
+        @Override
+        public boolean supportsQueryByLabel() {
+            return this.features.supportsQueryByLabel();
+        }
+
+        @Override
+        public boolean supportsQueryWithInCondition() {
+            return this.features.supportsQueryWithInCondition();
+        }
+
+        @Override
+        public boolean supportsQueryWithRangeCondition() {
+            return this.features.supportsQueryWithRangeCondition();
+        }
+
+        @Override
+        public boolean supportsQueryWithContains() {
+            return this.features.supportsQueryWithContains();
+        }
+
+        @Override
+        public boolean supportsQueryWithContainsKey() {
+            return this.features.supportsQueryWithContainsKey();
+        }
+
+        @Override
+        public boolean supportsQueryWithOrderBy() {
+            return this.features.supportsQueryWithOrderBy();
+        }
+
+        @Override
+        public boolean supportsQueryByPage() {
+            return this.features.supportsQueryByPage();
+        }
+
+        @Override
+        public boolean supportsQuerySortByInputIds() {
+            return this.features.supportsQuerySortByInputIds();
+        }
+
+        @Override
+        public boolean supportsDeleteEdgeByLabel() {
+            return this.features.supportsDeleteEdgeByLabel();
+        }
+
+        @Override
+        public boolean supportsUpdateVertexProperty() {
+            return this.features.supportsUpdateVertexProperty();
+        }
+
+        @Override
+        public boolean supportsMergeVertexProperty() {
+            return this.features.supportsMergeVertexProperty();
+        }
+
+        @Override
+        public boolean supportsUpdateEdgeProperty() {
+            return this.features.supportsUpdateEdgeProperty();
+        }
+
+        @Override
+        public boolean supportsTransaction() {
+            return this.features.supportsTransaction();
+        }
+
+        @Override
+        public boolean supportsNumberType() {
+            return this.features.supportsNumberType();
+        }
+
+        @Override
+        public boolean supportsAggregateProperty() {
+            return this.features.supportsAggregateProperty();
+        }
+
+        @Override
+        public boolean supportsTtl() {
+            return this.features.supportsTtl();
+        }
+
+        @Override
+        public boolean supportsOlapProperties() {
+            return this.features.supportsOlapProperties();
+        }
+
+        @Override
+        public boolean supportsCoveringIndex() {
+            return this.features.supportsCoveringIndex();
+        }
+
+        @Override
+        public boolean supportsScoringSearchIndex() {
+            return this.features.supportsScoringSearchIndex();
+        }
+
+        @Override
+        public boolean supportsLabelCounter() {
+            return false;
+        }
+
+        @Override
+        public boolean supportsDegreeCounter() {
+            return false;
+        }
+
+        @Override
+        public boolean supportsBitmapIndex() {
+            return false;
+        }
+    }
 }
@@ -40,6 +40,7 @@ import com.alipay.sofa.jraft.option.NodeOptions;
 import com.alipay.sofa.jraft.rpc.RpcServer;
 import com.alipay.sofa.jraft.util.BytesUtil;
 import com.baidu.hugegraph.backend.BackendException;
+import com.baidu.hugegraph.metrics.LatencyMetrics;
 import com.baidu.hugegraph.util.LZ4Util;
 import com.baidu.hugegraph.util.Log;
 
@@ -47,6 +48,12 @@ public final class RaftNode {
 
     private static final Logger LOG = Log.logger(RaftNode.class);
 
+    private static final LatencyMetrics SUBMIT_LATENCY =
+            LatencyMetrics.register("raft_submit_seconds",
+                                    "The latency of the raft commands from " +
+                                    "submitted to applied",
+                                    "group", "store", "action");
+
     private final RaftContext context;
     private RaftGroupService raftGroupService;
     private final Node node;
@@ -127,6 +134,7 @@ public final class RaftNode {
     }
 
     public <T> T submitAndWait(StoreCommand command, RaftStoreClosure future) {
+        long start = System.nanoTime();
         // Submit command to raft node
         this.submitCommand(command, future);
 
@@ -139,6 +147,10 @@ public final class RaftNode {
              */
             @SuppressWarnings("unchecked")
             T result = (T) future.waitFinished();
+            SUBMIT_LATENCY.histogram(this.context.group(),
+                                     command.type().name().toLowerCase(),
+                                     command.action().name().toLowerCase())
+                          .record(System.nanoTime() - start);
             return result;
         } catch (Throwable e) {
             throw new BackendException("Failed to wait store command %s",
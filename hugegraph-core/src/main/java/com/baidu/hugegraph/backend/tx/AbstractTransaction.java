@@ -19,6 +19,7 @@
 
 package com.baidu.hugegraph.backend.tx;
 
+import java.util.Iterator;
 import java.util.Set;
 
 import org.apache.commons.lang3.StringUtils;
@@ -40,6 +41,8 @@ import com.baidu.hugegraph.backend.store.BackendFeatures;
 import com.baidu.hugegraph.backend.store.BackendMutation;
 import com.baidu.hugegraph.backend.store.BackendStore;
 import com.baidu.hugegraph.exception.NotFoundException;
+import com.baidu.hugegraph.metrics.LatencyHistogram;
+import com.baidu.hugegraph.metrics.LatencyMetrics;
 import com.baidu.hugegraph.perf.PerfUtil.Watched;
 import com.baidu.hugegraph.schema.PropertyKey;
 import com.baidu.hugegraph.type.HugeType;
@@ -48,6 +51,7 @@ import com.baidu.hugegraph.type.define.CollectionType;
 import com.baidu.hugegraph.type.define.GraphMode;
 import com.baidu.hugegraph.util.E;
 import com.baidu.hugegraph.util.Log;
+import com.baidu.hugegraph.util.Trace;
 import com.baidu.hugegraph.util.collection.IdSet;
 import com.google.common.util.concurrent.RateLimiter;
 
@@ -55,6 +59,12 @@ public abstract class AbstractTransaction implements Transaction {
 
     protected static final Logger LOG = Log.logger(Transaction.class);
 
+    private static final LatencyMetrics BACKEND_LATENCY =
+            LatencyMetrics.register("backend_operation_seconds",
+                                    "The latency of the backend operations",
+                                    "graph", "store", "table", "operation");
+    private static final int TYPES = HugeType.values().length;
+
     private final Thread ownerThread = Thread.currentThread();
 
     private boolean autoCommit = false;
@@ -67,6 +77,9 @@ public abstract class AbstractTransaction implements Transaction {
 
     private BackendMutation mutation;
 
+    // The latency histograms indexed by operation and table, lazy created
+    private final LatencyHistogram[] latencies;
+
     protected final AbstractSerializer serializer;
 
     public AbstractTransaction(HugeGraphParams graph, BackendStore store) {
@@ -77,6 +90,8 @@ public abstract class AbstractTransaction implements Transaction {
         this.serializer = this.graph.serializer();
 
         this.store = store;
+        this.latencies = new LatencyHistogram[Operation.values().length *
+                                              TYPES];
         this.reset();
 
         store.open(this.graph.configuration());
@@ -127,8 +142,12 @@ public abstract class AbstractTransaction implements Transaction {
         Query squery = this.serializer.writeQuery(query);
 
         this.beforeRead();
-        try {
-            return this.store.queryNumber(squery);
+        try (Trace.Scope scope = Trace.begin(Operation.COUNT.spanName(),
+                                             query.resultType())) {
+            long start = System.nanoTime();
+            Number result = this.store.queryNumber(squery);
+            this.recordLatency(Operation.COUNT, query.resultType(), start);
+            return result;
         } finally {
             this.afterRead();
         }
@@ -158,14 +177,41 @@ public abstract class AbstractTransaction implements Transaction {
         }
 
         this.beforeRead();
-        try {
+        Operation op = Operation.of(query);
+        try (Trace.Scope scope = Trace.begin(op.spanName(),
+                                             query.resultType())) {
             this.injectOlapPkIfNeeded(squery);
-            return new QueryResults<>(this.store.query(squery), query);
+            long start = System.nanoTime();
+            Iterator<BackendEntry> results = this.store.query(squery);
+            // The backend iterates lazily, record the time of the iteration
+            results = this.latency(op, query.resultType())
+                          .record(results, start);
+            return new QueryResults<>(scope.wrap(results), query);
         } finally {
             this.afterRead(); // TODO: not complete the iteration currently
         }
     }
 
+    private void recordLatency(Operation op, HugeType type, long start) {
+        long elapsed = System.nanoTime() - start;
+        this.latency(op, type).record(elapsed);
+    }
+
+    private LatencyHistogram latency(Operation op, HugeType type) {
+        int index = op.ordinal() * TYPES + type.ordinal();
+        LatencyHistogram latency = this.latencies[index];
+        if (latency == null) {
+            // The mutation and commit are not bound to a table
+            String table = type == HugeType.UNKNOWN ?
+                           "" : type.name().toLowerCase();
+            latency = BACKEND_LATENCY.histogram(this.graph.name(),
+                                                this.store.store(), table,
+                                                op.string());
+            this.latencies[index] = latency;
+        }
+        return latency;
+    }
+
     private void injectOlapPkIfNeeded(Query query) {
         if (!query.resultType().isVertex() ||
             !this.graph.readMode().showOlap()) {
@@ -317,13 +363,33 @@ public abstract class AbstractTransaction implements Transaction {
         // If an exception occurred, catch in the upper layer and rollback
         this.store.beginTx();
         for (BackendMutation mutation : mutations) {
+            long start = System.nanoTime();
             this.store.mutate(mutation);
+            this.recordLatency(Operation.MUTATE, HugeType.UNKNOWN, start);
         }
+        this.prepareCommitTx();
+        long start = System.nanoTime();
         this.store.commitTx();
+        this.recordLatency(Operation.COMMIT, HugeType.UNKNOWN, start);
+        this.afterCommitTx();
 
         this.committing2Backend = false;
     }
 
+    protected void prepareCommitTx() {
+        /*
+         * For sub-class adding extra changes into the same backend tx as the
+         * mutations, like counters of the mutations, nothing to do here
+         */
+    }
+
+    protected void afterCommitTx() {
+        /*
+         * For sub-class applying the committed changes to the states out of
+         * backend, like in-memory indexes, nothing to do here
+         */
+    }
+
     protected void rollbackBackend() {
         this.committing2Backend = false;
         this.store.rollbackTx();
@@ -355,8 +421,12 @@ public abstract class AbstractTransaction implements Transaction {
         // pass
     }
 
+    protected final boolean ownedByCurrentThread() {
+        return Thread.currentThread() == this.ownerThread;
+    }
+
     protected void checkOwnerThread() {
-        if (Thread.currentThread() != this.ownerThread) {
+        if (!this.ownedByCurrentThread()) {
             throw new BackendException("Can't operate a tx in other threads");
         }
     }
@@ -419,4 +489,42 @@ public abstract class AbstractTransaction implements Transaction {
         E.checkNotNull(entry, "entry");
         this.mutation.add(entry, action);
     }
+
+    private enum Operation {
+
+        GET,
+
+        MULTIGET,
+
+        SCAN,
+
+        COUNT,
+
+        MUTATE,
+
+        COMMIT;
+
+        private final String string;
+        private final String spanName;
+
+        Operation() {
+            this.string = this.name().toLowerCase();
+            this.spanName = "backend." + this.string;
+        }
+
+        public String string() {
+            return this.string;
+        }
+
+        public String spanName() {
+            return this.spanName;
+        }
+
+        public static Operation of(Query query) {
+            if (!(query instanceof IdQuery)) {
+                return SCAN;
+            }
+            return query.idsSize() > 1 ? MULTIGET : GET;
+        }
+    }
 }
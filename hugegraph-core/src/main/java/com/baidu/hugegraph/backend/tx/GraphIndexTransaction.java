@@ -23,6 +23,7 @@ import java.nio.CharBuffer;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -37,12 +38,15 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.util.CloseableIterator;
+import org.eclipse.collections.api.iterator.MutableLongIterator;
 
 import com.baidu.hugegraph.HugeException;
 import com.baidu.hugegraph.HugeGraph;
 import com.baidu.hugegraph.HugeGraphParams;
 import com.baidu.hugegraph.analyzer.Analyzer;
+import com.baidu.hugegraph.backend.cache.VectorIndexCache;
 import com.baidu.hugegraph.backend.id.Id;
+import com.baidu.hugegraph.backend.id.IdGenerator;
 import com.baidu.hugegraph.backend.page.IdHolder;
 import com.baidu.hugegraph.backend.page.IdHolder.BatchIdHolder;
 import com.baidu.hugegraph.backend.page.IdHolder.FixedIdHolder;
@@ -53,6 +57,7 @@ import com.baidu.hugegraph.backend.page.PageInfo;
 import com.baidu.hugegraph.backend.page.PageState;
 import com.baidu.hugegraph.backend.page.SortByCountIdHolderList;
 import com.baidu.hugegraph.backend.query.Condition;
+import com.baidu.hugegraph.backend.query.Condition.Nearest;
 import com.baidu.hugegraph.backend.query.Condition.RangeConditions;
 import com.baidu.hugegraph.backend.query.Condition.Relation;
 import com.baidu.hugegraph.backend.query.Condition.RelationType;
@@ -72,27 +77,37 @@ import com.baidu.hugegraph.exception.NotSupportException;
 import com.baidu.hugegraph.iterator.Metadatable;
 import com.baidu.hugegraph.job.EphemeralJob;
 import com.baidu.hugegraph.job.EphemeralJobBuilder;
+import com.baidu.hugegraph.job.schema.IndexStatisticsJob;
 import com.baidu.hugegraph.job.system.DeleteExpiredJob;
 import com.baidu.hugegraph.perf.PerfUtil.Watched;
 import com.baidu.hugegraph.schema.IndexLabel;
+import com.baidu.hugegraph.schema.IndexStatistics;
 import com.baidu.hugegraph.schema.PropertyKey;
 import com.baidu.hugegraph.schema.SchemaLabel;
+import com.baidu.hugegraph.schema.VertexLabel;
 import com.baidu.hugegraph.structure.HugeEdge;
 import com.baidu.hugegraph.structure.HugeElement;
 import com.baidu.hugegraph.structure.HugeIndex;
+import com.baidu.hugegraph.structure.HugeIndex.Posting;
 import com.baidu.hugegraph.structure.HugeProperty;
 import com.baidu.hugegraph.structure.HugeVertex;
 import com.baidu.hugegraph.task.HugeTask;
 import com.baidu.hugegraph.type.HugeType;
 import com.baidu.hugegraph.type.define.Action;
+import com.baidu.hugegraph.type.define.CollectionType;
 import com.baidu.hugegraph.type.define.HugeKeys;
 import com.baidu.hugegraph.type.define.IndexType;
+import com.baidu.hugegraph.type.define.SchemaStatus;
 import com.baidu.hugegraph.util.CollectionUtil;
 import com.baidu.hugegraph.util.E;
 import com.baidu.hugegraph.util.InsertionOrderUtil;
 import com.baidu.hugegraph.util.LockUtil;
 import com.baidu.hugegraph.util.LongEncoding;
 import com.baidu.hugegraph.util.NumericUtil;
+import com.baidu.hugegraph.util.Trace;
+import com.baidu.hugegraph.util.collection.BitmapIdSet;
+import com.baidu.hugegraph.util.collection.HnswIndex;
+import com.baidu.hugegraph.util.collection.LongBitmap;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 
@@ -102,8 +117,40 @@ public class GraphIndexTransaction extends AbstractTransaction {
     public static final String END_SYMBOL = ")";
     public static final String WORD_DELIMITER = "|";
 
+    // The parameters of BM25 scoring for search index
+    private static final double BM25_K1 = 1.2D;
+    private static final double BM25_B = 0.75D;
+
+    // The count of buckets which the entries of vector index are spread to
+    private static final int VECTOR_INDEX_BUCKETS = 16;
+
+    // The min count of modified elements to refresh the index statistics
+    private static final long STATISTICS_REFRESH_MIN = 1000L;
+
     private final Analyzer textAnalyzer;
     private final int indexIntersectThresh;
+    private final double statisticsRefreshRatio;
+    // The covering indexes can't be used if left indexes are kept
+    private final boolean coveringIndex;
+
+    // The key is [index label, value, chunk], the value is [added, removed]
+    private final Map<List<Object>, LongBitmap[]> bitmapUpdates;
+    private final LockUtil.Locks bitmapLocks;
+
+    /*
+     * The key is vector index label, the value is the changed vectors of
+     * elements (null for removed), or null if the index label is removed
+     */
+    private final Map<Id, Map<Id, float[]>> vectorUpdates;
+
+    /*
+     * The key is index label, the value is the changes of the indexed
+     * [elements, tokens, modifications], which are tracked until the
+     * statistics of the index label are collected again
+     */
+    private final Map<Id, long[]> statisticsUpdates;
+    // The index labels removed, whose tracked changes should be reset
+    private final Set<Id> statisticsResets;
 
     public GraphIndexTransaction(HugeGraphParams graph, BackendStore store) {
         super(graph, store);
@@ -114,6 +161,149 @@ public class GraphIndexTransaction extends AbstractTransaction {
         final HugeConfig conf = graph.configuration();
         this.indexIntersectThresh =
              conf.get(CoreOptions.QUERY_INDEX_INTERSECT_THRESHOLD);
+        this.coveringIndex = conf.get(CoreOptions.VERTEX_REMOVE_LEFT_INDEX);
+        // Needn't refresh if the statistics are never collected
+        if (conf.get(CoreOptions.SCHEMA_INDEX_STATISTICS_SAMPLE) > 0L) {
+            this.statisticsRefreshRatio =
+                 conf.get(CoreOptions.SCHEMA_INDEX_STATISTICS_REFRESH);
+        } else {
+            this.statisticsRefreshRatio = 0.0D;
+        }
+
+        this.bitmapUpdates = new HashMap<>();
+        this.bitmapLocks = new LockUtil.Locks(this.graphName());
+        this.vectorUpdates = new HashMap<>();
+        this.statisticsUpdates = new HashMap<>();
+        this.statisticsResets = new HashSet<>();
+    }
+
+    @Override
+    public boolean hasUpdate() {
+        return super.hasUpdate() ||
+               (this.bitmapUpdates != null && !this.bitmapUpdates.isEmpty());
+    }
+
+    @Override
+    protected void reset() {
+        super.reset();
+
+        // It's null when called by super AbstractTransaction()
+        if (this.bitmapUpdates != null) {
+            this.bitmapUpdates.clear();
+            this.bitmapLocks.unlock();
+        }
+        if (this.vectorUpdates != null) {
+            this.vectorUpdates.clear();
+        }
+        if (this.statisticsUpdates != null) {
+            this.statisticsUpdates.clear();
+            this.statisticsResets.clear();
+        }
+    }
+
+    @Override
+    protected void commit2Backend() {
+        // The mutation may be empty if only bitmap indexes are changed
+        this.commitMutation2Backend(this.prepareCommit());
+    }
+
+    @Override
+    protected void prepareCommitTx() {
+        // Update the bitmap indexes in the same backend tx as the mutations
+        if (this.bitmapUpdates.isEmpty()) {
+            return;
+        }
+        List<Id> keys = new ArrayList<>(this.bitmapUpdates.size());
+        for (List<Object> key : this.bitmapUpdates.keySet()) {
+            keys.add(IdGenerator.of(key.toString()));
+        }
+        // Lock the chunks until the tx is committed or rolled back
+        this.bitmapLocks.lockKeys(LockUtil.BITMAP_INDEX_UPDATE, keys);
+
+        BackendStore store = this.store();
+        for (Map.Entry<List<Object>, LongBitmap[]> e :
+             this.bitmapUpdates.entrySet()) {
+            Id indexLabel = (Id) e.getKey().get(0);
+            String value = (String) e.getKey().get(1);
+            long chunk = (Long) e.getKey().get(2);
+            byte[] bytes = store.getBitmapIndex(indexLabel, value, chunk);
+            LongBitmap bitmap = bytes == null ? new LongBitmap() :
+                                LongBitmap.fromBytes(bytes);
+            bitmap.or(e.getValue()[0]);
+            bitmap.andNot(e.getValue()[1]);
+            store.putBitmapIndex(indexLabel, value, chunk,
+                                 bitmap.isEmpty() ? null : bitmap.toBytes());
+        }
+        this.bitmapUpdates.clear();
+    }
+
+    @Override
+    protected void afterCommitTx() {
+        this.commitStatisticsUpdates();
+        this.commitVectorUpdates();
+    }
+
+    private void commitStatisticsUpdates() {
+        // Apply the committed changes to the statistics of index labels
+        IndexStatistics.Tracker tracker = this.params()
+                                              .indexStatisticsTracker();
+        for (Id id : this.statisticsResets) {
+            tracker.reset(id);
+        }
+        this.statisticsResets.clear();
+        for (Map.Entry<Id, long[]> e : this.statisticsUpdates.entrySet()) {
+            long[] changes = e.getValue();
+            tracker.apply(e.getKey(), changes[0], changes[1], changes[2]);
+        }
+        if (this.statisticsRefreshRatio > 0.0D) {
+            for (Id id : this.statisticsUpdates.keySet()) {
+                this.refreshStatisticsIfNeeded(tracker, id);
+            }
+        }
+        this.statisticsUpdates.clear();
+    }
+
+    private void refreshStatisticsIfNeeded(IndexStatistics.Tracker tracker,
+                                           Id id) {
+        IndexLabel indexLabel = this.params().schemaTransaction()
+                                    .getIndexLabel(id);
+        // The statistics will be collected by the job of building index
+        if (indexLabel == null || indexLabel.system() ||
+            indexLabel.status() != SchemaStatus.CREATED ||
+            !tracker.startRefresh(indexLabel, this.statisticsRefreshRatio,
+                                  STATISTICS_REFRESH_MIN)) {
+            return;
+        }
+        try {
+            IndexStatisticsJob job = new IndexStatisticsJob(id);
+            EphemeralJobBuilder.of(this.graph())
+                               .name(indexLabel.name())
+                               .job(job)
+                               .schedule();
+        } catch (Throwable e) {
+            tracker.finishRefresh(id);
+            LOG.warn("Failed to refresh statistics of index label '{}'",
+                     indexLabel.name(), e);
+        }
+    }
+
+    private void commitVectorUpdates() {
+        // Apply the committed changes to the cached vector indexes
+        if (this.vectorUpdates.isEmpty()) {
+            return;
+        }
+        VectorIndexCache cache = this.params().vectorIndexCache();
+        for (Map.Entry<Id, Map<Id, float[]>> e :
+             this.vectorUpdates.entrySet()) {
+            if (e.getValue() == null) {
+                cache.invalidate(e.getKey());
+                continue;
+            }
+            for (Map.Entry<Id, float[]> vector : e.getValue().entrySet()) {
+                cache.update(e.getKey(), vector.getKey(), vector.getValue());
+            }
+        }
+        this.vectorUpdates.clear();
     }
 
     protected Id asyncRemoveIndexLeft(ConditionQuery query,
@@ -230,6 +420,10 @@ public class GraphIndexTransaction extends AbstractTransaction {
 
         // Expired time
         long expiredTime = element.expiredTime();
+        // Property values stored in index entries for covering index
+        Map<Id, Object> included = includedValues(indexLabel, element);
+        // The count of words of the indexed text, only for scoring index
+        int tokens = 0;
 
         // Update index for each index type
         switch (indexLabel.indexType()) {
@@ -241,17 +435,34 @@ public class GraphIndexTransaction extends AbstractTransaction {
                              "Expect only one property in range index");
                 Object value = NumericUtil.convertToNumber(nnPropValues.get(0));
                 this.updateIndex(indexLabel, value, element.id(),
-                                 expiredTime, removed);
+                                 expiredTime, included, removed);
                 break;
             case SEARCH:
                 E.checkState(nnPropValues.size() == 1,
                              "Expect only one property in search index");
                 value = nnPropValues.get(0);
-                Set<String> words =
-                            this.segmentWords(propertyValueToString(value));
-                for (String word : words) {
-                    this.updateIndex(indexLabel, word, element.id(),
-                                     expiredTime, removed);
+                String text = propertyValueToString(value);
+                Set<String> words = this.segmentWords(text);
+                if (!indexLabel.scoring()) {
+                    for (String word : words) {
+                        this.updateIndex(indexLabel, word, element.id(),
+                                         expiredTime, included, removed);
+                    }
+                    break;
+                }
+                // Save the posting of each word for ranking the results
+                Map<String, Integer> frequencies = termFrequencies(text, words);
+                for (int frequency : frequencies.values()) {
+                    tokens += frequency;
+                }
+                for (Map.Entry<String, Integer> e : frequencies.entrySet()) {
+                    HugeIndex index = new HugeIndex(this.graph(), indexLabel);
+                    index.fieldValues(e.getKey());
+                    index.elementIds(element.id(), expiredTime);
+                    index.posting(element.id(), new Posting(e.getValue(),
+                                                            tokens,
+                                                            text.hashCode()));
+                    this.updateIndex(index, removed);
                 }
                 break;
             case SECONDARY:
@@ -264,7 +475,7 @@ public class GraphIndexTransaction extends AbstractTransaction {
                     for (Object propValue : (Collection<?>) nnPropValues.get(0)) {
                         value = ConditionQuery.concatValues(propValue);
                         this.updateIndex(indexLabel, value, element.id(),
-                                         expiredTime, removed);
+                                         expiredTime, included, removed);
                     }
                 } else {
                     for (int i = 0, n = nnPropValues.size(); i < n; i++) {
@@ -272,14 +483,34 @@ public class GraphIndexTransaction extends AbstractTransaction {
                                      nnPropValues.subList(0, i + 1);
                         value = ConditionQuery.concatValues(prefixValues);
                         this.updateIndex(indexLabel, value, element.id(),
-                                         expiredTime, removed);
+                                         expiredTime, included, removed);
                     }
                 }
                 break;
             case SHARD:
                 value = ConditionQuery.concatValues(nnPropValues);
                 this.updateIndex(indexLabel, value, element.id(),
-                                 expiredTime, removed);
+                                 expiredTime, included, removed);
+                break;
+            case BITMAP:
+                E.checkState(nnPropValues.size() == 1,
+                             "Expect only one property in bitmap index");
+                value = ConditionQuery.concatValues(nnPropValues);
+                this.updateBitmapIndex(indexLabel, (String) value,
+                                       element.id(), removed);
+                break;
+            case VECTOR:
+                E.checkState(nnPropValues.size() == 1,
+                             "Expect only one property in vector index");
+                float[] vector = null;
+                if (!removed) {
+                    vector = vectorValue(indexLabel, nnPropValues.get(0));
+                }
+                // The vector is saved as the included value of the field
+                value = String.valueOf(vectorIndexBucket(element.id()));
+                this.updateIndex(indexLabel, value, element.id(),
+                                 expiredTime, included, removed);
+                this.updateVectorIndex(indexLabel, element.id(), vector);
                 break;
             case UNIQUE:
                 value = ConditionQuery.concatValues(allPropValues);
@@ -292,20 +523,40 @@ public class GraphIndexTransaction extends AbstractTransaction {
                               indexLabel, element));
                 }
                 this.updateIndex(indexLabel, value, element.id(),
-                                 expiredTime, removed);
+                                 expiredTime, included, removed);
                 break;
             default:
                 throw new AssertionError(String.format(
                           "Unknown index type '%s'", indexLabel.indexType()));
         }
+
+        if (!indexLabel.indexType().isUnique()) {
+            this.updateStatistics(indexLabel.id(), tokens, removed);
+        }
+    }
+
+    private void updateStatistics(Id indexLabel, int tokens,
+                                  boolean removed) {
+        long[] changes = this.statisticsUpdates.computeIfAbsent(
+                         indexLabel, k -> new long[3]);
+        changes[0] += removed ? -1L : 1L;
+        changes[1] += removed ? -tokens : tokens;
+        changes[2]++;
     }
 
     private void updateIndex(IndexLabel indexLabel, Object propValue,
-                             Id elementId, long expiredTime, boolean removed) {
+                             Id elementId, long expiredTime,
+                             Map<Id, Object> included, boolean removed) {
         HugeIndex index = new HugeIndex(this.graph(), indexLabel);
         index.fieldValues(propValue);
         index.elementIds(elementId, expiredTime);
+        if (included != null) {
+            index.includedValues(elementId, included);
+        }
+        this.updateIndex(index, removed);
+    }
 
+    private void updateIndex(HugeIndex index, boolean removed) {
         if (removed) {
             this.doEliminate(this.serializer.writeIndex(index));
         } else {
@@ -313,6 +564,101 @@ public class GraphIndexTransaction extends AbstractTransaction {
         }
     }
 
+    private void updateVectorIndex(IndexLabel indexLabel, Id elementId,
+                                   float[] vector) {
+        Id label = indexLabel.id();
+        if (this.vectorUpdates.containsKey(label) &&
+            this.vectorUpdates.get(label) == null) {
+            // The index label is removed, the cache will be reloaded
+            return;
+        }
+        // The last change of an element wins, like remove and then add
+        this.vectorUpdates.computeIfAbsent(label, k -> new HashMap<>())
+                          .put(elementId, vector);
+    }
+
+    private static float[] vectorValue(IndexLabel indexLabel, Object value) {
+        E.checkArgument(value instanceof Collection,
+                        "Expect collection value for vector index, " +
+                        "but got %s", value);
+        Collection<?> values = (Collection<?>) value;
+        int dimension = indexLabel.vectorDimension();
+        E.checkArgument(values.size() == dimension,
+                        "The dimension of vector must be %s for vector " +
+                        "index '%s', but got %s", dimension,
+                        indexLabel.name(), values.size());
+        float[] vector = new float[dimension];
+        int i = 0;
+        for (Object v : values) {
+            vector[i++] = ((Number) v).floatValue();
+        }
+        return vector;
+    }
+
+    private static int vectorIndexBucket(Id elementId) {
+        return Math.floorMod(elementId.hashCode(), VECTOR_INDEX_BUCKETS);
+    }
+
+    private static Map<String, Integer> termFrequencies(String text,
+                                                        Set<String> words) {
+        /*
+         * The analyzers just return the distinct words, so count the
+         * occurrences of each word in the text as its frequency, the words
+         * may be lower case converted by the analyzers
+         */
+        String lowerText = text.toLowerCase();
+        Map<String, Integer> frequencies = InsertionOrderUtil.newMap();
+        for (String word : words) {
+            int frequency = StringUtils.countMatches(lowerText,
+                                                     word.toLowerCase());
+            frequencies.put(word, Math.max(frequency, 1));
+        }
+        return frequencies;
+    }
+
+    private static Map<Id, Object> includedValues(IndexLabel indexLabel,
+                                                  HugeElement element) {
+        if (!indexLabel.covering()) {
+            return null;
+        }
+        // Both the index fields and the included properties are stored
+        Map<Id, Object> values = InsertionOrderUtil.newMap();
+        for (Id key : indexLabel.indexFields()) {
+            HugeProperty<Object> property = element.getProperty(key);
+            if (property != null) {
+                values.put(key, property.value());
+            }
+        }
+        for (Id key : indexLabel.includeProperties()) {
+            HugeProperty<Object> property = element.getProperty(key);
+            if (property != null) {
+                values.put(key, property.value());
+            }
+        }
+        return values;
+    }
+
+    private void updateBitmapIndex(IndexLabel indexLabel, String value,
+                                   Id elementId, boolean removed) {
+        E.checkState(elementId.number(),
+                     "Expect number id for bitmap index, but got '%s'",
+                     elementId);
+        long id = elementId.asLong();
+        List<Object> key = ImmutableList.of(indexLabel.id(), value,
+                                            LongBitmap.chunk(id));
+        LongBitmap[] changes = this.bitmapUpdates.computeIfAbsent(key, k -> {
+            return new LongBitmap[]{new LongBitmap(), new LongBitmap()};
+        });
+        // The latest change of an element overrides the previous one
+        if (removed) {
+            changes[0].remove(id);
+            changes[1].add(id);
+        } else {
+            changes[1].remove(id);
+            changes[0].add(id);
+        }
+    }
+
     private boolean existUniqueValue(IndexLabel indexLabel,
                                      Object value, Id id) {
         return !this.hasEliminateInTx(indexLabel, value, id) &&
@@ -366,6 +712,12 @@ public class GraphIndexTransaction extends AbstractTransaction {
      */
     @Watched(prefix = "index")
     public IdHolderList queryIndex(ConditionQuery query) {
+        try (Trace.Scope scope = Trace.begin("index.query")) {
+            return this.doQueryIndex(query);
+        }
+    }
+
+    private IdHolderList doQueryIndex(ConditionQuery query) {
         // Index query must have been flattened in Graph tx
         query.checkFlattened();
 
@@ -465,6 +817,11 @@ public class GraphIndexTransaction extends AbstractTransaction {
                 }
             }
         }
+        Relation nearest = nearestRelation(query);
+        if (nearest != null) {
+            return this.queryByVector(query, nearest);
+        }
+
         Set<MatchedIndex> indexes = this.collectMatchedIndexes(query);
         if (indexes.isEmpty()) {
             Id label = query.condition(HugeKeys.LABEL);
@@ -510,9 +867,126 @@ public class GraphIndexTransaction extends AbstractTransaction {
         return holders;
     }
 
+    /**
+     * Query the nearest vertices of a vector by vector indexes, the vectors
+     * of an index label are cached as an HNSW graph in memory, which is
+     * loaded from the index entries on the first query.
+     */
+    @Watched(prefix = "index")
+    private IdHolderList queryByVector(ConditionQuery query,
+                                       Relation relation) {
+        if (query.paging()) {
+            throw new NotSupportException("nearest query in paging");
+        }
+        if (query.userpropConditions().size() > 1) {
+            throw new NotSupportException(
+                      "nearest query with other property conditions: %s",
+                      query);
+        }
+        E.checkArgument(query.resultType().isVertex(),
+                        "Nearest query is only supported for vertex");
+        Id label = query.condition(HugeKeys.LABEL);
+        Id field = (Id) relation.key();
+        List<IndexLabel> indexLabels = new ArrayList<>();
+        for (IndexLabel il : this.params().schemaTransaction()
+                                 .getIndexLabels()) {
+            if (il.indexType().isVector() && il.indexField().equals(field) &&
+                (label == null || label.equals(il.baseValue()))) {
+                validateIndexLabel(il);
+                indexLabels.add(il);
+            }
+        }
+        if (indexLabels.isEmpty()) {
+            throw noIndexException(this.graph(), query, label);
+        }
+
+        Nearest nearest = (Nearest) relation.value();
+        VectorIndexCache cache = this.params().vectorIndexCache();
+        Map<Id, Double> distances = new HashMap<>();
+        for (IndexLabel il : indexLabels) {
+            E.checkArgument(nearest.dimension() == il.vectorDimension(),
+                            "The dimension of query vector must be %s for " +
+                            "vector index '%s', but got %s",
+                            il.vectorDimension(), il.name(),
+                            nearest.dimension());
+            HnswIndex<Id> index = cache.index(il.id(), id -> {
+                return this.loadVectorIndex(il);
+            });
+            distances.putAll(index.nearest(nearest.vector(), nearest.top()));
+        }
+
+        Set<Id> ids = InsertionOrderUtil.newSet();
+        for (Id id : CollectionUtil.sortByValue(distances, true).keySet()) {
+            if (ids.size() >= nearest.top()) {
+                break;
+            }
+            ids.add(id);
+        }
+        IdHolderList holders = new IdHolderList(false);
+        // Keep the order of distance
+        holders.add(new FixedIdHolder(query, ids, true));
+        return holders;
+    }
+
+    private HnswIndex<Id> loadVectorIndex(IndexLabel indexLabel) {
+        Id field = indexLabel.indexField();
+        HnswIndex<Id> index = new HnswIndex<>(indexLabel.vectorDimension());
+        LockUtil.Locks locks = new LockUtil.Locks(this.graphName());
+        try {
+            locks.lockReads(LockUtil.INDEX_LABEL_DELETE, indexLabel.id());
+            locks.lockReads(LockUtil.INDEX_LABEL_REBUILD, indexLabel.id());
+
+            for (int bucket = 0; bucket < VECTOR_INDEX_BUCKETS; bucket++) {
+                ConditionQuery query = new ConditionQuery(
+                                       HugeType.SECONDARY_INDEX);
+                query.eq(HugeKeys.INDEX_LABEL_ID, indexLabel.id());
+                query.eq(HugeKeys.FIELD_VALUES, String.valueOf(bucket));
+                query.capacity(Query.NO_CAPACITY);
+                Iterator<BackendEntry> entries = super.query(query)
+                                                      .iterator();
+                try {
+                    while (entries.hasNext()) {
+                        HugeIndex entry = this.serializer.readIndex(
+                                          graph(), query, entries.next());
+                        for (Id id : entry.elementIds()) {
+                            Map<Id, Object> values = entry.includedValues(id);
+                            Object value = values == null ? null :
+                                           values.get(field);
+                            if (value != null) {
+                                index.add(id, vectorValue(indexLabel, value));
+                            }
+                        }
+                    }
+                } finally {
+                    CloseableIterator.closeIterator(entries);
+                }
+            }
+            return index;
+        } finally {
+            locks.unlock();
+        }
+    }
+
+    private static Relation nearestRelation(ConditionQuery query) {
+        for (Relation relation : query.userpropRelations()) {
+            if (relation.relation().isVectorType()) {
+                return relation;
+            }
+        }
+        return null;
+    }
+
     @Watched(prefix = "index")
     private IdHolderList doSearchIndex(ConditionQuery query,
                                        MatchedIndex index) {
+        IndexLabel scoringLabel = scoringIndexLabel(query, index);
+        if (scoringLabel != null) {
+            // Rank the results by the postings of scoring search index
+            IdHolderList holders = new IdHolderList(false);
+            holders.add(this.doScoringSearchIndex(query, scoringLabel));
+            return holders;
+        }
+
         query = this.constructSearchQuery(query, index);
         // Sorted by matched count
         IdHolderList holders = new SortByCountIdHolderList(query.paging());
@@ -531,6 +1005,167 @@ public class GraphIndexTransaction extends AbstractTransaction {
         return holders;
     }
 
+    /**
+     * Query by a scoring search index, the posting list of each word is read
+     * and the matched elements are ranked by the BM25 scores of words:
+     *   idf(w) * tf * (k1 + 1) / (tf + k1 * (1 - b + b * len / avgLen))
+     * where idf(w) = ln(1 + (N - n + 0.5) / (n + 0.5)), N is the count of
+     * indexed elements and n is the count of elements containing word w,
+     * avgLen is the average count of words of the indexed texts. N and
+     * avgLen are from the index statistics collected when building index
+     * and tracked on commit, or estimated by the matched elements if the
+     * statistics are absent.
+     * The postings also contain the hash code of indexed text, so the
+     * results are verified by the hash code rather than re-segmenting.
+     */
+    @Watched(prefix = "index")
+    private IdHolder doScoringSearchIndex(ConditionQuery query,
+                                          IndexLabel indexLabel) {
+        Id field = indexLabel.indexField();
+        String text = (String) query.userpropValue(field);
+        Set<String> words = this.segmentWords(text);
+
+        // Read the posting lists, keep one posting of each element
+        List<Map<Id, Posting>> postingLists = new ArrayList<>(words.size());
+        Map<Id, Posting> candidates = new HashMap<>();
+        for (String word : words) {
+            Map<Id, Posting> postings = this.queryPostings(indexLabel,
+                                                           query, word);
+            postingLists.add(postings);
+            for (Map.Entry<Id, Posting> e : postings.entrySet()) {
+                candidates.putIfAbsent(e.getKey(), e.getValue());
+            }
+            Query.checkForceCapacity(candidates.size());
+        }
+
+        Set<Id> ids = Collections.emptySet();
+        if (!candidates.isEmpty()) {
+            IndexStatistics statistics = this.params()
+                                             .indexStatisticsTracker()
+                                             .statistics(indexLabel);
+            Map<Id, Double> scores = scoreByBM25(postingLists, candidates,
+                                                 statistics);
+            ids = CollectionUtil.sortByValue(scores, false).keySet();
+        }
+
+        // Register results filter to compare property value and search text
+        ConditionQuery searchQuery = query.copy();
+        searchQuery.registerResultsFilter(element -> {
+            assert element != null;
+            for (Condition cond : query.conditions()) {
+                Object key = cond.isRelation() ?
+                             ((Relation) cond).key() : null;
+                if (!field.equals(key)) {
+                    if (!cond.test(element)) {
+                        return false;
+                    }
+                    continue;
+                }
+                HugeProperty<?> property = element.getProperty(field);
+                if (property == null) {
+                    return false;
+                }
+                String propValue = propertyValueToString(property.value());
+                Posting posting = candidates.get(element.id());
+                if (posting != null &&
+                    posting.textHash() == propValue.hashCode()) {
+                    continue;
+                }
+                // The text may be updated after indexed
+                if (!this.matchSearchIndexWords(propValue, text)) {
+                    return false;
+                }
+            }
+            return true;
+        });
+        return new FixedIdHolder(searchQuery, ids, true);
+    }
+
+    private Map<Id, Posting> queryPostings(IndexLabel indexLabel,
+                                           ConditionQuery query,
+                                           String word) {
+        ConditionQuery indexQuery = new ConditionQuery(HugeType.SEARCH_INDEX,
+                                                       query);
+        indexQuery.eq(HugeKeys.INDEX_LABEL_ID, indexLabel.id());
+        indexQuery.eq(HugeKeys.FIELD_VALUES,
+                      ConditionQuery.concatValues(word));
+
+        Iterator<BackendEntry> entries = null;
+        LockUtil.Locks locks = new LockUtil.Locks(this.graphName());
+        try {
+            locks.lockReads(LockUtil.INDEX_LABEL_DELETE, indexLabel.id());
+            locks.lockReads(LockUtil.INDEX_LABEL_REBUILD, indexLabel.id());
+
+            Map<Id, Posting> postings = InsertionOrderUtil.newMap();
+            entries = super.query(indexQuery).iterator();
+            while (entries.hasNext()) {
+                HugeIndex index = this.serializer.readIndex(graph(),
+                                                            indexQuery,
+                                                            entries.next());
+                this.removeExpiredIndexIfNeeded(index, query.showExpired());
+                for (Id id : index.elementIds()) {
+                    Posting posting = index.posting(id);
+                    if (posting == null) {
+                        // Unknown text and length, verify it by text
+                        posting = new Posting(1, 1, 0);
+                    }
+                    postings.put(id, posting);
+                }
+                Query.checkForceCapacity(postings.size());
+            }
+            return postings;
+        } finally {
+            locks.unlock();
+            CloseableIterator.closeIterator(entries);
+        }
+    }
+
+    private static Map<Id, Double> scoreByBM25(
+                                   List<Map<Id, Posting>> postingLists,
+                                   Map<Id, Posting> candidates,
+                                   IndexStatistics statistics) {
+        double avgLength = statistics == null ? 0.0D :
+                           statistics.avgTokens();
+        if (avgLength <= 0.0D) {
+            long totalLength = 0L;
+            for (Posting posting : candidates.values()) {
+                totalLength += posting.length();
+            }
+            avgLength = (double) totalLength / candidates.size();
+        }
+        long elements = statistics == null ? 0L : statistics.elements();
+        // The statistics may be not refreshed after some elements added
+        double total = Math.max(elements, candidates.size());
+
+        Map<Id, Double> scores = InsertionOrderUtil.newMap();
+        for (Map<Id, Posting> postings : postingLists) {
+            int matched = postings.size();
+            if (matched == 0) {
+                continue;
+            }
+            double idf = Math.log(1.0D + (total - matched + 0.5D) /
+                                         (matched + 0.5D));
+            for (Map.Entry<Id, Posting> e : postings.entrySet()) {
+                double tf = e.getValue().frequency();
+                double norm = BM25_K1 * (1.0D - BM25_B + BM25_B *
+                              e.getValue().length() / avgLength);
+                double score = idf * tf * (BM25_K1 + 1.0D) / (tf + norm);
+                scores.merge(e.getKey(), score, Double::sum);
+            }
+        }
+        return scores;
+    }
+
+    private static IndexLabel scoringIndexLabel(ConditionQuery query,
+                                                MatchedIndex index) {
+        // The ranked results can't be paged or joined with other indexes
+        if (query.paging() || index.indexLabels().size() != 1) {
+            return null;
+        }
+        IndexLabel indexLabel = index.indexLabels().iterator().next();
+        return indexLabel.scoring() ? indexLabel : null;
+    }
+
     @Watched(prefix = "index")
     private IdHolder doSingleOrJointIndex(IndexQueries queries) {
         if (queries.size() == 1) {
@@ -556,67 +1191,118 @@ public class GraphIndexTransaction extends AbstractTransaction {
                      "large amount of data, please use single index + filter " +
                      "instead of joint index: {}", queries.rootQuery());
         }
+        assert this.indexIntersectThresh > 0; // default value is 1000
         // All queries are joined with AND
         Set<Id> intersectIds = null;
         boolean filtering = false;
-        IdHolder resultHolder = null;
+        IdHolder firstHolder = null;
+
+        // Intersect the bitmap indexes firstly, which are joined in bitmaps
+        LongBitmap bitmap = null;
         for (Map.Entry<IndexLabel, ConditionQuery> e : queries.entrySet()) {
+            if (e.getKey().indexType().isBitmap()) {
+                LongBitmap ids = this.queryBitmapIndex(e.getKey(),
+                                                       e.getValue());
+                if (bitmap == null) {
+                    bitmap = ids;
+                } else {
+                    bitmap.and(ids);
+                }
+            }
+        }
+        if (bitmap != null) {
+            intersectIds = new BitmapIdSet(bitmap, CollectionType.EC);
+            if (intersectIds.isEmpty()) {
+                return new FixedIdHolder(queries.asJointQuery(), intersectIds);
+            }
+        }
+
+        for (Map.Entry<IndexLabel, ConditionQuery> e :
+             this.sortByEstimatedIds(queries)) {
             IndexLabel indexLabel = e.getKey();
             ConditionQuery query = e.getValue();
             assert !query.paging();
+            if (indexLabel.indexType().isBitmap()) {
+                continue;
+            }
             if (!query.noLimit() && queries.size() > 1) {
                 // Unset limit for intersection operation
                 query.limit(Query.NO_LIMIT);
             }
             /*
-             * Try to query by joint indexes:
-             * 1 If there is any index exceeded the threshold, transform into
-             *   partial index query, then filter after back-table.
-             * 1.1 Return the holder of the first index that not exceeded the
-             *     threshold if there exists one index, this holder will be used
-             *     as the only query condition.
-             * 1.2 Return the holder of the first index if all indexes exceeded
-             *     the threshold.
-             * 2 Else intersect holders for all indexes, and return intersection
-             *   ids of all indexes.
+             * Try to query by joint indexes, from the most selective one:
+             * 1 If an index exceeded the threshold (estimated by statistics
+             *   if exists another index to be intersected, else peeked), skip
+             *   it and filter its condition after back-table.
+             * 2 Intersect holders for all the other indexes, and return the
+             *   intersection ids of them.
+             * 3 Return the holder of the first index if all indexes exceeded
+             *   the threshold.
              */
+            if (intersectIds != null && queries.parentQuery() != null &&
+                estimateIds(indexLabel, queries.parentQuery()) >=
+                this.indexIntersectThresh) {
+                // Don't read the index with low selectivity
+                filtering = true;
+                query.optimized(OptimizedType.INDEX_FILTER);
+                continue;
+            }
             IdHolder holder = this.doIndexQuery(indexLabel, query);
-            if (resultHolder == null) {
-                resultHolder = holder;
+            if (firstHolder == null) {
+                firstHolder = holder;
                 this.storeSelectedIndexField(indexLabel, query);
             }
-            assert this.indexIntersectThresh > 0; // default value is 1000
             Set<Id> ids = ((BatchIdHolder) holder).peekNext(
                           this.indexIntersectThresh).ids();
             if (ids.size() >= this.indexIntersectThresh) {
                 // Transform into filtering
                 filtering = true;
                 query.optimized(OptimizedType.INDEX_FILTER);
-            } else if (filtering) {
-                assert ids.size() < this.indexIntersectThresh;
-                resultHolder = holder;
-                this.storeSelectedIndexField(indexLabel, query);
-                break;
+                continue;
+            }
+            if (intersectIds == null) {
+                intersectIds = ids;
             } else {
-                if (intersectIds == null) {
-                    intersectIds = ids;
-                } else {
-                    CollectionUtil.intersectWithModify(intersectIds, ids);
-                }
-                if (intersectIds.isEmpty()) {
-                    break;
-                }
+                CollectionUtil.intersectWithModify(intersectIds, ids);
+            }
+            if (intersectIds.isEmpty()) {
+                break;
             }
         }
 
-        if (filtering) {
-            return resultHolder;
+        if (intersectIds == null) {
+            // All indexes exceeded the threshold
+            assert filtering;
+            return firstHolder;
         } else {
-            assert intersectIds != null;
             return new FixedIdHolder(queries.asJointQuery(), intersectIds);
         }
     }
 
+    /**
+     * Sort the index queries by the estimated count of ids, the queries
+     * without statistics are placed just before the ones estimated to exceed
+     * the intersect threshold, and keep the order of the equal ones
+     */
+    private List<Map.Entry<IndexLabel, ConditionQuery>> sortByEstimatedIds(
+                                                        IndexQueries queries) {
+        List<Map.Entry<IndexLabel, ConditionQuery>> entries =
+                                    new ArrayList<>(queries.entrySet());
+        if (entries.size() <= 1 || queries.parentQuery() == null) {
+            return entries;
+        }
+        Map<IndexLabel, Long> estimated = new HashMap<>();
+        for (IndexLabel il : queries.keySet()) {
+            long ids = estimateIds(il, queries.parentQuery());
+            if (ids < 0L) {
+                ids = this.indexIntersectThresh - 1L;
+            }
+            estimated.put(il, ids);
+        }
+        entries.sort(Comparator.comparing(e -> estimated.get(e.getKey())));
+        return entries;
+    }
+
     private void storeSelectedIndexField(IndexLabel indexLabel,
                                          ConditionQuery query) {
         // Only store range index field
@@ -633,6 +1319,9 @@ public class GraphIndexTransaction extends AbstractTransaction {
 
     @Watched(prefix = "index")
     private IdHolder doIndexQuery(IndexLabel indexLabel, ConditionQuery query) {
+        if (indexLabel.indexType().isBitmap()) {
+            return this.doBitmapIndexQuery(indexLabel, query);
+        }
         if (!query.paging()) {
             return this.doIndexQueryBatch(indexLabel, query);
         } else {
@@ -671,6 +1360,7 @@ public class GraphIndexTransaction extends AbstractTransaction {
                     ids.addAll(index.elementIds());
                     Query.checkForceCapacity(ids.size());
                     this.recordIndexValue(query, index);
+                    this.recordCoveredElements(query, index);
                 }
                 return ids;
             } finally {
@@ -679,6 +1369,75 @@ public class GraphIndexTransaction extends AbstractTransaction {
         });
     }
 
+    @Watched(prefix = "index")
+    private IdHolder doBitmapIndexQuery(IndexLabel indexLabel,
+                                        ConditionQuery query) {
+        if (!query.paging()) {
+            LongBitmap bitmap = this.queryBitmapIndex(indexLabel, query);
+            return new FixedIdHolder(query, new BitmapIdSet(bitmap,
+                                                            CollectionType.EC));
+        }
+        return new PagingIdHolder(query, q -> {
+            return this.doBitmapIndexQueryOnce(indexLabel, q);
+        });
+    }
+
+    private PageIds doBitmapIndexQueryOnce(IndexLabel indexLabel,
+                                           ConditionQuery query) {
+        // The position of page is the last id of the previous page
+        String page = query.page();
+        byte[] position = page == null ? PageState.EMPTY_BYTES :
+                          PageState.fromString(page).position();
+        boolean first = position.length == 0;
+        long last = first ? 0L : NumericUtil.bytesToLong(position);
+
+        LongBitmap bitmap = this.queryBitmapIndex(indexLabel, query);
+        Set<Id> ids = InsertionOrderUtil.newSet();
+        long id = 0L;
+        MutableLongIterator iter = bitmap.longIterator();
+        while (iter.hasNext() && !query.reachLimit(ids.size())) {
+            // The ids are iterated in ascending order
+            id = iter.next();
+            if (first || id > last) {
+                ids.add(IdGenerator.of(id));
+            }
+        }
+        if (ids.isEmpty()) {
+            return PageIds.EMPTY;
+        }
+        if (!iter.hasNext()) {
+            return new PageIds(ids, PageState.EMPTY);
+        }
+        PageState pageState = new PageState(NumericUtil.longToBytes(id),
+                                            0, ids.size());
+        return new PageIds(ids, pageState);
+    }
+
+    private LongBitmap queryBitmapIndex(IndexLabel indexLabel,
+                                        ConditionQuery query) {
+        String value = query.condition(HugeKeys.FIELD_VALUES);
+        E.checkState(value != null,
+                     "Expect field values in bitmap index query: %s", query);
+        Iterator<byte[]> chunks = null;
+        LockUtil.Locks locks = new LockUtil.Locks(this.graphName());
+        try {
+            locks.lockReads(LockUtil.INDEX_LABEL_DELETE, indexLabel.id());
+            locks.lockReads(LockUtil.INDEX_LABEL_REBUILD, indexLabel.id());
+
+            LongBitmap bitmap = new LongBitmap();
+            chunks = this.store().queryBitmapIndex(indexLabel.id(), value);
+            while (chunks.hasNext()) {
+                // The chunks are ordered, so they are appended to the bitmap
+                bitmap.or(LongBitmap.fromBytes(chunks.next()));
+            }
+            Query.checkForceCapacity(bitmap.cardinality());
+            return bitmap;
+        } finally {
+            locks.unlock();
+            CloseableIterator.closeIterator(chunks);
+        }
+    }
+
     private void recordIndexValue(ConditionQuery query, HugeIndex index) {
         if (!shouldRecordIndexValue(query, index)) {
             return;
@@ -692,6 +1451,34 @@ public class GraphIndexTransaction extends AbstractTransaction {
         }
     }
 
+    private void recordCoveredElements(ConditionQuery query, HugeIndex index) {
+        IndexLabel indexLabel = index.indexLabel();
+        ConditionQuery originQuery = query.originConditionQuery();
+        if (!this.coveringIndex || originQuery == null ||
+            !indexLabel.covering() ||
+            !indexLabel.covers(originQuery.userpropKeys())) {
+            return;
+        }
+
+        // Build vertices by the values saved in covering index
+        HugeGraph graph = this.graph();
+        VertexLabel vertexLabel = graph.vertexLabel(indexLabel.baseValue());
+        for (Id id : index.elementIds()) {
+            Map<Id, Object> values = index.includedValues(id);
+            if (values == null) {
+                continue;
+            }
+            HugeVertex vertex = new HugeVertex(graph, id, vertexLabel);
+            for (Map.Entry<Id, Object> e : values.entrySet()) {
+                vertex.addProperty(graph.propertyKey(e.getKey()),
+                                   e.getValue());
+            }
+            // The other properties will be loaded when accessed
+            vertex.propNotLoaded();
+            originQuery.recordCoveredElement(vertex);
+        }
+    }
+
     @Watched(prefix = "index")
     private PageIds doIndexQueryOnce(IndexLabel indexLabel,
                                      ConditionQuery query) {
@@ -714,6 +1501,7 @@ public class GraphIndexTransaction extends AbstractTransaction {
                 }
                 Query.checkForceCapacity(ids.size());
                 this.recordIndexValue(query, index);
+                this.recordCoveredElements(query, index);
             }
             // If there is no data, the entries is not a Metadatable object
             if (ids.isEmpty()) {
@@ -795,7 +1583,9 @@ public class GraphIndexTransaction extends AbstractTransaction {
              * because the indexLabel is being created at this time
              * and has not been saved to the backend storage
              */
-            if (indexLabel == null || indexLabel.indexType().isUnique()) {
+            if (indexLabel == null || indexLabel.indexType().isUnique() ||
+                indexLabel.indexType().isVector()) {
+                // The vector index is only used by nearest query
                 continue;
             }
             ils.add(indexLabel);
@@ -875,6 +1665,27 @@ public class GraphIndexTransaction extends AbstractTransaction {
     }
 
     private Set<String> segmentWords(String text) {
+        return segmentWords(this.textAnalyzer, text);
+    }
+
+    /**
+     * Count the words of the text indexed by a scoring search index, which
+     * is the length of the text in the postings
+     * @param analyzer the analyzer to segment the text
+     * @param value    the property value of the text
+     * @return         the count of words
+     */
+    public static int searchTokens(Analyzer analyzer, Object value) {
+        String text = propertyValueToString(value);
+        Set<String> words = segmentWords(analyzer, text);
+        int tokens = 0;
+        for (int frequency : termFrequencies(text, words).values()) {
+            tokens += frequency;
+        }
+        return tokens;
+    }
+
+    private static Set<String> segmentWords(Analyzer analyzer, String text) {
         /*
          Support 3 kinds of query:
          - Text.contains("(word)"): query by user-specified word;
@@ -891,7 +1702,7 @@ public class GraphIndexTransaction extends AbstractTransaction {
                 return ImmutableSet.of(subText);
             }
         }
-        Set<String> segments = this.textAnalyzer.segment(text);
+        Set<String> segments = analyzer.segment(text);
 
         /*
          * Add original text to segments at the insertion stage,
@@ -922,15 +1733,17 @@ public class GraphIndexTransaction extends AbstractTransaction {
         }
     }
 
-    private static Set<IndexLabel> matchSingleOrCompositeIndex(
-                                   ConditionQuery query,
-                                   Set<IndexLabel> indexLabels) {
+    private Set<IndexLabel> matchSingleOrCompositeIndex(
+                            ConditionQuery query,
+                            Set<IndexLabel> indexLabels) {
         if (query.hasNeqCondition()) {
             return ImmutableSet.of();
         }
         boolean requireRange = query.hasRangeCondition();
         boolean requireSearch = query.hasSearchCondition();
         Set<Id> queryPropKeys = query.userpropKeys();
+        IndexLabel selected = null;
+        long selectedIds = -1L;
         for (IndexLabel indexLabel : indexLabels) {
             List<Id> indexFields = indexLabel.indexFields();
             // Try to match fields
@@ -954,9 +1767,34 @@ public class GraphIndexTransaction extends AbstractTransaction {
             if (requireRange && !indexType.isNumeric()) {
                 continue;
             }
-            return ImmutableSet.of(indexLabel);
+            /*
+             * Select the matched index with the least estimated ids, or the
+             * first matched one if there are no statistics of indexes
+             */
+            long ids = estimateIds(indexLabel, query);
+            if (selected == null ||
+                (ids >= 0L && (selectedIds < 0L || ids < selectedIds))) {
+                selected = indexLabel;
+                selectedIds = ids;
+            }
+        }
+        if (selected == null) {
+            return ImmutableSet.of();
         }
-        return ImmutableSet.of();
+        return ImmutableSet.of(selected);
+    }
+
+    /**
+     * Estimate the count of ids matched by the query via the index label
+     * @return the estimated count, or -1 if no statistics of the index
+     */
+    private long estimateIds(IndexLabel indexLabel, ConditionQuery query) {
+        IndexStatistics statistics = this.params().indexStatisticsTracker()
+                                         .statistics(indexLabel);
+        if (statistics == null) {
+            return -1L;
+        }
+        return statistics.estimate(indexLabel, query);
     }
 
     /**
@@ -1229,6 +2067,7 @@ public class GraphIndexTransaction extends AbstractTransaction {
                 indexQuery.eq(HugeKeys.FIELD_VALUES, fieldValue);
                 break;
             case SECONDARY:
+            case BITMAP:
                 List<Id> joinedKeys = indexFields.subList(0, queryKeys.size());
                 // Will escape special char inside userpropValuesString()
                 String joinedValues = query.userpropValuesString(joinedKeys);
@@ -1552,6 +2391,16 @@ public class GraphIndexTransaction extends AbstractTransaction {
     }
 
     protected void removeIndex(IndexLabel indexLabel) {
+        if (indexLabel.indexType().isBitmap()) {
+            this.store().deleteBitmapIndex(indexLabel.id());
+        }
+        if (indexLabel.indexType().isVector()) {
+            // Drop the cached vectors after committed
+            this.vectorUpdates.put(indexLabel.id(), null);
+        }
+        // Reset the tracked changes after committed
+        this.statisticsUpdates.remove(indexLabel.id());
+        this.statisticsResets.add(indexLabel.id());
         HugeIndex index = new HugeIndex(this.graph(), indexLabel);
         this.doRemove(this.serializer.writeIndex(index));
     }
@@ -1643,6 +2492,10 @@ public class GraphIndexTransaction extends AbstractTransaction {
             return indexQueries;
         }
 
+        public ConditionQuery parentQuery() {
+            return this.parentQuery;
+        }
+
         public boolean oomRisk() {
             for (Query subQuery : this.values()) {
                 if (subQuery.bigCapacity() && subQuery.aggregate() != null) {
@@ -22,12 +22,14 @@ package com.baidu.hugegraph.backend.tx;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -98,6 +100,7 @@ import com.baidu.hugegraph.type.define.IdStrategy;
 import com.baidu.hugegraph.util.E;
 import com.baidu.hugegraph.util.InsertionOrderUtil;
 import com.baidu.hugegraph.util.LockUtil;
+import com.baidu.hugegraph.util.Trace;
 import com.google.common.collect.ImmutableList;
 
 public class GraphTransaction extends IndexableTransaction {
@@ -120,6 +123,12 @@ public class GraphTransaction extends IndexableTransaction {
     private Map<Id, HugeEdge> updatedEdges;
     private Set<HugeProperty<?>> updatedOldestProps; // Oldest props
 
+    // The count changed of vertices and edges of each label
+    private Map<Id, Long> vertexLabelCounts;
+    private Map<Id, Long> edgeLabelCounts;
+    // The degree changed of each vertex: {vertex: {label: [out, in]}}
+    private Map<Id, Map<Id, long[]>> vertexDegrees;
+
     private LockUtil.LocksTable locksTable;
 
     private final boolean checkCustomVertexExist;
@@ -128,9 +137,12 @@ public class GraphTransaction extends IndexableTransaction {
     private final boolean removeLeftIndexOnOverwrite;
     private final boolean ignoreInvalidEntry;
     private final boolean optimizeAggrByIndex;
+    private final boolean labelCounter;
+    private final boolean degreeCounter;
     private final int commitPartOfAdjacentEdges;
     private final int batchSize;
     private final int pageSize;
+    private final boolean concurrentOrdered;
 
     private final int verticesCapacity;
     private final int edgesCapacity;
@@ -158,8 +170,18 @@ public class GraphTransaction extends IndexableTransaction {
              conf.get(CoreOptions.QUERY_IGNORE_INVALID_DATA);
         this.optimizeAggrByIndex =
              conf.get(CoreOptions.QUERY_OPTIMIZE_AGGR_BY_INDEX);
+        // The counters can't be updated in the raft log of mutations now
+        this.labelCounter =
+             conf.get(CoreOptions.QUERY_LABEL_COUNTER_ENABLE) &&
+             !conf.get(CoreOptions.RAFT_MODE) &&
+             store.features().supportsLabelCounter();
+        this.degreeCounter =
+             conf.get(CoreOptions.QUERY_DEGREE_COUNTER_ENABLE) &&
+             !conf.get(CoreOptions.RAFT_MODE) &&
+             store.features().supportsDegreeCounter();
         this.batchSize = conf.get(CoreOptions.QUERY_BATCH_SIZE);
         this.pageSize = conf.get(CoreOptions.QUERY_PAGE_SIZE);
+        this.concurrentOrdered = conf.get(CoreOptions.QUERY_CONCURRENT_ORDERED);
 
         this.verticesCapacity = conf.get(CoreOptions.VERTEX_TX_CAPACITY);
         this.edgesCapacity = conf.get(CoreOptions.EDGE_TX_CAPACITY);
@@ -249,6 +271,17 @@ public class GraphTransaction extends IndexableTransaction {
             !this.updatedOldestProps.isEmpty()) {
             this.updatedOldestProps = InsertionOrderUtil.newSet();
         }
+
+        if (this.vertexLabelCounts == null ||
+            !this.vertexLabelCounts.isEmpty()) {
+            this.vertexLabelCounts = new HashMap<>();
+        }
+        if (this.edgeLabelCounts == null || !this.edgeLabelCounts.isEmpty()) {
+            this.edgeLabelCounts = new HashMap<>();
+        }
+        if (this.vertexDegrees == null || !this.vertexDegrees.isEmpty()) {
+            this.vertexDegrees = new HashMap<>();
+        }
     }
 
     @Override
@@ -276,6 +309,20 @@ public class GraphTransaction extends IndexableTransaction {
                this.updatedEdges.size();
     }
 
+    protected final Set<Id> edgeLabelsInTx() {
+        Set<Id> labels = InsertionOrderUtil.newSet();
+        for (HugeEdge edge : this.addedEdges.values()) {
+            labels.add(edge.schemaLabel().id());
+        }
+        for (HugeEdge edge : this.removedEdges.values()) {
+            labels.add(edge.schemaLabel().id());
+        }
+        for (HugeEdge edge : this.updatedEdges.values()) {
+            labels.add(edge.schemaLabel().id());
+        }
+        return labels;
+    }
+
     protected final Collection<HugeVertex> verticesInTxUpdated() {
         int size = this.addedVertices.size() + this.updatedVertices.size();
         List<HugeVertex> vertices = new ArrayList<>(size);
@@ -327,6 +374,19 @@ public class GraphTransaction extends IndexableTransaction {
             this.removeLeftIndexIfNeeded(addedVertices);
         }
 
+        if (this.labelCounter) {
+            this.countAddedElements(HugeType.VERTEX, addedVertices.values());
+        }
+        if (this.labelCounter || this.degreeCounter) {
+            List<HugeEdge> edges = new ArrayList<>(addedEdges.size());
+            for (HugeEdge e : addedEdges.values()) {
+                if (!this.removingEdgeOwner(e)) {
+                    edges.add(e);
+                }
+            }
+            this.countAddedElements(HugeType.EDGE, edges);
+        }
+
         // Do vertex update
         for (HugeVertex v : addedVertices.values()) {
             assert !v.removed();
@@ -389,6 +449,11 @@ public class GraphTransaction extends IndexableTransaction {
             }
         }
 
+        if (this.labelCounter) {
+            this.countRemovedElements(HugeType.VERTEX,
+                                      removedVertices.values());
+        }
+
         // Remove vertices
         for (HugeVertex v : removedVertices.values()) {
             this.checkAggregateProperty(v);
@@ -408,6 +473,10 @@ public class GraphTransaction extends IndexableTransaction {
     }
 
     protected void prepareDeletions(Map<Id, HugeEdge> removedEdges) {
+        if (this.labelCounter || this.degreeCounter) {
+            this.countRemovedElements(HugeType.EDGE, removedEdges.values());
+        }
+
         // Remove edges
         for (HugeEdge e : removedEdges.values()) {
             this.checkAggregateProperty(e);
@@ -483,6 +552,146 @@ public class GraphTransaction extends IndexableTransaction {
         }
     }
 
+    @Override
+    protected void prepareCommitTx() {
+        // Update the counters in the same backend tx as the mutations
+        if (this.labelCounter) {
+            this.commitLabelCounts(HugeType.VERTEX, this.vertexLabelCounts);
+            this.commitLabelCounts(HugeType.EDGE, this.edgeLabelCounts);
+        }
+        if (this.degreeCounter) {
+            this.commitVertexDegrees(this.vertexDegrees);
+        }
+        this.indexTx.prepareCommitTx();
+    }
+
+    @Override
+    protected void afterCommitTx() {
+        this.indexTx.afterCommitTx();
+    }
+
+    private void commitLabelCounts(HugeType type, Map<Id, Long> counts) {
+        for (Map.Entry<Id, Long> e : counts.entrySet()) {
+            if (e.getValue() != 0L) {
+                this.store().increaseLabelCounter(type, e.getKey(),
+                                                  e.getValue());
+            }
+        }
+        counts.clear();
+    }
+
+    private void commitVertexDegrees(Map<Id, Map<Id, long[]>> degrees) {
+        BackendStore store = this.store();
+        for (Map.Entry<Id, Map<Id, long[]>> e : degrees.entrySet()) {
+            Id vertex = e.getKey();
+            // The degree of all labels is kept to lookup without labels
+            long[] total = new long[2];
+            for (Map.Entry<Id, long[]> le : e.getValue().entrySet()) {
+                long[] delta = le.getValue();
+                if (delta[0] != 0L) {
+                    store.increaseDegreeCounter(vertex, Directions.OUT,
+                                                le.getKey(), delta[0]);
+                }
+                if (delta[1] != 0L) {
+                    store.increaseDegreeCounter(vertex, Directions.IN,
+                                                le.getKey(), delta[1]);
+                }
+                total[0] += delta[0];
+                total[1] += delta[1];
+            }
+            if (total[0] != 0L) {
+                store.increaseDegreeCounter(vertex, Directions.OUT,
+                                            null, total[0]);
+            }
+            if (total[1] != 0L) {
+                store.increaseDegreeCounter(vertex, Directions.IN,
+                                            null, total[1]);
+            }
+        }
+        degrees.clear();
+    }
+
+    private void countAddedElements(HugeType type,
+                                    Collection<? extends HugeElement> elems) {
+        Set<Id> overwritable = InsertionOrderUtil.newSet();
+        for (HugeElement elem : elems) {
+            this.countElement(elem, 1L);
+            // The vertex with automatic id is new unless updating properties
+            if (!(elem instanceof HugeVertex) ||
+                ((HugeVertex) elem).schemaLabel().idStrategy() !=
+                IdStrategy.AUTOMATIC ||
+                this.updatedVertices.containsKey(elem.id())) {
+                overwritable.add(elem.id());
+            }
+        }
+        // The existed elements are overwritten, they may change the label
+        this.queryExistedElements(type, overwritable, existed -> {
+            this.countElement(existed, -1L);
+        });
+    }
+
+    private void countRemovedElements(HugeType type,
+                                      Collection<? extends HugeElement> elems) {
+        Set<Id> ids = InsertionOrderUtil.newSet();
+        for (HugeElement elem : elems) {
+            ids.add(elem.id());
+        }
+        // Only the existed elements are counted, like not added in tx
+        this.queryExistedElements(type, ids, existed -> {
+            this.countElement(existed, -1L);
+        });
+    }
+
+    private void countElement(HugeElement elem, long increment) {
+        if (this.labelCounter) {
+            Map<Id, Long> counts = elem.type().isVertex() ?
+                                   this.vertexLabelCounts :
+                                   this.edgeLabelCounts;
+            counts.merge(elem.schemaLabel().id(), increment, Long::sum);
+        }
+        if (this.degreeCounter && elem.type().isEdge()) {
+            HugeEdge edge = (HugeEdge) elem;
+            Id label = edge.schemaLabel().id();
+            this.countDegree(edge.sourceVertex().id(), label, 0, increment);
+            this.countDegree(edge.targetVertex().id(), label, 1, increment);
+        }
+    }
+
+    private void countDegree(Id vertex, Id label, int dir, long increment) {
+        Map<Id, long[]> degrees = this.vertexDegrees.computeIfAbsent(
+                                  vertex, k -> new HashMap<>());
+        degrees.computeIfAbsent(label, k -> new long[2])[dir] += increment;
+    }
+
+    /*
+     * NOTE: the existed elements are checked without locking their ids,
+     * so the counts are approximate if the same elements are added or
+     * removed by concurrent transactions
+     */
+    private void queryExistedElements(HugeType type, Set<Id> ids,
+                                      Consumer<HugeElement> consumer) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        List<Id> idList = new ArrayList<>(ids);
+        for (int i = 0; i < idList.size(); i += this.batchSize) {
+            int end = Math.min(i + this.batchSize, idList.size());
+            Set<Id> batch = InsertionOrderUtil.newSet();
+            batch.addAll(idList.subList(i, end));
+            IdQuery query = new IdQuery(type, batch);
+            Iterator<? extends HugeElement> results = type.isVertex() ?
+                                        this.queryVerticesFromBackend(query) :
+                                        this.queryEdgesFromBackend(query);
+            try {
+                while (results.hasNext()) {
+                    consumer.accept(results.next());
+                }
+            } finally {
+                CloseableIterator.closeIterator(results);
+            }
+        }
+    }
+
     private void commitPartOfEdgeDeletions(Map<Id, HugeEdge> removedEdges) {
         assert this.commitPartOfAdjacentEdges > 0;
 
@@ -491,11 +700,15 @@ public class GraphTransaction extends IndexableTransaction {
         BackendMutation mutation = this.mutation();
         BackendMutation idxMutation = this.indexTransaction().mutation();
 
+        // Keep the counts of the removing vertices until they are committed
+        Map<Id, Long> vertexLabelCounts = this.vertexLabelCounts;
+        this.vertexLabelCounts = new HashMap<>();
         try {
             this.commitMutation2Backend(mutation, idxMutation);
         } catch (Throwable e) {
             this.rollbackBackend();
         } finally {
+            this.vertexLabelCounts = vertexLabelCounts;
             mutation.clear();
             idxMutation.clear();
         }
@@ -532,8 +745,9 @@ public class GraphTransaction extends IndexableTransaction {
             return super.query(query);
         }
 
-        QueryList<BackendEntry> queries = this.optimizeQueries(query,
-                                                               super::query);
+        QueryList<BackendEntry> queries = this.optimizeQueries(
+                                          query, super::query,
+                                          tx -> tx::queryFromBackend);
         LOG.debug("{}", queries);
         return queries.empty() ? QueryResults.empty() :
                                  queries.fetch(this.pageSize);
@@ -545,6 +759,13 @@ public class GraphTransaction extends IndexableTransaction {
                         "It's not allowed to query number when " +
                         "there are uncommitted records.");
 
+        if (this.labelCounter) {
+            long count = this.countByLabelCounter(query);
+            if (count >= 0L) {
+                return count;
+            }
+        }
+
         if (!(query instanceof ConditionQuery)) {
             return super.queryNumber(query);
         }
@@ -583,6 +804,127 @@ public class GraphTransaction extends IndexableTransaction {
         return aggregate.reduce(results.iterator());
     }
 
+    /**
+     * Count the vertices or edges by the label counters if the query is
+     * just to count all or some labels
+     * @return the count, or -1 if can't be counted by the counters
+     */
+    private long countByLabelCounter(Query query) {
+        HugeType type = query.resultType();
+        Aggregate aggregate = query.aggregate();
+        if (type != HugeType.VERTEX && type != HugeType.EDGE ||
+            aggregate == null || aggregate.func() != AggregateFunc.COUNT ||
+            !query.noLimitAndOffset() || query.olap() ||
+            query.showHidden() || query.showDeleting() ||
+            query.showExpired()) {
+            return -1L;
+        }
+
+        // The labels may be duplicated in the IN condition
+        Set<SchemaLabel> labels = InsertionOrderUtil.newSet();
+        if (query.getClass() == Query.class) {
+            // Count all, the hidden labels are not included
+            Collection<? extends SchemaLabel> all;
+            if (type.isVertex()) {
+                all = this.graph().vertexLabels();
+            } else {
+                all = this.graph().edgeLabels();
+            }
+            for (SchemaLabel label : all) {
+                if (!label.hidden()) {
+                    labels.add(label);
+                }
+            }
+        } else if (query instanceof ConditionQuery) {
+            ConditionQuery cq = (ConditionQuery) query;
+            if (cq.conditionsSize() != 1 ||
+                !cq.containsCondition(HugeKeys.LABEL)) {
+                return -1L;
+            }
+            Object value = cq.condition(HugeKeys.LABEL);
+            if (value == null) {
+                return -1L;
+            }
+            Collection<?> ids = value instanceof Collection ?
+                                (Collection<?>) value :
+                                ImmutableList.of(value);
+            for (Object id : ids) {
+                labels.add(type.isVertex() ?
+                           this.graph().vertexLabel((Id) id) :
+                           this.graph().edgeLabel((Id) id));
+            }
+        } else {
+            return -1L;
+        }
+
+        long count = 0L;
+        for (SchemaLabel label : labels) {
+            if (label.ttl() > 0L) {
+                // The expired elements are not counted until deleted
+                return -1L;
+            }
+            long labelCount = this.store().getLabelCounter(type, label.id());
+            if (labelCount < 0L) {
+                return -1L;
+            }
+            count += labelCount;
+        }
+        return count;
+    }
+
+    /**
+     * Get the degree of a vertex from the degree counters without fetching
+     * any edge, the uncommitted edges in this tx are not included
+     * @param vertex the id of the vertex
+     * @param dir    the direction of edges
+     * @param labels the edge labels, all labels if it's empty
+     * @return       the degree, or -1 if the counters are not available
+     *               or any of the edge labels has ttl
+     */
+    public long queryDegree(Id vertex, Directions dir, Id... labels) {
+        E.checkArgumentNotNull(vertex, "The vertex id can't be null");
+        E.checkArgumentNotNull(dir, "The direction can't be null");
+        if (!this.degreeCounter) {
+            return -1L;
+        }
+        // The expired edges are not counted until deleted
+        if (labels.length == 0) {
+            for (EdgeLabel label : this.graph().edgeLabels()) {
+                if (label.ttl() > 0L) {
+                    return -1L;
+                }
+            }
+        } else {
+            for (Id label : labels) {
+                if (this.graph().edgeLabel(label).ttl() > 0L) {
+                    return -1L;
+                }
+            }
+        }
+
+        Directions[] dirs = dir == Directions.BOTH ?
+                            new Directions[]{Directions.OUT, Directions.IN} :
+                            new Directions[]{dir};
+        Collection<Id> labelIds;
+        if (labels.length == 0) {
+            labelIds = Collections.singleton(null);
+        } else {
+            labelIds = new HashSet<>(Arrays.asList(labels));
+        }
+
+        long degree = 0L;
+        for (Directions d : dirs) {
+            for (Id label : labelIds) {
+                long count = this.store().getDegreeCounter(vertex, d, label);
+                if (count < 0L) {
+                    return -1L;
+                }
+                degree += count;
+            }
+        }
+        return degree;
+    }
+
     @Watched(prefix = "graph")
     public HugeVertex addVertex(Object... keyValues) {
         return this.addVertex(this.constructVertex(true, keyValues));
@@ -666,6 +1008,8 @@ public class GraphTransaction extends IndexableTransaction {
     @Watched(prefix = "graph")
     public void removeVertex(HugeVertex vertex) {
         this.checkOwnerThread();
+        // The indexes are removed by all properties of the vertex
+        this.ensureVertexLoaded(vertex);
 
         this.beforeWrite();
 
@@ -788,6 +1132,12 @@ public class GraphTransaction extends IndexableTransaction {
 
         query.resetActualOffset();
 
+        try (Trace.Scope scope = Trace.begin("graph.vertices")) {
+            return scope.wrap(this.queryVerticesOfTx(query));
+        }
+    }
+
+    private Iterator<Vertex> queryVerticesOfTx(Query query) {
         Iterator<HugeVertex> results = this.queryVerticesFromBackend(query);
         results = this.filterUnmatchedRecords(results, query);
 
@@ -799,6 +1149,10 @@ public class GraphTransaction extends IndexableTransaction {
     protected Iterator<HugeVertex> queryVerticesFromBackend(Query query) {
         assert query.resultType().isVertex();
 
+        if (this.maybeCoveredByIndex(query)) {
+            return this.queryVerticesByCoveringIndex((ConditionQuery) query);
+        }
+
         QueryResults<BackendEntry> results = this.query(query);
         Iterator<BackendEntry> entries = results.iterator();
 
@@ -813,6 +1167,101 @@ public class GraphTransaction extends IndexableTransaction {
         return vertices;
     }
 
+    private Iterator<HugeVertex> queryVerticesByCoveringIndex(
+                                 ConditionQuery query) {
+        QueryList<HugeVertex> queries = this.optimizeQueries(
+                                        query, this::queryCoveredVertices);
+        LOG.debug("{}", queries);
+        if (queries.empty()) {
+            return QueryResults.emptyIterator();
+        }
+
+        QueryResults<HugeVertex> results = queries.fetch(this.pageSize);
+        Iterator<HugeVertex> vertices = results.iterator();
+        vertices = this.filterExpiredResultFromFromBackend(query, vertices);
+
+        if (!this.store().features().supportsQuerySortByInputIds()) {
+            vertices = results.keepInputOrderIfNeeded(vertices);
+        }
+        return vertices;
+    }
+
+    private QueryResults<HugeVertex> queryCoveredVertices(Query query) {
+        ConditionQuery originQuery = null;
+        if (query instanceof IdQuery &&
+            query.originQuery() instanceof ConditionQuery) {
+            originQuery = (ConditionQuery) query.originQuery();
+            if (originQuery.originConditionQuery() != null) {
+                originQuery = originQuery.originConditionQuery();
+            }
+        }
+        if (originQuery == null || !originQuery.hasCoveredElements()) {
+            QueryResults<BackendEntry> results = super.query(query);
+            return new QueryResults<>(new MapperIterator<>(results.iterator(),
+                                                           this::parseEntry),
+                                      query);
+        }
+
+        // The vertices built from covering index needn't query from backend
+        List<HugeVertex> covered = new ArrayList<>();
+        Set<Id> others = InsertionOrderUtil.newSet();
+        for (Id id : query.ids()) {
+            HugeElement vertex = originQuery.removeCoveredElement(id);
+            if (vertex != null) {
+                covered.add((HugeVertex) vertex);
+            } else {
+                others.add(id);
+            }
+        }
+        ExtendableIterator<HugeVertex> vertices = new ExtendableIterator<>(
+                                                  covered.iterator());
+        if (!others.isEmpty()) {
+            IdQuery idQuery = ((IdQuery) query).copy();
+            idQuery.resetIds();
+            idQuery.query(others);
+            vertices.extend(new MapperIterator<>(
+                            super.query(idQuery).iterator(), this::parseEntry));
+        }
+        return new QueryResults<>(vertices, query);
+    }
+
+    private boolean maybeCoveredByIndex(Query query) {
+        if (!(query instanceof ConditionQuery) ||
+            !this.storeFeatures().supportsCoveringIndex()) {
+            return false;
+        }
+        /*
+         * The vertices built from covering index aren't verified by the
+         * stored vertices, so the left index of an overwritten vertex would
+         * be returned with stale values if not removed at overwrite
+         */
+        if (!this.removeLeftIndexOnOverwrite) {
+            return false;
+        }
+        ConditionQuery cq = (ConditionQuery) query;
+        Set<Id> keys = cq.userpropKeys();
+        if (keys.isEmpty() || cq.showExpired()) {
+            return false;
+        }
+
+        Object label = cq.condition(HugeKeys.LABEL);
+        Collection<VertexLabel> vertexLabels;
+        if (label instanceof Id) {
+            vertexLabels = ImmutableList.of(this.graph().vertexLabel(
+                                            (Id) label));
+        } else {
+            vertexLabels = this.graph().vertexLabels();
+        }
+        for (VertexLabel vertexLabel : vertexLabels) {
+            for (Id id : vertexLabel.indexLabels()) {
+                if (this.graph().indexLabel(id).covers(keys)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
     @Watched(prefix = "graph")
     public HugeEdge addEdge(HugeEdge edge) {
         this.checkOwnerThread();
@@ -952,6 +1401,12 @@ public class GraphTransaction extends IndexableTransaction {
 
         query.resetActualOffset();
 
+        try (Trace.Scope scope = Trace.begin("graph.edges")) {
+            return scope.wrap(this.queryEdgesOfTx(query));
+        }
+    }
+
+    private Iterator<Edge> queryEdgesOfTx(Query query) {
         Iterator<HugeEdge> results = this.queryEdgesFromBackend(query);
         results = this.filterUnmatchedRecords(results, query);
 
@@ -1031,6 +1486,7 @@ public class GraphTransaction extends IndexableTransaction {
             vertex.setProperty(prop);
             return;
         }
+        this.ensureVertexLoaded(vertex);
         // Check is updating property of added/removed vertex
         E.checkArgument(!this.addedVertices.containsKey(vertex.id()) ||
                         this.updatedVertices.containsKey(vertex.id()),
@@ -1060,6 +1516,7 @@ public class GraphTransaction extends IndexableTransaction {
         PropertyKey propKey = prop.propertyKey();
         E.checkState(vertex != null,
                      "No owner for removing property '%s'", prop.key());
+        this.ensureVertexLoaded(vertex);
 
         // Maybe have ever been removed (compatible with tinkerpop)
         if (!vertex.hasProperty(propKey.id())) {
@@ -1095,6 +1552,17 @@ public class GraphTransaction extends IndexableTransaction {
         });
     }
 
+    private void ensureVertexLoaded(HugeVertex vertex) {
+        /*
+         * The vertex may be built from the values of covering index, or it's
+         * an adjacent vertex, load all properties before updating it to keep
+         * the vertex and indexes complete
+         */
+        if (!vertex.fresh() && !vertex.isPropLoaded()) {
+            vertex.forceLoad();
+        }
+    }
+
     @Watched(prefix = "graph")
     public <V> void addEdgeProperty(HugeEdgeProperty<V> prop) {
         // NOTE: this method can also be used to update property
@@ -1335,10 +1803,42 @@ public class GraphTransaction extends IndexableTransaction {
 
     private <R> QueryList<R> optimizeQueries(Query query,
                                              QueryResults.Fetcher<R> fetcher) {
+        return this.optimizeQueries(query, fetcher, null);
+    }
+
+    /**
+     * Flatten and optimize the query
+     * @param query         the query to flatten
+     * @param fetcher       the fetcher to fetch the sub-queries by this tx
+     * @param workerFetcher the fetcher of the tx of a query worker, the
+     *                      sub-queries would be fetched concurrently if
+     *                      it's not null and the query executor is enabled
+     * @return the flattened sub-queries
+     */
+    private <R> QueryList<R> optimizeQueries(
+            Query query, QueryResults.Fetcher<R> fetcher,
+            Function<GraphTransaction, QueryResults.Fetcher<R>> workerFetcher) {
+        /*
+         * The backend that supports IN condition will query the IN values
+         * in a batch, so the IN conditions are kept in the flattened queries
+         */
         boolean supportIn = this.storeFeatures().supportsQueryWithInCondition();
+        List<ConditionQuery> flattened = ConditionQueryFlatten.flatten(
+                                         (ConditionQuery) query, supportIn);
+        ExecutorService executor = this.params().queryExecutor();
+        boolean concurrent = workerFetcher != null && executor != null &&
+                             flattened.size() > 1 &&
+                             this.fetchConcurrently((ConditionQuery) query);
+        if (concurrent) {
+            /*
+             * Both the index query and the fetching are done by the workers
+             * with the tx of each worker, a tx can't be shared by threads
+             */
+            fetcher = q -> workerFetcher.apply(this.workerTx()).apply(q);
+        }
+
         QueryList<R> queries = new QueryList<>(query, fetcher);
-        for (ConditionQuery cq: ConditionQueryFlatten.flatten(
-                                (ConditionQuery) query, supportIn)) {
+        for (ConditionQuery cq : flattened) {
             // Optimize by sysprop
             Query q = this.optimizeQuery(cq);
             /*
@@ -1347,14 +1847,51 @@ public class GraphTransaction extends IndexableTransaction {
              * 2.index-query result(ids after optimization), which may be empty.
              */
             if (q == null) {
-                queries.add(this.indexQuery(cq), this.batchSize);
+                if (concurrent) {
+                    queries.add(() -> this.workerTx().indexQuery(cq),
+                                this.batchSize);
+                } else {
+                    queries.add(this.indexQuery(cq), this.batchSize);
+                }
             } else if (!q.empty()) {
                 queries.add(q);
             }
         }
+
+        if (concurrent) {
+            // Each worker fetches at most a page of results into memory
+            queries.concurrent(executor, this.concurrentOrdered,
+                               this.pageSize);
+        }
         return queries;
     }
 
+    private boolean fetchConcurrently(ConditionQuery query) {
+        /*
+         * The sub-queries share the offset, page and results filter (of
+         * search index) of the parent query, which are updated by the
+         * sub-queries one by one, and the reading of the tx with autoCommit
+         * may commit the updates, which can only be done by the owner thread
+         */
+        return !query.paging() && query.offset() == 0L &&
+               !query.hasSearchCondition() && !this.autoCommit();
+    }
+
+    private GraphTransaction workerTx() {
+        if (this.ownedByCurrentThread()) {
+            return this;
+        }
+        /*
+         * Use the tx of the query worker thread which attaches the backend
+         * sessions of the thread, the tx will be closed with the graph
+         */
+        return this.params().graphTransaction();
+    }
+
+    private QueryResults<BackendEntry> queryFromBackend(Query query) {
+        return super.query(query);
+    }
+
     private Query optimizeQuery(ConditionQuery query) {
         if (query.idsSize() > 0) {
             throw new HugeException(
@@ -1601,7 +2138,9 @@ public class GraphTransaction extends IndexableTransaction {
         Id pkey = prop.propertyKey().id();
         Set<Id> indexIds = new HashSet<>();
         for (Id il : schemaLabel.indexLabels()) {
-            if (graph().indexLabel(il).indexFields().contains(pkey)) {
+            IndexLabel indexLabel = graph().indexLabel(il);
+            if (indexLabel.indexFields().contains(pkey) ||
+                indexLabel.includeProperties().contains(pkey)) {
                 indexIds.add(il);
             }
         }
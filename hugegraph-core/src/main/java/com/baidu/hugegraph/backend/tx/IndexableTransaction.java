@@ -52,7 +52,8 @@ public abstract class IndexableTransaction extends AbstractTransaction {
     protected void commit2Backend() {
         BackendMutation mutation = this.prepareCommit();
         BackendMutation idxMutation = this.indexTransaction().prepareCommit();
-        assert !mutation.isEmpty() || !idxMutation.isEmpty();
+        assert !mutation.isEmpty() || !idxMutation.isEmpty() ||
+               this.indexTransaction().hasUpdate();
         // Commit graph/schema updates and index updates with graph/schema tx
         this.commitMutation2Backend(mutation, idxMutation);
     }
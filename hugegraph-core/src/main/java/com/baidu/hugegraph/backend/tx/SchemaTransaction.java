@@ -39,6 +39,7 @@ import com.baidu.hugegraph.backend.store.BackendEntry;
 import com.baidu.hugegraph.backend.store.BackendStore;
 import com.baidu.hugegraph.config.CoreOptions;
 import com.baidu.hugegraph.exception.NotAllowException;
+import com.baidu.hugegraph.exception.NotSupportException;
 import com.baidu.hugegraph.job.JobBuilder;
 import com.baidu.hugegraph.job.schema.EdgeLabelRemoveJob;
 import com.baidu.hugegraph.job.schema.IndexLabelRebuildJob;
@@ -370,6 +371,16 @@ public class SchemaTransaction extends IndexableTransaction {
         return this.getSchema(type, id) != null;
     }
 
+    /**
+     * Get the version of the schema, which is changed once any schema is
+     * changed, it's only maintained by the cached schema transaction since
+     * the schema changes of other servers are known by the cache events
+     * @return the version of the schema
+     */
+    public long version() {
+        throw new NotSupportException("schema version without cache");
+    }
+
     protected void updateSchema(SchemaElement schema) {
         this.addSchema(schema);
     }
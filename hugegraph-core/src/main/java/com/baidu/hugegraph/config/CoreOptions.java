@@ -23,6 +23,7 @@ import static com.baidu.hugegraph.backend.tx.GraphTransaction.COMMIT_BATCH;
 import static com.baidu.hugegraph.config.OptionChecker.allowValues;
 import static com.baidu.hugegraph.config.OptionChecker.disallowEmpty;
 import static com.baidu.hugegraph.config.OptionChecker.positiveInt;
+import static com.baidu.hugegraph.config.OptionChecker.rangeDouble;
 import static com.baidu.hugegraph.config.OptionChecker.rangeInt;
 
 import com.baidu.hugegraph.backend.query.Query;
@@ -364,7 +365,8 @@ public class CoreOptions extends OptionHolder {
     public static final ConfigOption<Boolean> VERTEX_REMOVE_LEFT_INDEX =
             new ConfigOption<>(
                     "vertex.remove_left_index_at_overwrite",
-                    "Whether remove left index at overwrite.",
+                    "Whether remove left index at overwrite, the covering " +
+                    "indexes are only used to answer queries if true.",
                     disallowEmpty(),
                     false
             );
@@ -437,6 +439,40 @@ public class CoreOptions extends OptionHolder {
                     false
             );
 
+    public static final ConfigOption<Boolean> QUERY_LAZY_DECODE_PROPERTIES =
+            new ConfigOption<>(
+                    "query.lazy_decode_properties",
+                    "Whether to decode the properties of vertex or edge " +
+                    "only when they are accessed, only for binary serializer.",
+                    disallowEmpty(),
+                    false
+            );
+
+    public static final ConfigOption<Boolean> QUERY_LABEL_COUNTER_ENABLE =
+            new ConfigOption<>(
+                    "query.label_counter_enable",
+                    "Whether to maintain the count of vertices and edges of " +
+                    "each label when committing, and count them by label " +
+                    "from the counters, the counters are only available " +
+                    "for the graph initialized with this option enabled, " +
+                    "and they are approximate if the same elements are " +
+                    "written by concurrent transactions.",
+                    disallowEmpty(),
+                    false
+            );
+
+    public static final ConfigOption<Boolean> QUERY_DEGREE_COUNTER_ENABLE =
+            new ConfigOption<>(
+                    "query.degree_counter_enable",
+                    "Whether to maintain the degree of each vertex by edge " +
+                    "label and direction when committing, which is used to " +
+                    "find super nodes without fetching edges, the counters " +
+                    "are only available for the graph initialized with " +
+                    "this option enabled.",
+                    disallowEmpty(),
+                    false
+            );
+
     public static final ConfigOption<Integer> QUERY_BATCH_SIZE =
             new ConfigOption<>(
                     "query.batch_size",
@@ -463,6 +499,26 @@ public class CoreOptions extends OptionHolder {
                     1000
             );
 
+    public static final ConfigOption<Integer> QUERY_CONCURRENT_THREADS =
+            new ConfigOption<>(
+                    "query.concurrent_threads",
+                    "The number of threads to run the flattened sub-queries " +
+                    "of the query with OR or IN conditions concurrently, " +
+                    "0 means running the sub-queries one by one.",
+                    rangeInt(0, 256),
+                    0
+            );
+
+    public static final ConfigOption<Boolean> QUERY_CONCURRENT_ORDERED =
+            new ConfigOption<>(
+                    "query.concurrent_ordered",
+                    "Whether to merge the results of the concurrent " +
+                    "sub-queries in the order of sub-queries, otherwise " +
+                    "merge them in the order of completion.",
+                    disallowEmpty(),
+                    true
+            );
+
     public static final ConfigOption<Boolean> QUERY_RAMTABLE_ENABLE =
             new ConfigOption<>(
                     "query.ramtable_enable",
@@ -510,6 +566,30 @@ public class CoreOptions extends OptionHolder {
                     10000L
             );
 
+    public static final ConfigOption<Long> SCHEMA_INDEX_STATISTICS_SAMPLE =
+            new ConfigOption<>(
+                    "schema.index_statistics_sample_size",
+                    "The max number of elements sampled to collect the " +
+                    "statistics of index labels when building index, " +
+                    "which are used to choose the most selective index " +
+                    "when querying, 0 means not to collect.",
+                    rangeInt(0L, Long.MAX_VALUE),
+                    100000L
+            );
+
+    public static final ConfigOption<Double> SCHEMA_INDEX_STATISTICS_REFRESH =
+            new ConfigOption<>(
+                    "schema.index_statistics_refresh_ratio",
+                    "The ratio of the modified elements to the indexed " +
+                    "elements of an index label since its statistics are " +
+                    "collected, the statistics will be collected again in " +
+                    "background once exceeded by scanning all the elements " +
+                    "of the base label, 0 means not to refresh and just " +
+                    "apply the tracked changes to the statistics.",
+                    rangeDouble(0.0, Double.MAX_VALUE),
+                    0.0
+            );
+
     public static final ConfigOption<String> VERTEX_CACHE_TYPE =
             new ConfigOption<>(
                     "vertex.cache_type",
@@ -651,4 +731,46 @@ public class CoreOptions extends OptionHolder {
                     CollectionType::valueOf,
                     "EC"
             );
+
+    public static final ConfigOption<Long> OLTP_RECORDS_MEMORY_LIMIT =
+            new ConfigOption<>(
+                    "oltp.records_memory_limit",
+                    "The max bytes of layers kept in heap by the " +
+                    "k-out/k-neighbor/paths records, finished layers are " +
+                    "compacted into sorted arrays and the oldest ones are " +
+                    "spilled to local files once the limit is exceeded, " +
+                    "0 means keeping all layers uncompacted in heap. The " +
+                    "mapping of the non-number vertex ids is not counted, " +
+                    "it's bounded by the capacity of the traversal.",
+                    rangeInt(0L, Long.MAX_VALUE),
+                    0L
+            );
+
+    public static final ConfigOption<String> OLTP_RECORDS_SPILL_PATH =
+            new ConfigOption<>(
+                    "oltp.records_spill_path",
+                    "The directory to store the spilled layers of oltp " +
+                    "records, the system temp directory is used if empty.",
+                    null,
+                    ""
+            );
+
+    public static final ConfigOption<Long> OLTP_RESULT_CACHE_CAPACITY =
+            new ConfigOption<>(
+                    "oltp.result_cache_capacity",
+                    "The max cache size(items) of the results of traverser " +
+                    "rest apis, the results are invalidated once the edges " +
+                    "of the traversed labels are changed, 0 means disabled.",
+                    rangeInt(0L, Long.MAX_VALUE),
+                    0L
+            );
+
+    public static final ConfigOption<Integer> OLTP_RESULT_CACHE_EXPIRE =
+            new ConfigOption<>(
+                    "oltp.result_cache_expire",
+                    "The expiration time in seconds of the results of " +
+                    "traverser rest apis.",
+                    rangeInt(0, Integer.MAX_VALUE),
+                    60
+            );
 }
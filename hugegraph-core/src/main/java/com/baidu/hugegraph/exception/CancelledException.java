@@ -17,35 +17,19 @@
  * under the License.
  */
 
-package com.baidu.hugegraph.define;
+package com.baidu.hugegraph.exception;
 
-import java.util.concurrent.atomic.AtomicInteger;
+import com.baidu.hugegraph.HugeException;
 
-public final class WorkLoad {
+public class CancelledException extends HugeException {
 
-    private final AtomicInteger load;
+    private static final long serialVersionUID = -4397512366092716364L;
 
-    public WorkLoad() {
-        this(0);
+    public CancelledException(String message) {
+        super(message);
     }
 
-    public WorkLoad(int load) {
-        this.load = new AtomicInteger(load);
-    }
-
-    public WorkLoad(AtomicInteger load) {
-        this.load = load;
-    }
-
-    public AtomicInteger get() {
-        return this.load;
-    }
-
-    public int incrementAndGet() {
-        return this.load.incrementAndGet();
-    }
-
-    public int decrementAndGet() {
-        return this.load.decrementAndGet();
+    public CancelledException(String message, Object... args) {
+        super(message, args);
     }
 }
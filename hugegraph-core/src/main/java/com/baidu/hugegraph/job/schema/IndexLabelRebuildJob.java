@@ -20,6 +20,8 @@
 package com.baidu.hugegraph.job.schema;
 
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Set;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
@@ -30,10 +32,13 @@ import org.apache.tinkerpop.gremlin.structure.Vertex;
 import com.baidu.hugegraph.backend.id.Id;
 import com.baidu.hugegraph.backend.tx.GraphTransaction;
 import com.baidu.hugegraph.backend.tx.SchemaTransaction;
+import com.baidu.hugegraph.config.CoreOptions;
 import com.baidu.hugegraph.schema.EdgeLabel;
 import com.baidu.hugegraph.schema.IndexLabel;
+import com.baidu.hugegraph.schema.IndexStatistics;
 import com.baidu.hugegraph.schema.SchemaElement;
 import com.baidu.hugegraph.schema.SchemaLabel;
+import com.baidu.hugegraph.schema.Userdata;
 import com.baidu.hugegraph.schema.VertexLabel;
 import com.baidu.hugegraph.structure.HugeElement;
 import com.baidu.hugegraph.type.HugeType;
@@ -88,10 +93,15 @@ public class IndexLabelRebuildJob extends SchemaJob {
         SchemaTransaction schemaTx = this.params().schemaTransaction();
         GraphTransaction graphTx = this.params().graphTransaction();
 
+        Map<Id, IndexStatistics.Collector> collectors =
+                this.statisticsCollectors(indexLabelIds);
         Consumer<?> indexUpdater = (elem) -> {
             for (Id id : indexLabelIds) {
                 graphTx.updateIndex(id, (HugeElement) elem, false);
             }
+            for (IndexStatistics.Collector collector : collectors.values()) {
+                collector.collect((HugeElement) elem);
+            }
         };
 
         LockUtil.Locks locks = new LockUtil.Locks(schemaTx.graphName());
@@ -141,14 +151,51 @@ public class IndexLabelRebuildJob extends SchemaJob {
                 throw e;
             }
 
+            IndexStatistics.Tracker tracker = this.params()
+                                                  .indexStatisticsTracker();
             for (IndexLabel il : ils) {
-                schemaTx.updateSchemaStatus(il, SchemaStatus.CREATED);
+                // Save the statistics together with the status
+                IndexStatistics.Collector collector = collectors.get(il.id());
+                // Publish a copy instead of updating the userdata being read
+                IndexLabel updated = (IndexLabel) il.copy();
+                // Needn't save the statistics if there is no element indexed
+                if (collector != null && collector.elements() > 0L) {
+                    updated.userdata(Userdata.INDEX_STATISTICS,
+                                     collector.statistics().asMap());
+                } else if (collector != null) {
+                    updated.removeUserdata(Userdata.INDEX_STATISTICS);
+                }
+                schemaTx.updateSchemaStatus(updated, SchemaStatus.CREATED);
+                // The changes of rebuilding are collected as statistics
+                if (collector != null) {
+                    tracker.reset(il.id());
+                }
             }
         } finally {
             locks.unlock();
         }
     }
 
+    private Map<Id, IndexStatistics.Collector> statisticsCollectors(
+                                               Collection<Id> indexLabelIds) {
+        long sampleSize = this.params().configuration().get(
+                          CoreOptions.SCHEMA_INDEX_STATISTICS_SAMPLE);
+        Map<Id, IndexStatistics.Collector> collectors = new HashMap<>();
+        if (sampleSize <= 0L) {
+            return collectors;
+        }
+        for (Id id : indexLabelIds) {
+            IndexLabel il = this.graph().indexLabel(id);
+            // The statistics are used to choose index or rank search results
+            if (il.indexType().isUnique()) {
+                continue;
+            }
+            collectors.put(id, IndexStatisticsJob.collector(this.params(),
+                                                            il, sampleSize));
+        }
+        return collectors;
+    }
+
     private void removeIndex(Collection<Id> indexLabelIds) {
         SchemaTransaction schemaTx = this.params().schemaTransaction();
         GraphTransaction graphTx = this.params().graphTransaction();
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.job.schema;
+
+import java.util.function.Consumer;
+
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.slf4j.Logger;
+
+import com.baidu.hugegraph.HugeGraphParams;
+import com.baidu.hugegraph.analyzer.Analyzer;
+import com.baidu.hugegraph.backend.id.Id;
+import com.baidu.hugegraph.backend.tx.GraphIndexTransaction;
+import com.baidu.hugegraph.backend.tx.GraphTransaction;
+import com.baidu.hugegraph.backend.tx.SchemaTransaction;
+import com.baidu.hugegraph.config.CoreOptions;
+import com.baidu.hugegraph.job.EphemeralJob;
+import com.baidu.hugegraph.schema.EdgeLabel;
+import com.baidu.hugegraph.schema.IndexLabel;
+import com.baidu.hugegraph.schema.IndexStatistics;
+import com.baidu.hugegraph.schema.Userdata;
+import com.baidu.hugegraph.schema.VertexLabel;
+import com.baidu.hugegraph.structure.HugeElement;
+import com.baidu.hugegraph.type.HugeType;
+import com.baidu.hugegraph.type.define.SchemaStatus;
+import com.baidu.hugegraph.util.E;
+import com.baidu.hugegraph.util.Log;
+
+/**
+ * Collect the statistics of an index label again in background, which is
+ * scheduled once the elements of the index label are modified enough since
+ * the statistics are collected.
+ */
+public class IndexStatisticsJob extends EphemeralJob<Object> {
+
+    private static final Logger LOG = Log.logger(IndexStatisticsJob.class);
+
+    private static final String JOB_TYPE = "index_statistics";
+
+    private final Id indexLabel;
+
+    public IndexStatisticsJob(Id indexLabel) {
+        E.checkArgumentNotNull(indexLabel, "index label");
+        this.indexLabel = indexLabel;
+    }
+
+    @Override
+    public String type() {
+        return JOB_TYPE;
+    }
+
+    @Override
+    public Object execute() {
+        HugeGraphParams params = this.params();
+        IndexStatistics.Tracker tracker = params.indexStatisticsTracker();
+        try {
+            this.refreshStatistics(params, tracker);
+        } finally {
+            tracker.finishRefresh(this.indexLabel);
+        }
+        return null;
+    }
+
+    private void refreshStatistics(HugeGraphParams params,
+                                   IndexStatistics.Tracker tracker) {
+        SchemaTransaction schemaTx = params.schemaTransaction();
+        IndexLabel il = schemaTx.getIndexLabel(this.indexLabel);
+        long sampleSize = params.configuration().get(
+                          CoreOptions.SCHEMA_INDEX_STATISTICS_SAMPLE);
+        // The index label may be removed or being rebuilt
+        if (il == null || il.status() != SchemaStatus.CREATED ||
+            sampleSize <= 0L) {
+            return;
+        }
+
+        IndexStatistics.Collector collector = collector(params, il,
+                                                        sampleSize);
+        GraphTransaction graphTx = params.graphTransaction();
+        if (il.baseType() == HugeType.VERTEX_LABEL) {
+            VertexLabel label = schemaTx.getVertexLabel(il.baseValue());
+            Consumer<Vertex> consumer = vertex -> {
+                collector.collect((HugeElement) vertex);
+            };
+            graphTx.traverseVerticesByLabel(label, consumer, false);
+        } else {
+            assert il.baseType() == HugeType.EDGE_LABEL;
+            EdgeLabel label = schemaTx.getEdgeLabel(il.baseValue());
+            Consumer<Edge> consumer = edge -> {
+                collector.collect((HugeElement) edge);
+            };
+            graphTx.traverseEdgesByLabel(label, consumer, false);
+        }
+
+        /*
+         * The changes committed during traversing are mostly collected, so
+         * just reset the tracked changes after saved the statistics
+         */
+        il = schemaTx.getIndexLabel(this.indexLabel);
+        if (il == null) {
+            return;
+        }
+        // Publish a copy instead of updating the index label being read
+        IndexLabel updated = (IndexLabel) il.copy();
+        updated.userdata(Userdata.INDEX_STATISTICS,
+                         collector.statistics().asMap());
+        SchemaJob.updateSchema(schemaTx, updated);
+        tracker.reset(this.indexLabel);
+        LOG.debug("Refreshed the statistics of index label '{}' with {} " +
+                  "elements", il.name(), collector.elements());
+    }
+
+    /**
+     * Create the collector of the statistics of the index label, the words
+     * of the texts are counted for the scoring search index
+     */
+    static IndexStatistics.Collector collector(HugeGraphParams params,
+                                               IndexLabel indexLabel,
+                                               long sampleSize) {
+        if (!indexLabel.scoring()) {
+            return new IndexStatistics.Collector(indexLabel, sampleSize);
+        }
+        Analyzer analyzer = params.analyzer();
+        return new IndexStatistics.Collector(indexLabel, sampleSize, value -> {
+            return GraphIndexTransaction.searchTokens(analyzer, value);
+        });
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.metrics;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.baidu.hugegraph.iterator.WrappedIterator;
+
+/**
+ * A lock-free latency histogram with fixed log-linear buckets from 5us to
+ * 10s (1-2-5 per decade), like a low precision HdrHistogram, the buckets
+ * are fixed so that the histograms of the same metric can be aggregated
+ * and exported as Prometheus histograms without any copy or sorting.
+ */
+public final class LatencyHistogram {
+
+    private static final long[] BOUNDS;
+
+    static {
+        long[] mantissas = new long[]{1L, 2L, 5L};
+        long[] bounds = new long[20];
+        bounds[0] = TimeUnit.MICROSECONDS.toNanos(5L);
+        long unit = TimeUnit.MICROSECONDS.toNanos(10L);
+        for (int i = 1; i < bounds.length; i++) {
+            bounds[i] = unit * mantissas[(i - 1) % 3];
+            if (i % 3 == 0) {
+                unit *= 10L;
+            }
+        }
+        // The last bound is 10s
+        assert bounds[bounds.length - 1] == TimeUnit.SECONDS.toNanos(10L);
+        BOUNDS = bounds;
+    }
+
+    // The count of each bucket, the last one is the overflow bucket
+    private final LongAdder[] counts;
+    private final LongAdder sum;
+
+    public LatencyHistogram() {
+        this.counts = new LongAdder[BOUNDS.length + 1];
+        for (int i = 0; i < this.counts.length; i++) {
+            this.counts[i] = new LongAdder();
+        }
+        this.sum = new LongAdder();
+    }
+
+    /**
+     * Record a latency
+     * @param nanos the latency in nanoseconds
+     */
+    public void record(long nanos) {
+        this.add(nanos);
+    }
+
+    /**
+     * Record the latency of a lazy iteration as one latency, which is the
+     * time from the start to the creation of the iterator plus the time
+     * spent in hasNext()/next() of the iterator, so that the cost of the
+     * pages fetched during iteration is included but the time of the caller
+     * between them is not. The latency is recorded at once and increased
+     * with each fetch, so the iterators dropped early are also recorded.
+     * @param iterator the iterator to be recorded
+     * @param start the start time in nanoseconds of the query
+     * @return the wrapped iterator
+     */
+    public <T> Iterator<T> record(Iterator<T> iterator, long start) {
+        return new RecordedIterator<>(this, iterator,
+                                      System.nanoTime() - start);
+    }
+
+    /**
+     * @return the cumulative count of each bucket, the count of latencies
+     *         less than or equal to the corresponding bound, the last one
+     *         is the total count
+     */
+    public long[] cumulativeCounts() {
+        long[] counts = new long[this.counts.length];
+        long total = 0L;
+        for (int i = 0; i < counts.length; i++) {
+            total += this.counts[i].sum();
+            counts[i] = total;
+        }
+        return counts;
+    }
+
+    public long count() {
+        long total = 0L;
+        for (LongAdder count : this.counts) {
+            total += count.sum();
+        }
+        return total;
+    }
+
+    /**
+     * @return the sum of the latencies in nanoseconds
+     */
+    public long sum() {
+        return this.sum.sum();
+    }
+
+    /**
+     * @return the upper bounds in nanoseconds of the buckets except the
+     *         overflow bucket
+     */
+    public static long[] bounds() {
+        return BOUNDS.clone();
+    }
+
+    private int add(long nanos) {
+        if (nanos < 0L) {
+            nanos = 0L;
+        }
+        int index = bucket(nanos);
+        this.counts[index].increment();
+        this.sum.add(nanos);
+        return index;
+    }
+
+    /**
+     * Increase a recorded latency by delta, and move it to the new bucket
+     * if it exceeds the bound of the old one
+     * @return the bucket of the increased latency
+     */
+    private int increase(int index, long nanos, long delta) {
+        this.sum.add(delta);
+        if (index < BOUNDS.length && nanos > BOUNDS[index]) {
+            int newIndex = bucket(nanos);
+            this.counts[newIndex].increment();
+            this.counts[index].decrement();
+            return newIndex;
+        }
+        return index;
+    }
+
+    private static int bucket(long nanos) {
+        int index = Arrays.binarySearch(BOUNDS, nanos);
+        if (index < 0) {
+            // The insertion point is the first bound greater than nanos
+            index = -index - 1;
+        }
+        return index;
+    }
+
+    private static final class RecordedIterator<T>
+                         extends WrappedIterator<T> {
+
+        private final LatencyHistogram histogram;
+        private final Iterator<T> iterator;
+        private long nanos;
+        private int bucket;
+
+        public RecordedIterator(LatencyHistogram histogram,
+                                Iterator<T> iterator, long nanos) {
+            this.histogram = histogram;
+            this.iterator = iterator;
+            this.nanos = Math.max(nanos, 0L);
+            this.bucket = histogram.add(this.nanos);
+        }
+
+        @Override
+        protected Iterator<T> originIterator() {
+            return this.iterator;
+        }
+
+        @Override
+        protected boolean fetch() {
+            long start = System.nanoTime();
+            try {
+                if (!this.iterator.hasNext()) {
+                    return false;
+                }
+                this.current = this.iterator.next();
+                return true;
+            } finally {
+                long delta = System.nanoTime() - start;
+                this.nanos += delta;
+                this.bucket = this.histogram.increase(this.bucket,
+                                                      this.nanos, delta);
+            }
+        }
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.metrics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.baidu.hugegraph.util.E;
+import com.baidu.hugegraph.util.InsertionOrderUtil;
+
+/**
+ * A family of latency histograms with the same name and label names, like
+ * the latency of backend operations labeled by graph, store, table and
+ * operation, the families are registered globally to be exported.
+ */
+public final class LatencyMetrics {
+
+    private static final Map<String, LatencyMetrics> FAMILIES =
+                         Collections.synchronizedMap(
+                         InsertionOrderUtil.newMap());
+
+    private final String name;
+    private final String help;
+    private final List<String> labelNames;
+    private final ConcurrentMap<List<String>, LatencyHistogram> histograms;
+
+    private LatencyMetrics(String name, String help, String... labelNames) {
+        this.name = name;
+        this.help = help;
+        this.labelNames = Collections.unmodifiableList(
+                          Arrays.asList(labelNames));
+        this.histograms = new ConcurrentHashMap<>();
+    }
+
+    public String name() {
+        return this.name;
+    }
+
+    public String help() {
+        return this.help;
+    }
+
+    public List<String> labelNames() {
+        return this.labelNames;
+    }
+
+    /**
+     * Get or create the histogram of the label values, the caller should
+     * keep the histogram to avoid the lookup in hot paths
+     */
+    public LatencyHistogram histogram(String... labelValues) {
+        E.checkArgument(labelValues.length == this.labelNames.size(),
+                        "Expect %s label values for %s, but got %s",
+                        this.labelNames.size(), this.name,
+                        labelValues.length);
+        List<String> key = Arrays.asList(labelValues);
+        return this.histograms.computeIfAbsent(key,
+                                               k -> new LatencyHistogram());
+    }
+
+    /**
+     * @return the histograms keyed by the label values
+     */
+    public Map<List<String>, LatencyHistogram> histograms() {
+        return Collections.unmodifiableMap(this.histograms);
+    }
+
+    /**
+     * Register a family of latency histograms, or get the registered one
+     * @param name          the name of the metric like "backend_latency"
+     * @param help          the description of the metric
+     * @param labelNames    the names of the labels
+     * @return              the family of latency histograms
+     */
+    public static LatencyMetrics register(String name, String help,
+                                          String... labelNames) {
+        E.checkArgument(name != null && !name.isEmpty(),
+                        "The metric name can't be null or empty");
+        LatencyMetrics metrics = FAMILIES.computeIfAbsent(name, k -> {
+            return new LatencyMetrics(name, help, labelNames);
+        });
+        E.checkArgument(metrics.labelNames.equals(Arrays.asList(labelNames)),
+                        "The metric '%s' has been registered with labels %s",
+                        name, metrics.labelNames);
+        return metrics;
+    }
+
+    public static List<LatencyMetrics> families() {
+        synchronized (FAMILIES) {
+            return new ArrayList<>(FAMILIES.values());
+        }
+    }
+}
@@ -21,6 +21,7 @@ package com.baidu.hugegraph.schema;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -118,6 +119,73 @@ public class IndexLabel extends SchemaElement {
         return this.indexFields.get(0);
     }
 
+    /**
+     * Get the property keys whose values are included in the index entries
+     * besides the index fields, they are kept in the userdata
+     * @return the included property keys, or empty if not a covering index
+     */
+    public List<Id> includeProperties() {
+        Object value = this.userdata().get(Userdata.INCLUDE_PROPERTIES);
+        if (!(value instanceof List)) {
+            return Collections.emptyList();
+        }
+        List<?> keys = (List<?>) value;
+        List<Id> ids = new ArrayList<>(keys.size());
+        for (Object key : keys) {
+            ids.add(IdGenerator.of(((Number) key).longValue()));
+        }
+        return ids;
+    }
+
+    public boolean covering() {
+        // The vectors are saved in the entries of vector index
+        return this.userdata().get(Userdata.INCLUDE_PROPERTIES) != null ||
+               this.indexType.isVector();
+    }
+
+    /**
+     * Check whether the values of all the property keys can be got from the
+     * index entries, including the index fields and included properties
+     * @param keys the property keys
+     * @return     true if it's a covering index and all keys are covered
+     */
+    public boolean covers(Collection<Id> keys) {
+        if (!this.covering()) {
+            return false;
+        }
+        List<Id> included = this.includeProperties();
+        for (Id key : keys) {
+            if (!this.indexFields.contains(key) && !included.contains(key)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Check whether the postings of words are saved in the entries of search
+     * index, which are used to rank the results. The search index labels
+     * created before are not scoring, the results of them are unordered.
+     * @return true if it's a search index with postings
+     */
+    public boolean scoring() {
+        return this.indexType.isSearch() &&
+               Boolean.TRUE.equals(this.userdata().get(Userdata.SCORING));
+    }
+
+    /**
+     * Get the dimension of the vectors in a vector index, which is kept in
+     * the userdata
+     * @return the dimension, or 0 if not a vector index
+     */
+    public int vectorDimension() {
+        Object value = this.userdata().get(Userdata.VECTOR_DIMENSION);
+        if (!this.indexType.isVector() || !(value instanceof Number)) {
+            return 0;
+        }
+        return ((Number) value).intValue();
+    }
+
     public SchemaLabel baseLabel() {
         return getBaseLabel(this.graph, this.baseType, this.baseValue);
     }
@@ -271,6 +339,19 @@ public class IndexLabel extends SchemaElement {
 
         Builder unique();
 
+        Builder bitmap();
+
+        Builder vector();
+
+        Builder dimension(int dimension);
+
+        /*
+         * The covering index answers queries from its entries only if
+         * vertex.remove_left_index_at_overwrite is true (default false),
+         * otherwise it's used as a normal index
+         */
+        Builder include(String... properties);
+
         Builder on(HugeType baseType, String baseValue);
 
         Builder indexType(IndexType indexType);
@@ -0,0 +1,502 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.schema;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.ToIntFunction;
+
+import com.baidu.hugegraph.backend.id.Id;
+import com.baidu.hugegraph.backend.query.Condition.Relation;
+import com.baidu.hugegraph.backend.query.Condition.RelationType;
+import com.baidu.hugegraph.backend.query.ConditionQuery;
+import com.baidu.hugegraph.structure.HugeElement;
+import com.baidu.hugegraph.structure.HugeProperty;
+import com.baidu.hugegraph.util.E;
+import com.baidu.hugegraph.util.InsertionOrderUtil;
+import com.baidu.hugegraph.util.NumericUtil;
+
+/**
+ * The statistics of an index label sampled from the elements of its base
+ * label, which are kept in the userdata of the index label and used to
+ * estimate the count of element ids matched by the conditions of a query,
+ * or to rank the results of a scoring search index.
+ */
+public final class IndexStatistics {
+
+    private static final String ELEMENTS = "elements";
+    private static final String DISTINCT = "distinct";
+    private static final String HISTOGRAM = "histogram";
+    private static final String TOKENS = "tokens";
+
+    private static final int HISTOGRAM_BUCKETS = 32;
+
+    // The count of the indexed elements
+    private final long elements;
+    // The estimated count of distinct values of each index fields prefix
+    private final long[] distinct;
+    // The bounds of equi-depth buckets of values, only for range index
+    private final double[] histogram;
+    // The total count of words of the indexed texts, only for search index
+    private final long tokens;
+
+    private IndexStatistics(long elements, long[] distinct,
+                            double[] histogram, long tokens) {
+        this.elements = elements;
+        this.distinct = distinct;
+        this.histogram = histogram;
+        this.tokens = tokens;
+    }
+
+    public long elements() {
+        return this.elements;
+    }
+
+    public long tokens() {
+        return this.tokens;
+    }
+
+    /**
+     * Get the average count of words of the indexed texts
+     * @return the average count, or 0 if no words counted
+     */
+    public double avgTokens() {
+        if (this.elements <= 0L || this.tokens <= 0L) {
+            return 0.0D;
+        }
+        return (double) this.tokens / this.elements;
+    }
+
+    public long distinct(int fields) {
+        E.checkArgument(fields > 0 && fields <= this.distinct.length,
+                        "Invalid index fields count %s", fields);
+        return this.distinct[fields - 1];
+    }
+
+    /**
+     * Estimate the count of element ids matched by the conditions of the
+     * query on the index fields, assume the values are uniform except range
+     * conditions which are estimated by the histogram
+     * @param indexLabel the index label of the statistics
+     * @param query      the query with conditions of user properties
+     * @return           the estimated count of element ids
+     */
+    public long estimate(IndexLabel indexLabel, ConditionQuery query) {
+        double selectivity = 1.0D;
+        int eqFields = 0;
+        double eqValues = 1.0D;
+        for (Id field : indexLabel.indexFields()) {
+            List<Relation> relations = relations(query, field);
+            if (relations.isEmpty()) {
+                break;
+            }
+            Relation relation = relations.get(0);
+            if (relations.size() == 1 &&
+                relation.relation() == RelationType.EQ) {
+                eqFields++;
+            } else if (relations.size() == 1 &&
+                       relation.relation() == RelationType.IN) {
+                eqFields++;
+                eqValues *= ((Collection<?>) relation.value()).size();
+            } else {
+                // Range condition can only be the last one of the fields
+                selectivity *= this.rangeSelectivity(relations);
+                break;
+            }
+        }
+        if (eqFields > 0 && eqFields <= this.distinct.length) {
+            long distinct = Math.max(this.distinct[eqFields - 1], 1L);
+            selectivity *= Math.min(1.0D, eqValues / distinct);
+        }
+        return (long) Math.ceil(selectivity * this.elements);
+    }
+
+    private double rangeSelectivity(List<Relation> relations) {
+        if (this.histogram.length < 2) {
+            return 1.0D;
+        }
+        double low = 0.0D;
+        double high = 1.0D;
+        for (Relation relation : relations) {
+            if (!relation.relation().isRangeType()) {
+                return 1.0D;
+            }
+            double value = toDouble(relation.value());
+            if (Double.isNaN(value)) {
+                return 1.0D;
+            }
+            switch (relation.relation()) {
+                case GT:
+                case GTE:
+                    low = Math.max(low, this.cdf(value));
+                    break;
+                case LT:
+                case LTE:
+                    high = Math.min(high, this.cdf(value));
+                    break;
+                default:
+                    return 1.0D;
+            }
+        }
+        // At least one bucket is matched in case of inaccurate histogram
+        double minimum = 1.0D / (HISTOGRAM_BUCKETS * 2);
+        return Math.max(high - low, minimum);
+    }
+
+    private double cdf(double value) {
+        double[] bounds = this.histogram;
+        int last = bounds.length - 1;
+        if (value <= bounds[0]) {
+            return 0.0D;
+        }
+        if (value >= bounds[last]) {
+            return 1.0D;
+        }
+        int i = Arrays.binarySearch(bounds, value);
+        if (i < 0) {
+            // The bucket of the value: bounds[i] < value < bounds[i + 1]
+            i = -i - 2;
+        }
+        double width = bounds[i + 1] - bounds[i];
+        double offset = width > 0.0D ? (value - bounds[i]) / width : 0.0D;
+        return (i + offset) / last;
+    }
+
+    /**
+     * Apply the changes of the indexed elements since the statistics are
+     * collected, the distinct values and histogram are kept as they were
+     * @param elements the count of added elements minus removed elements
+     * @param tokens   the count of added words minus removed words
+     * @return         the statistics with the changes applied
+     */
+    public IndexStatistics withChanges(long elements, long tokens) {
+        if (elements == 0L && tokens == 0L) {
+            return this;
+        }
+        return new IndexStatistics(Math.max(this.elements + elements, 0L),
+                                   this.distinct, this.histogram,
+                                   Math.max(this.tokens + tokens, 0L));
+    }
+
+    public Map<String, Object> asMap() {
+        List<Long> distinct = new ArrayList<>(this.distinct.length);
+        for (long d : this.distinct) {
+            distinct.add(d);
+        }
+        List<Double> histogram = new ArrayList<>(this.histogram.length);
+        for (double b : this.histogram) {
+            histogram.add(b);
+        }
+        Map<String, Object> map = InsertionOrderUtil.newMap();
+        map.put(ELEMENTS, this.elements);
+        map.put(DISTINCT, distinct);
+        map.put(HISTOGRAM, histogram);
+        if (this.tokens > 0L) {
+            map.put(TOKENS, this.tokens);
+        }
+        return map;
+    }
+
+    /**
+     * Get the statistics from the userdata of the index label
+     * @param indexLabel the index label
+     * @return           the statistics, or null if not collected yet
+     */
+    public static IndexStatistics of(IndexLabel indexLabel) {
+        Object value = indexLabel.userdata().get(Userdata.INDEX_STATISTICS);
+        if (!(value instanceof Map)) {
+            return null;
+        }
+        Map<?, ?> map = (Map<?, ?>) value;
+        Object elements = map.get(ELEMENTS);
+        Object distinct = map.get(DISTINCT);
+        Object histogram = map.get(HISTOGRAM);
+        if (!(elements instanceof Number) || !(distinct instanceof List) ||
+            !(histogram instanceof List)) {
+            return null;
+        }
+
+        List<?> distinctList = (List<?>) distinct;
+        long[] distinctArray = new long[distinctList.size()];
+        for (int i = 0; i < distinctArray.length; i++) {
+            distinctArray[i] = ((Number) distinctList.get(i)).longValue();
+        }
+        List<?> histogramList = (List<?>) histogram;
+        double[] histogramArray = new double[histogramList.size()];
+        for (int i = 0; i < histogramArray.length; i++) {
+            histogramArray[i] = ((Number) histogramList.get(i)).doubleValue();
+        }
+        // The tokens are only collected for scoring search index
+        Object tokens = map.get(TOKENS);
+        long tokensCount = tokens instanceof Number ?
+                           ((Number) tokens).longValue() : 0L;
+        return new IndexStatistics(((Number) elements).longValue(),
+                                   distinctArray, histogramArray,
+                                   tokensCount);
+    }
+
+    private static List<Relation> relations(ConditionQuery query, Id field) {
+        List<Relation> relations = null;
+        for (Relation relation : query.userpropRelations()) {
+            if (!field.equals(relation.key())) {
+                continue;
+            }
+            if (relations == null) {
+                relations = new ArrayList<>();
+            }
+            relations.add(relation);
+        }
+        return relations == null ? Collections.emptyList() : relations;
+    }
+
+    private static double toDouble(Object value) {
+        try {
+            return NumericUtil.convertToNumber(value).doubleValue();
+        } catch (RuntimeException ignored) {
+            return Double.NaN;
+        }
+    }
+
+    /**
+     * Collect the statistics of an index label from the elements of its
+     * base label, only the values of the first sampleSize elements are kept
+     * in memory, the others are just counted. The values of search index
+     * aren't sampled, just the words of them are counted by the tokenizer.
+     */
+    public static class Collector {
+
+        private final IndexLabel indexLabel;
+        private final long sampleSize;
+        private final ToIntFunction<Object> tokenizer;
+        private final List<Map<List<Object>, Integer>> prefixCounts;
+        private final List<Double> values;
+        private long elements;
+        private long sampled;
+        private long tokens;
+
+        public Collector(IndexLabel indexLabel, long sampleSize) {
+            this(indexLabel, sampleSize, null);
+        }
+
+        public Collector(IndexLabel indexLabel, long sampleSize,
+                         ToIntFunction<Object> tokenizer) {
+            E.checkArgument(sampleSize > 0L,
+                            "The sample size must be > 0, but got %s",
+                            sampleSize);
+            this.indexLabel = indexLabel;
+            this.sampleSize = sampleSize;
+            this.tokenizer = tokenizer;
+            int fields = indexLabel.indexFields().size();
+            this.prefixCounts = new ArrayList<>(fields);
+            for (int i = 0; i < fields; i++) {
+                this.prefixCounts.add(new HashMap<>());
+            }
+            this.values = new ArrayList<>();
+            this.elements = 0L;
+            this.sampled = 0L;
+            this.tokens = 0L;
+        }
+
+        public void collect(HugeElement element) {
+            // The element isn't indexed if the first field is null
+            List<Object> fieldValues = new ArrayList<>();
+            for (Id field : this.indexLabel.indexFields()) {
+                HugeProperty<?> property = element.getProperty(field);
+                if (property == null) {
+                    break;
+                }
+                fieldValues.add(property.value());
+            }
+            if (fieldValues.isEmpty()) {
+                return;
+            }
+
+            this.elements++;
+            if (this.indexLabel.indexType().isSearch()) {
+                if (this.tokenizer != null) {
+                    this.tokens += this.tokenizer.applyAsInt(
+                                   fieldValues.get(0));
+                }
+                return;
+            }
+            if (this.sampled >= this.sampleSize) {
+                return;
+            }
+            this.sampled++;
+            for (int i = 0; i < fieldValues.size(); i++) {
+                List<Object> prefix = new ArrayList<>(fieldValues.subList(
+                                                      0, i + 1));
+                this.prefixCounts.get(i).merge(prefix, 1, Integer::sum);
+            }
+            if (this.indexLabel.indexType().isRange()) {
+                double value = toDouble(fieldValues.get(0));
+                if (!Double.isNaN(value)) {
+                    this.values.add(value);
+                }
+            }
+        }
+
+        public long elements() {
+            return this.elements;
+        }
+
+        public IndexStatistics statistics() {
+            long[] distinct = new long[this.prefixCounts.size()];
+            for (int i = 0; i < distinct.length; i++) {
+                distinct[i] = this.estimateDistinct(this.prefixCounts.get(i));
+            }
+
+            double[] histogram = new double[0];
+            int size = this.values.size();
+            if (size > 1) {
+                Collections.sort(this.values);
+                int buckets = Math.min(HISTOGRAM_BUCKETS, size - 1);
+                histogram = new double[buckets + 1];
+                for (int i = 0; i <= buckets; i++) {
+                    int index = (int) ((long) i * (size - 1) / buckets);
+                    histogram[i] = this.values.get(index);
+                }
+            }
+            return new IndexStatistics(this.elements, distinct, histogram,
+                                       this.tokens);
+        }
+
+        private long estimateDistinct(Map<List<Object>, Integer> counts) {
+            if (this.sampled == 0L || this.sampled >= this.elements) {
+                return counts.size();
+            }
+            /*
+             * Estimate by GEE: sqrt(N/n) * f1 + sum(fj), j >= 2, fj is the
+             * count of values which appear j times in the sample
+             */
+            long once = 0L;
+            long others = 0L;
+            for (int count : counts.values()) {
+                if (count == 1) {
+                    once++;
+                } else {
+                    others++;
+                }
+            }
+            double scale = Math.sqrt((double) this.elements / this.sampled);
+            return (long) Math.ceil(scale * once) + others;
+        }
+    }
+
+    /**
+     * Track the changes of the indexed elements of index labels since their
+     * statistics are collected, which are applied to the saved statistics
+     * until the statistics are collected again. It's shared by all the
+     * transactions of a graph.
+     */
+    public static class Tracker {
+
+        // The value is [elements, tokens, modifications]
+        private final Map<Id, long[]> changes;
+        private final Set<Id> refreshing;
+
+        public Tracker() {
+            this.changes = new HashMap<>();
+            this.refreshing = new HashSet<>();
+        }
+
+        public synchronized void apply(Id indexLabel, long elements,
+                                       long tokens, long modifications) {
+            long[] changes = this.changes.computeIfAbsent(indexLabel,
+                                                          k -> new long[3]);
+            changes[0] += elements;
+            changes[1] += tokens;
+            changes[2] += modifications;
+        }
+
+        public synchronized void reset(Id indexLabel) {
+            this.changes.remove(indexLabel);
+        }
+
+        public synchronized void clear() {
+            this.changes.clear();
+        }
+
+        /**
+         * Get the saved statistics of the index label with the tracked
+         * changes applied, the statistics of search index are built from
+         * the changes if not collected yet
+         * @param indexLabel the index label
+         * @return           the statistics, or null if not collected yet
+         */
+        public IndexStatistics statistics(IndexLabel indexLabel) {
+            IndexStatistics statistics = IndexStatistics.of(indexLabel);
+            long[] changes;
+            synchronized (this) {
+                changes = this.changes.get(indexLabel.id());
+                if (changes == null) {
+                    return statistics;
+                }
+                changes = changes.clone();
+            }
+            if (statistics == null) {
+                // Only search index has nothing to sample but the counts
+                if (!indexLabel.indexType().isSearch()) {
+                    return null;
+                }
+                statistics = new IndexStatistics(0L, new long[0],
+                                                 new double[0], 0L);
+            }
+            return statistics.withChanges(changes[0], changes[1]);
+        }
+
+        /**
+         * Mark the index label as refreshing if its elements are modified
+         * enough since the statistics are collected, the mark must be
+         * cleared by finishRefresh() after refreshed
+         * @param indexLabel the index label
+         * @param ratio      the ratio of modifications to the elements
+         * @param minimum    the min count of modifications
+         * @return           true if the statistics should be refreshed
+         */
+        public synchronized boolean startRefresh(IndexLabel indexLabel,
+                                                 double ratio,
+                                                 long minimum) {
+            Id id = indexLabel.id();
+            long[] changes = this.changes.get(id);
+            if (changes == null || this.refreshing.contains(id)) {
+                return false;
+            }
+            IndexStatistics statistics = IndexStatistics.of(indexLabel);
+            long elements = statistics == null ? 0L : statistics.elements();
+            if (changes[2] < Math.max(minimum, (long) (ratio * elements))) {
+                return false;
+            }
+            this.refreshing.add(id);
+            return true;
+        }
+
+        public synchronized void finishRefresh(Id indexLabel) {
+            this.refreshing.remove(indexLabel);
+        }
+    }
+}
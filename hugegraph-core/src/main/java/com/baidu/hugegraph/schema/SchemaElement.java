@@ -57,7 +57,7 @@ public abstract class SchemaElement implements Nameable, Typeable,
 
     private final Id id;
     private final String name;
-    private final Userdata userdata;
+    private Userdata userdata;
     private SchemaStatus status;
 
     public SchemaElement(final HugeGraph graph, Id id, String name) {
@@ -137,7 +137,10 @@ public abstract class SchemaElement implements Nameable, Typeable,
 
     public SchemaElement copy() {
         try {
-            return (SchemaElement) super.clone();
+            SchemaElement copy = (SchemaElement) super.clone();
+            // The userdata of the copy can be updated separately
+            copy.userdata = new Userdata(this.userdata);
+            return copy;
         } catch (CloneNotSupportedException e) {
             throw new HugeException("Failed to clone schema", e);
         }
@@ -31,6 +31,10 @@ public class Userdata extends HashMap<String, Object> {
 
     public static final String CREATE_TIME = "~create_time";
     public static final String DEFAULT_VALUE = "~default_value";
+    public static final String INDEX_STATISTICS = "~index_statistics";
+    public static final String INCLUDE_PROPERTIES = "~include_properties";
+    public static final String SCORING = "~scoring";
+    public static final String VECTOR_DIMENSION = "~vector_dimension";
 
     public Userdata() {
     }
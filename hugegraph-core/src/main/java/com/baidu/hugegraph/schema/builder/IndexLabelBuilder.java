@@ -36,6 +36,7 @@ import com.baidu.hugegraph.config.CoreOptions;
 import com.baidu.hugegraph.exception.ExistedException;
 import com.baidu.hugegraph.exception.NotAllowException;
 import com.baidu.hugegraph.exception.NotFoundException;
+import com.baidu.hugegraph.exception.NotSupportException;
 import com.baidu.hugegraph.schema.IndexLabel;
 import com.baidu.hugegraph.schema.PropertyKey;
 import com.baidu.hugegraph.schema.SchemaElement;
@@ -44,8 +45,10 @@ import com.baidu.hugegraph.schema.Userdata;
 import com.baidu.hugegraph.schema.VertexLabel;
 import com.baidu.hugegraph.type.HugeType;
 import com.baidu.hugegraph.type.define.Action;
+import com.baidu.hugegraph.type.define.Cardinality;
 import com.baidu.hugegraph.type.define.CollectionType;
 import com.baidu.hugegraph.type.define.DataType;
+import com.baidu.hugegraph.type.define.IdStrategy;
 import com.baidu.hugegraph.type.define.IndexType;
 import com.baidu.hugegraph.type.define.SchemaStatus;
 import com.baidu.hugegraph.util.CollectionUtil;
@@ -62,6 +65,8 @@ public class IndexLabelBuilder extends AbstractBuilder
     private String baseValue;
     private IndexType indexType;
     private List<String> indexFields;
+    private List<String> includeProperties;
+    private int dimension;
     private Userdata userdata;
     private boolean checkExist;
     private boolean rebuild;
@@ -76,6 +81,8 @@ public class IndexLabelBuilder extends AbstractBuilder
         this.baseValue = null;
         this.indexType = null;
         this.indexFields = new ArrayList<>();
+        this.includeProperties = new ArrayList<>();
+        this.dimension = 0;
         this.userdata = new Userdata();
         this.checkExist = true;
         this.rebuild = true;
@@ -95,6 +102,9 @@ public class IndexLabelBuilder extends AbstractBuilder
         this.baseValue = schemaLabel.name();
         this.indexType = copy.indexType();
         this.indexFields = copy.graph().mapPkId2Name(copy.indexFields());
+        // The included properties and dimension are copied with the userdata
+        this.includeProperties = new ArrayList<>();
+        this.dimension = 0;
         this.userdata = new Userdata(copy.userdata());
         this.checkExist = false;
         this.rebuild = true;
@@ -119,6 +129,21 @@ public class IndexLabelBuilder extends AbstractBuilder
             indexLabel.indexField(propertyKey.id());
         }
         indexLabel.userdata(this.userdata);
+        if (!this.includeProperties.isEmpty()) {
+            List<Long> keys = new ArrayList<>(this.includeProperties.size());
+            for (String key : this.includeProperties) {
+                keys.add(graph.propertyKey(key).id().asLong());
+            }
+            indexLabel.userdata(Userdata.INCLUDE_PROPERTIES, keys);
+        }
+        if (this.indexType == IndexType.SEARCH &&
+            graph.backendStoreFeatures().supportsScoringSearchIndex()) {
+            // Save postings of words in the new search index for ranking
+            indexLabel.userdata(Userdata.SCORING, true);
+        }
+        if (this.indexType == IndexType.VECTOR && this.dimension > 0) {
+            indexLabel.userdata(Userdata.VECTOR_DIMENSION, this.dimension);
+        }
         return indexLabel;
     }
 
@@ -208,6 +233,9 @@ public class IndexLabelBuilder extends AbstractBuilder
              * the same fields, fail to create new index label.
              */
             this.checkFields(schemaLabel.properties());
+            this.checkBitmapIndex(schemaLabel);
+            this.checkVectorIndex(schemaLabel);
+            this.checkIncludeProperties(schemaLabel);
             this.checkRepeatIndex(schemaLabel);
             Userdata.check(this.userdata, Action.INSERT);
 
@@ -392,6 +420,41 @@ public class IndexLabelBuilder extends AbstractBuilder
         return this;
     }
 
+    @Override
+    public IndexLabelBuilder bitmap() {
+        this.indexType = IndexType.BITMAP;
+        return this;
+    }
+
+    @Override
+    public IndexLabelBuilder vector() {
+        this.indexType = IndexType.VECTOR;
+        return this;
+    }
+
+    @Override
+    public IndexLabelBuilder dimension(int dimension) {
+        E.checkArgument(dimension > 0,
+                        "The dimension of vector index must be > 0, " +
+                        "but got %s", dimension);
+        this.dimension = dimension;
+        return this;
+    }
+
+    @Override
+    public IndexLabelBuilder include(String... properties) {
+        E.checkArgument(properties.length > 0, "Empty include properties");
+        E.checkArgument(this.includeProperties.isEmpty(),
+                        "Not allowed to assign include properties multitimes");
+
+        List<String> includeProperties = Arrays.asList(properties);
+        E.checkArgument(CollectionUtil.allUnique(includeProperties),
+                        "Invalid include properties %s, which contains " +
+                        "some duplicate properties", includeProperties);
+        this.includeProperties.addAll(includeProperties);
+        return this;
+    }
+
     @Override
     public IndexLabelBuilder on(HugeType baseType, String baseValue) {
         E.checkArgument(baseType == HugeType.VERTEX_LABEL ||
@@ -530,6 +593,127 @@ public class IndexLabelBuilder extends AbstractBuilder
         }
     }
 
+    private void checkBitmapIndex(SchemaLabel schemaLabel) {
+        if (!this.indexType.isBitmap()) {
+            return;
+        }
+        if (!this.graph().backendStoreFeatures().supportsBitmapIndex()) {
+            throw new NotSupportException(
+                      "bitmap index by backend '%s'",
+                      this.graph().backend());
+        }
+        List<String> fields = this.indexFields;
+        E.checkArgument(fields.size() == 1,
+                        "Bitmap index can only build on " +
+                        "one field, but got %s fields: '%s'",
+                        fields.size(), fields);
+        PropertyKey property = this.graph().propertyKey(fields.get(0));
+        E.checkArgument(!property.cardinality().multiple(),
+                        "Not allowed to build bitmap index on property " +
+                        "'%s' whose cardinality is multiple", fields.get(0));
+        // The element ids are stored as bits, so they must be number ids
+        E.checkArgument(schemaLabel instanceof VertexLabel &&
+                        (((VertexLabel) schemaLabel).idStrategy() ==
+                         IdStrategy.AUTOMATIC ||
+                         ((VertexLabel) schemaLabel).idStrategy() ==
+                         IdStrategy.CUSTOMIZE_NUMBER),
+                        "Bitmap index can only build on vertex label " +
+                        "with number id, but got %s '%s'",
+                        schemaLabel.type().readableName(),
+                        schemaLabel.name());
+        // The expired ids can't be removed from bitmap automatically
+        E.checkArgument(schemaLabel.ttl() == 0L,
+                        "Not allowed to build bitmap index on " +
+                        "vertex label '%s' with ttl", schemaLabel.name());
+    }
+
+    private void checkVectorIndex(SchemaLabel schemaLabel) {
+        if (!this.indexType.isVector()) {
+            E.checkArgument(this.dimension == 0,
+                            "Can only set dimension for vector index, " +
+                            "but got %s index", this.indexType.string());
+            return;
+        }
+        // The vectors are saved in the index entries like covering index
+        if (!this.graph().backendStoreFeatures().supportsCoveringIndex()) {
+            throw new NotSupportException(
+                      "vector index by backend '%s'",
+                      this.graph().backend());
+        }
+        E.checkArgument(this.dimension > 0,
+                        "The dimension of vector index '%s' must be set",
+                        this.name);
+        List<String> fields = this.indexFields;
+        E.checkArgument(fields.size() == 1,
+                        "Vector index can only build on " +
+                        "one field, but got %s fields: '%s'",
+                        fields.size(), fields);
+        PropertyKey property = this.graph().propertyKey(fields.get(0));
+        E.checkArgument(property.cardinality() == Cardinality.LIST &&
+                        (property.dataType() == DataType.FLOAT ||
+                         property.dataType() == DataType.DOUBLE),
+                        "Vector index can only build on float or double " +
+                        "list property, but got %s %s(%s)",
+                        property.cardinality().string(),
+                        property.dataType(), fields.get(0));
+        E.checkArgument(schemaLabel instanceof VertexLabel,
+                        "Vector index can only build on vertex label, " +
+                        "but got %s '%s'", schemaLabel.type().readableName(),
+                        schemaLabel.name());
+        E.checkArgument(schemaLabel.ttl() == 0L,
+                        "Not allowed to build vector index on " +
+                        "vertex label '%s' with ttl", schemaLabel.name());
+    }
+
+    private void checkIncludeProperties(SchemaLabel schemaLabel) {
+        if (this.includeProperties.isEmpty()) {
+            return;
+        }
+        if (!this.graph().backendStoreFeatures().supportsCoveringIndex()) {
+            throw new NotSupportException(
+                      "including properties in index by backend '%s'",
+                      this.graph().backend());
+        }
+        // The elements are built from the index entries only for vertex
+        E.checkArgument(schemaLabel instanceof VertexLabel,
+                        "Can only include properties in index label on " +
+                        "vertex label, but got %s '%s'",
+                        schemaLabel.type().readableName(),
+                        schemaLabel.name());
+        E.checkArgument(this.indexType.isSecondary() ||
+                        this.indexType == IndexType.RANGE ||
+                        this.indexType.isRange() || this.indexType.isShard(),
+                        "Can only include properties in secondary, range " +
+                        "or shard index, but got %s index",
+                        this.indexType.string());
+        E.checkArgument(schemaLabel.ttl() == 0L,
+                        "Not allowed to include properties in index label " +
+                        "on vertex label '%s' with ttl", schemaLabel.name());
+
+        for (String field : this.indexFields) {
+            PropertyKey pkey = this.graph().propertyKey(field);
+            E.checkArgument(!pkey.cardinality().multiple(),
+                            "Not allowed to include properties in index on " +
+                            "property '%s' whose cardinality is multiple",
+                            field);
+        }
+        List<String> properties = this.graph().mapPkId2Name(
+                                  schemaLabel.properties());
+        for (String key : this.includeProperties) {
+            PropertyKey pkey = this.propertyKeyOrNull(key);
+            E.checkArgument(pkey != null && properties.contains(key),
+                            "The include property '%s' is not contained in " +
+                            "schema properties '%s'", key, properties);
+            E.checkArgument(!this.indexFields.contains(key),
+                            "The include property '%s' can't be an index " +
+                            "field of index label '%s'", key, this.name);
+            E.checkArgument(pkey.cardinality() == Cardinality.SINGLE &&
+                            !pkey.olap(),
+                            "Not allowed to include property '%s' whose " +
+                            "cardinality is multiple or is olap", key);
+        }
+    }
+
     private void checkFields4Range() {
         if (this.indexType != IndexType.RANGE) {
             return;
@@ -589,6 +773,12 @@ public class IndexLabelBuilder extends AbstractBuilder
             case UNIQUE:
                 this.checkRepeatUniqueIndex(schemaLabel);
                 break;
+            case BITMAP:
+                this.checkRepeatIndex(schemaLabel, IndexType.BITMAP);
+                break;
+            case VECTOR:
+                this.checkRepeatIndex(schemaLabel, IndexType.VECTOR);
+                break;
             default:
                 throw new AssertionError(String.format(
                           "Unsupported index type: %s", this.indexType));
@@ -758,5 +948,16 @@ public class IndexLabelBuilder extends AbstractBuilder
             throw new NotAllowException("Not allowed to update index fields " +
                                         "for index label '%s'", this.name);
         }
+        if (!this.includeProperties.isEmpty() ||
+            this.userdata.containsKey(Userdata.INCLUDE_PROPERTIES)) {
+            throw new NotAllowException("Not allowed to update include " +
+                                        "properties for index label '%s'",
+                                        this.name);
+        }
+        if (this.dimension != 0 ||
+            this.userdata.containsKey(Userdata.VECTOR_DIMENSION)) {
+            throw new NotAllowException("Not allowed to update dimension " +
+                                        "for index label '%s'", this.name);
+        }
     }
 }
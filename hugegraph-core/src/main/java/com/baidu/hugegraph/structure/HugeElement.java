@@ -41,6 +41,7 @@ import com.baidu.hugegraph.backend.id.EdgeId;
 import com.baidu.hugegraph.backend.id.Id;
 import com.baidu.hugegraph.backend.id.IdGenerator;
 import com.baidu.hugegraph.backend.serializer.BytesBuffer;
+import com.baidu.hugegraph.backend.serializer.LazyProperties;
 import com.baidu.hugegraph.backend.tx.GraphTransaction;
 import com.baidu.hugegraph.perf.PerfUtil.Watched;
 import com.baidu.hugegraph.schema.PropertyKey;
@@ -63,6 +64,8 @@ public abstract class HugeElement implements Element, GraphType, Idfiable {
 
     private final HugeGraph graph;
     private MutableIntObjectMap<HugeProperty<?>> properties;
+    // The properties read from backend but not decoded yet
+    private LazyProperties lazyProperties;
 
     private long expiredTime; // TODO: move into properties to keep small object
 
@@ -75,6 +78,7 @@ public abstract class HugeElement implements Element, GraphType, Idfiable {
         E.checkArgument(graph != null, "HugeElement graph can't be null");
         this.graph = graph;
         this.properties = EMPTY_MAP;
+        this.lazyProperties = null;
         this.expiredTime = 0L;
         this.removed = false;
         this.fresh = false;
@@ -100,7 +104,7 @@ public abstract class HugeElement implements Element, GraphType, Idfiable {
         this.defaultValueUpdated = true;
         // Set default value if needed
         for (Id pkeyId : this.schemaLabel().properties()) {
-            if (this.properties.containsKey(intFromId(pkeyId))) {
+            if (this.hasProperty(pkeyId)) {
                 continue;
             }
             PropertyKey pkey = this.graph().propertyKey(pkeyId);
@@ -200,7 +204,34 @@ public abstract class HugeElement implements Element, GraphType, Idfiable {
         return this.schemaLabel().ttl() > 0L;
     }
 
+    public void lazyProperties(LazyProperties lazyProperties) {
+        this.lazyProperties = lazyProperties;
+    }
+
+    /**
+     * Decode all the lazy properties, must be called before the element is
+     * shared by multiple threads, since decoding will update the properties
+     */
+    public void decodeLazyProperties() {
+        LazyProperties lazy = this.lazyProperties;
+        if (lazy != null) {
+            this.lazyProperties = null;
+            lazy.decodeAll(this);
+        }
+    }
+
+    private void decodeLazyProperty(Id key) {
+        LazyProperties lazy = this.lazyProperties;
+        if (lazy != null) {
+            lazy.decode(intFromId(key), this);
+            if (lazy.size() == 0) {
+                this.lazyProperties = null;
+            }
+        }
+    }
+
     public Set<Id> getPropertyKeys() {
+        this.decodeLazyProperties();
         Set<Id> propKeys = InsertionOrderUtil.newSet();
         IntIterator keys = this.properties.keysView().intIterator();
         while (keys.hasNext()) {
@@ -210,6 +241,7 @@ public abstract class HugeElement implements Element, GraphType, Idfiable {
     }
 
     public Collection<HugeProperty<?>> getProperties() {
+        this.decodeLazyProperties();
         return this.properties.values();
     }
 
@@ -219,6 +251,7 @@ public abstract class HugeElement implements Element, GraphType, Idfiable {
     }
 
     public Map<Id, Object> getPropertiesMap() {
+        this.decodeLazyProperties();
         Map<Id, Object> props = InsertionOrderUtil.newMap();
         for (HugeProperty<?> prop : this.properties.values()) {
             props.put(prop.propertyKey().id(), prop.value());
@@ -228,6 +261,7 @@ public abstract class HugeElement implements Element, GraphType, Idfiable {
     }
 
     public Collection<HugeProperty<?>> getAggregateProperties() {
+        this.decodeLazyProperties();
         List<HugeProperty<?>> aggrProps = InsertionOrderUtil.newList();
         for (HugeProperty<?> prop : this.properties.values()) {
             if (prop.type().isAggregateProperty()) {
@@ -239,11 +273,13 @@ public abstract class HugeElement implements Element, GraphType, Idfiable {
 
     @SuppressWarnings("unchecked")
     public <V> HugeProperty<V> getProperty(Id key) {
+        this.decodeLazyProperty(key);
         return (HugeProperty<V>) this.properties.get(intFromId(key));
     }
 
     @SuppressWarnings("unchecked")
     public <V> V getPropertyValue(Id key) {
+        this.decodeLazyProperty(key);
         HugeProperty<?> prop = this.properties.get(intFromId(key));
         if (prop == null) {
             return null;
@@ -252,18 +288,28 @@ public abstract class HugeElement implements Element, GraphType, Idfiable {
     }
 
     public boolean hasProperty(Id key) {
-        return this.properties.containsKey(intFromId(key));
+        int intKey = intFromId(key);
+        if (this.properties.containsKey(intKey)) {
+            return true;
+        }
+        return this.lazyProperties != null &&
+               this.lazyProperties.contains(intKey);
     }
 
     public boolean hasProperties() {
-        return this.properties.size() > 0;
+        return this.sizeOfProperties() > 0;
     }
 
     public int sizeOfProperties() {
-        return this.properties.size();
+        int size = this.properties.size();
+        if (this.lazyProperties != null) {
+            size += this.lazyProperties.size();
+        }
+        return size;
     }
 
     public int sizeOfSubProperties() {
+        this.decodeLazyProperties();
         int size = 0;
         for (HugeProperty<?> p : this.properties.values()) {
             size++;
@@ -282,16 +328,28 @@ public abstract class HugeElement implements Element, GraphType, Idfiable {
         }
         PropertyKey pkey = prop.propertyKey();
 
-        E.checkArgument(this.properties.containsKey(intFromId(pkey.id())) ||
-                        this.properties.size() < MAX_PROPERTIES,
+        E.checkArgument(this.hasProperty(pkey.id()) ||
+                        this.sizeOfProperties() < MAX_PROPERTIES,
                         "Exceeded the maximum number of properties");
+        // The undecoded value is overwritten
+        this.removeLazyProperty(pkey.id());
         return this.properties.put(intFromId(pkey.id()), prop);
     }
 
     public <V> HugeProperty<?> removeProperty(Id key) {
+        // Decode the value to be returned
+        this.decodeLazyProperty(key);
         return this.properties.remove(intFromId(key));
     }
 
+    private void removeLazyProperty(Id key) {
+        LazyProperties lazy = this.lazyProperties;
+        if (lazy != null && lazy.remove(intFromId(key)) &&
+            lazy.size() == 0) {
+            this.lazyProperties = null;
+        }
+    }
+
     public <V> HugeProperty<V> addProperty(PropertyKey pkey, V value) {
         return this.addProperty(pkey, value, false);
     }
@@ -367,10 +425,12 @@ public abstract class HugeElement implements Element, GraphType, Idfiable {
 
     public void resetProperties() {
         this.properties = CollectionFactory.newIntObjectMap();
+        this.lazyProperties = null;
         this.propLoaded = false;
     }
 
     protected void copyProperties(HugeElement element) {
+        element.decodeLazyProperties();
         if (element.properties == EMPTY_MAP) {
             this.properties = EMPTY_MAP;
         } else {
@@ -21,7 +21,9 @@ package com.baidu.hugegraph.structure;
 
 import java.util.Collections;
 import java.util.LinkedHashSet;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import com.baidu.hugegraph.HugeException;
@@ -46,6 +48,10 @@ public class HugeIndex implements GraphType, Cloneable {
     private Object fieldValues;
     private IndexLabel indexLabel;
     private Set<IdWithExpiredTime> elementIds;
+    // The values of included properties of each element, for covering index
+    private Map<Id, Map<Id, Object>> includedValues;
+    // The posting of the word in each element, for scoring search index
+    private Map<Id, Posting> postings;
 
     public HugeIndex(HugeGraph graph, IndexLabel indexLabel) {
         E.checkNotNull(graph, "graph");
@@ -55,6 +61,8 @@ public class HugeIndex implements GraphType, Cloneable {
         this.indexLabel = indexLabel;
         this.elementIds = new LinkedHashSet<>();
         this.fieldValues = null;
+        this.includedValues = null;
+        this.postings = null;
     }
 
     @Override
@@ -141,6 +149,48 @@ public class HugeIndex implements GraphType, Cloneable {
 
     public void resetElementIds() {
         this.elementIds = new LinkedHashSet<>();
+        this.includedValues = null;
+        this.postings = null;
+    }
+
+    /**
+     * Get the values of included properties of an element, which are stored
+     * in the entries of covering index
+     * @param elementId the element id
+     * @return          the values map, or null if not included
+     */
+    public Map<Id, Object> includedValues(Id elementId) {
+        if (this.includedValues == null) {
+            return null;
+        }
+        return this.includedValues.get(elementId);
+    }
+
+    public void includedValues(Id elementId, Map<Id, Object> values) {
+        if (this.includedValues == null) {
+            this.includedValues = new HashMap<>();
+        }
+        this.includedValues.put(elementId, values);
+    }
+
+    /**
+     * Get the posting of the word (field-values) in an element, which is
+     * stored in the entries of scoring search index
+     * @param elementId the element id
+     * @return          the posting, or null if not stored
+     */
+    public Posting posting(Id elementId) {
+        if (this.postings == null) {
+            return null;
+        }
+        return this.postings.get(elementId);
+    }
+
+    public void posting(Id elementId, Posting posting) {
+        if (this.postings == null) {
+            this.postings = new HashMap<>();
+        }
+        this.postings.put(elementId, posting);
     }
 
     public long expiredTime() {
@@ -296,4 +346,54 @@ public class HugeIndex implements GraphType, Cloneable {
             return String.format("%s(%s)", this.id, this.expiredTime);
         }
     }
+
+    public static class Posting {
+
+        // The count of the word in the text
+        private final int frequency;
+        // The count of all the words in the text
+        private final int length;
+        // The hash code of the text, to check if the text is updated
+        private final int textHash;
+
+        public Posting(int frequency, int length, int textHash) {
+            this.frequency = frequency;
+            this.length = length;
+            this.textHash = textHash;
+        }
+
+        public int frequency() {
+            return this.frequency;
+        }
+
+        public int length() {
+            return this.length;
+        }
+
+        public int textHash() {
+            return this.textHash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Posting)) {
+                return false;
+            }
+            Posting other = (Posting) obj;
+            return this.frequency == other.frequency &&
+                   this.length == other.length &&
+                   this.textHash == other.textHash;
+        }
+
+        @Override
+        public int hashCode() {
+            return this.frequency ^ (this.length << 16) ^ this.textHash;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Posting{frequency=%s,length=%s}",
+                                 this.frequency, this.length);
+        }
+    }
 }
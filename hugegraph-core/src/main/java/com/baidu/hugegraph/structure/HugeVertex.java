@@ -539,7 +539,10 @@ public class HugeVertex extends HugeElement implements Vertex, Cloneable {
     @Override
     public <V> Iterator<VertexProperty<V>> properties(String... keys) {
         // TODO: Compatible with TinkerPop properties() (HugeGraph-742)
-        this.ensureFilledProperties(true);
+        if (this.isPropLoaded() || !this.containsProperties(keys)) {
+            // Needn't load if the vertex is built with the keys from index
+            this.ensureFilledProperties(true);
+        }
 
         // Capacity should be about the following size
         int propsCapacity = keys.length == 0 ?
@@ -573,6 +576,24 @@ public class HugeVertex extends HugeElement implements Vertex, Cloneable {
         return props.iterator();
     }
 
+    private boolean containsProperties(String... keys) {
+        if (keys.length == 0) {
+            return false;
+        }
+        for (String key : keys) {
+            PropertyKey propertyKey;
+            try {
+                propertyKey = this.graph().propertyKey(key);
+            } catch (IllegalArgumentException ignored) {
+                return false;
+            }
+            if (!this.hasProperty(propertyKey.id())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     @Override
     public Object sysprop(HugeKeys key) {
         switch (key) {
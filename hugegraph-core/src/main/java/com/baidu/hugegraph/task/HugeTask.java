@@ -49,6 +49,7 @@ import com.baidu.hugegraph.job.ComputerJob;
 import com.baidu.hugegraph.job.EphemeralJob;
 import com.baidu.hugegraph.type.define.SerialEnum;
 import com.baidu.hugegraph.util.Blob;
+import com.baidu.hugegraph.util.CancelToken;
 import com.baidu.hugegraph.util.E;
 import com.baidu.hugegraph.util.InsertionOrderUtil;
 import com.baidu.hugegraph.util.JsonUtil;
@@ -62,6 +63,7 @@ public class HugeTask<V> extends FutureTask<V> {
     private static final float DECOMPRESS_RATIO = 10.0F;
 
     private transient TaskScheduler scheduler = null;
+    private final transient CancelToken cancelToken = new CancelToken();
 
     private final TaskCallable<V> callable;
 
@@ -280,6 +282,7 @@ public class HugeTask<V> extends FutureTask<V> {
         }
 
         TaskManager.setContext(this.context());
+        CancelToken.current(this.cancelToken);
         try {
             assert this.status.code() < TaskStatus.RUNNING.code() : this.status;
             if (this.checkDependenciesSuccess()) {
@@ -295,6 +298,7 @@ public class HugeTask<V> extends FutureTask<V> {
             this.setException(e);
         } finally {
             LOG.debug("Task is finished {}", this);
+            CancelToken.current(null);
             TaskManager.resetContext();
         }
     }
@@ -307,6 +311,8 @@ public class HugeTask<V> extends FutureTask<V> {
         if (!cancelled) {
             return cancelled;
         }
+        // Stop the worker threads of the task, like the traversers
+        this.cancelToken.cancel("the task is cancelled");
 
         try {
             if (this.status(TaskStatus.CANCELLED)) {
@@ -320,7 +320,7 @@ public class ServerInfoManager {
                "server-info-db-worker") : "can't call by itself";
         try {
             // Pass context for db thread
-            callable = new TaskManager.ContextCallable<>(callable);
+            callable = new TaskManager.ContextCallable<>(callable, false);
             // Ensure all db operations are executed in dbExecutor thread(s)
             return this.dbExecutor.submit(callable).get();
         } catch (Throwable e) {
@@ -728,7 +728,7 @@ public class StandardTaskScheduler implements TaskScheduler {
                "task-db-worker") : "can't call by itself";
         try {
             // Pass task context for db thread
-            callable = new ContextCallable<>(callable);
+            callable = new ContextCallable<>(callable, false);
             // Ensure all db operations are executed in dbExecutor thread(s)
             return this.taskDbExecutor.submit(callable).get();
         } catch (Throwable e) {
@@ -33,11 +33,13 @@ import org.slf4j.Logger;
 import com.baidu.hugegraph.HugeException;
 import com.baidu.hugegraph.HugeGraphParams;
 import com.baidu.hugegraph.concurrent.PausableScheduledThreadPool;
+import com.baidu.hugegraph.util.CancelToken;
 import com.baidu.hugegraph.util.Consumers;
 import com.baidu.hugegraph.util.E;
 import com.baidu.hugegraph.util.ExecutorUtil;
 import com.baidu.hugegraph.util.LockUtil;
 import com.baidu.hugegraph.util.Log;
+import com.baidu.hugegraph.util.Trace;
 
 public final class TaskManager {
 
@@ -340,19 +342,41 @@ public final class TaskManager {
 
         private final Callable<V> callable;
         private final String context;
+        private final CancelToken cancelToken;
+        private final Trace.Span span;
 
         public ContextCallable(Callable<V> callable) {
+            this(callable, true);
+        }
+
+        /**
+         * @param callable      the callable to run in another thread
+         * @param cancellable   whether to pass the cancel token and the trace
+         *                      span of current thread, the bookkeeping
+         *                      operations like saving task status should not
+         *                      be cancelled or traced
+         */
+        public ContextCallable(Callable<V> callable, boolean cancellable) {
             E.checkNotNull(callable, "callable");
             this.context = getContext();
+            this.cancelToken = cancellable ? CancelToken.current() : null;
+            this.span = cancellable ? Trace.activeSpan() : null;
             this.callable = callable;
         }
 
         @Override
         public V call() throws Exception {
             setContext(this.context);
+            // Restore the token in case of running in the caller thread
+            CancelToken callerToken = CancelToken.current();
+            CancelToken.current(this.cancelToken);
+            Trace.Span callerSpan = Trace.activeSpan();
+            Trace.activeSpan(this.span);
             try {
                 return this.callable.call();
             } finally {
+                Trace.activeSpan(callerSpan);
+                CancelToken.current(callerToken);
                 resetContext();
             }
         }
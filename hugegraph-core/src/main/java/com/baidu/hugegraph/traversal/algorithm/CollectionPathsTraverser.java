@@ -44,6 +44,29 @@ public class CollectionPathsTraverser extends HugeTraverser {
                                   Iterator<Vertex> targets,
                                   EdgeStep step, int depth, boolean nearest,
                                   long capacity, long limit) {
+        Traverser traverser = this.traverse(sources, targets, step, depth,
+                                            nearest, capacity, limit, null);
+        return traverser.paths();
+    }
+
+    /**
+     * Emit the paths as soon as they are found instead of collecting them
+     * @return the number of emitted paths
+     */
+    public long paths(Iterator<Vertex> sources, Iterator<Vertex> targets,
+                      EdgeStep step, int depth, boolean nearest,
+                      long capacity, long limit, PathEmitter emitter) {
+        E.checkArgumentNotNull(emitter, "The path emitter can't be null");
+        Traverser traverser = this.traverse(sources, targets, step, depth,
+                                            nearest, capacity, limit, emitter);
+        return traverser.pathCount();
+    }
+
+    private Traverser traverse(Iterator<Vertex> sources,
+                               Iterator<Vertex> targets,
+                               EdgeStep step, int depth, boolean nearest,
+                               long capacity, long limit,
+                               PathEmitter emitter) {
         checkCapacity(capacity);
         checkLimit(limit);
 
@@ -72,24 +95,24 @@ public class CollectionPathsTraverser extends HugeTraverser {
         if (nearest) {
             traverser = new NearestTraverser(this, strategy,
                                              sourceList, targetList, step,
-                                             depth, capacity, limit);
+                                             depth, capacity, limit, emitter);
         } else {
             traverser = new Traverser(this, strategy,
                                       sourceList, targetList, step,
-                                      depth, capacity, limit);
+                                      depth, capacity, limit, emitter);
         }
 
         do {
             // Forward
             traverser.forward();
             if (traverser.finished()) {
-                return traverser.paths();
+                return traverser;
             }
 
             // Backward
             traverser.backward();
             if (traverser.finished()) {
-                return traverser.paths();
+                return traverser;
             }
         } while (true);
     }
@@ -100,8 +123,10 @@ public class CollectionPathsTraverser extends HugeTraverser {
 
         public Traverser(HugeTraverser traverser, TraverseStrategy strategy,
                          Collection<Id> sources, Collection<Id> targets,
-                         EdgeStep step, int depth, long capacity, long limit) {
-            super(traverser, strategy, sources, targets, capacity, limit);
+                         EdgeStep step, int depth, long capacity, long limit,
+                         PathEmitter emitter) {
+            super(traverser, strategy, sources, targets, capacity, limit,
+                  emitter);
             this.step = step;
             this.totalSteps = depth;
         }
@@ -122,9 +147,9 @@ public class CollectionPathsTraverser extends HugeTraverser {
                 // If cross point exists, path found, concat them
                 if (this.targetsAll.containsKey(targetV)) {
                     for (Node target : this.targetsAll.get(targetV)) {
-                        List<Id> path = source.joinPath(target);
+                        List<Id> path = joinNodes(source, target, false);
                         if (!path.isEmpty()) {
-                            this.paths.add(new Path(targetV, path));
+                            this.addPath(new Path(targetV, path));
                             if (this.reachLimit()) {
                                 return;
                             }
@@ -148,11 +173,10 @@ public class CollectionPathsTraverser extends HugeTraverser {
                 // If cross point exists, path found, concat them
                 if (this.sourcesAll.containsKey(targetV)) {
                     for (Node target : this.sourcesAll.get(targetV)) {
-                        List<Id> path = source.joinPath(target);
+                        // Join reversely to get the path from source
+                        List<Id> path = joinNodes(target, source, false);
                         if (!path.isEmpty()) {
-                            Path newPath = new Path(targetV, path);
-                            newPath.reverse();
-                            this.paths.add(newPath);
+                            this.addPath(new Path(targetV, path));
                             if (this.reachLimit()) {
                                 return;
                             }
@@ -188,9 +212,9 @@ public class CollectionPathsTraverser extends HugeTraverser {
                                 TraverseStrategy strategy,
                                 Collection<Id> sources, Collection<Id> targets,
                                 EdgeStep step, int depth, long capacity,
-                                long limit) {
+                                long limit, PathEmitter emitter) {
             super(traverser, strategy, sources, targets, step,
-                  depth, capacity, limit);
+                  depth, capacity, limit, emitter);
         }
 
         @Override
@@ -204,9 +228,9 @@ public class CollectionPathsTraverser extends HugeTraverser {
             // If cross point exists, path found, concat them
             if (this.targetsAll.containsKey(targetV)) {
                 Node node = this.targetsAll.get(targetV).get(0);
-                List<Id> path = source.joinPath(node);
+                List<Id> path = joinNodes(source, node, false);
                 if (!path.isEmpty()) {
-                    this.paths.add(new Path(targetV, path));
+                    this.addPath(new Path(targetV, path));
                     if (this.reachLimit()) {
                         return;
                     }
@@ -228,11 +252,10 @@ public class CollectionPathsTraverser extends HugeTraverser {
             // If cross point exists, path found, concat them
             if (this.sourcesAll.containsKey(targetV)) {
                 Node node = this.sourcesAll.get(targetV).get(0);
-                List<Id> path = sourcee.joinPath(node);
+                // Join reversely to get the path from source
+                List<Id> path = joinNodes(node, sourcee, false);
                 if (!path.isEmpty()) {
-                    Path newPath = new Path(targetV, path);
-                    newPath.reverse();
-                    this.paths.add(newPath);
+                    this.addPath(new Path(targetV, path));
                     if (this.reachLimit()) {
                         return;
                     }
@@ -39,7 +39,7 @@ public class CountTraverser extends HugeTraverser {
 
     private boolean containsTraversed = false;
     private long dedupSize = 1000000L;
-    private final Set<Id> dedupSet = newIdSet();
+    private final Set<Id> dedupSet = this.newVertexIdSet();
     private final MutableLong count = new MutableLong(0L);
 
     public CountTraverser(HugeGraph graph) {
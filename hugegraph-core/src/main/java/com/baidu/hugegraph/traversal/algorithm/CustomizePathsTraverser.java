@@ -36,7 +36,6 @@ import com.baidu.hugegraph.structure.HugeVertex;
 import com.baidu.hugegraph.traversal.algorithm.steps.WeightedEdgeStep;
 import com.baidu.hugegraph.util.CollectionUtil;
 import com.baidu.hugegraph.util.E;
-import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 
 public class CustomizePathsTraverser extends HugeTraverser {
@@ -48,9 +47,26 @@ public class CustomizePathsTraverser extends HugeTraverser {
     public List<Path> customizedPaths(Iterator<Vertex> vertices,
                                       List<WeightedEdgeStep> steps, boolean sorted,
                                       long capacity, long limit) {
+        List<Path> paths = newList();
+        this.customizedPaths(vertices, steps, sorted, capacity, limit,
+                             paths::add);
+        return paths;
+    }
+
+    /**
+     * Emit the paths as soon as the last step reaches them instead of
+     * collecting them, the limit is ignored if sorted because all the paths
+     * are needed to sort
+     * @return the number of emitted paths
+     */
+    public long customizedPaths(Iterator<Vertex> vertices,
+                                List<WeightedEdgeStep> steps, boolean sorted,
+                                long capacity, long limit,
+                                PathEmitter emitter) {
         E.checkArgument(vertices.hasNext(),
                         "The source vertices can't be empty");
         E.checkArgument(!steps.isEmpty(), "The steps can't be empty");
+        E.checkArgumentNotNull(emitter, "The path emitter can't be null");
         checkCapacity(capacity);
         checkLimit(limit);
 
@@ -63,7 +79,7 @@ public class CustomizePathsTraverser extends HugeTraverser {
             sources.add(vertex.id(), node);
         }
         int stepNum = steps.size();
-        int pathCount = 0;
+        long pathCount = 0L;
         long access = 0;
         MultivaluedMap<Id, Node> newVertices = null;
         root : for (WeightedEdgeStep step : steps) {
@@ -103,36 +119,36 @@ public class CustomizePathsTraverser extends HugeTraverser {
                     adjacency = sample(adjacency, step.sample());
                 }
 
-                // Add current node's adjacent nodes
+                if (stepNum > 0) {
+                    // Add current node's adjacent nodes
+                    for (Node node : adjacency) {
+                        newVertices.add(node.id(), node);
+                    }
+                    continue;
+                }
+
+                // Emit paths of the last step, they share the parent nodes
                 for (Node node : adjacency) {
-                    newVertices.add(node.id(), node);
+                    Path path;
+                    if (sorted) {
+                        WeightNode wn = (WeightNode) node;
+                        path = new WeightPath(wn.sharedPath(), wn.weights());
+                    } else {
+                        path = new Path(node.sharedPath());
+                    }
+                    if (emitter.emit(path)) {
+                        pathCount++;
+                    }
                     // Avoid exceeding limit
-                    if (stepNum == 0) {
-                        if (limit != NO_LIMIT && !sorted &&
-                            ++pathCount >= limit) {
-                            break root;
-                        }
+                    if (limit != NO_LIMIT && !sorted && pathCount >= limit) {
+                        break root;
                     }
                 }
             }
             // Re-init sources
             sources = newVertices;
         }
-        if (stepNum != 0) {
-            return ImmutableList.of();
-        }
-        List<Path> paths = newList();
-        for (List<Node> nodes : newVertices.values()) {
-            for (Node n : nodes) {
-                if (sorted) {
-                    WeightNode wn = (WeightNode) n;
-                    paths.add(new WeightPath(wn.path(), wn.weights()));
-                } else {
-                    paths.add(new Path(n.path()));
-                }
-            }
-        }
-        return paths;
+        return pathCount;
     }
 
     public static List<Path> topNPath(List<Path> paths,
@@ -41,6 +41,7 @@ import com.baidu.hugegraph.type.define.Directions;
 import com.baidu.hugegraph.type.define.Frequency;
 import com.baidu.hugegraph.util.E;
 import com.baidu.hugegraph.util.InsertionOrderUtil;
+import com.baidu.hugegraph.util.collection.TopKScores;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
@@ -106,37 +107,52 @@ public class FusiformSimilarityTraverser extends HugeTraverser {
                                                   labelId, degree);
         Map<Id, MutableInt> similars = newMap();
         MultivaluedMap<Id, Id> intermediaries = new MultivaluedHashMap<>();
-        Set<Id> neighbors = newIdSet();
+        Set<Id> neighbors = this.newVertexIdSet();
+        List<Id> neighborList = newList();
         while (edges.hasNext()) {
             Id target = ((HugeEdge) edges.next()).id().otherVertexId();
             if (neighbors.contains(target)) {
                 continue;
             }
             neighbors.add(target);
+            neighborList.add(target);
             checkCapacity(capacity, ++this.accessed, "fusiform similarity");
+        }
 
-            Directions backDir = direction.opposite();
+        double neighborNum = neighborList.size();
+        Directions backDir = direction.opposite();
+        for (int i = 0; i < neighborList.size(); i++) {
+            Id target = neighborList.get(i);
+            /*
+             * A node first met from the i-th neighbor shares at most
+             * (neighborNum - i) neighbors with the source vertex, don't
+             * record it if the score upper bound can't reach alpha
+             */
+            boolean acceptNew = (neighborNum - i) / neighborNum >= alpha;
             Iterator<Edge> backEdges = this.edgesOfVertex(target, backDir,
                                                           labelId, degree);
-            Set<Id> currentSimilars = newIdSet();
+            Set<Id> currentSimilars = this.newVertexIdSet();
             while (backEdges.hasNext()) {
                 Id node = ((HugeEdge) backEdges.next()).id().otherVertexId();
                 if (currentSimilars.contains(node)) {
                     continue;
                 }
                 currentSimilars.add(node);
-                if (withIntermediary) {
-                    intermediaries.add(node, target);
-                }
 
                 MutableInt count = similars.get(node);
                 if (count == null) {
+                    if (!acceptNew) {
+                        continue;
+                    }
                     count = new MutableInt(0);
                     similars.put(node, count);
                     checkCapacity(capacity, ++this.accessed,
                                   "fusiform similarity");
                 }
                 count.increment();
+                if (withIntermediary) {
+                    intermediaries.add(node, target);
+                }
             }
         }
         // Delete source vertex
@@ -145,26 +161,29 @@ public class FusiformSimilarityTraverser extends HugeTraverser {
         if (similars.isEmpty()) {
             return ImmutableSet.of();
         }
-        // Match alpha
-        double neighborNum = neighbors.size();
-        Map<Id, Double> matchedAlpha = newMap();
+        // Match alpha, and keep the top ones by bounded heap if needed
+        Map<Id, Double> matchedAlpha = top > 0 ? null : newMap();
+        TopKScores<Id> topScores = top > 0 ? new TopKScores<>(top) : null;
+        int matchedCount = 0;
         for (Map.Entry<Id, MutableInt> entry : similars.entrySet()) {
             double score = entry.getValue().intValue() / neighborNum;
-            if (score >= alpha) {
+            if (score < alpha) {
+                continue;
+            }
+            matchedCount++;
+            if (topScores != null) {
+                topScores.offer(entry.getKey(), score);
+            } else {
                 matchedAlpha.put(entry.getKey(), score);
             }
         }
-        if (matchedAlpha.size() < minSimilars) {
+        if (matchedCount < minSimilars) {
             return ImmutableSet.of();
         }
 
         // Sorted and topN if needed
-        Map<Id, Double> topN;
-        if (top > 0) {
-            topN = topN(matchedAlpha, true, top);
-        } else {
-            topN = matchedAlpha;
-        }
+        Map<Id, Double> topN = topScores != null ? topScores.toMap() :
+                                                   matchedAlpha;
         // Filter by groupCount by property
         if (groupProperty != null) {
             Set<Object> values = newSet();
@@ -224,7 +243,7 @@ public class FusiformSimilarityTraverser extends HugeTraverser {
             neighborCount = IteratorUtils.count(edges);
         } else {
             edges = this.edgesOfVertex(vertex.id(), direction, labelId, degree);
-            Set<Id> neighbors = newIdSet();
+            Set<Id> neighbors = this.newVertexIdSet();
             while (edges.hasNext()) {
                 Id target = ((HugeEdge) edges.next()).id().otherVertexId();
                 neighbors.add(target);
@@ -19,10 +19,13 @@
 
 package com.baidu.hugegraph.traversal.algorithm;
 
+import java.util.AbstractList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.ListIterator;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
@@ -51,13 +54,17 @@ import com.baidu.hugegraph.iterator.LimitIterator;
 import com.baidu.hugegraph.iterator.MapperIterator;
 import com.baidu.hugegraph.perf.PerfUtil.Watched;
 import com.baidu.hugegraph.schema.SchemaLabel;
+import com.baidu.hugegraph.schema.VertexLabel;
 import com.baidu.hugegraph.structure.HugeEdge;
+import com.baidu.hugegraph.traversal.algorithm.records.AbstractRecords;
 import com.baidu.hugegraph.traversal.algorithm.steps.EdgeStep;
 import com.baidu.hugegraph.traversal.optimize.TraversalUtil;
 import com.baidu.hugegraph.type.HugeType;
 import com.baidu.hugegraph.type.define.CollectionType;
 import com.baidu.hugegraph.type.define.Directions;
 import com.baidu.hugegraph.type.define.HugeKeys;
+import com.baidu.hugegraph.type.define.IdStrategy;
+import com.baidu.hugegraph.util.CancelToken;
 import com.baidu.hugegraph.util.CollectionUtil;
 import com.baidu.hugegraph.util.E;
 import com.baidu.hugegraph.util.InsertionOrderUtil;
@@ -72,6 +79,7 @@ public class HugeTraverser {
     protected static final Logger LOG = Log.logger(HugeTraverser.class);
 
     private HugeGraph graph;
+    private Boolean numberVertexIds;
 
     private static CollectionFactory collectionFactory;
 
@@ -107,6 +115,33 @@ public class HugeTraverser {
         return this.graph.option(CoreOptions.OLTP_CONCURRENT_DEPTH);
     }
 
+    protected void limitRecordsMemory(AbstractRecords records) {
+        long memoryLimit = this.graph.option(
+                           CoreOptions.OLTP_RECORDS_MEMORY_LIMIT);
+        String spillPath = this.graph.option(
+                           CoreOptions.OLTP_RECORDS_SPILL_PATH);
+        records.memoryLimit(memoryLimit, spillPath);
+    }
+
+    /**
+     * Whether all the vertex ids are customized numbers, which are generally
+     * dense and suitable to be stored in compressed bitmaps
+     */
+    protected boolean numberVertexIds() {
+        if (this.numberVertexIds == null) {
+            Collection<VertexLabel> vertexLabels = this.graph.vertexLabels();
+            boolean number = !vertexLabels.isEmpty();
+            for (VertexLabel vertexLabel : vertexLabels) {
+                if (vertexLabel.idStrategy() != IdStrategy.CUSTOMIZE_NUMBER) {
+                    number = false;
+                    break;
+                }
+            }
+            this.numberVertexIds = number;
+        }
+        return this.numberVertexIds;
+    }
+
     private CollectionType collectionType() {
         return this.graph.option(CoreOptions.OLTP_COLLECTION_TYPE);
     }
@@ -119,7 +154,7 @@ public class HugeTraverser {
             return ImmutableSet.of();
         }
 
-        Set<Id> neighbors = newIdSet();
+        Set<Id> neighbors = this.newVertexIdSet();
         for (Id source : vertices) {
             Iterator<Edge> edges = this.edgesOfVertex(source, dir,
                                                       label, degree);
@@ -151,7 +186,7 @@ public class HugeTraverser {
     }
 
     protected Set<Id> adjacentVertices(Id source, EdgeStep step) {
-        Set<Id> neighbors = newSet();
+        Set<Id> neighbors = this.newVertexIdSet();
         Iterator<Edge> edges = this.edgesOfVertex(source, step);
         while (edges.hasNext()) {
             neighbors.add(((HugeEdge) edges.next()).id().otherVertexId());
@@ -162,6 +197,9 @@ public class HugeTraverser {
     @Watched
     protected Iterator<Edge> edgesOfVertex(Id source, Directions dir,
                                            Id label, long limit) {
+        // Stop expanding vertices if the request is cancelled
+        CancelToken.checkCurrent();
+
         Id[] labels = {};
         if (label != null) {
             labels = new Id[]{label};
@@ -198,6 +236,19 @@ public class HugeTraverser {
 
     protected Iterator<Edge> edgesOfVertex(Id source, EdgeStep edgeStep) {
         if (edgeStep.properties() == null || edgeStep.properties().isEmpty()) {
+            if (edgeStep.skipDegree() > 0L) {
+                // Skip super node by the degree before fetching any edge
+                long degree = this.graph.queryDegree(source,
+                                                     edgeStep.direction(),
+                                                     edgeStep.edgeLabels());
+                if (degree >= edgeStep.skipDegree()) {
+                    return QueryResults.emptyIterator();
+                } else if (degree >= 0L) {
+                    return this.edgesOfVertex(source, edgeStep.direction(),
+                                              edgeStep.labels(),
+                                              edgeStep.degree());
+                }
+            }
             Iterator<Edge> edges = this.edgesOfVertex(source,
                                                       edgeStep.direction(),
                                                       edgeStep.labels(),
@@ -214,6 +265,8 @@ public class HugeTraverser {
 
     private Iterator<Edge> edgesOfVertex(Id source, EdgeStep edgeStep,
                                          boolean mustAllSK) {
+        CancelToken.checkCurrent();
+
         Id[] edgeLabels = edgeStep.edgeLabels();
         Query query = GraphTransaction.constructEdgesQuery(source,
                                                            edgeStep.direction(),
@@ -273,14 +326,22 @@ public class HugeTraverser {
 
     protected long edgesCount(Id source, EdgeStep edgeStep) {
         Id[] edgeLabels = edgeStep.edgeLabels();
-        Query query = GraphTransaction.constructEdgesQuery(source,
-                                                           edgeStep.direction(),
-                                                           edgeLabels);
-        this.fillFilterBySortKeys(query, edgeLabels, edgeStep.properties());
-        query.aggregate(Aggregate.AggregateFunc.COUNT, null);
-        query.capacity(Query.NO_CAPACITY);
-        query.limit(Query.NO_LIMIT);
-        long count = graph().queryNumber(query).longValue();
+        long count = -1L;
+        if (edgeStep.properties() == null || edgeStep.properties().isEmpty()) {
+            count = this.graph.queryDegree(source, edgeStep.direction(),
+                                           edgeLabels);
+        }
+        if (count < 0L) {
+            // The degree counters are not available, count the edges
+            Query query = GraphTransaction.constructEdgesQuery(
+                          source, edgeStep.direction(), edgeLabels);
+            this.fillFilterBySortKeys(query, edgeLabels,
+                                      edgeStep.properties());
+            query.aggregate(Aggregate.AggregateFunc.COUNT, null);
+            query.capacity(Query.NO_CAPACITY);
+            query.limit(Query.NO_LIMIT);
+            count = graph().queryNumber(query).longValue();
+        }
         if (edgeStep.degree() == NO_LIMIT || count < edgeStep.degree()) {
             return count;
         } else if (edgeStep.skipDegree() != 0L &&
@@ -422,6 +483,20 @@ public class HugeTraverser {
         return collectionFactory.newIdSet();
     }
 
+    /**
+     * Create a set of vertex ids, which is backed by compressed bitmap
+     * if all the vertex ids are numbers, it's not thread safe.
+     * NOTE: the number ids of the bitmap set are iterated in ascending
+     * order, so the vertices are expanded and returned in the order of ids
+     * rather than the hash order of IdSet.
+     */
+    protected Set<Id> newVertexIdSet() {
+        if (this.numberVertexIds()) {
+            return collectionFactory.newBitmapIdSet();
+        }
+        return newIdSet();
+    }
+
     protected static <V> Set<V> newSet() {
         return newSet(false);
     }
@@ -486,6 +561,23 @@ public class HugeTraverser {
         return path;
     }
 
+    /**
+     * Like joinPath(), but the returned vertices are a view of the nodes,
+     * which shares the parent nodes with other paths instead of copying
+     * them, so that many found paths can be kept or streamed cheaply
+     */
+    protected static List<Id> joinNodes(Node prev, Node back, boolean ring) {
+        if (!ring) {
+            // Avoid loop in path
+            for (Node node = back; node != null; node = node.parent()) {
+                if (prev.contains(node.id())) {
+                    return ImmutableList.of();
+                }
+            }
+        }
+        return new NodesList(prev, back);
+    }
+
     public static class Node {
 
         private final Id id;
@@ -520,6 +612,14 @@ public class HugeTraverser {
             return ids;
         }
 
+        /**
+         * The vertices from the root to this node, which is a view of the
+         * nodes instead of a copy of them
+         */
+        public List<Id> sharedPath() {
+            return new NodesList(this, null);
+        }
+
         public List<Id> joinPath(Node back) {
             return HugeTraverser.joinPath(this, back, false);
         }
@@ -634,6 +734,100 @@ public class HugeTraverser {
         }
     }
 
+    /**
+     * Receive the found paths one by one, it's used to write the paths out
+     * while traversing instead of collecting all of them in memory
+     */
+    @FunctionalInterface
+    public interface PathEmitter {
+
+        /**
+         * @return false if the path is ignored, like it's duplicated
+         */
+        boolean emit(Path path);
+    }
+
+    /**
+     * The vertices from the root of the prev node to it, followed by the
+     * vertices from the back node to its root
+     */
+    private static final class NodesList extends AbstractList<Id> {
+
+        private final Node prev;
+        private final Node back;
+        private final int prevSize;
+        private final int size;
+
+        public NodesList(Node prev, Node back) {
+            this.prev = prev;
+            this.back = back;
+            this.prevSize = depth(prev);
+            this.size = this.prevSize + depth(back);
+        }
+
+        @Override
+        public Id get(int index) {
+            if (index < 0 || index >= this.size) {
+                throw new IndexOutOfBoundsException(String.format(
+                          "Index %s out of bounds for size %s",
+                          index, this.size));
+            }
+            Node node;
+            int steps;
+            if (index < this.prevSize) {
+                node = this.prev;
+                steps = this.prevSize - 1 - index;
+            } else {
+                node = this.back;
+                steps = index - this.prevSize;
+            }
+            for (int i = 0; i < steps; i++) {
+                node = node.parent();
+            }
+            return node.id();
+        }
+
+        @Override
+        public int size() {
+            return this.size;
+        }
+
+        @Override
+        public Object[] toArray() {
+            Object[] ids = new Object[this.size];
+            int i = this.prevSize;
+            for (Node node = this.prev; node != null; node = node.parent()) {
+                ids[--i] = node.id();
+            }
+            i = this.prevSize;
+            for (Node node = this.back; node != null; node = node.parent()) {
+                ids[i++] = node.id();
+            }
+            return ids;
+        }
+
+        @Override
+        public Iterator<Id> iterator() {
+            return this.listIterator(0);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public ListIterator<Id> listIterator(int index) {
+            // Walk the nodes once instead of walking them for each element
+            List<Id> ids = (List<Id>) (List<?>) Arrays.asList(this.toArray());
+            return Collections.unmodifiableList(ids).listIterator(index);
+        }
+
+        private static int depth(Node node) {
+            int depth = 0;
+            for (; node != null; node = node.parent()) {
+                depth++;
+            }
+            return depth;
+        }
+    }
+
     public static class PathSet implements Set<Path> {
 
         public static final PathSet EMPTY = new PathSet(ImmutableSet.of());
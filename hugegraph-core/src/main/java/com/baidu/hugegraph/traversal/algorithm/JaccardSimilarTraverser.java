@@ -19,20 +19,30 @@
 
 package com.baidu.hugegraph.traversal.algorithm;
 
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
 
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.util.CloseableIterator;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
 import com.baidu.hugegraph.HugeException;
 import com.baidu.hugegraph.HugeGraph;
 import com.baidu.hugegraph.backend.id.Id;
+import com.baidu.hugegraph.structure.HugeEdge;
 import com.baidu.hugegraph.traversal.algorithm.steps.EdgeStep;
 import com.baidu.hugegraph.type.define.Directions;
 import com.baidu.hugegraph.util.CollectionUtil;
 import com.baidu.hugegraph.util.E;
+import com.baidu.hugegraph.util.collection.BitmapIdSet;
+import com.baidu.hugegraph.util.collection.ObjectIntMapping;
+import com.baidu.hugegraph.util.collection.ObjectIntMappingFactory;
+import com.baidu.hugegraph.util.collection.SortedInts;
+import com.baidu.hugegraph.util.collection.TopKScores;
 import com.google.common.collect.ImmutableMap;
 
 public class JaccardSimilarTraverser extends OltpTraverser {
@@ -60,8 +70,16 @@ public class JaccardSimilarTraverser extends OltpTraverser {
     }
 
     public double jaccardSimilarity(Set<Id> set1, Set<Id> set2) {
-        int interNum = CollectionUtil.intersect(set1, set2).size();
-        int unionNum = CollectionUtil.union(set1, set2).size();
+        long interNum;
+        long unionNum;
+        if (set1 instanceof BitmapIdSet && set2 instanceof BitmapIdSet) {
+            // Count intersection on the bitmaps without materializing
+            interNum = ((BitmapIdSet) set1).intersectSize((BitmapIdSet) set2);
+            unionNum = set1.size() + set2.size() - interNum;
+        } else {
+            interNum = CollectionUtil.intersect(set1, set2).size();
+            unionNum = CollectionUtil.union(set1, set2).size();
+        }
         if (unionNum == 0) {
             return 0.0D;
         }
@@ -76,17 +94,148 @@ public class JaccardSimilarTraverser extends OltpTraverser {
 
         Map<Id, Double> results;
         int maxDepth = 3;
-        if (maxDepth >= this.concurrentDepth()) {
+        boolean concurrent = maxDepth >= this.concurrentDepth();
+        if (top > 0) {
+            results = this.jaccardSimilarsTop(source, step, top, capacity,
+                                              concurrent);
+        } else if (concurrent) {
             results = this.jaccardSimilarsConcurrent(source, step, capacity);
         } else {
             results = this.jaccardSimilarsSingle(source, step, capacity);
         }
 
-        if (top > 0) {
-            results = HugeTraverser.topN(results, true, top);
+        return results;
+    }
+
+    /**
+     * Compute the top similars by pruning the candidates whose similarity
+     * upper bound min(|A|, |B|) / max(|A|, |B|) can't reach the current
+     * k-th similarity. The adjacent vertices are mapped to int codes and
+     * intersected as sorted arrays, and loading the adjacent vertices of
+     * a candidate is stopped once its degree is too large to be kept.
+     */
+    public Map<Id, Double> jaccardSimilarsTop(Id source, EdgeStep step,
+                                              int top, long capacity,
+                                              boolean concurrent) {
+        AtomicLong count = new AtomicLong(0L);
+        Set<Id> accessed = concurrent ? ConcurrentHashMap.newKeySet() :
+                                        this.newVertexIdSet();
+        accessed.add(source);
+        reachCapacity(count.incrementAndGet(), capacity);
+
+        // Query neighbors
+        Set<Id> layer1s = this.adjacentVertices(source, step);
+        reachCapacity(count.get() + layer1s.size(), capacity);
+        count.addAndGet(layer1s.size());
+        if (layer1s.isEmpty()) {
+            return ImmutableMap.of();
         }
 
-        return results;
+        ObjectIntMapping<Id> mapping = ObjectIntMappingFactory
+                                       .newObjectIntMapping(concurrent);
+        int[] sources = new int[layer1s.size()];
+        int size = 0;
+        for (Id id : layer1s) {
+            sources[size++] = mapping.object2Code(id);
+        }
+        int[] layer1Codes = Arrays.copyOf(sources,
+                                          SortedInts.distinct(sources, size));
+
+        TopKScores<Id> results = new TopKScores<>(top);
+        Set<Id> layer2All = concurrent ? ConcurrentHashMap.newKeySet() :
+                                         this.newVertexIdSet();
+
+        this.traverseIds(layer1s.iterator(), id -> {
+            // Skip if accessed already
+            if (accessed.contains(id)) {
+                return;
+            }
+            // All adjacent vertices are needed to collect the candidates
+            Set<Id> layer2s = this.adjacentVertices(id, step);
+            layer2All.addAll(layer2s);
+            reachCapacity(count.get() + layer2All.size(), capacity);
+
+            int[] codes = new int[layer2s.size()];
+            int i = 0;
+            for (Id neighbor : layer2s) {
+                codes[i++] = mapping.object2Code(neighbor);
+            }
+            codes = Arrays.copyOf(codes, SortedInts.distinct(codes, i));
+            offerSimilarity(results, id, layer1Codes, codes);
+            accessed.add(id);
+        }, concurrent);
+
+        count.addAndGet(layer2All.size());
+
+        this.traverseIds(layer2All.iterator(), id -> {
+            // Skip if accessed already
+            if (accessed.contains(id)) {
+                return;
+            }
+            int[] codes = this.adjacentCodes(id, step, mapping,
+                                             layer1Codes.length,
+                                             results.threshold());
+            if (codes != null) {
+                reachCapacity(count.get() + codes.length, capacity);
+                offerSimilarity(results, id, layer1Codes, codes);
+            }
+            accessed.add(id);
+        }, concurrent);
+
+        return results.toMap();
+    }
+
+    /**
+     * Load sorted codes of the adjacent vertices, return null if the degree
+     * exceeds sourceDegree / threshold since the similarity can't reach the
+     * threshold any more
+     */
+    private int[] adjacentCodes(Id vertex, EdgeStep step,
+                                ObjectIntMapping<Id> mapping,
+                                int sourceDegree, double threshold) {
+        long maxDegree = threshold > 0.0D ?
+                         (long) (sourceDegree / threshold) : Long.MAX_VALUE;
+        Iterator<Edge> edges = this.edgesOfVertex(vertex, step);
+        int[] codes = new int[16];
+        int size = 0;
+        long checkpoint = maxDegree;
+        try {
+            while (edges.hasNext()) {
+                Id target = ((HugeEdge) edges.next()).id().otherVertexId();
+                if (size == codes.length) {
+                    codes = Arrays.copyOf(codes, size * 2);
+                }
+                codes[size++] = mapping.object2Code(target);
+                if (size > checkpoint) {
+                    // Count the distinct vertices only when may exceed
+                    size = SortedInts.distinct(codes, size);
+                    if (size > maxDegree) {
+                        return null;
+                    }
+                    checkpoint = size + maxDegree;
+                }
+            }
+        } finally {
+            CloseableIterator.closeIterator(edges);
+        }
+        return Arrays.copyOf(codes, SortedInts.distinct(codes, size));
+    }
+
+    private static void offerSimilarity(TopKScores<Id> results, Id id,
+                                        int[] sources, int[] targets) {
+        int min = Math.min(sources.length, targets.length);
+        int max = Math.max(sources.length, targets.length);
+        if (max == 0) {
+            results.offer(id, 0.0D);
+            return;
+        }
+        // Skip intersecting if the upper bound can't reach the threshold
+        if (results.prunable((double) min / max)) {
+            return;
+        }
+        int interNum = SortedInts.intersectSize(sources, targets);
+        int unionNum = sources.length + targets.length - interNum;
+        results.offer(id, (double) interNum / unionNum);
     }
 
     public Map<Id, Double> jaccardSimilarsConcurrent(Id source, EdgeStep step,
@@ -148,7 +297,7 @@ public class JaccardSimilarTraverser extends OltpTraverser {
     public Map<Id, Double> jaccardSimilarsSingle(Id source, EdgeStep step,
                                                  long capacity) {
         long count = 0L;
-        Set<Id> accessed = newIdSet();
+        Set<Id> accessed = this.newVertexIdSet();
         accessed.add(source);
         reachCapacity(++count, capacity);
 
@@ -162,7 +311,7 @@ public class JaccardSimilarTraverser extends OltpTraverser {
 
         Map<Id, Double> results = newMap();
         Set<Id> layer2s;
-        Set<Id> layer2All = newIdSet();
+        Set<Id> layer2All = this.newVertexIdSet();
         double jaccardSimilarity;
         for (Id neighbor : layer1s) {
             // Skip if accessed already
@@ -51,8 +51,8 @@ public class KneighborTraverser extends OltpTraverser {
 
         Id labelId = this.getEdgeLabelId(label);
 
-        Set<Id> latest = newSet();
-        Set<Id> all = newSet();
+        Set<Id> latest = this.newVertexIdSet();
+        Set<Id> all = this.newVertexIdSet();
 
         latest.add(sourceV);
 
@@ -80,6 +80,7 @@ public class KneighborTraverser extends OltpTraverser {
 
         KneighborRecords records = new KneighborRecords(concurrent,
                                                         source, true);
+        this.limitRecordsMemory(records);
 
         Consumer<Id> consumer = v -> {
             if (this.reachLimit(limit, records.size())) {
@@ -60,10 +60,10 @@ public class KoutTraverser extends OltpTraverser {
 
         Id labelId = this.getEdgeLabelId(label);
 
-        Set<Id> latest = newIdSet();
+        Set<Id> latest = this.newVertexIdSet();
         latest.add(sourceV);
 
-        Set<Id> all = newIdSet();
+        Set<Id> all = this.newVertexIdSet();
         all.add(sourceV);
 
         long remaining = capacity == NO_LIMIT ?
@@ -110,6 +110,7 @@ public class KoutTraverser extends OltpTraverser {
         boolean concurrent = maxDepth >= this.concurrentDepth();
 
         KoutRecords records = new KoutRecords(concurrent, source, nearest);
+        this.limitRecordsMemory(records);
 
         Consumer<Id> consumer = v -> {
             if (this.reachLimit(limit, depth[0], records.size())) {
@@ -26,6 +26,7 @@ import java.util.Set;
 
 import jakarta.ws.rs.core.MultivaluedMap;
 
+import org.apache.commons.lang3.mutable.MutableDouble;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 
 import com.baidu.hugegraph.HugeGraph;
@@ -35,6 +36,7 @@ import com.baidu.hugegraph.traversal.algorithm.steps.EdgeStep;
 import com.baidu.hugegraph.type.define.Directions;
 import com.baidu.hugegraph.util.E;
 import com.baidu.hugegraph.util.OrderLimitMap;
+import com.baidu.hugegraph.util.collection.TopKScores;
 
 public class NeighborRankTraverser extends HugeTraverser {
 
@@ -202,15 +204,38 @@ public class NeighborRankTraverser extends HugeTraverser {
 
     private Ranks contributeNewLayer(List<Adjacencies> adjacencies,
                                      Ranks lastLayerRanks, int capacity) {
-        Ranks newLayerRanks = new Ranks(capacity);
+        /*
+         * Accumulate ranks in a plain map first, then keep the top capacity
+         * ones, rather than re-sorting the order map for every increment
+         */
+        Map<Id, MutableDouble> incrRanks = newMap();
         for (Adjacencies adjacenciesV : adjacencies) {
             Id source = adjacenciesV.source();
             long degree = adjacenciesV.degree();
+            double incr = lastLayerRanks.get(source) * this.alpha / degree;
             for (Node node : adjacenciesV.nodes()) {
-                double rank = newLayerRanks.getOrDefault(node.id(), 0.0);
-                rank += (lastLayerRanks.get(source) * this.alpha / degree);
-                newLayerRanks.put(node.id(), rank);
+                MutableDouble rank = incrRanks.get(node.id());
+                if (rank == null) {
+                    incrRanks.put(node.id(), new MutableDouble(incr));
+                } else {
+                    rank.add(incr);
+                }
+            }
+        }
+
+        Ranks newLayerRanks = new Ranks(capacity);
+        if (incrRanks.size() <= capacity) {
+            for (Map.Entry<Id, MutableDouble> e : incrRanks.entrySet()) {
+                newLayerRanks.put(e.getKey(), e.getValue().doubleValue());
             }
+            return newLayerRanks;
+        }
+        TopKScores<Id> topRanks = new TopKScores<>(capacity);
+        for (Map.Entry<Id, MutableDouble> e : incrRanks.entrySet()) {
+            topRanks.offer(e.getKey(), e.getValue().doubleValue());
+        }
+        for (Map.Entry<Id, Double> e : topRanks.toMap().entrySet()) {
+            newLayerRanks.put(e.getKey(), e.getValue());
         }
         return newLayerRanks;
     }
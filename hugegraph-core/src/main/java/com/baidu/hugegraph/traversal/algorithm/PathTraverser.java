@@ -19,19 +19,27 @@
 
 package com.baidu.hugegraph.traversal.algorithm;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BiConsumer;
 
 import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.eclipse.collections.api.map.primitive.MutableLongObjectMap;
+import org.eclipse.collections.impl.map.mutable.primitive.LongObjectHashMap;
 
 import com.baidu.hugegraph.backend.id.Id;
+import com.baidu.hugegraph.backend.serializer.BytesBuffer;
 import com.baidu.hugegraph.structure.HugeEdge;
 import com.baidu.hugegraph.traversal.algorithm.steps.EdgeStep;
 import com.baidu.hugegraph.traversal.algorithm.strategy.TraverseStrategy;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.hash.Hashing;
 
 import static com.baidu.hugegraph.traversal.algorithm.HugeTraverser.NO_LIMIT;
 
@@ -52,12 +60,25 @@ public abstract class PathTraverser {
     protected Map<Id, List<HugeTraverser.Node>> newVertices;
 
     protected Set<HugeTraverser.Path> paths;
+    protected final HugeTraverser.PathEmitter emitter;
+    protected final AtomicLong pathCount;
 
     protected TraverseStrategy traverseStrategy;
 
     public PathTraverser(HugeTraverser traverser, TraverseStrategy strategy,
                          Collection<Id> sources, Collection<Id> targets,
                          long capacity, long limit) {
+        this(traverser, strategy, sources, targets, capacity, limit, null);
+    }
+
+    /**
+     * @param emitter receive the found paths as soon as they are found
+     *                if not null
+     */
+    public PathTraverser(HugeTraverser traverser, TraverseStrategy strategy,
+                         Collection<Id> sources, Collection<Id> targets,
+                         long capacity, long limit,
+                         HugeTraverser.PathEmitter emitter) {
         this.traverser = traverser;
         this.traverseStrategy = strategy;
 
@@ -80,7 +101,20 @@ public abstract class PathTraverser {
         this.sourcesAll.putAll(this.sources);
         this.targetsAll.putAll(this.targets);
 
-        this.paths = this.newPathSet();
+        /*
+         * A path may be found by both directions, so the found paths are
+         * filtered to drop the duplicated ones. The emitted paths are not
+         * kept, only the compact ids of each of them are recorded.
+         */
+        if (emitter == null) {
+            this.paths = this.newPathSet();
+            this.emitter = this.paths::add;
+        } else {
+            this.paths = ImmutableSet.of();
+            EmittedPaths emitted = new EmittedPaths();
+            this.emitter = path -> emitted.add(path) && emitter.emit(path);
+        }
+        this.pathCount = new AtomicLong(0L);
     }
 
     public void forward() {
@@ -192,12 +226,21 @@ public abstract class PathTraverser {
         this.traverseStrategy.addNewVerticesToAll(this.newVertices, targets);
     }
 
+    public void addPath(HugeTraverser.Path path) {
+        if (this.emitter.emit(path)) {
+            this.pathCount.incrementAndGet();
+        }
+    }
+
+    /**
+     * @return the found paths, it's empty if the paths are emitted
+     */
     public Set<HugeTraverser.Path> paths() {
         return this.paths;
     }
 
-    public int pathCount() {
-        return this.paths.size();
+    public long pathCount() {
+        return this.pathCount.get();
     }
 
     protected boolean finished() {
@@ -223,4 +266,62 @@ public abstract class PathTraverser {
         }
         return size;
     }
+
+    /**
+     * The compact ids of the emitted paths, which are looked up by a 64-bit
+     * fingerprint of the path first, and a path is dropped only if its ids
+     * equal the ids of an emitted path with the same fingerprint
+     */
+    private static final class EmittedPaths {
+
+        // The value is a byte[] or a list of byte[] if fingerprints collide
+        private final MutableLongObjectMap<Object> paths;
+
+        public EmittedPaths() {
+            this.paths = new LongObjectHashMap<>();
+        }
+
+        /**
+         * @return false if the path has been emitted
+         */
+        @SuppressWarnings("unchecked")
+        public synchronized boolean add(HugeTraverser.Path path) {
+            byte[] ids = compact(path);
+            long fingerprint = Hashing.murmur3_128().hashBytes(ids).asLong();
+            Object emitted = this.paths.get(fingerprint);
+            if (emitted == null) {
+                this.paths.put(fingerprint, ids);
+                return true;
+            }
+
+            List<byte[]> collided;
+            if (emitted instanceof byte[]) {
+                if (Arrays.equals((byte[]) emitted, ids)) {
+                    return false;
+                }
+                collided = new ArrayList<>(2);
+                collided.add((byte[]) emitted);
+                this.paths.put(fingerprint, collided);
+            } else {
+                collided = (List<byte[]>) emitted;
+                for (byte[] other : collided) {
+                    if (Arrays.equals(other, ids)) {
+                        return false;
+                    }
+                }
+            }
+            collided.add(ids);
+            return true;
+        }
+
+        private static byte[] compact(HugeTraverser.Path path) {
+            List<Id> vertices = path.vertices();
+            BytesBuffer buffer = BytesBuffer.allocate(vertices.size() *
+                                                      Long.BYTES);
+            for (Id id : vertices) {
+                buffer.writeId(id, true);
+            }
+            return buffer.bytes();
+        }
+    }
 }
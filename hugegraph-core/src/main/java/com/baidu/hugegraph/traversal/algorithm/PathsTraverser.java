@@ -20,6 +20,7 @@
 package com.baidu.hugegraph.traversal.algorithm;
 
 import java.util.Iterator;
+import java.util.Set;
 
 import org.apache.tinkerpop.gremlin.structure.Edge;
 
@@ -41,6 +42,21 @@ public class PathsTraverser extends HugeTraverser {
     public PathSet paths(Id sourceV, Directions sourceDir,
                          Id targetV, Directions targetDir, String label,
                          int depth, long degree, long capacity, long limit) {
+        PathSet paths = new PathSet();
+        this.paths(sourceV, sourceDir, targetV, targetDir, label, depth,
+                   degree, capacity, limit, paths::add);
+        return paths;
+    }
+
+    /**
+     * Emit the paths as soon as they are found instead of collecting them
+     * @return the number of emitted paths
+     */
+    @Watched
+    public long paths(Id sourceV, Directions sourceDir,
+                      Id targetV, Directions targetDir, String label,
+                      int depth, long degree, long capacity, long limit,
+                      PathEmitter emitter) {
         E.checkNotNull(sourceV, "source vertex id");
         E.checkNotNull(targetV, "target vertex id");
         this.checkVertexExist(sourceV, "source vertex");
@@ -58,13 +74,15 @@ public class PathsTraverser extends HugeTraverser {
         checkCapacity(capacity);
         checkLimit(limit);
 
+        E.checkArgumentNotNull(emitter, "The path emitter can't be null");
+
         if (sourceV.equals(targetV)) {
-            return PathSet.EMPTY;
+            return 0L;
         }
 
         Id labelId = this.getEdgeLabelId(label);
         Traverser traverser = new Traverser(sourceV, targetV, labelId,
-                                            degree, capacity, limit);
+                                            degree, capacity, limit, emitter);
         // We should stop early if walk backtrace or reach limit
         while (true) {
             if (--depth < 0 || traverser.reachLimit()) {
@@ -77,7 +95,7 @@ public class PathsTraverser extends HugeTraverser {
             }
             traverser.backward(sourceV, targetDir);
         }
-        return traverser.paths();
+        return traverser.pathCount();
     }
 
     private class Traverser {
@@ -89,17 +107,24 @@ public class PathsTraverser extends HugeTraverser {
         private final long capacity;
         private final long limit;
 
-        private final PathSet paths;
+        private final PathEmitter emitter;
+        private long pathCount;
+        // The targets linked from current vertex, to skip multiple edges
+        private final Set<Id> linkedTargets;
 
         public Traverser(Id sourceV, Id targetV, Id label,
-                         long degree, long capacity, long limit) {
+                         long degree, long capacity, long limit,
+                         PathEmitter emitter) {
             this.record = new PathsRecords(false, sourceV, targetV);
+            limitRecordsMemory(this.record);
             this.label = label;
             this.degree = degree;
             this.capacity = capacity;
             this.limit = limit;
 
-            this.paths = new PathSet();
+            this.emitter = emitter;
+            this.pathCount = 0L;
+            this.linkedTargets = newIdSet();
         }
 
         /**
@@ -118,14 +143,21 @@ public class PathsTraverser extends HugeTraverser {
 
                 edges = edgesOfVertex(vid, direction, this.label, this.degree);
 
+                this.linkedTargets.clear();
                 while (edges.hasNext()) {
                     HugeEdge edge = (HugeEdge) edges.next();
                     Id target = edge.id().otherVertexId();
+                    if (!this.linkedTargets.add(target)) {
+                        // Multiple edges lead to the same paths
+                        continue;
+                    }
 
                     PathSet results = this.record.findPath(target, null,
                                                            true, false);
                     for (Path path : results) {
-                        this.paths.add(path);
+                        if (this.emitter.emit(path)) {
+                            this.pathCount++;
+                        }
                         if (this.reachLimit()) {
                             return;
                         }
@@ -151,14 +183,21 @@ public class PathsTraverser extends HugeTraverser {
 
                 edges = edgesOfVertex(vid, direction, this.label, this.degree);
 
+                this.linkedTargets.clear();
                 while (edges.hasNext()) {
                     HugeEdge edge = (HugeEdge) edges.next();
                     Id target = edge.id().otherVertexId();
+                    if (!this.linkedTargets.add(target)) {
+                        // Multiple edges lead to the same paths
+                        continue;
+                    }
 
                     PathSet results = this.record.findPath(target, null,
                                                            true, false);
                     for (Path path : results) {
-                        this.paths.add(path);
+                        if (this.emitter.emit(path)) {
+                            this.pathCount++;
+                        }
                         if (this.reachLimit()) {
                             return;
                         }
@@ -169,13 +208,13 @@ public class PathsTraverser extends HugeTraverser {
             this.record.finishOneLayer();
         }
 
-        public PathSet paths() {
-            return this.paths;
+        public long pathCount() {
+            return this.pathCount;
         }
 
         private boolean reachLimit() {
             checkCapacity(this.capacity, this.record.accessed(), "paths");
-            return this.limit != NO_LIMIT && this.paths.size() >= this.limit;
+            return this.limit != NO_LIMIT && this.pathCount >= this.limit;
         }
     }
 }
@@ -46,6 +46,30 @@ public class TemplatePathsTraverser extends HugeTraverser {
                                    List<RepeatEdgeStep> steps,
                                    boolean withRing,
                                    long capacity, long limit) {
+        Traverser traverser = this.traverse(sources, targets, steps, withRing,
+                                            capacity, limit, null);
+        return traverser.paths();
+    }
+
+    /**
+     * Emit the paths as soon as they are found instead of collecting them
+     * @return the number of emitted paths
+     */
+    public long templatePaths(Iterator<Vertex> sources,
+                              Iterator<Vertex> targets,
+                              List<RepeatEdgeStep> steps, boolean withRing,
+                              long capacity, long limit, PathEmitter emitter) {
+        E.checkArgumentNotNull(emitter, "The path emitter can't be null");
+        Traverser traverser = this.traverse(sources, targets, steps, withRing,
+                                            capacity, limit, emitter);
+        return traverser.pathCount();
+    }
+
+    private Traverser traverse(Iterator<Vertex> sources,
+                               Iterator<Vertex> targets,
+                               List<RepeatEdgeStep> steps, boolean withRing,
+                               long capacity, long limit,
+                               PathEmitter emitter) {
         checkCapacity(capacity);
         checkLimit(limit);
 
@@ -75,18 +99,18 @@ public class TemplatePathsTraverser extends HugeTraverser {
                                     this.graph());
         Traverser traverser = new Traverser(this, strategy,
                                             sourceList, targetList, steps,
-                                            withRing, capacity, limit);
+                                            withRing, capacity, limit, emitter);
         do {
             // Forward
             traverser.forward();
             if (traverser.finished()) {
-                return traverser.paths();
+                return traverser;
             }
 
             // Backward
             traverser.backward();
             if (traverser.finished()) {
-                return traverser.paths();
+                return traverser;
             }
         } while (true);
     }
@@ -106,8 +130,9 @@ public class TemplatePathsTraverser extends HugeTraverser {
         public Traverser(HugeTraverser traverser, TraverseStrategy strategy,
                          Collection<Id> sources, Collection<Id> targets,
                          List<RepeatEdgeStep> steps, boolean withRing,
-                         long capacity, long limit) {
-            super(traverser, strategy, sources, targets, capacity, limit);
+                         long capacity, long limit, PathEmitter emitter) {
+            super(traverser, strategy, sources, targets, capacity, limit,
+                  emitter);
 
             this.steps = steps;
             this.withRing = withRing;
@@ -155,9 +180,10 @@ public class TemplatePathsTraverser extends HugeTraverser {
                 if (this.lastSuperStep() &&
                     this.targetsAll.containsKey(targetV)) {
                     for (Node target : this.targetsAll.get(targetV)) {
-                        List<Id> path = joinPath(source, target, this.withRing);
+                        List<Id> path = joinNodes(source, target,
+                                                  this.withRing);
                         if (!path.isEmpty()) {
-                            this.paths.add(new Path(targetV, path));
+                            this.addPath(new Path(targetV, path));
                             if (this.reachLimit()) {
                                 return;
                             }
@@ -182,11 +208,11 @@ public class TemplatePathsTraverser extends HugeTraverser {
                 if (this.lastSuperStep() &&
                     this.sourcesAll.containsKey(targetV)) {
                     for (Node target : this.sourcesAll.get(targetV)) {
-                        List<Id> path = joinPath(source, target, this.withRing);
+                        // Join reversely to get the path from source
+                        List<Id> path = joinNodes(target, source,
+                                                  this.withRing);
                         if (!path.isEmpty()) {
-                            Path newPath = new Path(targetV, path);
-                            newPath.reverse();
-                            this.paths.add(newPath);
+                            this.addPath(new Path(targetV, path));
                             if (this.reachLimit()) {
                                 return;
                             }
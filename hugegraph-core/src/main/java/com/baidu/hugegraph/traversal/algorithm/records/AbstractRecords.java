@@ -19,9 +19,15 @@
 
 package com.baidu.hugegraph.traversal.algorithm.records;
 
+import java.io.File;
+import java.util.Stack;
+
+import org.apache.commons.lang3.StringUtils;
+
 import com.baidu.hugegraph.backend.id.Id;
 import com.baidu.hugegraph.backend.id.IdGenerator;
 import com.baidu.hugegraph.perf.PerfUtil.Watched;
+import com.baidu.hugegraph.traversal.algorithm.records.record.CompactRecord;
 import com.baidu.hugegraph.traversal.algorithm.records.record.Record;
 import com.baidu.hugegraph.traversal.algorithm.records.record.RecordFactory;
 import com.baidu.hugegraph.traversal.algorithm.records.record.RecordType;
@@ -30,17 +36,42 @@ import com.baidu.hugegraph.util.collection.ObjectIntMapping;
 
 public abstract class AbstractRecords implements Records {
 
+    // The estimated heap bytes of an entry of the uncompacted layer
+    private static final long LAYER_ENTRY_BYTES = 16L;
+
     private final ObjectIntMapping<Id> idMapping;
     private final RecordType type;
     private final boolean concurrent;
     private Record currentRecord;
     private Record parentRecord;
+    private long memoryLimit;
+    private File spillDirectory;
 
     public AbstractRecords(RecordType type, boolean concurrent) {
         this.type = type;
         this.concurrent = concurrent;
         this.parentRecord = null;
         this.idMapping = ObjectIntMappingFactory.newObjectIntMapping(this.concurrent);
+        this.memoryLimit = 0L;
+        this.spillDirectory = null;
+    }
+
+    /**
+     * Bound the heap occupied by the layers, 0 means unbounded.
+     * The finished layers will be compacted into sorted arrays, and the
+     * oldest compacted layers will be spilled to the spill path once the
+     * heap bytes exceed the memory limit, the heap bytes include the
+     * finished layers in heap, the layer to be built next (estimated by
+     * the size of the last finished one) and the extra bytes of the
+     * records like the accessed vertices.
+     * NOTE: the ids mapped to codes (the ids except small numbers) are not
+     * bounded by the memory limit but by the capacity of the traversal,
+     * they can't be spilled since the paths are resolved by them.
+     */
+    public void memoryLimit(long memoryLimit, String spillPath) {
+        this.memoryLimit = memoryLimit;
+        this.spillDirectory = StringUtils.isEmpty(spillPath) ?
+                              null : new File(spillPath);
     }
 
     @Watched
@@ -80,4 +111,66 @@ public abstract class AbstractRecords implements Records {
     protected Record parentRecord() {
         return this.parentRecord;
     }
+
+    /**
+     * The heap bytes of the records except the layers, which can't be
+     * spilled but are counted in the memory limit
+     */
+    protected long extraBytes() {
+        return 0L;
+    }
+
+    /**
+     * Compact the finished layers which are not compacted yet (generally
+     * only the top of the stacks) and spill the oldest layers until the
+     * heap bytes are under the memory limit.
+     * NOTE: must be called after a layer is finished and before the next
+     * layer is started, the layers are read only then.
+     */
+    @SafeVarargs
+    protected final void compactLayers(Stack<Record>... layers) {
+        if (this.memoryLimit <= 0L) {
+            return;
+        }
+
+        long bytes = this.extraBytes();
+        // Reserve for the next layer which is built uncompacted in heap
+        if (this.currentRecord != null) {
+            bytes += this.currentRecord.size() * LAYER_ENTRY_BYTES;
+        }
+        int maxLayers = 0;
+        for (Stack<Record> records : layers) {
+            for (int i = 0; i < records.size(); i++) {
+                Record record = records.get(i);
+                CompactRecord compacted = CompactRecord.compact(record);
+                if (compacted != record) {
+                    records.set(i, compacted);
+                    if (record == this.currentRecord) {
+                        this.currentRecord(compacted, this.parentRecord);
+                    }
+                }
+                bytes += compacted.bytes();
+            }
+            maxLayers = Math.max(maxLayers, records.size());
+        }
+
+        // Spill from the oldest layer, the newest one is the next parent
+        for (int i = 0; i < maxLayers && bytes > this.memoryLimit; i++) {
+            for (Stack<Record> records : layers) {
+                if (i >= records.size() || bytes <= this.memoryLimit) {
+                    continue;
+                }
+                CompactRecord record = (CompactRecord) records.get(i);
+                if (record.spilled()) {
+                    continue;
+                }
+                bytes -= record.bytes();
+                CompactRecord spilled = record.spill(this.spillDirectory);
+                records.set(i, spilled);
+                if (record == this.currentRecord) {
+                    this.currentRecord(spilled, this.parentRecord);
+                }
+            }
+        }
+    }
 }
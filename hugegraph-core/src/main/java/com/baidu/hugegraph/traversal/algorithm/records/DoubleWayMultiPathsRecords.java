@@ -80,6 +80,7 @@ public abstract class DoubleWayMultiPathsRecords extends AbstractRecords {
             this.targetRecords.push(record);
         }
         this.accessed += record.size();
+        this.compactLayers(this.sourceRecords, this.targetRecords);
     }
 
     @Watched
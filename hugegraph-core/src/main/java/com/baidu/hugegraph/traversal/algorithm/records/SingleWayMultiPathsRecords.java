@@ -42,6 +42,9 @@ import com.baidu.hugegraph.util.collection.IntSet;
 
 public abstract class SingleWayMultiPathsRecords extends AbstractRecords {
 
+    // The estimated heap bytes of an accessed vertex in the int set
+    private static final long ACCESSED_BYTES = 8L;
+
     private final Stack<Record> records;
 
     private final int sourceCode;
@@ -75,6 +78,7 @@ public abstract class SingleWayMultiPathsRecords extends AbstractRecords {
     @Override
     public void finishOneLayer() {
         this.records.push(this.currentRecord());
+        this.compactLayers(this.records);
     }
 
     @Override
@@ -105,6 +109,11 @@ public abstract class SingleWayMultiPathsRecords extends AbstractRecords {
         return this.accessedVertices.size();
     }
 
+    @Override
+    protected long extraBytes() {
+        return this.accessedVertices.size() * ACCESSED_BYTES;
+    }
+
     public Iterator<Id> keys() {
         return new MapperInt2ObjectIterator<>(this.parentRecordKeys, this::id);
     }
@@ -128,7 +137,7 @@ public abstract class SingleWayMultiPathsRecords extends AbstractRecords {
         // Find the layer where the target is located
         int foundLayer = -1;
         for (int i = 0; i < this.records.size(); i++) {
-            IntMap layer = this.layer(i);
+            Record layer = this.records.elementAt(i);
             if (!layer.containsKey(target)) {
                 continue;
             }
@@ -141,9 +150,8 @@ public abstract class SingleWayMultiPathsRecords extends AbstractRecords {
         // If a layer found, then concat parents
         if (foundLayer > 0) {
             for (int i = foundLayer; i > 0; i--) {
-                IntMap layer = this.layer(i);
                 // Uptrack parents
-                target = layer.get(target);
+                target = this.parent(i, target);
                 ids.add(this.id(target));
             }
         }
@@ -152,7 +160,7 @@ public abstract class SingleWayMultiPathsRecords extends AbstractRecords {
 
     protected final Path linkPath(int layerIndex, int target) {
         List<Id> ids = CollectionFactory.newList(CollectionType.EC);
-        IntMap layer = this.layer(layerIndex);
+        Record layer = this.records.elementAt(layerIndex);
         if (!layer.containsKey(target)) {
             throw new HugeException("Failed to get path for %s",
                                     this.id(target));
@@ -161,18 +169,22 @@ public abstract class SingleWayMultiPathsRecords extends AbstractRecords {
         ids.add(this.id(target));
         // Concat parents
         for (int i = layerIndex; i > 0; i--) {
-            layer = this.layer(i);
             // Uptrack parents
-            target = layer.get(target);
+            target = this.parent(i, target);
             ids.add(this.id(target));
         }
         Collections.reverse(ids);
         return new Path(ids);
     }
 
-    protected final IntMap layer(int layerIndex) {
+    protected final int parent(int layerIndex, int target) {
         Record record = this.records.elementAt(layerIndex);
-        return ((Int2IntRecord) record).layer();
+        if (record instanceof Int2IntRecord) {
+            return ((Int2IntRecord) record).layer().get(target);
+        }
+        // The layer may be compacted or spilled
+        IntIterator parents = record.get(target);
+        return parents.hasNext() ? parents.next() : IntMap.NULL_VALUE;
     }
 
     protected final Stack<Record> records() {
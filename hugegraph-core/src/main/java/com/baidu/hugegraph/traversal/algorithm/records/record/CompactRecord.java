@@ -0,0 +1,278 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.traversal.algorithm.records.record;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+import com.baidu.hugegraph.HugeException;
+import com.baidu.hugegraph.exception.NotSupportException;
+import com.baidu.hugegraph.util.E;
+import com.baidu.hugegraph.util.collection.IntIterator;
+
+/**
+ * A read-only record of a finished layer, the nodes are stored in a sorted
+ * int column and the parents of each node are stored in another int column.
+ * An offsets column is only kept when some node owns multiple parents.
+ * The columns are stored in heap until spilled to a local file, after that
+ * they are memory-mapped from the file and don't occupy heap any more.
+ */
+public class CompactRecord implements Record {
+
+    private static final String SPILL_PREFIX = "hugegraph-records-";
+    private static final String SPILL_SUFFIX = ".layer";
+    private static final int MAX_COLUMN_SIZE = Integer.MAX_VALUE / Integer.BYTES;
+
+    // Sorted nodes
+    private final IntBuffer keys;
+    // Start offset of parents for each node, null if one parent per node
+    private final IntBuffer offsets;
+    // Parents of nodes
+    private final IntBuffer values;
+    private final boolean spilled;
+
+    private CompactRecord(IntBuffer keys, IntBuffer offsets,
+                          IntBuffer values, boolean spilled) {
+        this.keys = keys;
+        this.offsets = offsets;
+        this.values = values;
+        this.spilled = spilled;
+    }
+
+    public static CompactRecord compact(Record record) {
+        if (record instanceof CompactRecord) {
+            return (CompactRecord) record;
+        }
+
+        int size = record.size();
+        E.checkArgument(size <= MAX_COLUMN_SIZE,
+                        "Too many nodes to compact in one layer: %s", size);
+        int[] keys = new int[size];
+        IntIterator iterator = record.keys();
+        int count = 0;
+        while (iterator.hasNext()) {
+            keys[count++] = iterator.next();
+        }
+        assert count == size;
+        Arrays.sort(keys);
+
+        int[] offsets = new int[size + 1];
+        int[] values = new int[size];
+        boolean multiValues = false;
+        count = 0;
+        for (int i = 0; i < size; i++) {
+            offsets[i] = count;
+            iterator = record.get(keys[i]);
+            while (iterator.hasNext()) {
+                if (count == values.length) {
+                    E.checkArgument(values.length < MAX_COLUMN_SIZE,
+                                    "Too many parents to compact in " +
+                                    "one layer: %s", values.length);
+                    values = Arrays.copyOf(values, (int) Math.min(
+                                           values.length * 2L + 1L,
+                                           MAX_COLUMN_SIZE));
+                }
+                values[count++] = iterator.next();
+            }
+            if (count - offsets[i] != 1) {
+                multiValues = true;
+            }
+        }
+        offsets[size] = count;
+        if (count != values.length) {
+            values = Arrays.copyOf(values, count);
+        }
+
+        return new CompactRecord(IntBuffer.wrap(keys),
+                                 multiValues ? IntBuffer.wrap(offsets) : null,
+                                 IntBuffer.wrap(values), false);
+    }
+
+    /**
+     * Write the columns into a file under the specified directory and map
+     * them back as a new record, the file is removed once mapped since the
+     * mapping keeps valid until the returned record is collected.
+     * NOTE: don't register the file by deleteOnExit(), which keeps the path
+     * in a JVM-wide list forever.
+     */
+    public CompactRecord spill(File directory) {
+        if (this.spilled) {
+            return this;
+        }
+        File file = null;
+        try {
+            file = File.createTempFile(SPILL_PREFIX, SPILL_SUFFIX, directory);
+            try (RandomAccessFile raf = new RandomAccessFile(file, "rw");
+                 FileChannel channel = raf.getChannel()) {
+                long keysPos = 0L;
+                long offsetsPos = this.write(channel, keysPos, this.keys);
+                long valuesPos = this.write(channel, offsetsPos, this.offsets);
+                long end = this.write(channel, valuesPos, this.values);
+
+                IntBuffer keys = map(channel, keysPos, offsetsPos);
+                IntBuffer offsets = this.offsets == null ? null :
+                                    map(channel, offsetsPos, valuesPos);
+                IntBuffer values = map(channel, valuesPos, end);
+                return new CompactRecord(keys, offsets, values, true);
+            }
+        } catch (IOException e) {
+            throw new HugeException("Failed to spill records to '%s'",
+                                    e, directory);
+        } finally {
+            if (file != null) {
+                file.delete();
+            }
+        }
+    }
+
+    private long write(FileChannel channel, long position, IntBuffer column)
+                       throws IOException {
+        if (column == null) {
+            return position;
+        }
+        IntBuffer source = column.duplicate();
+        source.rewind();
+        ByteBuffer buffer = ByteBuffer.allocate(source.remaining() *
+                                                Integer.BYTES);
+        buffer.asIntBuffer().put(source);
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+        return position;
+    }
+
+    private static IntBuffer map(FileChannel channel, long start, long end)
+                                 throws IOException {
+        return channel.map(FileChannel.MapMode.READ_ONLY, start, end - start)
+                      .asIntBuffer();
+    }
+
+    public boolean spilled() {
+        return this.spilled;
+    }
+
+    /**
+     * Heap bytes occupied by the columns, 0 if spilled
+     */
+    public long bytes() {
+        if (this.spilled) {
+            return 0L;
+        }
+        long bytes = (long) this.keys.capacity() + this.values.capacity();
+        if (this.offsets != null) {
+            bytes += this.offsets.capacity();
+        }
+        return bytes * Integer.BYTES;
+    }
+
+    @Override
+    public IntIterator keys() {
+        return new ColumnIterator(this.keys, 0, this.keys.limit());
+    }
+
+    @Override
+    public boolean containsKey(int node) {
+        return this.indexOf(node) >= 0;
+    }
+
+    @Override
+    public IntIterator get(int node) {
+        int index = this.indexOf(node);
+        if (index < 0) {
+            return IntIterator.EMPTY;
+        }
+        if (this.offsets == null) {
+            return IntIterator.wrap(this.values.get(index));
+        }
+        return new ColumnIterator(this.values, this.offsets.get(index),
+                                  this.offsets.get(index + 1));
+    }
+
+    @Override
+    public void addPath(int node, int parent) {
+        throw new NotSupportException("adding path to a compacted record");
+    }
+
+    @Override
+    public int size() {
+        return this.keys.limit();
+    }
+
+    @Override
+    public boolean concurrent() {
+        // Read only after compacted
+        return true;
+    }
+
+    private int indexOf(int node) {
+        int low = 0;
+        int high = this.keys.limit() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int key = this.keys.get(mid);
+            if (key < node) {
+                low = mid + 1;
+            } else if (key > node) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CompactRecord{size=%s,spilled=%s}",
+                             this.size(), this.spilled);
+    }
+
+    private static final class ColumnIterator implements IntIterator {
+
+        private final IntBuffer column;
+        private final int end;
+        private int index;
+
+        public ColumnIterator(IntBuffer column, int start, int end) {
+            this.column = column;
+            this.index = start;
+            this.end = end;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.index < this.end;
+        }
+
+        @Override
+        public int next() {
+            if (this.index >= this.end) {
+                throw new NoSuchElementException();
+            }
+            return this.column.get(this.index++);
+        }
+    }
+}
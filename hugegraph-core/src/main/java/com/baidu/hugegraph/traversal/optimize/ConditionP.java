@@ -50,6 +50,10 @@ public class ConditionP extends P<Object> {
         return new ConditionP(RelationType.CONTAINS_VALUE, value);
     }
 
+    public static ConditionP nearest(Object value) {
+        return new ConditionP(RelationType.NEAREST, value);
+    }
+
     public static ConditionP eq(Object value) {
         // EQ that can compare two array
         return new ConditionP(RelationType.EQ, value);
@@ -441,6 +441,14 @@ public final class TraversalUtil {
         String key = has.getKey();
         PropertyKey pkey = graph.propertyKey(key);
         Id pkeyId = pkey.id();
+        if (bp == RelationType.NEAREST) {
+            // The value is a query vector rather than a property value
+            E.checkArgument(has.getValue() instanceof Condition.Nearest,
+                            "Expect Nearest value for `nearest`, " +
+                            "but got '%s'", has.getValue());
+            return Condition.nearest(pkeyId,
+                                     (Condition.Nearest) has.getValue());
+        }
         Object value = validPropertyValue(has.getValue(), pkey);
         return new Condition.UserpropRelation(pkeyId, (RelationType) bp, value);
     }
@@ -607,6 +615,10 @@ public final class TraversalUtil {
         List<P<Object>> leafPredicates = new ArrayList<>();
         collectPredicates(leafPredicates, ImmutableList.of(predicate));
         for (P<Object> pred : leafPredicates) {
+            if (pred.getValue() instanceof Condition.Nearest) {
+                // The query vector of nearest is not a property value
+                continue;
+            }
             Object value = validPropertyValue(pred.getValue(), pkey);
             pred.setValue(value);
         }
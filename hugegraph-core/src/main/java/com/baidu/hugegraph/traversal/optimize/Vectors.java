@@ -17,32 +17,20 @@
  * under the License.
  */
 
-package com.baidu.hugegraph.api.filter;
+package com.baidu.hugegraph.traversal.optimize;
 
-import jakarta.inject.Singleton;
-import jakarta.ws.rs.container.ContainerRequestContext;
-import jakarta.ws.rs.container.ContainerResponseContext;
-import jakarta.ws.rs.container.ContainerResponseFilter;
-import jakarta.ws.rs.core.Context;
-import jakarta.ws.rs.ext.Provider;
+import java.util.List;
 
-import com.baidu.hugegraph.define.WorkLoad;
+import com.baidu.hugegraph.backend.query.Condition;
 
-@Provider
-@Singleton
-public class LoadReleaseFilter implements ContainerResponseFilter {
+public class Vectors {
 
-    @Context
-    private jakarta.inject.Provider<WorkLoad> loadProvider;
-
-    @Override
-    public void filter(ContainerRequestContext requestContext,
-                       ContainerResponseContext responseContext) {
-        if (LoadDetectFilter.isWhiteAPI(requestContext)) {
-            return;
-        }
-
-        WorkLoad load = this.loadProvider.get();
-        load.decrementAndGet();
+    /**
+     * Query the top nearest vertices of a vector by the vector index, like:
+     *   g.V().has('embedding', Vectors.nearest([0.1, 0.2, 0.3], 10))
+     * the results are ordered by the cosine distance ascending
+     */
+    public static ConditionP nearest(List<?> vector, int top) {
+        return ConditionP.nearest(new Condition.Nearest(vector, top));
     }
 }
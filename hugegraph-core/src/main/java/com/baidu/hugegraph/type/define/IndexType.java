@@ -33,14 +33,20 @@ public enum IndexType implements SerialEnum {
     RANGE_LONG(23, "range_long"),
     RANGE_DOUBLE(24, "range_double"),
 
-    // For full-text query (not supported now)
+    // For full-text query
     SEARCH(3, "search"),
 
     // For prefix + range query
     SHARD(4, "shard"),
 
     // For unique index
-    UNIQUE(5, "unique");
+    UNIQUE(5, "unique"),
+
+    // For secondary query on low-cardinality property of number-id vertices
+    BITMAP(6, "bitmap"),
+
+    // For nearest neighbor query on float list property
+    VECTOR(7, "vector");
 
     private byte code = 0;
     private String name = null;
@@ -67,6 +73,10 @@ public enum IndexType implements SerialEnum {
     public HugeType type() {
         switch (this) {
             case SECONDARY:
+            case BITMAP:
+                // NOTE: bitmap index is stored by backend store separately
+            case VECTOR:
+                // NOTE: vector index is stored as secondary index of buckets
                 return HugeType.SECONDARY_INDEX;
             case RANGE_INT:
                 return HugeType.RANGE_INT_INDEX;
@@ -90,7 +100,8 @@ public enum IndexType implements SerialEnum {
 
     public boolean isString() {
         return this == SECONDARY || this == SEARCH ||
-               this == SHARD || this == UNIQUE;
+               this == SHARD || this == UNIQUE || this == BITMAP ||
+               this == VECTOR;
     }
 
     public boolean isNumeric() {
@@ -119,4 +130,12 @@ public enum IndexType implements SerialEnum {
     public boolean isUnique() {
         return this == UNIQUE;
     }
+
+    public boolean isBitmap() {
+        return this == BITMAP;
+    }
+
+    public boolean isVector() {
+        return this == VECTOR;
+    }
 }
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.util;
+
+import java.util.concurrent.TimeUnit;
+
+import com.baidu.hugegraph.exception.CancelledException;
+
+/**
+ * The cancellation token of a request or task, it's bound to the thread
+ * which serves the request and passed to the worker threads by
+ * TaskManager.ContextCallable, the long-running loops (like iterating the
+ * backend entries and traversing the vertices) check it cooperatively and
+ * stop by CancelledException once it's cancelled or its deadline is passed.
+ */
+public final class CancelToken {
+
+    private static final ThreadLocal<CancelToken> TOKENS = new ThreadLocal<>();
+
+    private static final long NO_DEADLINE = 0L;
+
+    private final long deadline;
+    private volatile String reason;
+
+    public CancelToken() {
+        this(NO_DEADLINE);
+    }
+
+    /**
+     * @param timeout the timeout in milliseconds, 0 means no deadline
+     */
+    public CancelToken(long timeout) {
+        E.checkArgument(timeout >= 0L,
+                        "The timeout must be >= 0, but got %s", timeout);
+        if (timeout == NO_DEADLINE) {
+            this.deadline = NO_DEADLINE;
+        } else {
+            long deadline = System.nanoTime() +
+                            TimeUnit.MILLISECONDS.toNanos(timeout);
+            // Avoid conflicting with NO_DEADLINE
+            this.deadline = deadline == NO_DEADLINE ? 1L : deadline;
+        }
+        this.reason = null;
+    }
+
+    public void cancel(String reason) {
+        E.checkArgumentNotNull(reason, "The cancel reason can't be null");
+        if (this.reason == null) {
+            this.reason = reason;
+        }
+    }
+
+    public boolean cancelled() {
+        if (this.reason != null) {
+            return true;
+        }
+        if (this.deadline != NO_DEADLINE &&
+            System.nanoTime() - this.deadline > 0L) {
+            this.cancel("timed out");
+            return true;
+        }
+        return false;
+    }
+
+    public String reason() {
+        return this.reason;
+    }
+
+    public void check() {
+        if (this.cancelled()) {
+            throw new CancelledException("The request is cancelled: %s",
+                                         this.reason);
+        }
+    }
+
+    public static CancelToken current() {
+        return TOKENS.get();
+    }
+
+    public static void current(CancelToken token) {
+        if (token == null) {
+            TOKENS.remove();
+        } else {
+            TOKENS.set(token);
+        }
+    }
+
+    public static void checkCurrent() {
+        CancelToken token = TOKENS.get();
+        if (token != null) {
+            token.check();
+        }
+    }
+}
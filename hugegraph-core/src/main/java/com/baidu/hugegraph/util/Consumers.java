@@ -38,6 +38,7 @@ import org.slf4j.Logger;
 
 import com.baidu.hugegraph.HugeException;
 import com.baidu.hugegraph.config.CoreOptions;
+import com.baidu.hugegraph.exception.CancelledException;
 import com.baidu.hugegraph.task.TaskManager.ContextCallable;
 
 public final class Consumers<V> {
@@ -99,7 +100,8 @@ public final class Consumers<V> {
         } catch (Throwable e) {
             // Only the first exception of one thread can be stored
             this.exception = e;
-            if (!(e instanceof StopExecution)) {
+            if (!(e instanceof StopExecution ||
+                  e instanceof CancelledException)) {
                 LOG.error("Error when running task", e);
             }
         } finally {
@@ -133,6 +135,8 @@ public final class Consumers<V> {
         if (elem == null) {
             return false;
         }
+        // Skip the queued jobs if the request is cancelled
+        CancelToken.checkCurrent();
         // do job
         this.consumer.accept(elem);
         return true;
@@ -170,7 +174,14 @@ public final class Consumers<V> {
             throw this.throwException();
         } else {
             try {
-                this.queue.put(v);
+                // Don't block if all the workers exit due to exception
+                while (!this.queue.offer(v, CONSUMER_WAKE_PERIOD,
+                                         TimeUnit.MILLISECONDS)) {
+                    if (this.exception != null) {
+                        throw this.throwException();
+                    }
+                    CancelToken.checkCurrent();
+                }
             } catch (InterruptedException e) {
                 LOG.warn("Interrupted while enqueue", e);
             }
@@ -32,4 +32,8 @@ public final class Events {
 
     public static final String GRAPH_CREATE = "graph.create";
     public static final String GRAPH_DROP = "graph.drop";
+
+    public static final String GREMLIN_STARTING = "gremlin.starting";
+    public static final String GREMLIN_START = "gremlin.start";
+    public static final String GREMLIN_STOP = "gremlin.stop";
 }
@@ -52,6 +52,7 @@ public final class LockUtil {
     public static final String INDEX_LABEL_DELETE = "il_delete";
     public static final String INDEX_LABEL_REBUILD = "il_rebuild";
     public static final String INDEX_LABEL_ADD_UPDATE = "il_update";
+    public static final String BITMAP_INDEX_UPDATE = "bitmap_index_update";
 
     public static final String VERTEX_LABEL_DELETE = "vl_delete";
     public static final String VERTEX_LABEL_ADD_UPDATE = "vl_update";
@@ -0,0 +1,348 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.baidu.hugegraph.iterator.WrappedIterator;
+
+/**
+ * The trace of a request, which records a tree of spans like
+ * api -> transaction -> index query -> backend query -> serialization.
+ *
+ * The spans of the same name under a parent are merged into one span with
+ * the number of calls, the elapsed time, the number of rows and counters
+ * like cache hits, so the size of a trace is bounded by the distinct code
+ * paths instead of the number of calls, and it's cheap enough to trace the
+ * requests always. The active span is bound to the thread like CancelToken
+ * and passed to the worker threads by TaskManager.ContextCallable, the
+ * lazy iterators are traced by wrap() which activates the span during each
+ * fetch, so the nested queries issued while iterating are put under it.
+ */
+public final class Trace {
+
+    private static final ThreadLocal<Span> SPANS = new ThreadLocal<>();
+
+    private static final AtomicLong IDS = new AtomicLong();
+
+    private static final int MAX_SPANS = 256;
+
+    private static final Scope NOOP_SCOPE = new Scope(null, null, 0L);
+
+    private final long id;
+    private final long startTime;
+    private final Span root;
+    private final AtomicInteger spans;
+
+    private Trace(String name) {
+        this.id = IDS.incrementAndGet();
+        this.startTime = System.currentTimeMillis();
+        this.root = new Span(this, name);
+        this.spans = new AtomicInteger(1);
+    }
+
+    public long id() {
+        return this.id;
+    }
+
+    public String name() {
+        return this.root.name;
+    }
+
+    public long startTime() {
+        return this.startTime;
+    }
+
+    public Span root() {
+        return this.root;
+    }
+
+    /**
+     * @return the elapsed time in milliseconds of the root span
+     */
+    public long elapsed() {
+        return this.root.nanos.get() / 1000000L;
+    }
+
+    public Map<String, Object> asMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("id", this.id);
+        map.put("start_time", this.startTime);
+        map.put("elapsed", this.elapsed());
+        map.put("root", this.root.asMap());
+        return map;
+    }
+
+    /**
+     * Start a trace with the root span activated in current thread
+     * @param name  the name of the root span, like the method and path
+     * @return      the scope of the root span, close it to finish the trace
+     */
+    public static Scope start(String name) {
+        Trace trace = new Trace(name);
+        trace.root.calls.incrementAndGet();
+        return new Scope(trace.root, SPANS.get(), System.nanoTime());
+    }
+
+    /**
+     * Begin a span under the active span of current thread
+     * @param name  the name of the span
+     * @return      the scope of the span, close it to end the span, it does
+     *              nothing if there is no active span in current thread
+     */
+    public static Scope begin(String name) {
+        Span parent = SPANS.get();
+        if (parent == null) {
+            return NOOP_SCOPE;
+        }
+        Span span = parent.child(name);
+        if (span == null) {
+            return NOOP_SCOPE;
+        }
+        span.calls.incrementAndGet();
+        return new Scope(span, parent, System.nanoTime());
+    }
+
+    /**
+     * Begin a span named like "name(target)", the name is built only if
+     * there is an active span, to avoid the cost while not tracing
+     */
+    public static Scope begin(String name, Object target) {
+        if (SPANS.get() == null) {
+            return NOOP_SCOPE;
+        }
+        return begin(name + "(" + target + ")");
+    }
+
+    /**
+     * Trace the iteration of a lazy iterator, the elapsed time and the
+     * number of rows are added to the span of the name
+     */
+    public static <T> Iterator<T> wrap(String name, Iterator<T> iterator) {
+        Span parent = SPANS.get();
+        if (parent == null) {
+            return iterator;
+        }
+        Span span = parent.child(name);
+        if (span == null) {
+            return iterator;
+        }
+        span.calls.incrementAndGet();
+        return new TracedIterator<>(span, iterator);
+    }
+
+    /**
+     * Add the value to the counter of the active span of current thread
+     */
+    public static void count(String counter, long value) {
+        Span span = SPANS.get();
+        if (span != null) {
+            span.count(counter, value);
+        }
+    }
+
+    public static Span activeSpan() {
+        return SPANS.get();
+    }
+
+    public static void activeSpan(Span span) {
+        if (span == null) {
+            SPANS.remove();
+        } else {
+            SPANS.set(span);
+        }
+    }
+
+    public static Trace current() {
+        Span span = SPANS.get();
+        return span == null ? null : span.trace;
+    }
+
+    public static final class Span {
+
+        private final Trace trace;
+        private final String name;
+        private final AtomicLong calls;
+        private final AtomicLong nanos;
+        private final AtomicLong rows;
+        // The children and counters in insertion order, guarded by this
+        private final Map<String, Span> children;
+        private final Map<String, Long> counters;
+
+        private Span(Trace trace, String name) {
+            this.trace = trace;
+            this.name = name;
+            this.calls = new AtomicLong();
+            this.nanos = new AtomicLong();
+            this.rows = new AtomicLong();
+            this.children = new LinkedHashMap<>();
+            this.counters = new LinkedHashMap<>();
+        }
+
+        public String name() {
+            return this.name;
+        }
+
+        public long calls() {
+            return this.calls.get();
+        }
+
+        public long rows() {
+            return this.rows.get();
+        }
+
+        public synchronized Span child(String name) {
+            Span child = this.children.get(name);
+            if (child == null) {
+                if (this.trace.spans.incrementAndGet() > MAX_SPANS) {
+                    this.trace.spans.decrementAndGet();
+                    return null;
+                }
+                child = new Span(this.trace, name);
+                this.children.put(name, child);
+            }
+            return child;
+        }
+
+        public synchronized List<Span> children() {
+            return Collections.unmodifiableList(
+                   new ArrayList<>(this.children.values()));
+        }
+
+        public synchronized void count(String counter, long value) {
+            this.counters.merge(counter, value, Long::sum);
+        }
+
+        public synchronized long counter(String counter) {
+            return this.counters.getOrDefault(counter, 0L);
+        }
+
+        public Map<String, Object> asMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("name", this.name);
+            map.put("calls", this.calls.get());
+            // The elapsed time in milliseconds with microsecond precision
+            map.put("elapsed", this.nanos.get() / 1000L / 1000.0D);
+            map.put("rows", this.rows.get());
+            List<Map<String, Object>> children = new ArrayList<>();
+            synchronized (this) {
+                map.putAll(this.counters);
+                for (Span child : this.children.values()) {
+                    children.add(child.asMap());
+                }
+            }
+            if (!children.isEmpty()) {
+                map.put("children", children);
+            }
+            return map;
+        }
+
+        private void add(long nanos) {
+            this.nanos.addAndGet(nanos);
+        }
+    }
+
+    public static final class Scope implements AutoCloseable {
+
+        private final Span span;
+        private final Span previous;
+        private final long start;
+
+        private Scope(Span span, Span previous, long start) {
+            this.span = span;
+            this.previous = previous;
+            this.start = start;
+            if (span != null) {
+                SPANS.set(span);
+            }
+        }
+
+        public Trace trace() {
+            return this.span == null ? null : this.span.trace;
+        }
+
+        /**
+         * Trace the iteration of a lazy iterator returned in the scope,
+         * the elapsed time and the number of rows are added to this span
+         */
+        public <T> Iterator<T> wrap(Iterator<T> iterator) {
+            if (this.span == null) {
+                return iterator;
+            }
+            return new TracedIterator<>(this.span, iterator);
+        }
+
+        public void rows(long rows) {
+            if (this.span != null) {
+                this.span.rows.addAndGet(rows);
+            }
+        }
+
+        @Override
+        public void close() {
+            if (this.span == null) {
+                return;
+            }
+            this.span.add(System.nanoTime() - this.start);
+            activeSpan(this.previous);
+        }
+    }
+
+    private static final class TracedIterator<T> extends WrappedIterator<T> {
+
+        private final Span span;
+        private final Iterator<T> iterator;
+
+        public TracedIterator(Span span, Iterator<T> iterator) {
+            this.span = span;
+            this.iterator = iterator;
+        }
+
+        @Override
+        protected Iterator<T> originIterator() {
+            return this.iterator;
+        }
+
+        @Override
+        protected boolean fetch() {
+            Span previous = SPANS.get();
+            SPANS.set(this.span);
+            long start = System.nanoTime();
+            try {
+                if (!this.iterator.hasNext()) {
+                    return false;
+                }
+                this.current = this.iterator.next();
+                this.span.rows.incrementAndGet();
+                return true;
+            } finally {
+                this.span.add(System.nanoTime() - start);
+                activeSpan(previous);
+            }
+        }
+    }
+}
@@ -0,0 +1,200 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.util.collection;
+
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Set;
+
+import org.eclipse.collections.api.iterator.MutableLongIterator;
+
+import com.baidu.hugegraph.backend.id.Id;
+import com.baidu.hugegraph.backend.id.IdGenerator;
+import com.baidu.hugegraph.iterator.ExtendableIterator;
+import com.baidu.hugegraph.type.define.CollectionType;
+
+/**
+ * Like IdSet, but the number ids are stored in a compressed bitmap, which
+ * costs much less memory than hash set for dense number ids, and the bulk
+ * operations (addAll/retainAll/removeAll) between two BitmapIdSets are
+ * executed on the bitmaps directly.
+ *
+ * NOTE: the iteration order is different from IdSet, the non-number ids
+ * are iterated firstly as IdSet does, then the number ids are iterated in
+ * ascending order rather than the hash order of IdSet, and neither keeps
+ * the insertion order. So the callers that expose the ids must not expect
+ * the order in which they were added, like the results of k-out.
+ */
+public class BitmapIdSet extends AbstractSet<Id> {
+
+    private final LongBitmap numberIds;
+    private final Set<Id> nonNumberIds;
+
+    public BitmapIdSet(CollectionType type) {
+        this(new LongBitmap(), type);
+    }
+
+    public BitmapIdSet(LongBitmap numberIds, CollectionType type) {
+        this.numberIds = numberIds;
+        this.nonNumberIds = CollectionFactory.newSet(type);
+    }
+
+    @Override
+    public int size() {
+        long size = this.numberIds.cardinality() + this.nonNumberIds.size();
+        return (int) Math.min(size, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.numberIds.isEmpty() && this.nonNumberIds.isEmpty();
+    }
+
+    @Override
+    public boolean contains(Object object) {
+        if (!(object instanceof Id)) {
+            return false;
+        }
+        Id id = (Id) object;
+        if (id.type() == Id.IdType.LONG) {
+            return this.numberIds.contains(id.asLong());
+        } else {
+            return this.nonNumberIds.contains(id);
+        }
+    }
+
+    /**
+     * Iterate the non-number ids, then the number ids in ascending order
+     */
+    @Override
+    public Iterator<Id> iterator() {
+        return new ExtendableIterator<>(
+               this.nonNumberIds.iterator(),
+               new BitmapIdIterator(this.numberIds.longIterator()));
+    }
+
+    @Override
+    public boolean add(Id id) {
+        if (id.type() == Id.IdType.LONG) {
+            return this.numberIds.add(id.asLong());
+        } else {
+            return this.nonNumberIds.add(id);
+        }
+    }
+
+    @Override
+    public boolean remove(Object object) {
+        if (!(object instanceof Id)) {
+            return false;
+        }
+        Id id = (Id) object;
+        if (id.type() == Id.IdType.LONG) {
+            return this.numberIds.remove(id.asLong());
+        } else {
+            return this.nonNumberIds.remove(id);
+        }
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends Id> ids) {
+        if (!(ids instanceof BitmapIdSet)) {
+            return super.addAll(ids);
+        }
+        BitmapIdSet other = (BitmapIdSet) ids;
+        long size = this.numberIds.cardinality();
+        this.numberIds.or(other.numberIds);
+        boolean changed = this.nonNumberIds.addAll(other.nonNumberIds);
+        return changed || size != this.numberIds.cardinality();
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> ids) {
+        if (!(ids instanceof BitmapIdSet)) {
+            return super.retainAll(ids);
+        }
+        BitmapIdSet other = (BitmapIdSet) ids;
+        long size = this.numberIds.cardinality();
+        this.numberIds.and(other.numberIds);
+        boolean changed = this.nonNumberIds.retainAll(other.nonNumberIds);
+        return changed || size != this.numberIds.cardinality();
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> ids) {
+        if (!(ids instanceof BitmapIdSet)) {
+            return super.removeAll(ids);
+        }
+        BitmapIdSet other = (BitmapIdSet) ids;
+        long size = this.numberIds.cardinality();
+        this.numberIds.andNot(other.numberIds);
+        boolean changed = this.nonNumberIds.removeAll(other.nonNumberIds);
+        return changed || size != this.numberIds.cardinality();
+    }
+
+    /**
+     * Count the ids contained in both sets without materializing them
+     */
+    public long intersectSize(BitmapIdSet other) {
+        long size = this.numberIds.andCardinality(other.numberIds);
+        Set<Id> smaller = this.nonNumberIds;
+        Set<Id> bigger = other.nonNumberIds;
+        if (smaller.size() > bigger.size()) {
+            smaller = other.nonNumberIds;
+            bigger = this.nonNumberIds;
+        }
+        for (Id id : smaller) {
+            if (bigger.contains(id)) {
+                size++;
+            }
+        }
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        this.numberIds.clear();
+        this.nonNumberIds.clear();
+    }
+
+    private static class BitmapIdIterator implements Iterator<Id> {
+
+        private final MutableLongIterator iterator;
+
+        public BitmapIdIterator(MutableLongIterator iter) {
+            this.iterator = iter;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.iterator.hasNext();
+        }
+
+        @Override
+        public Id next() {
+            return IdGenerator.of(this.iterator.next());
+        }
+
+        @Override
+        public void remove() {
+            this.iterator.remove();
+        }
+    }
+}
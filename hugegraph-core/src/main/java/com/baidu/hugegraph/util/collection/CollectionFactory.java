@@ -263,6 +263,14 @@ public class CollectionFactory {
         return new IdSet(type);
     }
 
+    public BitmapIdSet newBitmapIdSet() {
+        return newBitmapIdSet(this.type);
+    }
+
+    public static BitmapIdSet newBitmapIdSet(CollectionType type) {
+        return new BitmapIdSet(type);
+    }
+
     public static IntSet newIntSet() {
         /*
          * Resume to the old version like this:
@@ -0,0 +1,405 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.util.collection;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.eclipse.collections.impl.list.mutable.primitive.IntArrayList;
+
+import com.baidu.hugegraph.util.E;
+import com.baidu.hugegraph.util.InsertionOrderUtil;
+
+/**
+ * An approximate nearest neighbor index of vectors by the HNSW algorithm
+ * (Hierarchical Navigable Small World graphs), the distance of vectors is
+ * the cosine distance: 1 - cos(v1, v2).
+ * Each vector is linked to its nearest neighbors at each level it belongs,
+ * the levels are chosen randomly with exponentially decaying probability,
+ * and a query searches greedily from the top level to the bottom level.
+ * The removed or replaced vectors are just marked as deleted to keep the
+ * graph navigable, and the graph is rebuilt when more than half are deleted.
+ * NOTE: it's thread safe, the queries are executed concurrently.
+ */
+public class HnswIndex<K> {
+
+    private static final int DEFAULT_M = 16;
+    private static final int DEFAULT_EF_CONSTRUCTION = 100;
+    private static final int DEFAULT_EF_SEARCH = 64;
+    private static final int MAX_LEVEL = 16;
+    // Fixed seed to make the graph reproducible for the same inputs
+    private static final long SEED = 20170424L;
+
+    private final int dimension;
+    private final int m;
+    private final int efConstruction;
+    private final double levelFactor;
+    private final Random random;
+    private final ReadWriteLock lock;
+
+    private final List<Node<K>> nodes;
+    private final Map<K, Integer> keys;
+    private int entryPoint;
+    private int maxLevel;
+    private int deleted;
+
+    public HnswIndex(int dimension) {
+        this(dimension, DEFAULT_M, DEFAULT_EF_CONSTRUCTION);
+    }
+
+    public HnswIndex(int dimension, int m, int efConstruction) {
+        E.checkArgument(dimension > 0,
+                        "The dimension must be > 0, but got %s", dimension);
+        E.checkArgument(m > 1, "The m must be > 1, but got %s", m);
+        E.checkArgument(efConstruction >= m,
+                        "The ef of construction must be >= m(%s), " +
+                        "but got %s", m, efConstruction);
+        this.dimension = dimension;
+        this.m = m;
+        this.efConstruction = efConstruction;
+        this.levelFactor = 1.0D / Math.log(m);
+        this.random = new Random(SEED);
+        this.lock = new ReentrantReadWriteLock();
+
+        this.nodes = new ArrayList<>();
+        this.keys = new HashMap<>();
+        this.entryPoint = -1;
+        this.maxLevel = -1;
+        this.deleted = 0;
+    }
+
+    public int dimension() {
+        return this.dimension;
+    }
+
+    public int size() {
+        this.lock.readLock().lock();
+        try {
+            return this.keys.size();
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Add a vector, the old vector of the key will be replaced if exists
+     * @param key    the key of the vector, like an element id
+     * @param vector the vector with the dimension of the index
+     */
+    public void add(K key, float[] vector) {
+        E.checkArgumentNotNull(key, "The key can't be null");
+        float[] normalized = this.normalize(vector);
+        this.lock.writeLock().lock();
+        try {
+            // The replaced vector is deleted like removed
+            if (this.markDeleted(key)) {
+                this.compactIfNeeded();
+            }
+            this.insert(key, normalized);
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    public boolean remove(K key) {
+        this.lock.writeLock().lock();
+        try {
+            boolean removed = this.markDeleted(key);
+            if (removed) {
+                this.compactIfNeeded();
+            }
+            return removed;
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Search the approximate nearest vectors
+     * @param vector the vector to query
+     * @param top    the max count of results
+     * @return       the keys and distances ordered by distance ascending
+     */
+    public Map<K, Double> nearest(float[] vector, int top) {
+        E.checkArgument(top > 0, "The top must be > 0, but got %s", top);
+        float[] query = this.normalize(vector);
+        this.lock.readLock().lock();
+        try {
+            if (this.keys.isEmpty()) {
+                return Collections.emptyMap();
+            }
+            int current = this.entryPoint;
+            for (int level = this.maxLevel; level > 0; level--) {
+                current = this.searchLayer(query, current, 1, level)
+                              .get(0).id;
+            }
+            int ef = Math.max(top, DEFAULT_EF_SEARCH);
+            List<Candidate> candidates = this.searchLayer(query, current,
+                                                          ef, 0);
+            Map<K, Double> results = InsertionOrderUtil.newMap();
+            for (Candidate candidate : candidates) {
+                Node<K> node = this.nodes.get(candidate.id);
+                if (node.deleted) {
+                    continue;
+                }
+                results.put(node.key, candidate.distance);
+                if (results.size() >= top) {
+                    break;
+                }
+            }
+            if (results.size() < Math.min(top, this.keys.size())) {
+                // Not enough results due to deleted vectors, search exactly
+                return this.exactNearest(query, top);
+            }
+            return results;
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    private void insert(K key, float[] vector) {
+        int id = this.nodes.size();
+        int level = this.randomLevel();
+        Node<K> node = new Node<>(key, vector, level);
+        this.nodes.add(node);
+        this.keys.put(key, id);
+        if (this.entryPoint < 0) {
+            this.entryPoint = id;
+            this.maxLevel = level;
+            return;
+        }
+
+        int current = this.entryPoint;
+        for (int l = this.maxLevel; l > level; l--) {
+            current = this.searchLayer(vector, current, 1, l).get(0).id;
+        }
+        for (int l = Math.min(level, this.maxLevel); l >= 0; l--) {
+            List<Candidate> candidates = this.searchLayer(vector, current,
+                                                          this.efConstruction,
+                                                          l);
+            int maxLinks = this.maxLinks(l);
+            int size = Math.min(this.m, candidates.size());
+            for (Candidate neighbor : candidates.subList(0, size)) {
+                node.links[l].add(neighbor.id);
+                Node<K> other = this.nodes.get(neighbor.id);
+                other.links[l].add(id);
+                if (other.links[l].size() > maxLinks) {
+                    this.shrinkLinks(other, l, maxLinks);
+                }
+            }
+            current = candidates.get(0).id;
+        }
+        if (level > this.maxLevel) {
+            this.entryPoint = id;
+            this.maxLevel = level;
+        }
+    }
+
+    private boolean markDeleted(K key) {
+        Integer id = this.keys.remove(key);
+        if (id == null) {
+            return false;
+        }
+        this.nodes.get(id).deleted = true;
+        this.deleted++;
+        return true;
+    }
+
+    private void compactIfNeeded() {
+        if (this.deleted > this.keys.size()) {
+            this.compact();
+        }
+    }
+
+    private void compact() {
+        List<Node<K>> alive = new ArrayList<>(this.keys.size());
+        for (Node<K> node : this.nodes) {
+            if (!node.deleted) {
+                alive.add(node);
+            }
+        }
+        this.nodes.clear();
+        this.keys.clear();
+        this.entryPoint = -1;
+        this.maxLevel = -1;
+        this.deleted = 0;
+        for (Node<K> node : alive) {
+            this.insert(node.key, node.vector);
+        }
+    }
+
+    private List<Candidate> searchLayer(float[] query, int entry,
+                                        int ef, int level) {
+        BitSet visited = new BitSet(this.nodes.size());
+        // The candidates to expand, the nearest first
+        PriorityQueue<Candidate> candidates = new PriorityQueue<>();
+        // The found results, the farthest first
+        PriorityQueue<Candidate> results = new PriorityQueue<>(
+                                           Comparator.reverseOrder());
+        Candidate start = new Candidate(entry, this.distance(query, entry));
+        visited.set(entry);
+        candidates.add(start);
+        results.add(start);
+
+        while (!candidates.isEmpty()) {
+            Candidate candidate = candidates.poll();
+            if (results.size() >= ef &&
+                candidate.distance > results.peek().distance) {
+                break;
+            }
+            IntArrayList links = this.nodes.get(candidate.id).links[level];
+            for (int i = 0; i < links.size(); i++) {
+                int neighbor = links.get(i);
+                if (visited.get(neighbor)) {
+                    continue;
+                }
+                visited.set(neighbor);
+                double distance = this.distance(query, neighbor);
+                if (results.size() < ef ||
+                    distance < results.peek().distance) {
+                    Candidate found = new Candidate(neighbor, distance);
+                    candidates.add(found);
+                    results.add(found);
+                    if (results.size() > ef) {
+                        results.poll();
+                    }
+                }
+            }
+        }
+
+        List<Candidate> sorted = new ArrayList<>(results);
+        Collections.sort(sorted);
+        return sorted;
+    }
+
+    private Map<K, Double> exactNearest(float[] query, int top) {
+        PriorityQueue<Candidate> results = new PriorityQueue<>(
+                                           Comparator.reverseOrder());
+        for (int id : this.keys.values()) {
+            results.add(new Candidate(id, this.distance(query, id)));
+            if (results.size() > top) {
+                results.poll();
+            }
+        }
+        List<Candidate> sorted = new ArrayList<>(results);
+        Collections.sort(sorted);
+        Map<K, Double> nearest = InsertionOrderUtil.newMap();
+        for (Candidate candidate : sorted) {
+            nearest.put(this.nodes.get(candidate.id).key, candidate.distance);
+        }
+        return nearest;
+    }
+
+    private void shrinkLinks(Node<K> node, int level, int maxLinks) {
+        IntArrayList links = node.links[level];
+        List<Candidate> candidates = new ArrayList<>(links.size());
+        for (int i = 0; i < links.size(); i++) {
+            int id = links.get(i);
+            candidates.add(new Candidate(id, this.distance(node.vector, id)));
+        }
+        Collections.sort(candidates);
+        links.clear();
+        for (Candidate candidate : candidates.subList(0, maxLinks)) {
+            links.add(candidate.id);
+        }
+    }
+
+    private int maxLinks(int level) {
+        // The bottom level is denser to keep the graph connected
+        return level == 0 ? this.m * 2 : this.m;
+    }
+
+    private int randomLevel() {
+        double r = 1.0D - this.random.nextDouble();
+        int level = (int) (-Math.log(r) * this.levelFactor);
+        return Math.min(level, MAX_LEVEL);
+    }
+
+    private double distance(float[] query, int id) {
+        float[] vector = this.nodes.get(id).vector;
+        double dot = 0.0D;
+        for (int i = 0; i < vector.length; i++) {
+            dot += query[i] * vector[i];
+        }
+        return 1.0D - dot;
+    }
+
+    private float[] normalize(float[] vector) {
+        E.checkArgumentNotNull(vector, "The vector can't be null");
+        E.checkArgument(vector.length == this.dimension,
+                        "The dimension of vector must be %s, but got %s",
+                        this.dimension, vector.length);
+        double norm = 0.0D;
+        for (float v : vector) {
+            norm += v * v;
+        }
+        norm = Math.sqrt(norm);
+        float[] normalized = new float[vector.length];
+        for (int i = 0; i < vector.length; i++) {
+            // Keep zero vector as it is, whose distance to any vector is 1
+            normalized[i] = norm > 0.0D ? (float) (vector[i] / norm) : 0.0F;
+        }
+        return normalized;
+    }
+
+    private static class Node<K> {
+
+        private final K key;
+        private final float[] vector;
+        private final IntArrayList[] links;
+        private boolean deleted;
+
+        public Node(K key, float[] vector, int level) {
+            this.key = key;
+            this.vector = vector;
+            this.links = new IntArrayList[level + 1];
+            for (int i = 0; i <= level; i++) {
+                this.links[i] = new IntArrayList();
+            }
+            this.deleted = false;
+        }
+    }
+
+    private static class Candidate implements Comparable<Candidate> {
+
+        private final int id;
+        private final double distance;
+
+        public Candidate(int id, double distance) {
+            this.id = id;
+            this.distance = distance;
+        }
+
+        @Override
+        public int compareTo(Candidate other) {
+            int cmp = Double.compare(this.distance, other.distance);
+            return cmp != 0 ? cmp : Integer.compare(this.id, other.id);
+        }
+    }
+}
@@ -0,0 +1,877 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.util.collection;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+import org.eclipse.collections.api.iterator.MutableLongIterator;
+
+import com.baidu.hugegraph.util.E;
+
+/**
+ * A compressed bitmap of long values in the layout of Roaring bitmap:
+ * the high 48 bits of values are stored as sorted keys, and the low 16 bits
+ * are stored in a container of each key, which is a sorted char array for
+ * sparse values or a 65536-bits bitmap for dense values.
+ * The bulk operations (or/and/andNot) are executed container by container,
+ * and word by word between bitmap containers.
+ * NOTE: it's not thread safe.
+ * TODO: move to common-module
+ */
+public class LongBitmap {
+
+    private static final int INIT_CAPACITY = 4;
+
+    private static final byte ARRAY_CONTAINER = 1;
+    private static final byte BITMAP_CONTAINER = 2;
+
+    private long[] keys;
+    private Container[] containers;
+    private int size;
+    private long cardinality;
+
+    public LongBitmap() {
+        this.keys = new long[INIT_CAPACITY];
+        this.containers = new Container[INIT_CAPACITY];
+        this.size = 0;
+        this.cardinality = 0L;
+    }
+
+    private LongBitmap(long[] keys, Container[] containers, int size) {
+        this.keys = keys;
+        this.containers = containers;
+        this.size = size;
+        this.cardinality = this.countCardinality();
+    }
+
+    public boolean add(long value) {
+        long high = highBits(value);
+        char low = lowBits(value);
+        int index = this.indexOf(high);
+        if (index < 0) {
+            index = -index - 1;
+            ArrayContainer container = new ArrayContainer();
+            container.add(low);
+            this.insertContainer(index, high, container);
+            this.cardinality++;
+            return true;
+        }
+
+        Container container = this.containers[index];
+        if (container.contains(low)) {
+            return false;
+        }
+        this.containers[index] = container.add(low);
+        this.cardinality++;
+        return true;
+    }
+
+    public boolean contains(long value) {
+        int index = this.indexOf(highBits(value));
+        if (index < 0) {
+            return false;
+        }
+        return this.containers[index].contains(lowBits(value));
+    }
+
+    public boolean remove(long value) {
+        int index = this.indexOf(highBits(value));
+        if (index < 0) {
+            return false;
+        }
+        Container container = this.containers[index];
+        if (!container.remove(lowBits(value))) {
+            return false;
+        }
+        this.cardinality--;
+        if (container.cardinality() == 0) {
+            this.removeContainer(index);
+        }
+        return true;
+    }
+
+    public long cardinality() {
+        return this.cardinality;
+    }
+
+    public boolean isEmpty() {
+        return this.cardinality == 0L;
+    }
+
+    public void clear() {
+        this.keys = new long[INIT_CAPACITY];
+        this.containers = new Container[INIT_CAPACITY];
+        this.size = 0;
+        this.cardinality = 0L;
+    }
+
+    public LongBitmap copy() {
+        Container[] containers = new Container[this.containers.length];
+        for (int i = 0; i < this.size; i++) {
+            containers[i] = this.containers[i].copy();
+        }
+        return new LongBitmap(Arrays.copyOf(this.keys, this.keys.length),
+                              containers, this.size);
+    }
+
+    /**
+     * Union with the other bitmap in place
+     */
+    public void or(LongBitmap other) {
+        if (other.size == 0) {
+            return;
+        }
+        if (this.size == 0 || this.keys[this.size - 1] < other.keys[0]) {
+            // Append the containers directly, like merging ordered chunks
+            for (int i = 0; i < other.size; i++) {
+                this.insertContainer(this.size, other.keys[i],
+                                     other.containers[i].copy());
+            }
+            this.cardinality += other.cardinality;
+            return;
+        }
+        int capacity = Math.max(this.size + other.size, INIT_CAPACITY);
+        long[] keys = new long[capacity];
+        Container[] containers = new Container[capacity];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < this.size && j < other.size) {
+            long key1 = this.keys[i];
+            long key2 = other.keys[j];
+            if (key1 < key2) {
+                keys[k] = key1;
+                containers[k++] = this.containers[i++];
+            } else if (key1 > key2) {
+                keys[k] = key2;
+                containers[k++] = other.containers[j++].copy();
+            } else {
+                keys[k] = key1;
+                containers[k++] = this.containers[i++].or(
+                                  other.containers[j++]);
+            }
+        }
+        while (i < this.size) {
+            keys[k] = this.keys[i];
+            containers[k++] = this.containers[i++];
+        }
+        while (j < other.size) {
+            keys[k] = other.keys[j];
+            containers[k++] = other.containers[j++].copy();
+        }
+        this.reset(keys, containers, k);
+    }
+
+    /**
+     * Intersect with the other bitmap in place
+     */
+    public void and(LongBitmap other) {
+        int capacity = Math.max(Math.min(this.size, other.size),
+                                INIT_CAPACITY);
+        long[] keys = new long[capacity];
+        Container[] containers = new Container[capacity];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < this.size && j < other.size) {
+            long key1 = this.keys[i];
+            long key2 = other.keys[j];
+            if (key1 < key2) {
+                i++;
+            } else if (key1 > key2) {
+                j++;
+            } else {
+                Container container = this.containers[i++].and(
+                                      other.containers[j++]);
+                if (container.cardinality() > 0) {
+                    keys[k] = key1;
+                    containers[k++] = container;
+                }
+            }
+        }
+        this.reset(keys, containers, k);
+    }
+
+    /**
+     * Remove all the values contained in the other bitmap in place
+     */
+    public void andNot(LongBitmap other) {
+        int capacity = Math.max(this.size, INIT_CAPACITY);
+        long[] keys = new long[capacity];
+        Container[] containers = new Container[capacity];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < this.size) {
+            long key1 = this.keys[i];
+            while (j < other.size && other.keys[j] < key1) {
+                j++;
+            }
+            Container container = this.containers[i++];
+            if (j < other.size && other.keys[j] == key1) {
+                container = container.andNot(other.containers[j++]);
+            }
+            if (container.cardinality() > 0) {
+                keys[k] = key1;
+                containers[k++] = container;
+            }
+        }
+        this.reset(keys, containers, k);
+    }
+
+    /**
+     * Count the values contained in both bitmaps without materializing
+     */
+    public long andCardinality(LongBitmap other) {
+        long count = 0L;
+        int i = 0;
+        int j = 0;
+        while (i < this.size && j < other.size) {
+            long key1 = this.keys[i];
+            long key2 = other.keys[j];
+            if (key1 < key2) {
+                i++;
+            } else if (key1 > key2) {
+                j++;
+            } else {
+                count += this.containers[i++].andCardinality(
+                         other.containers[j++]);
+            }
+        }
+        return count;
+    }
+
+    public MutableLongIterator longIterator() {
+        return new LongBitmapIterator();
+    }
+
+    /**
+     * Serialize the bitmap: the count of containers, then the key, the kind,
+     * the cardinality and the values(or words) of each container
+     */
+    public byte[] toBytes() {
+        int length = Integer.BYTES;
+        for (int i = 0; i < this.size; i++) {
+            length += Long.BYTES + 1 + Integer.BYTES +
+                      this.containers[i].bytesLength();
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        buffer.putInt(this.size);
+        for (int i = 0; i < this.size; i++) {
+            Container container = this.containers[i];
+            buffer.putLong(this.keys[i]);
+            buffer.put(container instanceof ArrayContainer ?
+                       ARRAY_CONTAINER : BITMAP_CONTAINER);
+            buffer.putInt(container.cardinality());
+            container.write(buffer);
+        }
+        assert !buffer.hasRemaining();
+        return buffer.array();
+    }
+
+    public static LongBitmap fromBytes(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        int size = buffer.getInt();
+        long[] keys = new long[Math.max(size, INIT_CAPACITY)];
+        Container[] containers = new Container[keys.length];
+        for (int i = 0; i < size; i++) {
+            keys[i] = buffer.getLong();
+            byte kind = buffer.get();
+            int cardinality = buffer.getInt();
+            if (kind == ARRAY_CONTAINER) {
+                char[] values = new char[cardinality];
+                buffer.asCharBuffer().get(values);
+                buffer.position(buffer.position() +
+                                cardinality * Character.BYTES);
+                containers[i] = new ArrayContainer(values, cardinality);
+            } else {
+                E.checkArgument(kind == BITMAP_CONTAINER,
+                                "Invalid container kind %s", kind);
+                long[] words = new long[BitmapContainer.WORDS];
+                buffer.asLongBuffer().get(words);
+                buffer.position(buffer.position() + words.length * Long.BYTES);
+                containers[i] = new BitmapContainer(words, cardinality);
+            }
+        }
+        E.checkArgument(!buffer.hasRemaining(),
+                        "Invalid bitmap bytes with %s bytes left",
+                        buffer.remaining());
+        return new LongBitmap(keys, containers, size);
+    }
+
+    /**
+     * Get the chunk of a value, the values in the same chunk are stored in
+     * the same container, and a chunk can be stored and updated separately
+     */
+    public static long chunk(long value) {
+        return highBits(value);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+        MutableLongIterator iter = this.longIterator();
+        while (iter.hasNext()) {
+            if (sb.length() > 1) {
+                sb.append(", ");
+            }
+            sb.append(iter.next());
+        }
+        return sb.append(']').toString();
+    }
+
+    private void reset(long[] keys, Container[] containers, int size) {
+        this.keys = keys;
+        this.containers = containers;
+        this.size = size;
+        this.cardinality = this.countCardinality();
+    }
+
+    private long countCardinality() {
+        long count = 0L;
+        for (int i = 0; i < this.size; i++) {
+            count += this.containers[i].cardinality();
+        }
+        return count;
+    }
+
+    private int indexOf(long high) {
+        return Arrays.binarySearch(this.keys, 0, this.size, high);
+    }
+
+    private void insertContainer(int index, long high, Container container) {
+        if (this.size == this.keys.length) {
+            int capacity = this.size * 2;
+            this.keys = Arrays.copyOf(this.keys, capacity);
+            this.containers = Arrays.copyOf(this.containers, capacity);
+        }
+        System.arraycopy(this.keys, index, this.keys, index + 1,
+                         this.size - index);
+        System.arraycopy(this.containers, index, this.containers, index + 1,
+                         this.size - index);
+        this.keys[index] = high;
+        this.containers[index] = container;
+        this.size++;
+    }
+
+    private void removeContainer(int index) {
+        System.arraycopy(this.keys, index + 1, this.keys, index,
+                         this.size - index - 1);
+        System.arraycopy(this.containers, index + 1, this.containers, index,
+                         this.size - index - 1);
+        this.size--;
+        this.containers[this.size] = null;
+    }
+
+    private static long highBits(long value) {
+        // Keep the sign to make the keys ordered as signed long
+        return value >> Character.SIZE;
+    }
+
+    private static char lowBits(long value) {
+        return (char) value;
+    }
+
+    private static long join(long high, int low) {
+        return (high << Character.SIZE) | low;
+    }
+
+    private final class LongBitmapIterator implements MutableLongIterator {
+
+        private int index;
+        private ContainerIterator iterator;
+        private long current;
+        private boolean removable;
+
+        public LongBitmapIterator() {
+            this.index = -1;
+            this.iterator = null;
+            this.removable = false;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (this.iterator == null || !this.iterator.hasNext()) {
+                if (this.index + 1 >= size) {
+                    return false;
+                }
+                this.iterator = containers[++this.index].iterator();
+            }
+            return true;
+        }
+
+        @Override
+        public long next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException();
+            }
+            this.current = join(keys[this.index], this.iterator.next());
+            this.removable = true;
+            return this.current;
+        }
+
+        @Override
+        public void remove() {
+            if (!this.removable) {
+                throw new IllegalStateException();
+            }
+            this.removable = false;
+            Container container = containers[this.index];
+            this.iterator.removed();
+            boolean removed = container.remove(lowBits(this.current));
+            assert removed;
+            cardinality--;
+            if (container.cardinality() == 0) {
+                removeContainer(this.index--);
+                this.iterator = null;
+            }
+        }
+    }
+
+    private abstract static class Container {
+
+        public static final int MAX_ARRAY_SIZE = 4096;
+
+        public abstract int cardinality();
+
+        public abstract boolean contains(char value);
+
+        /**
+         * Add a value and return the container to hold it, which may
+         * be a new container if this one is converted
+         */
+        public abstract Container add(char value);
+
+        /**
+         * Remove a value in place, the container is never converted
+         */
+        public abstract boolean remove(char value);
+
+        public abstract Container or(Container other);
+
+        public abstract Container and(Container other);
+
+        public abstract Container andNot(Container other);
+
+        public abstract int andCardinality(Container other);
+
+        public abstract ContainerIterator iterator();
+
+        public abstract Container copy();
+
+        public abstract int bytesLength();
+
+        public abstract void write(ByteBuffer buffer);
+    }
+
+    private interface ContainerIterator {
+
+        public boolean hasNext();
+
+        public int next();
+
+        /**
+         * Notify that the value returned by last next() will be removed
+         */
+        public void removed();
+    }
+
+    private static final class ArrayContainer extends Container {
+
+        private char[] values;
+        private int size;
+
+        public ArrayContainer() {
+            this(new char[INIT_CAPACITY], 0);
+        }
+
+        public ArrayContainer(char[] values, int size) {
+            this.values = values;
+            this.size = size;
+        }
+
+        @Override
+        public int cardinality() {
+            return this.size;
+        }
+
+        @Override
+        public boolean contains(char value) {
+            return Arrays.binarySearch(this.values, 0, this.size, value) >= 0;
+        }
+
+        @Override
+        public Container add(char value) {
+            int index = Arrays.binarySearch(this.values, 0, this.size, value);
+            if (index >= 0) {
+                return this;
+            }
+            if (this.size >= MAX_ARRAY_SIZE) {
+                return this.toBitmap().add(value);
+            }
+            index = -index - 1;
+            if (this.size == this.values.length) {
+                int capacity = Math.min(Math.max(this.size * 2, INIT_CAPACITY),
+                                        MAX_ARRAY_SIZE);
+                this.values = Arrays.copyOf(this.values, capacity);
+            }
+            System.arraycopy(this.values, index, this.values, index + 1,
+                             this.size - index);
+            this.values[index] = value;
+            this.size++;
+            return this;
+        }
+
+        @Override
+        public boolean remove(char value) {
+            int index = Arrays.binarySearch(this.values, 0, this.size, value);
+            if (index < 0) {
+                return false;
+            }
+            System.arraycopy(this.values, index + 1, this.values, index,
+                             this.size - index - 1);
+            this.size--;
+            return true;
+        }
+
+        @Override
+        public Container or(Container other) {
+            if (other instanceof BitmapContainer) {
+                return other.or(this);
+            }
+            ArrayContainer that = (ArrayContainer) other;
+            if (this.size + that.size > MAX_ARRAY_SIZE) {
+                return this.toBitmap().or(that);
+            }
+            char[] results = new char[this.size + that.size];
+            int i = 0;
+            int j = 0;
+            int k = 0;
+            while (i < this.size && j < that.size) {
+                char v1 = this.values[i];
+                char v2 = that.values[j];
+                if (v1 < v2) {
+                    results[k++] = v1;
+                    i++;
+                } else if (v1 > v2) {
+                    results[k++] = v2;
+                    j++;
+                } else {
+                    results[k++] = v1;
+                    i++;
+                    j++;
+                }
+            }
+            while (i < this.size) {
+                results[k++] = this.values[i++];
+            }
+            while (j < that.size) {
+                results[k++] = that.values[j++];
+            }
+            return new ArrayContainer(results, k);
+        }
+
+        @Override
+        public Container and(Container other) {
+            char[] results = new char[this.size];
+            int k = 0;
+            for (int i = 0; i < this.size; i++) {
+                if (other.contains(this.values[i])) {
+                    results[k++] = this.values[i];
+                }
+            }
+            return new ArrayContainer(results, k);
+        }
+
+        @Override
+        public Container andNot(Container other) {
+            char[] results = new char[this.size];
+            int k = 0;
+            for (int i = 0; i < this.size; i++) {
+                if (!other.contains(this.values[i])) {
+                    results[k++] = this.values[i];
+                }
+            }
+            return new ArrayContainer(results, k);
+        }
+
+        @Override
+        public int andCardinality(Container other) {
+            int count = 0;
+            for (int i = 0; i < this.size; i++) {
+                if (other.contains(this.values[i])) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        @Override
+        public ContainerIterator iterator() {
+            return new ContainerIterator() {
+
+                private int index = 0;
+
+                @Override
+                public boolean hasNext() {
+                    return this.index < size;
+                }
+
+                @Override
+                public int next() {
+                    return values[this.index++];
+                }
+
+                @Override
+                public void removed() {
+                    // The following values will be moved forward
+                    this.index--;
+                }
+            };
+        }
+
+        @Override
+        public Container copy() {
+            return new ArrayContainer(Arrays.copyOf(this.values, this.size),
+                                      this.size);
+        }
+
+        @Override
+        public int bytesLength() {
+            return this.size * Character.BYTES;
+        }
+
+        @Override
+        public void write(ByteBuffer buffer) {
+            buffer.asCharBuffer().put(this.values, 0, this.size);
+            buffer.position(buffer.position() + this.bytesLength());
+        }
+
+        private BitmapContainer toBitmap() {
+            BitmapContainer bitmap = new BitmapContainer();
+            for (int i = 0; i < this.size; i++) {
+                bitmap.add(this.values[i]);
+            }
+            return bitmap;
+        }
+    }
+
+    private static final class BitmapContainer extends Container {
+
+        private static final int WORDS = (1 << Character.SIZE) / Long.SIZE;
+
+        private final long[] words;
+        private int cardinality;
+
+        public BitmapContainer() {
+            this(new long[WORDS], 0);
+        }
+
+        public BitmapContainer(long[] words, int cardinality) {
+            this.words = words;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        public int cardinality() {
+            return this.cardinality;
+        }
+
+        @Override
+        public boolean contains(char value) {
+            return (this.words[value >>> 6] & (1L << value)) != 0L;
+        }
+
+        @Override
+        public Container add(char value) {
+            long word = this.words[value >>> 6];
+            long newWord = word | (1L << value);
+            if (word != newWord) {
+                this.words[value >>> 6] = newWord;
+                this.cardinality++;
+            }
+            return this;
+        }
+
+        @Override
+        public boolean remove(char value) {
+            long word = this.words[value >>> 6];
+            long newWord = word & ~(1L << value);
+            if (word == newWord) {
+                return false;
+            }
+            this.words[value >>> 6] = newWord;
+            this.cardinality--;
+            return true;
+        }
+
+        @Override
+        public Container or(Container other) {
+            long[] results = Arrays.copyOf(this.words, WORDS);
+            if (other instanceof ArrayContainer) {
+                ArrayContainer that = (ArrayContainer) other;
+                int count = this.cardinality;
+                for (int i = 0; i < that.size; i++) {
+                    char value = that.values[i];
+                    long word = results[value >>> 6];
+                    long newWord = word | (1L << value);
+                    if (word != newWord) {
+                        results[value >>> 6] = newWord;
+                        count++;
+                    }
+                }
+                return new BitmapContainer(results, count);
+            }
+            long[] others = ((BitmapContainer) other).words;
+            int count = 0;
+            for (int i = 0; i < WORDS; i++) {
+                results[i] |= others[i];
+                count += Long.bitCount(results[i]);
+            }
+            return new BitmapContainer(results, count);
+        }
+
+        @Override
+        public Container and(Container other) {
+            if (other instanceof ArrayContainer) {
+                return other.and(this);
+            }
+            long[] others = ((BitmapContainer) other).words;
+            long[] results = new long[WORDS];
+            int count = 0;
+            for (int i = 0; i < WORDS; i++) {
+                results[i] = this.words[i] & others[i];
+                count += Long.bitCount(results[i]);
+            }
+            return new BitmapContainer(results, count).compact();
+        }
+
+        @Override
+        public Container andNot(Container other) {
+            long[] results = Arrays.copyOf(this.words, WORDS);
+            if (other instanceof ArrayContainer) {
+                ArrayContainer that = (ArrayContainer) other;
+                int count = this.cardinality;
+                for (int i = 0; i < that.size; i++) {
+                    char value = that.values[i];
+                    long word = results[value >>> 6];
+                    long newWord = word & ~(1L << value);
+                    if (word != newWord) {
+                        results[value >>> 6] = newWord;
+                        count--;
+                    }
+                }
+                return new BitmapContainer(results, count).compact();
+            }
+            long[] others = ((BitmapContainer) other).words;
+            int count = 0;
+            for (int i = 0; i < WORDS; i++) {
+                results[i] &= ~others[i];
+                count += Long.bitCount(results[i]);
+            }
+            return new BitmapContainer(results, count).compact();
+        }
+
+        @Override
+        public int andCardinality(Container other) {
+            if (other instanceof ArrayContainer) {
+                return other.andCardinality(this);
+            }
+            long[] others = ((BitmapContainer) other).words;
+            int count = 0;
+            for (int i = 0; i < WORDS; i++) {
+                count += Long.bitCount(this.words[i] & others[i]);
+            }
+            return count;
+        }
+
+        @Override
+        public ContainerIterator iterator() {
+            return new ContainerIterator() {
+
+                private int index = 0;
+                private long word = words[0];
+
+                @Override
+                public boolean hasNext() {
+                    while (this.word == 0L) {
+                        if (++this.index >= WORDS) {
+                            return false;
+                        }
+                        this.word = words[this.index];
+                    }
+                    return true;
+                }
+
+                @Override
+                public int next() {
+                    if (!this.hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    int bit = Long.numberOfTrailingZeros(this.word);
+                    // Clear the lowest set bit of the copied word
+                    this.word &= this.word - 1L;
+                    return (this.index << 6) + bit;
+                }
+
+                @Override
+                public void removed() {
+                    // The copied word has already skipped the value
+                }
+            };
+        }
+
+        @Override
+        public Container copy() {
+            return new BitmapContainer(Arrays.copyOf(this.words, WORDS),
+                                       this.cardinality);
+        }
+
+        @Override
+        public int bytesLength() {
+            return WORDS * Long.BYTES;
+        }
+
+        @Override
+        public void write(ByteBuffer buffer) {
+            buffer.asLongBuffer().put(this.words);
+            buffer.position(buffer.position() + this.bytesLength());
+        }
+
+        private Container compact() {
+            if (this.cardinality > MAX_ARRAY_SIZE) {
+                return this;
+            }
+            char[] values = new char[this.cardinality];
+            int k = 0;
+            for (int i = 0; i < WORDS; i++) {
+                long word = this.words[i];
+                while (word != 0L) {
+                    int bit = Long.numberOfTrailingZeros(word);
+                    values[k++] = (char) ((i << 6) + bit);
+                    word &= word - 1L;
+                }
+            }
+            return new ArrayContainer(values, k);
+        }
+    }
+}
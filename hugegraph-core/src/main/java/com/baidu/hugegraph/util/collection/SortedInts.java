@@ -0,0 +1,105 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.util.collection;
+
+import java.util.Arrays;
+
+/**
+ * Operations on sorted and distinct int arrays, used to intersect neighbor
+ * sets without boxing or hashing.
+ * TODO: move to common-module
+ */
+public final class SortedInts {
+
+    // Use binary search instead of merging if sizes differ so much
+    private static final int GALLOP_RATIO = 32;
+
+    private SortedInts() {
+        // pass
+    }
+
+    /**
+     * Sort the first size values of the array and remove the duplicated
+     * ones in place
+     * @return the count of distinct values at the head of the array
+     */
+    public static int distinct(int[] values, int size) {
+        if (size <= 1) {
+            return size;
+        }
+        Arrays.sort(values, 0, size);
+        int count = 1;
+        for (int i = 1; i < size; i++) {
+            if (values[i] != values[count - 1]) {
+                values[count++] = values[i];
+            }
+        }
+        return count;
+    }
+
+    public static int intersectSize(int[] values1, int[] values2) {
+        if (values1.length > values2.length) {
+            int[] tmp = values1;
+            values1 = values2;
+            values2 = tmp;
+        }
+        if (values1.length == 0) {
+            return 0;
+        }
+        if (values2.length / values1.length >= GALLOP_RATIO) {
+            return gallopIntersectSize(values1, values2);
+        }
+
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while (i < values1.length && j < values2.length) {
+            if (values1[i] < values2[j]) {
+                i++;
+            } else if (values1[i] > values2[j]) {
+                j++;
+            } else {
+                count++;
+                i++;
+                j++;
+            }
+        }
+        return count;
+    }
+
+    private static int gallopIntersectSize(int[] smaller, int[] bigger) {
+        int count = 0;
+        int from = 0;
+        for (int value : smaller) {
+            int index = Arrays.binarySearch(bigger, from, bigger.length,
+                                            value);
+            if (index >= 0) {
+                count++;
+                from = index + 1;
+            } else {
+                from = -index - 1;
+            }
+            if (from >= bigger.length) {
+                break;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.util.collection;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+import com.baidu.hugegraph.util.E;
+import com.baidu.hugegraph.util.InsertionOrderUtil;
+
+/**
+ * Keep the k keys with the highest scores by a bounded min-heap. The score
+ * of the k-th key is exposed as threshold, callers can skip a candidate if
+ * the upper bound of its score is lower than the threshold.
+ * It's thread safe, the threshold can be read without locking.
+ */
+public class TopKScores<K> {
+
+    private final int k;
+    private final PriorityQueue<Scored<K>> heap;
+    private final Set<K> keys;
+    private volatile double threshold;
+
+    public TopKScores(int k) {
+        E.checkArgument(k > 0, "The k of top scores must be > 0, but got %s",
+                        k);
+        this.k = k;
+        this.heap = new PriorityQueue<>(Math.min(k, 1024) + 1);
+        this.keys = new HashSet<>();
+        this.threshold = Double.NEGATIVE_INFINITY;
+    }
+
+    /**
+     * The lowest score a candidate must exceed to be kept, it's negative
+     * infinity before k keys are collected
+     */
+    public double threshold() {
+        return this.threshold;
+    }
+
+    /**
+     * Whether a candidate with the specified score upper bound can't be
+     * kept any more
+     */
+    public boolean prunable(double upperBound) {
+        return upperBound < this.threshold;
+    }
+
+    public synchronized boolean offer(K key, double score) {
+        if (this.keys.contains(key)) {
+            return false;
+        }
+        if (this.heap.size() >= this.k) {
+            if (score <= this.heap.peek().score) {
+                return false;
+            }
+            this.keys.remove(this.heap.poll().key);
+        }
+        this.heap.add(new Scored<>(key, score));
+        this.keys.add(key);
+        if (this.heap.size() >= this.k) {
+            this.threshold = this.heap.peek().score;
+        }
+        return true;
+    }
+
+    public synchronized int size() {
+        return this.heap.size();
+    }
+
+    /**
+     * Get the kept keys and scores ordered by score descending
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized Map<K, Double> toMap() {
+        Scored<K>[] all = this.heap.toArray(new Scored[0]);
+        Arrays.sort(all);
+        Map<K, Double> results = InsertionOrderUtil.newMap();
+        for (int i = all.length - 1; i >= 0; i--) {
+            results.put(all[i].key, all[i].score);
+        }
+        return results;
+    }
+
+    private static final class Scored<K> implements Comparable<Scored<K>> {
+
+        private final K key;
+        private final double score;
+
+        public Scored(K key, double score) {
+            this.key = key;
+            this.score = score;
+        }
+
+        @Override
+        public int compareTo(Scored<K> other) {
+            return Double.compare(this.score, other.score);
+        }
+    }
+}
@@ -28,6 +28,7 @@ import com.baidu.hugegraph.auth.ContextGremlinServer;
 import com.baidu.hugegraph.event.EventHub;
 import com.baidu.hugegraph.util.ConfigUtil;
 import com.baidu.hugegraph.util.E;
+import com.baidu.hugegraph.util.Events;
 import com.baidu.hugegraph.util.Log;
 
 public class HugeGremlinServer {
@@ -51,6 +52,14 @@ public class HugeGremlinServer {
                      "The GremlinServer's settings.graphs is null");
         settings.graphs.putAll(ConfigUtil.scanGraphsDir(graphsDir));
 
+        /*
+         * The graphs bound to gremlin server are referenced directly by the
+         * scripts, wait for them to be started if they are lazily loaded
+         */
+        if (hub.containsListener(Events.GREMLIN_STARTING)) {
+            hub.call(Events.GREMLIN_STARTING);
+        }
+
         LOG.info("Configuring Gremlin Server from {}", conf);
         ContextGremlinServer server = new ContextGremlinServer(settings, hub);
 
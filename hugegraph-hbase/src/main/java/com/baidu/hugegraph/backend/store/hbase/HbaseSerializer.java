@@ -21,6 +21,7 @@ package com.baidu.hugegraph.backend.store.hbase;
 
 import com.baidu.hugegraph.backend.id.Id;
 import com.baidu.hugegraph.backend.serializer.BinarySerializer;
+import com.baidu.hugegraph.config.CoreOptions;
 import com.baidu.hugegraph.config.HugeConfig;
 import com.baidu.hugegraph.type.HugeType;
 import com.baidu.hugegraph.util.Log;
@@ -34,7 +35,8 @@ public class HbaseSerializer extends BinarySerializer {
     private final short edgeLogicPartitions;
 
     public HbaseSerializer(HugeConfig config) {
-        super(false, true, config.get(HbaseOptions.HBASE_ENABLE_PARTITION).booleanValue());
+        super(false, true, config.get(HbaseOptions.HBASE_ENABLE_PARTITION).booleanValue(),
+              config.get(CoreOptions.QUERY_LAZY_DECODE_PROPERTIES));
         this.vertexLogicPartitions = config.get(HbaseOptions.HBASE_VERTEX_PARTITION).shortValue();
         this.edgeLogicPartitions = config.get(HbaseOptions.HBASE_EDGE_PARTITION).shortValue();
         LOG.debug("vertexLogicPartitions: " + vertexLogicPartitions);
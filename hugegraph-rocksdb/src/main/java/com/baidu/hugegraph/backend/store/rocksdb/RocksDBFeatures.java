@@ -145,4 +145,29 @@ public class RocksDBFeatures implements BackendFeatures {
     public boolean supportsOlapProperties() {
         return true;
     }
+
+    @Override
+    public boolean supportsLabelCounter() {
+        return true;
+    }
+
+    @Override
+    public boolean supportsDegreeCounter() {
+        return true;
+    }
+
+    @Override
+    public boolean supportsBitmapIndex() {
+        return true;
+    }
+
+    @Override
+    public boolean supportsCoveringIndex() {
+        return true;
+    }
+
+    @Override
+    public boolean supportsScoringSearchIndex() {
+        return true;
+    }
 }
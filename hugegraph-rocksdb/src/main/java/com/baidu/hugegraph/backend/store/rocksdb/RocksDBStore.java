@@ -66,6 +66,7 @@ import com.baidu.hugegraph.config.CoreOptions;
 import com.baidu.hugegraph.config.HugeConfig;
 import com.baidu.hugegraph.exception.ConnectionException;
 import com.baidu.hugegraph.type.HugeType;
+import com.baidu.hugegraph.type.define.Directions;
 import com.baidu.hugegraph.util.Consumers;
 import com.baidu.hugegraph.util.E;
 import com.baidu.hugegraph.util.ExecutorUtil;
@@ -899,6 +900,8 @@ public abstract class RocksDBStore extends AbstractBackendStore<Session> {
 
         int matched = 0;
         for (String cf : cfs) {
+            // The table names are in lower case, see BackendTable
+            cf = cf.toUpperCase();
             if (cf.endsWith(RocksDBTables.PropertyKey.TABLE) ||
                 cf.endsWith(RocksDBTables.VertexLabel.TABLE) ||
                 cf.endsWith(RocksDBTables.EdgeLabel.TABLE) ||
@@ -982,10 +985,22 @@ public abstract class RocksDBStore extends AbstractBackendStore<Session> {
 
     public static class RocksDBGraphStore extends RocksDBStore {
 
+        private final RocksDBTables.Counters counters;
+        private boolean labelCounterEnabled;
+        private volatile Boolean labelCounterAvailable;
+        private boolean degreeCounterEnabled;
+        private volatile Boolean degreeCounterAvailable;
+
         public RocksDBGraphStore(BackendStoreProvider provider,
                                  String database, String store) {
             super(provider, database, store);
 
+            this.counters = new RocksDBTables.Counters(database);
+            this.labelCounterEnabled = false;
+            this.labelCounterAvailable = null;
+            this.degreeCounterEnabled = false;
+            this.degreeCounterAvailable = null;
+
             registerTableManager(HugeType.VERTEX,
                                  new RocksDBTables.Vertex(database));
 
@@ -1050,6 +1065,199 @@ public abstract class RocksDBStore extends AbstractBackendStore<Session> {
                       "RocksDBGraphStore.getCounter()");
         }
 
+        @Override
+        protected List<String> tableNames() {
+            List<String> tableNames = super.tableNames();
+            tableNames.add(this.counters.table());
+            return tableNames;
+        }
+
+        @Override
+        public synchronized void open(HugeConfig config) {
+            super.open(config);
+            this.createCountersIfMissing();
+
+            this.labelCounterEnabled = config.get(
+                                       CoreOptions.QUERY_LABEL_COUNTER_ENABLE);
+            this.labelCounterAvailable = null;
+            this.degreeCounterEnabled =
+                 config.get(CoreOptions.QUERY_DEGREE_COUNTER_ENABLE);
+            this.degreeCounterAvailable = null;
+            if (this.initialized()) {
+                // The changes will not be counted, the counters are invalid
+                Session session = super.sessions.session();
+                if (!this.labelCounterEnabled) {
+                    this.counters.labelCounterAvailable(session, false);
+                }
+                if (!this.degreeCounterEnabled) {
+                    this.counters.degreeCounterAvailable(session, false);
+                }
+            }
+        }
+
+        private void createCountersIfMissing() {
+            /*
+             * The store initialized by older versions has no counters
+             * table, create it when opening so that the store is still
+             * initialized. The counters are not marked available, so the
+             * counts and degrees of such a store are always by scanning
+             */
+            RocksDBSessions sessions = super.sessions;
+            String counters = this.counters.table();
+            if (sessions.existsTable(counters)) {
+                return;
+            }
+            for (String table : super.tableNames()) {
+                if (sessions.existsTable(table)) {
+                    LOG.info("Create missing table '{}' for store '{}'",
+                             counters, this.store());
+                    this.createTable(sessions, counters);
+                    return;
+                }
+            }
+        }
+
+        @Override
+        public synchronized void init() {
+            super.init();
+
+            // The counters are valid if counting from the initialized store
+            Session session = super.sessions.session();
+            this.counters.labelCounterAvailable(session,
+                                                this.labelCounterEnabled);
+            this.labelCounterAvailable = null;
+            this.counters.degreeCounterAvailable(session,
+                                                 this.degreeCounterEnabled);
+            this.degreeCounterAvailable = null;
+        }
+
+        @Override
+        public void increaseLabelCounter(HugeType type, Id label,
+                                         long increment) {
+            Lock readLock = super.storeLock.readLock();
+            readLock.lock();
+            try {
+                super.checkOpened();
+                Session session = super.sessions.session();
+                this.counters.increaseLabelCounter(session, type, label,
+                                                   increment);
+            } finally {
+                readLock.unlock();
+            }
+        }
+
+        @Override
+        public long getLabelCounter(HugeType type, Id label) {
+            Lock readLock = super.storeLock.readLock();
+            readLock.lock();
+            try {
+                super.checkOpened();
+                Session session = super.sessions.session();
+                if (this.labelCounterAvailable == null) {
+                    this.labelCounterAvailable =
+                         this.counters.labelCounterAvailable(session);
+                }
+                if (!this.labelCounterAvailable) {
+                    return -1L;
+                }
+                return this.counters.getLabelCounter(session, type, label);
+            } finally {
+                readLock.unlock();
+            }
+        }
+
+        @Override
+        public void increaseDegreeCounter(Id vertex, Directions dir, Id label,
+                                          long increment) {
+            Lock readLock = super.storeLock.readLock();
+            readLock.lock();
+            try {
+                super.checkOpened();
+                Session session = super.sessions.session();
+                this.counters.increaseDegreeCounter(session, vertex, dir,
+                                                    label, increment);
+            } finally {
+                readLock.unlock();
+            }
+        }
+
+        @Override
+        public long getDegreeCounter(Id vertex, Directions dir, Id label) {
+            Lock readLock = super.storeLock.readLock();
+            readLock.lock();
+            try {
+                super.checkOpened();
+                Session session = super.sessions.session();
+                if (this.degreeCounterAvailable == null) {
+                    this.degreeCounterAvailable =
+                         this.counters.degreeCounterAvailable(session);
+                }
+                if (!this.degreeCounterAvailable) {
+                    return -1L;
+                }
+                return this.counters.getDegreeCounter(session, vertex, dir,
+                                                      label);
+            } finally {
+                readLock.unlock();
+            }
+        }
+
+        @Override
+        public byte[] getBitmapIndex(Id indexLabel, String value, long chunk) {
+            Lock readLock = super.storeLock.readLock();
+            readLock.lock();
+            try {
+                super.checkOpened();
+                Session session = super.sessions.session();
+                return this.counters.getBitmapIndex(session, indexLabel,
+                                                    value, chunk);
+            } finally {
+                readLock.unlock();
+            }
+        }
+
+        @Override
+        public Iterator<byte[]> queryBitmapIndex(Id indexLabel, String value) {
+            Lock readLock = super.storeLock.readLock();
+            readLock.lock();
+            try {
+                super.checkOpened();
+                Session session = super.sessions.session();
+                return this.counters.queryBitmapIndex(session, indexLabel,
+                                                      value);
+            } finally {
+                readLock.unlock();
+            }
+        }
+
+        @Override
+        public void putBitmapIndex(Id indexLabel, String value, long chunk,
+                                   byte[] bitmap) {
+            Lock readLock = super.storeLock.readLock();
+            readLock.lock();
+            try {
+                super.checkOpened();
+                Session session = super.sessions.session();
+                this.counters.putBitmapIndex(session, indexLabel, value,
+                                             chunk, bitmap);
+            } finally {
+                readLock.unlock();
+            }
+        }
+
+        @Override
+        public void deleteBitmapIndex(Id indexLabel) {
+            Lock readLock = super.storeLock.readLock();
+            readLock.lock();
+            try {
+                super.checkOpened();
+                Session session = super.sessions.session();
+                this.counters.deleteBitmapIndex(session, indexLabel);
+            } finally {
+                readLock.unlock();
+            }
+        }
+
         /**
          * TODO: can we remove this method since createOlapTable would register?
          */
@@ -22,6 +22,7 @@ package com.baidu.hugegraph.backend.store.rocksdb;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 
 import com.baidu.hugegraph.backend.id.Id;
@@ -29,10 +30,13 @@ import com.baidu.hugegraph.backend.query.Condition;
 import com.baidu.hugegraph.backend.query.Condition.Relation;
 import com.baidu.hugegraph.backend.query.ConditionQuery;
 import com.baidu.hugegraph.backend.serializer.BinarySerializer;
+import com.baidu.hugegraph.backend.serializer.BytesBuffer;
 import com.baidu.hugegraph.backend.store.BackendEntry;
 import com.baidu.hugegraph.backend.store.BackendEntry.BackendColumnIterator;
 import com.baidu.hugegraph.backend.store.rocksdb.RocksDBSessions.Session;
+import com.baidu.hugegraph.iterator.MapperIterator;
 import com.baidu.hugegraph.type.HugeType;
+import com.baidu.hugegraph.type.define.Directions;
 import com.baidu.hugegraph.type.define.HugeKeys;
 import com.baidu.hugegraph.util.E;
 
@@ -42,6 +46,14 @@ public class RocksDBTables {
 
         private static final String TABLE = HugeType.COUNTER.string();
 
+        // Mark the label counters are maintained since the store initialized
+        private static final byte[] LABEL_COUNTER_MARK = new byte[]{
+                                    HugeType.COUNTER.code()};
+        // Mark the degree counters are maintained since the store initialized
+        private static final byte[] DEGREE_COUNTER_MARK = new byte[]{
+                                    HugeType.COUNTER.code(),
+                                    HugeType.EDGE.code()};
+
         public Counters(String database) {
             super(database, TABLE);
         }
@@ -62,6 +74,144 @@ public class RocksDBTables {
             session.increase(this.table(), key, toBytes(increment));
         }
 
+        public long getLabelCounter(Session session, HugeType type, Id label) {
+            byte[] value = session.get(this.table(), labelKey(type, label));
+            if (value != null) {
+                return toLong(value);
+            } else {
+                return 0L;
+            }
+        }
+
+        public void increaseLabelCounter(Session session, HugeType type,
+                                         Id label, long increment) {
+            // Merge into the batch to be committed with the mutations
+            session.merge(this.table(), labelKey(type, label),
+                          toBytes(increment));
+        }
+
+        public long getDegreeCounter(Session session, Id vertex,
+                                     Directions dir, Id label) {
+            byte[] key = degreeKey(vertex, dir, label);
+            byte[] value = session.get(this.table(), key);
+            if (value != null) {
+                return toLong(value);
+            } else {
+                return 0L;
+            }
+        }
+
+        public void increaseDegreeCounter(Session session, Id vertex,
+                                          Directions dir, Id label,
+                                          long increment) {
+            // Merge into the batch to be committed with the mutations
+            session.merge(this.table(), degreeKey(vertex, dir, label),
+                          toBytes(increment));
+        }
+
+        public byte[] getBitmapIndex(Session session, Id indexLabel,
+                                     String value, long chunk) {
+            return session.get(this.table(),
+                               bitmapKey(indexLabel, value, chunk));
+        }
+
+        public Iterator<byte[]> queryBitmapIndex(Session session,
+                                                 Id indexLabel,
+                                                 String value) {
+            BackendColumnIterator iter = session.scan(
+                                         this.table(),
+                                         bitmapPrefix(indexLabel, value));
+            return new MapperIterator<>(iter, col -> col.value);
+        }
+
+        public void putBitmapIndex(Session session, Id indexLabel,
+                                   String value, long chunk, byte[] bitmap) {
+            // Put into the batch to be committed with the mutations
+            byte[] key = bitmapKey(indexLabel, value, chunk);
+            if (bitmap == null || bitmap.length == 0) {
+                session.delete(this.table(), key);
+            } else {
+                session.put(this.table(), key, bitmap);
+            }
+        }
+
+        public void deleteBitmapIndex(Session session, Id indexLabel) {
+            BytesBuffer buffer = BytesBuffer.allocate(1 + indexLabel.length());
+            buffer.write(HugeType.SECONDARY_INDEX.code());
+            buffer.writeId(indexLabel);
+            session.deletePrefix(this.table(), buffer.bytes());
+        }
+
+        public boolean labelCounterAvailable(Session session) {
+            return this.markExists(session, LABEL_COUNTER_MARK);
+        }
+
+        public void labelCounterAvailable(Session session, boolean available) {
+            this.mark(session, LABEL_COUNTER_MARK, available);
+        }
+
+        public boolean degreeCounterAvailable(Session session) {
+            return this.markExists(session, DEGREE_COUNTER_MARK);
+        }
+
+        public void degreeCounterAvailable(Session session,
+                                           boolean available) {
+            this.mark(session, DEGREE_COUNTER_MARK, available);
+        }
+
+        private boolean markExists(Session session, byte[] mark) {
+            return session.get(this.table(), mark) != null;
+        }
+
+        private void mark(Session session, byte[] mark, boolean available) {
+            if (available) {
+                session.put(this.table(), mark, toBytes(1L));
+            } else {
+                session.delete(this.table(), mark);
+            }
+            session.commit();
+        }
+
+        private static byte[] labelKey(HugeType type, Id label) {
+            BytesBuffer buffer = BytesBuffer.allocate(1 + label.length());
+            buffer.write(type.code());
+            buffer.writeId(label);
+            return buffer.bytes();
+        }
+
+        private static byte[] degreeKey(Id vertex, Directions dir, Id label) {
+            E.checkArgument(dir == Directions.OUT || dir == Directions.IN,
+                            "Expect OUT or IN direction, but got %s", dir);
+            int size = 1 + vertex.length() + (label == null ?
+                                              0 : label.length());
+            BytesBuffer buffer = BytesBuffer.allocate(size);
+            buffer.write(dir.type().code());
+            buffer.writeId(vertex);
+            // The degree of all labels if the label is null
+            if (label != null) {
+                buffer.writeId(label);
+            }
+            return buffer.bytes();
+        }
+
+        private static byte[] bitmapPrefix(Id indexLabel, String value) {
+            BytesBuffer buffer = BytesBuffer.allocate(1 + indexLabel.length() +
+                                                      value.length() + 1);
+            buffer.write(HugeType.SECONDARY_INDEX.code());
+            buffer.writeId(indexLabel);
+            buffer.writeStringWithEnding(value);
+            return buffer.bytes();
+        }
+
+        private static byte[] bitmapKey(Id indexLabel, String value,
+                                        long chunk) {
+            byte[] prefix = bitmapPrefix(indexLabel, value);
+            // Flip the sign bit to make the keys ordered as signed chunks
+            return ByteBuffer.allocate(prefix.length + Long.BYTES)
+                             .put(prefix)
+                             .putLong(chunk ^ Long.MIN_VALUE).array();
+        }
+
         private static byte[] toBytes(long value) {
             return ByteBuffer.allocate(Long.BYTES)
                              .order(ByteOrder.nativeOrder())
@@ -30,6 +30,7 @@ import com.baidu.hugegraph.backend.store.rocksdb.RocksDBStore;
 import com.baidu.hugegraph.backend.store.rocksdb.RocksDBTables;
 import com.baidu.hugegraph.config.HugeConfig;
 import com.baidu.hugegraph.type.HugeType;
+import com.baidu.hugegraph.type.define.Directions;
 
 public abstract class RocksDBSstStore extends RocksDBStore {
 
@@ -112,5 +113,17 @@ public abstract class RocksDBSstStore extends RocksDBStore {
             throw new UnsupportedOperationException(
                       "RocksDBSstGraphStore.getCounter()");
         }
+
+        @Override
+        public void increaseLabelCounter(HugeType type, Id label,
+                                         long increment) {
+            // The sst files are not counted, and no counter is available
+        }
+
+        @Override
+        public void increaseDegreeCounter(Id vertex, Directions dir, Id label,
+                                          long increment) {
+            // The sst files are not counted, and no counter is available
+        }
     }
 }
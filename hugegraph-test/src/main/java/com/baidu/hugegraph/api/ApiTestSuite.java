@@ -33,8 +33,10 @@ import com.baidu.hugegraph.dist.RegisterUtil;
     EdgeLabelApiTest.class,
     IndexLabelApiTest.class,
     SchemaApiTest.class,
+    GraphsApiTest.class,
     VertexApiTest.class,
     EdgeApiTest.class,
+    IngestApiTest.class,
     TaskApiTest.class,
     GremlinApiTest.class,
     MetricsApiTest.class,
@@ -59,6 +59,53 @@ public class EdgeApiTest extends BaseApiTest {
         assertResponseStatus(201, r);
     }
 
+    @Test
+    public void testBatchCreateWithCheckVertex() throws IOException {
+        String markoId = getVertexId("person", "name", "marko");
+        String vadasId = getVertexId("person", "name", "vadas");
+        String joshId = getVertexId("person", "name", "josh");
+        String lopId = getVertexId("software", "name", "lop");
+
+        String edge = "{" +
+                "\"label\": \"%s\"," +
+                "\"outVLabel\": \"person\"," +
+                "\"inVLabel\": \"%s\"," +
+                "\"outV\": \"%s\"," +
+                "\"inV\": \"%s\"," +
+                "\"properties\":{" +
+                "\"date\": \"20170324\"," +
+                "\"weight\": 0.5}" +
+                "}";
+        // The edges share the source vertex
+        String edges = "[" +
+                String.format(edge, "knows", "person", markoId, vadasId) +
+                "," +
+                String.format(edge, "knows", "person", markoId, joshId) +
+                "," +
+                String.format(edge, "created", "software", markoId, lopId) +
+                "]";
+        Response r = client().post(path + "batch", edges);
+        assertResponseStatus(201, r);
+
+        edges = "[" +
+                String.format(edge, "knows", "person", markoId, vadasId) +
+                "," +
+                String.format(edge, "created", "person", markoId, lopId) +
+                "]";
+        r = client().post(path + "batch", edges);
+        String content = assertResponseStatus(400, r);
+        Assert.assertContains("is unmatched", content);
+
+        edges = "[" +
+                String.format(edge, "knows", "person", markoId, vadasId) +
+                "," +
+                String.format(edge, "knows", "person", markoId, "S1:tom") +
+                "]";
+        r = client().post(path + "batch", edges);
+        content = assertResponseStatus(400, r);
+        Assert.assertContains("Invalid vertex id 'S1:tom'", content);
+    }
+
     @Test
     public void testBatchUpdate() throws IOException {
         String outVId = getVertexId("person", "name", "marko");
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.api;
+
+import jakarta.ws.rs.core.Response;
+import org.junit.Test;
+
+import com.baidu.hugegraph.testutil.Assert;
+
+public class GraphsApiTest extends BaseApiTest {
+
+    private static String path = "/graphs";
+
+    @Test
+    public void testGetStatus() {
+        Response r = client().get(path + "/hugegraph/status");
+        String content = assertResponseStatus(200, r);
+
+        String name = assertJsonContains(content, "name");
+        String status = assertJsonContains(content, "status");
+        Assert.assertEquals("hugegraph", name);
+        Assert.assertTrue(status, "ready".equals(status) ||
+                          "warming_up".equals(status));
+    }
+
+    @Test
+    public void testGetStatusOfNotExistGraph() {
+        Response r = client().get(path + "/not_exist_graph/status");
+        assertResponseStatus(404, r);
+    }
+}
@@ -52,6 +52,40 @@ public class GremlinApiTest extends BaseApiTest {
         Assert.assertEquals(r.readEntity(String.class), 200, r.getStatus());
     }
 
+    @Test
+    public void testPostWithBindings() {
+        String body = "{" +
+                "\"gremlin\":\"g.V().limit(n).count().is(lt(n)).count()\"," +
+                "\"bindings\":{\"n\":10}," +
+                "\"language\":\"gremlin-groovy\"," +
+                "\"aliases\":{\"g\":\"__g_hugegraph\"}}";
+        String content = assertResponseStatus(200, client().post(path, body));
+        Map<?, ?> result = assertJsonContains(content, "result");
+        @SuppressWarnings({ "unchecked" })
+        List<Object> data = (List<Object>) assertMapContains(result, "data");
+        Assert.assertEquals(1, data.size());
+    }
+
+    @Test
+    public void testPostWithInvalidRequest() {
+        String body = "{\"bindings\":{}}";
+        String content = assertResponseStatus(400, client().post(path, body));
+        Assert.assertContains("no gremlin script supplied", content);
+
+        body = "{" +
+                "\"gremlin\":\"g.V()\"," +
+                "\"aliases\":{\"g\":\"__g_not_exist\"}}";
+        content = assertResponseStatus(400, client().post(path, body));
+        Assert.assertContains("Could not rebind [g] to [__g_not_exist]",
+                              content);
+
+        body = "{" +
+                "\"gremlin\":\"g.V(\"," +
+                "\"aliases\":{\"g\":\"__g_hugegraph\"}}";
+        content = assertResponseStatus(400, client().post(path, body));
+        Assert.assertContains("MultipleCompilationErrorsException", content);
+    }
+
     @Test
     public void testScript() {
         String bodyTemplate = "{" +
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.api;
+
+import java.io.IOException;
+
+import jakarta.ws.rs.client.Entity;
+import jakarta.ws.rs.core.Response;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.baidu.hugegraph.serializer.BinaryJsonCodec;
+import com.baidu.hugegraph.testutil.Assert;
+import com.baidu.hugegraph.util.StringEncoding;
+
+public class IngestApiTest extends BaseApiTest {
+
+    private static String path = "/graphs/hugegraph/graph/ingest";
+    private static String ndjson = "application/x-ndjson";
+
+    private static final String BINARY_JSON = API.APPLICATION_BINARY_JSON;
+
+    private static final String VERTEX = "{" +
+            "\"type\": \"vertex\"," +
+            "\"label\": \"person\"," +
+            "\"properties\":{" +
+            "\"name\": \"%s\"," +
+            "\"city\": \"Beijing\"," +
+            "\"age\": 20}" +
+            "}\n";
+    private static final String EDGE = "{" +
+            "\"type\": \"edge\"," +
+            "\"label\": \"knows\"," +
+            "\"outVLabel\": \"person\"," +
+            "\"inVLabel\": \"person\"," +
+            "\"outV\": \"%s\"," +
+            "\"inV\": \"%s\"," +
+            "\"properties\":{" +
+            "\"date\": \"20170324\"," +
+            "\"weight\": 0.5}" +
+            "}\n";
+
+    @Before
+    public void prepareSchema() {
+        BaseApiTest.initPropertyKey();
+        BaseApiTest.initVertexLabel();
+        BaseApiTest.initEdgeLabel();
+        BaseApiTest.initVertex();
+    }
+
+    @Test
+    public void testIngest() throws IOException {
+        String markoId = getVertexId("person", "name", "marko");
+        // The id of person is like "1:marko"
+        String prefix = markoId.substring(0, markoId.indexOf(':') + 1);
+
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < 1200; i++) {
+            body.append(String.format(VERTEX, "p" + i));
+            body.append(String.format(EDGE, markoId, prefix + "p" + i));
+        }
+        Response r = client().post(path, Entity.entity(body.toString(),
+                                                       ndjson));
+        String content = assertResponseStatus(201, r);
+        Assert.assertEquals(1200, assertJsonContains(content, "vertices"));
+        Assert.assertEquals(1200, assertJsonContains(content, "edges"));
+        Assert.assertEquals(5, assertJsonContains(content, "batches"));
+        assertJsonContains(content, "id");
+
+        Assert.assertNotNull(getVertexId("person", "name", "p1199"));
+    }
+
+    @Test
+    public void testListIngests() throws IOException {
+        // The finished ingests are not listed
+        Response r = client().post(path, Entity.entity(
+                                         String.format(VERTEX, "p1"),
+                                         ndjson));
+        String content = assertResponseStatus(201, r);
+        int id = assertJsonContains(content, "id");
+
+        r = client().get(path);
+        content = assertResponseStatus(200, r);
+        Assert.assertEquals("{\"ingests\":[]}", content);
+
+        r = client().get(path, String.valueOf(id));
+        content = assertResponseStatus(404, r);
+        Assert.assertContains("Can't find running ingest with id", content);
+    }
+
+    @Test
+    public void testIngestWithBinaryJson() throws IOException {
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < 600; i++) {
+            body.append(String.format(VERTEX, "p" + i));
+        }
+        // The binary body is decoded while streaming
+        byte[] binary = BinaryJsonCodec.encode(StringEncoding.encode(
+                                               body.toString()));
+        Response r = client().post(path, Entity.entity(binary, BINARY_JSON));
+        String content = assertResponseStatus(201, r);
+        Assert.assertEquals(600, assertJsonContains(content, "vertices"));
+        Assert.assertEquals(2, assertJsonContains(content, "batches"));
+
+        Assert.assertNotNull(getVertexId("person", "name", "p599"));
+
+        binary[binary.length - 1] = 0x7f;
+        r = client().post(path, Entity.entity(binary, BINARY_JSON));
+        content = assertResponseStatus(400, r);
+        Assert.assertContains("Invalid binary json tag 127", content);
+    }
+
+    @Test
+    public void testIngestWithInvalidElement() throws IOException {
+        String body = String.format(VERTEX, "p1") +
+                      "{\"type\": \"property\", \"label\": \"person\"}\n";
+        Response r = client().post(path, Entity.entity(body, ndjson));
+        String content = assertResponseStatus(400, r);
+        Assert.assertContains("The type at line 2 must be 'vertex' or " +
+                              "'edge', but got 'property'", content);
+        Assert.assertContains("committed 0 vertices and 0 edges " +
+                              "(0 batches) before it", content);
+
+        String markoId = getVertexId("person", "name", "marko");
+        body = String.format(EDGE, markoId, "S1:tom");
+        r = client().post(path, Entity.entity(body, ndjson));
+        content = assertResponseStatus(400, r);
+        Assert.assertContains("Invalid vertex id 'S1:tom', committed 0 " +
+                              "vertices and 0 edges (0 batches) before it",
+                              content);
+    }
+
+    @Test
+    public void testIngestWithInvalidElementAfterBatches() throws IOException {
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < 600; i++) {
+            body.append(String.format(VERTEX, "p" + i));
+        }
+        body.append("{\"label\": \"person\"}\n");
+        Response r = client().post(path, Entity.entity(body.toString(),
+                                                       ndjson));
+        String content = assertResponseStatus(400, r);
+        // The batches before the invalid element are committed
+        Assert.assertContains("The type at line 601 must be 'vertex' or " +
+                              "'edge', but got 'null', committed 500 " +
+                              "vertices and 0 edges (1 batches) before it",
+                              content);
+
+        Assert.assertNotNull(getVertexId("person", "name", "p499"));
+    }
+}
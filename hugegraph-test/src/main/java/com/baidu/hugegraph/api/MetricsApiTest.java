@@ -19,12 +19,14 @@
 
 package com.baidu.hugegraph.api;
 
+import java.util.List;
 import java.util.Map;
 
 import jakarta.ws.rs.core.Response;
 import org.junit.Test;
 
 import com.baidu.hugegraph.testutil.Assert;
+import com.google.common.collect.ImmutableMap;
 
 public class MetricsApiTest extends BaseApiTest {
 
@@ -53,6 +55,48 @@ public class MetricsApiTest extends BaseApiTest {
         assertJsonContains(result, "garbage_collector");
     }
 
+    @Test
+    public void testMetricsPrometheus() {
+        // Query and commit to record the latency of backend operations
+        assertResponseStatus(200, client().get("/graphs/hugegraph/graph/" +
+                                               "vertices"));
+
+        Response r = client().get(path, "prometheus");
+        String result = assertResponseStatus(200, r);
+        Assert.assertTrue(r.getMediaType().toString(),
+                          r.getMediaType().toString().startsWith(
+                          "text/plain"));
+        Assert.assertContains("# TYPE hugegraph_backend_operation_seconds " +
+                              "histogram", result);
+        Assert.assertContains("hugegraph_backend_operation_seconds_bucket{" +
+                              "graph=\"hugegraph\"", result);
+        Assert.assertContains("le=\"+Inf\"}", result);
+        Assert.assertContains("# TYPE hugegraph_cache_access_seconds " +
+                              "histogram", result);
+        Assert.assertContains("# TYPE hugegraph_api_API_commit_succeed_total " +
+                              "counter", result);
+    }
+
+    @Test
+    public void testMetricsTraces() {
+        // Trace a request of the graph
+        assertResponseStatus(200, client().get("/graphs/hugegraph/graph/" +
+                                               "vertices"));
+
+        Response r = client().get(path, "traces");
+        String result = assertResponseStatus(200, r);
+        List<?> traces = assertJsonContains(result, "traces");
+        Assert.assertFalse(traces.isEmpty());
+        Map<?, ?> root = assertMapContains((Map<?, ?>) traces.get(0), "root");
+        Assert.assertEquals("GET /graphs/hugegraph/graph/vertices",
+                            root.get("name"));
+        assertMapContains(root, "elapsed");
+        assertMapContains(root, "children");
+
+        r = client().get(path + "/traces", ImmutableMap.of("limit", 0));
+        assertResponseStatus(400, r);
+    }
+
     @Test
     public void testMetricsBackend() {
         Response r = client().get(path, "backend");
@@ -19,9 +19,14 @@
 
 package com.baidu.hugegraph.api;
 
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MultivaluedHashMap;
+import jakarta.ws.rs.core.MultivaluedMap;
 import jakarta.ws.rs.core.Response;
 import org.junit.Test;
 
+import com.baidu.hugegraph.testutil.Assert;
+
 public class SchemaApiTest extends BaseApiTest {
 
     private static String path = "/graphs/hugegraph/schema";
@@ -36,4 +41,46 @@ public class SchemaApiTest extends BaseApiTest {
         assertJsonContains(content, "edgelabels");
         assertJsonContains(content, "indexlabels");
     }
+
+    @Test
+    public void testGetWithEtag() {
+        Response r = client().get(path);
+        assertResponseStatus(200, r);
+        String etag = r.getHeaderString(HttpHeaders.ETAG);
+        Assert.assertNotNull(etag);
+
+        MultivaluedMap<String, Object> headers = new MultivaluedHashMap<>();
+        headers.add(HttpHeaders.IF_NONE_MATCH, etag);
+        r = client().get(path, headers);
+        Assert.assertEquals(304, r.getStatus());
+        Assert.assertEquals(etag, r.getHeaderString(HttpHeaders.ETAG));
+
+        // The etag is changed after the schema is changed
+        initPropertyKey();
+        r = client().get(path, headers);
+        String content = assertResponseStatus(200, r);
+        Assert.assertContains("\"age\"", content);
+        Assert.assertNotEquals(etag, r.getHeaderString(HttpHeaders.ETAG));
+    }
+
+    @Test
+    public void testListPropertyKeysWithEtag() {
+        String pkPath = path + "/propertykeys";
+        initPropertyKey();
+        Response r = client().get(pkPath);
+        String content = assertResponseStatus(200, r);
+        String etag = r.getHeaderString(HttpHeaders.ETAG);
+        Assert.assertNotNull(etag);
+
+        MultivaluedMap<String, Object> headers = new MultivaluedHashMap<>();
+        headers.add(HttpHeaders.IF_NONE_MATCH, etag);
+        r = client().get(pkPath, headers);
+        Assert.assertEquals(304, r.getStatus());
+
+        // The same body is served if the etag is not matched
+        headers.putSingle(HttpHeaders.IF_NONE_MATCH, "W/\"not-matched\"");
+        r = client().get(pkPath, headers);
+        Assert.assertEquals(content, assertResponseStatus(200, r));
+        Assert.assertEquals(etag, r.getHeaderString(HttpHeaders.ETAG));
+    }
 }
@@ -21,10 +21,16 @@ package com.baidu.hugegraph.api;
 
 import java.io.IOException;
 
+import jakarta.ws.rs.client.Entity;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.Response;
 import org.junit.Before;
 import org.junit.Test;
 
+import com.baidu.hugegraph.serializer.BinaryJsonCodec;
+import com.baidu.hugegraph.testutil.Assert;
+import com.baidu.hugegraph.util.StringEncoding;
+
 public class VertexApiTest extends BaseApiTest {
 
     private static String path = "/graphs/hugegraph/graph/vertices/";
@@ -99,4 +105,29 @@ public class VertexApiTest extends BaseApiTest {
         r = client().delete(path, id);
         assertResponseStatus(204, r);
     }
+
+    @Test
+    public void testCreateAndListWithBinaryJson() {
+        String vertex = "{" +
+                "\"label\":\"person\"," +
+                "\"properties\":{" +
+                "\"name\":\"James\"," +
+                "\"city\":\"Beijing\"," +
+                "\"age\":19}" +
+                "}";
+        String binaryJson = "application/x-hugegraph-binary";
+        byte[] body = BinaryJsonCodec.encode(StringEncoding.encode(vertex));
+        Response r = client().post(path, Entity.entity(body, binaryJson));
+        String content = assertResponseStatus(201, r);
+        Assert.assertContains("\"name\":\"James\"", content);
+
+        r = client().target().path(path).request(binaryJson).get();
+        Assert.assertEquals(200, r.getStatus());
+        Assert.assertEquals(binaryJson,
+                            r.getHeaderString(HttpHeaders.CONTENT_TYPE));
+        byte[] json = BinaryJsonCodec.decode(r.readEntity(byte[].class));
+        content = StringEncoding.decode(json);
+        Assert.assertContains("\"vertices\":[", content);
+        Assert.assertContains("\"name\":\"James\"", content);
+    }
 }
@@ -60,6 +60,22 @@ public class PathsApiTest extends BaseApiTest {
         Assert.assertEquals(1, paths.size());
     }
 
+    @Test
+    public void testGetWithStream() {
+        Map<String, String> name2Ids = listAllVertexName2Ids();
+        String markoId = name2Ids.get("marko");
+        String vadasId = name2Ids.get("vadas");
+        Response r = client().get(PATH, ImmutableMap.of("source",
+                                                        id2Json(markoId),
+                                                        "target",
+                                                        id2Json(vadasId),
+                                                        "max_depth", 3,
+                                                        "stream", true));
+        String content = assertResponseStatus(200, r);
+        List<Map<String, Object>> paths = assertJsonContains(content, "paths");
+        Assert.assertEquals(1, paths.size());
+    }
+
     @Test
     public void testPost() {
         Map<String, String> name2Ids = listAllVertexName2Ids();
@@ -84,4 +100,29 @@ public class PathsApiTest extends BaseApiTest {
         List<Map<String, Object>> paths = assertJsonContains(content, "paths");
         Assert.assertEquals(2, paths.size());
     }
+
+    @Test
+    public void testPostWithStream() {
+        Map<String, String> name2Ids = listAllVertexName2Ids();
+        String markoId = name2Ids.get("marko");
+        String joshId = name2Ids.get("josh");
+        String reqBody = String.format("{ " +
+                                       "\"sources\": { " +
+                                       " \"ids\": [\"%s\"]}, " +
+                                       "\"targets\": { " +
+                                       " \"ids\": [\"%s\"]}, " +
+                                       "\"step\": { " +
+                                       " \"direction\": \"BOTH\", " +
+                                       " \"properties\": { " +
+                                       "  \"weight\": \"P.gt(0.01)\"}}, " +
+                                       "\"max_depth\": 10, " +
+                                       "\"capacity\": 100000000, " +
+                                       "\"limit\": 10000000, " +
+                                       "\"stream\": true}",
+                                       markoId, joshId);
+        Response r = client().post(PATH, reqBody);
+        String content = assertResponseStatus(200, r);
+        List<Map<String, Object>> paths = assertJsonContains(content, "paths");
+        Assert.assertEquals(2, paths.size());
+    }
 }
@@ -85,4 +85,47 @@ public class TemplatePathsApiTest extends BaseApiTest {
                                              peterId, rippleId),
                             paths);
     }
+
+    @Test
+    public void testPostWithStream() {
+        Map<String, String> name2Ids = listAllVertexName2Ids();
+        String vadasId = name2Ids.get("vadas");
+        String joshId = name2Ids.get("josh");
+        String peterId = name2Ids.get("peter");
+        String rippleId = name2Ids.get("ripple");
+        String template = "{" +
+                          "\"sources\": {" +
+                          " \"ids\": []," +
+                          " \"label\": \"person\"," +
+                          " \"properties\": {" +
+                          "  \"name\": \"vadas\"}}," +
+                          "\"targets\": {" +
+                          " \"ids\": []," +
+                          " \"label\": \"software\"," +
+                          " \"properties\": {" +
+                          " \"name\": \"ripple\"}}," +
+                          "\"steps\": [{" +
+                          " \"direction\": \"IN\"," +
+                          " \"labels\": [\"knows\"]," +
+                          " \"properties\": {}," +
+                          " \"max_degree\": 10000," +
+                          " \"max_times\": 2," +
+                          " \"skip_degree\": 100000},{" +
+                          " \"direction\": \"OUT\"," +
+                          " \"labels\": [\"created\"]," +
+                          " \"properties\": {}," +
+                          " \"max_degree\": 10000," +
+                          " \"skip_degree\": 100000}]," +
+                          " \"capacity\": 10000," +
+                          " \"limit\": 10," +
+                          " \"stream\": true}";
+        Response r = client().post(PATH, template);
+        String content = assertResponseStatus(200, r);
+        List<Map<?, ?>> objects = assertJsonContains(content, "paths");
+        Assert.assertEquals(1, objects.size());
+        List<String> paths = assertMapContains(objects.get(0), "objects");
+        Assert.assertEquals(ImmutableList.of(vadasId, joshId,
+                                             peterId, rippleId),
+                            paths);
+    }
 }
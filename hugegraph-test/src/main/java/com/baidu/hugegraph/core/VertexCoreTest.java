@@ -4605,9 +4605,16 @@ public class VertexCoreTest extends BaseCoreTest {
 
         Assert.assertEquals(4, vertices.size());
         Assert.assertEquals("James", vertices.get(0).value("name"));
-        Assert.assertEquals("Tom", vertices.get(1).value("name"));
-        Assert.assertEquals("Jason", vertices.get(2).value("name"));
-        Assert.assertEquals("Dim", vertices.get(3).value("name"));
+        if (storeFeatures().supportsScoringSearchIndex()) {
+            // Ranked by BM25 scores, the rare word 'area' has higher weight
+            Assert.assertEquals("Dim", vertices.get(1).value("name"));
+            Assert.assertEquals("Jason", vertices.get(2).value("name"));
+            Assert.assertEquals("Tom", vertices.get(3).value("name"));
+        } else {
+            Assert.assertEquals("Tom", vertices.get(1).value("name"));
+            Assert.assertEquals("Jason", vertices.get(2).value("name"));
+            Assert.assertEquals("Dim", vertices.get(3).value("name"));
+        }
         assertContains(vertices,
                        T.label, "author", "id", 2, "name", "Dim",
                        "age", 40, "lived", "Shenzhen area");
@@ -4633,9 +4640,15 @@ public class VertexCoreTest extends BaseCoreTest {
                                     .skip(1)
                                     .toList();
         Assert.assertEquals(3, vertices.size());
-        Assert.assertEquals("Tom", vertices.get(0).value("name"));
-        Assert.assertEquals("Jason", vertices.get(1).value("name"));
-        Assert.assertEquals("Dim", vertices.get(2).value("name"));
+        if (storeFeatures().supportsScoringSearchIndex()) {
+            Assert.assertEquals("Dim", vertices.get(0).value("name"));
+            Assert.assertEquals("Jason", vertices.get(1).value("name"));
+            Assert.assertEquals("Tom", vertices.get(2).value("name"));
+        } else {
+            Assert.assertEquals("Tom", vertices.get(0).value("name"));
+            Assert.assertEquals("Jason", vertices.get(1).value("name"));
+            Assert.assertEquals("Dim", vertices.get(2).value("name"));
+        }
 
         vertices = graph.traversal().V().hasLabel("author")
                                     .has("lived", Text.contains("Bay Area"))
@@ -19,32 +19,48 @@
 
 package com.baidu.hugegraph.unit;
 
+import org.junit.AfterClass;
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 
+import com.baidu.hugegraph.HugeFactory;
 import com.baidu.hugegraph.unit.cache.CacheManagerTest;
 import com.baidu.hugegraph.unit.cache.CacheTest;
 import com.baidu.hugegraph.unit.cache.CachedGraphTransactionTest;
 import com.baidu.hugegraph.unit.cache.CachedSchemaTransactionTest;
 import com.baidu.hugegraph.unit.cache.RamTableTest;
+import com.baidu.hugegraph.unit.cache.TraversalCacheTest;
 import com.baidu.hugegraph.unit.cassandra.CassandraTest;
 import com.baidu.hugegraph.unit.core.AnalyzerTest;
 import com.baidu.hugegraph.unit.core.BackendMutationTest;
 import com.baidu.hugegraph.unit.core.BackendStoreSystemInfoTest;
+import com.baidu.hugegraph.unit.core.BitmapIndexTest;
+import com.baidu.hugegraph.unit.core.CompactRecordTest;
+import com.baidu.hugegraph.unit.core.CompiledConditionTest;
+import com.baidu.hugegraph.unit.core.ConcurrentQueryTest;
 import com.baidu.hugegraph.unit.core.ConditionQueryFlattenTest;
 import com.baidu.hugegraph.unit.core.ConditionTest;
+import com.baidu.hugegraph.unit.core.CoveringIndexTest;
 import com.baidu.hugegraph.unit.core.DataTypeTest;
+import com.baidu.hugegraph.unit.core.DegreeCounterTest;
 import com.baidu.hugegraph.unit.core.DirectionsTest;
 import com.baidu.hugegraph.unit.core.ExceptionTest;
+import com.baidu.hugegraph.unit.core.IndexStatisticsTest;
+import com.baidu.hugegraph.unit.core.JaccardSimilarTraverserTest;
+import com.baidu.hugegraph.unit.core.LabelCounterTest;
+import com.baidu.hugegraph.unit.core.LatencyMetricsTest;
 import com.baidu.hugegraph.unit.core.LocksTableTest;
+import com.baidu.hugegraph.unit.core.NodePathTest;
 import com.baidu.hugegraph.unit.core.PageStateTest;
 import com.baidu.hugegraph.unit.core.QueryTest;
 import com.baidu.hugegraph.unit.core.RangeTest;
 import com.baidu.hugegraph.unit.core.RolePermissionTest;
 import com.baidu.hugegraph.unit.core.RowLockTest;
+import com.baidu.hugegraph.unit.core.SearchIndexTest;
 import com.baidu.hugegraph.unit.core.SecurityManagerTest;
 import com.baidu.hugegraph.unit.core.SerialEnumTest;
 import com.baidu.hugegraph.unit.core.TraversalUtilTest;
+import com.baidu.hugegraph.unit.core.VectorIndexTest;
 import com.baidu.hugegraph.unit.id.EdgeIdTest;
 import com.baidu.hugegraph.unit.id.IdTest;
 import com.baidu.hugegraph.unit.id.IdUtilTest;
@@ -55,24 +71,33 @@ import com.baidu.hugegraph.unit.rocksdb.RocksDBCountersTest;
 import com.baidu.hugegraph.unit.rocksdb.RocksDBSessionTest;
 import com.baidu.hugegraph.unit.rocksdb.RocksDBSessionsTest;
 import com.baidu.hugegraph.unit.serializer.BinaryBackendEntryTest;
+import com.baidu.hugegraph.unit.serializer.BinaryJsonCodecTest;
 import com.baidu.hugegraph.unit.serializer.BinaryScatterSerializerTest;
 import com.baidu.hugegraph.unit.serializer.BinarySerializerTest;
 import com.baidu.hugegraph.unit.serializer.BytesBufferTest;
+import com.baidu.hugegraph.unit.serializer.PathsWriterTest;
 import com.baidu.hugegraph.unit.serializer.SerializerFactoryTest;
 import com.baidu.hugegraph.unit.serializer.StoreSerializerTest;
 import com.baidu.hugegraph.unit.serializer.TableBackendEntryTest;
 import com.baidu.hugegraph.unit.serializer.TextBackendEntryTest;
+import com.baidu.hugegraph.unit.server.AdmissionControllerTest;
+import com.baidu.hugegraph.unit.util.CancelTokenTest;
 import com.baidu.hugegraph.unit.util.CompressUtilTest;
 import com.baidu.hugegraph.unit.util.JsonUtilTest;
 import com.baidu.hugegraph.unit.util.RateLimiterTest;
 import com.baidu.hugegraph.unit.util.StringEncodingTest;
+import com.baidu.hugegraph.unit.util.TraceTest;
 import com.baidu.hugegraph.unit.util.VersionTest;
 import com.baidu.hugegraph.unit.util.collection.CollectionFactoryTest;
+import com.baidu.hugegraph.unit.util.collection.HnswIndexTest;
 import com.baidu.hugegraph.unit.util.collection.IdSetTest;
 import com.baidu.hugegraph.unit.util.collection.Int2IntsMapTest;
 import com.baidu.hugegraph.unit.util.collection.IntMapTest;
 import com.baidu.hugegraph.unit.util.collection.IntSetTest;
+import com.baidu.hugegraph.unit.util.collection.LongBitmapTest;
 import com.baidu.hugegraph.unit.util.collection.ObjectIntMappingTest;
+import com.baidu.hugegraph.unit.util.collection.SortedIntsTest;
+import com.baidu.hugegraph.unit.util.collection.TopKScoresTest;
 
 @RunWith(Suite.class)
 @Suite.SuiteClasses({
@@ -84,6 +109,7 @@ import com.baidu.hugegraph.unit.util.collection.ObjectIntMappingTest;
     CachedGraphTransactionTest.class,
     CacheManagerTest.class,
     RamTableTest.class,
+    TraversalCacheTest.class,
 
     /* types */
     DataTypeTest.class,
@@ -102,15 +128,28 @@ import com.baidu.hugegraph.unit.util.collection.ObjectIntMappingTest;
     AnalyzerTest.class,
     BackendMutationTest.class,
     ConditionTest.class,
+    CompiledConditionTest.class,
     ConditionQueryFlattenTest.class,
     QueryTest.class,
     RangeTest.class,
+    BitmapIndexTest.class,
+    CoveringIndexTest.class,
+    SearchIndexTest.class,
+    VectorIndexTest.class,
+    ConcurrentQueryTest.class,
+    LatencyMetricsTest.class,
     SecurityManagerTest.class,
     RolePermissionTest.class,
     ExceptionTest.class,
     BackendStoreSystemInfoTest.class,
     TraversalUtilTest.class,
+    NodePathTest.class,
+    LabelCounterTest.class,
+    DegreeCounterTest.class,
+    IndexStatisticsTest.class,
+    JaccardSimilarTraverserTest.class,
     PageStateTest.class,
+    CompactRecordTest.class,
 
     /* serializer */
     BytesBufferTest.class,
@@ -118,10 +157,15 @@ import com.baidu.hugegraph.unit.util.collection.ObjectIntMappingTest;
     TextBackendEntryTest.class,
     TableBackendEntryTest.class,
     BinaryBackendEntryTest.class,
+    BinaryJsonCodecTest.class,
+    PathsWriterTest.class,
     BinarySerializerTest.class,
     BinaryScatterSerializerTest.class,
     StoreSerializerTest.class,
 
+    /* server */
+    AdmissionControllerTest.class,
+
     /* cassandra */
     CassandraTest.class,
 
@@ -136,6 +180,8 @@ import com.baidu.hugegraph.unit.util.collection.ObjectIntMappingTest;
 
     /* utils */
     VersionTest.class,
+    CancelTokenTest.class,
+    TraceTest.class,
     JsonUtilTest.class,
     StringEncodingTest.class,
     CompressUtilTest.class,
@@ -148,7 +194,17 @@ import com.baidu.hugegraph.unit.util.collection.ObjectIntMappingTest;
     Int2IntsMapTest.class,
     IdSetTest.class,
     IntMapTest.class,
-    IntSetTest.class
+    IntSetTest.class,
+    LongBitmapTest.class,
+    SortedIntsTest.class,
+    TopKScoresTest.class,
+    HnswIndexTest.class
 })
 public class UnitTestSuite {
+
+    @AfterClass
+    public static void clear() throws Exception {
+        // Stop daemon thread after all the tests opening graphs
+        HugeFactory.shutdown(30L);
+    }
 }
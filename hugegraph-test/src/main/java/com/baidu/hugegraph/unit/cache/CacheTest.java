@@ -493,6 +493,7 @@ public abstract class CacheTest extends BaseUnitTest {
         cache.get(IdGenerator.of("1"));
         Assert.assertEquals(2L, cache.hits());
         Assert.assertEquals(2L, cache.miss());
+        Assert.assertEquals(4L, cache.latency().count());
     }
 
     @Test
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.unit.cache;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.baidu.hugegraph.backend.cache.CacheManager;
+import com.baidu.hugegraph.backend.cache.TraversalCache;
+import com.baidu.hugegraph.backend.id.EdgeId;
+import com.baidu.hugegraph.backend.id.Id;
+import com.baidu.hugegraph.backend.id.IdGenerator;
+import com.baidu.hugegraph.testutil.Assert;
+import com.baidu.hugegraph.type.HugeType;
+import com.baidu.hugegraph.type.define.Directions;
+import com.google.common.collect.ImmutableList;
+
+public class TraversalCacheTest {
+
+    private static final Id KNOWS = IdGenerator.of(1L);
+    private static final Id CREATED = IdGenerator.of(2L);
+
+    private TraversalCache cache;
+    private AtomicInteger computed;
+
+    @Before
+    public void setup() {
+        this.cache = new TraversalCache("unit-test", 100L, 60L);
+        this.computed = new AtomicInteger();
+    }
+
+    private String get(String key, Id... labels) {
+        Supplier<String> computer = () -> {
+            return key + "-" + this.computed.incrementAndGet();
+        };
+        return this.cache.getOrCompute(key, ImmutableList.copyOf(labels),
+                                       computer, value -> true);
+    }
+
+    @Test
+    public void testGetOrCompute() {
+        Assert.assertEquals("kout-1", this.get("kout", KNOWS));
+        Assert.assertEquals("kout-1", this.get("kout", KNOWS));
+        Assert.assertEquals("kneighbor-2", this.get("kneighbor"));
+        Assert.assertEquals("kneighbor-2", this.get("kneighbor"));
+
+        String result = this.cache.getOrCompute("large", ImmutableList.of(),
+                                                () -> "large",
+                                                value -> false);
+        Assert.assertEquals("large", result);
+        Assert.assertEquals("large-3", this.get("large"));
+    }
+
+    @Test
+    public void testInvalidateByLabel() {
+        Assert.assertEquals("knows-1", this.get("knows", KNOWS));
+        Assert.assertEquals("created-2", this.get("created", CREATED));
+        Assert.assertEquals("any-3", this.get("any"));
+
+        this.cache.invalidate(HugeType.EDGE_LABEL, new Id[]{KNOWS});
+        Assert.assertEquals("knows-4", this.get("knows", KNOWS));
+        Assert.assertEquals("created-2", this.get("created", CREATED));
+        // The results traversed any label are always invalidated
+        Assert.assertEquals("any-5", this.get("any"));
+
+        Id edgeId = new EdgeId(IdGenerator.of(1L), Directions.OUT, CREATED,
+                               "", IdGenerator.of(2L));
+        this.cache.invalidate(HugeType.EDGE_OUT, edgeId);
+        Assert.assertEquals("knows-4", this.get("knows", KNOWS));
+        Assert.assertEquals("created-6", this.get("created", CREATED));
+        Assert.assertEquals("any-7", this.get("any"));
+    }
+
+    @Test
+    public void testInvalidateUnknownEdges() {
+        Assert.assertEquals("knows-1", this.get("knows", KNOWS));
+        this.cache.invalidate(HugeType.EDGE, null);
+        Assert.assertEquals("knows-2", this.get("knows", KNOWS));
+
+        this.cache.invalidate(HugeType.EDGE, IdGenerator.of("unknown"));
+        Assert.assertEquals("knows-3", this.get("knows", KNOWS));
+
+        this.cache.clear();
+        Assert.assertEquals("knows-4", this.get("knows", KNOWS));
+
+        Assert.assertThrows(IllegalArgumentException.class, () -> {
+            this.cache.invalidate(HugeType.VERTEX, KNOWS);
+        });
+    }
+
+    @Test
+    public void testClose() {
+        CacheManager manager = CacheManager.instance();
+        Assert.assertTrue(manager.caches().containsKey("traversal-unit-test"));
+        Assert.assertEquals("kout-1", this.get("kout", KNOWS));
+
+        this.cache.close();
+        Assert.assertFalse(manager.caches()
+                                  .containsKey("traversal-unit-test"));
+
+        // The results of the closed graph are not seen by the new one
+        this.cache = new TraversalCache("unit-test", 100L, 60L);
+        Assert.assertEquals("kout-2", this.get("kout", KNOWS));
+    }
+}
@@ -0,0 +1,244 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.unit.core;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeoutException;
+
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.baidu.hugegraph.HugeFactory;
+import com.baidu.hugegraph.HugeGraph;
+import com.baidu.hugegraph.backend.id.Id;
+import com.baidu.hugegraph.backend.id.IdGenerator;
+import com.baidu.hugegraph.backend.page.PageInfo;
+import com.baidu.hugegraph.exception.NoIndexException;
+import com.baidu.hugegraph.schema.SchemaManager;
+import com.baidu.hugegraph.testutil.Assert;
+import com.baidu.hugegraph.traversal.optimize.TraversalUtil;
+import com.baidu.hugegraph.type.define.NodeRole;
+import com.baidu.hugegraph.unit.FakeObjects;
+
+public class BitmapIndexTest {
+
+    private static final int VERTICES = 300;
+
+    private HugeGraph graph;
+
+    @Before
+    public void setup() {
+        this.graph = HugeFactory.open(FakeObjects.newConfig());
+        // The index labels are built by tasks
+        this.graph.initBackend();
+        this.graph.serverStarted(IdGenerator.of("server1"), NodeRole.MASTER);
+        SchemaManager schema = this.graph.schema();
+
+        schema.propertyKey("name").asText().create();
+        schema.propertyKey("status").asText().create();
+        schema.propertyKey("level").asInt().create();
+        schema.vertexLabel("user").properties("name", "status", "level")
+              .nullableKeys("name", "status", "level")
+              .useCustomizeNumberId().create();
+        schema.vertexLabel("person").properties("name", "status")
+              .primaryKeys("name").nullableKeys("status").create();
+
+        schema.indexLabel("userByStatus").onV("user").by("status")
+              .bitmap().create();
+    }
+
+    @After
+    public void teardown() throws Exception {
+        this.graph.clearBackend();
+        this.graph.close();
+    }
+
+    private void addUsers() {
+        // The ids are spread over multiple chunks of bitmap
+        for (int i = 0; i < VERTICES; i++) {
+            long id = i % 2 == 0 ? i : ((long) i << 20);
+            this.graph.addVertex(T.label, "user", T.id, id,
+                                 "status", status(i), "level", i % 5);
+        }
+        this.graph.tx().commit();
+    }
+
+    private static String status(int i) {
+        return i % 3 == 0 ? "active" : "inactive";
+    }
+
+    private long count(String status) {
+        return this.graph.traversal().V().has("status", status)
+                   .count().next();
+    }
+
+    @Test
+    public void testQueryByBitmapIndex() {
+        this.addUsers();
+        GraphTraversalSource g = this.graph.traversal();
+
+        Assert.assertEquals(100L, this.count("active"));
+        Assert.assertEquals(200L, this.count("inactive"));
+        Assert.assertEquals(0L, this.count("deleted"));
+
+        List<Vertex> vertices = g.V().has("status", "active").toList();
+        Set<Object> ids = new HashSet<>();
+        for (Vertex vertex : vertices) {
+            Assert.assertEquals("active", vertex.value("status"));
+            ids.add(vertex.id());
+        }
+        Assert.assertEquals(100, ids.size());
+
+        Assert.assertEquals(300L, g.V().has("status",
+                                            P.within("active", "inactive"))
+                                       .count().next());
+        Assert.assertEquals(10, g.V().has("status", "active")
+                                 .limit(10).toList().size());
+    }
+
+    @Test
+    public void testQueryByJointBitmapIndexes() {
+        this.graph.schema().indexLabel("userByLevel").onV("user").by("level")
+                  .bitmap().create();
+        this.addUsers();
+        GraphTraversalSource g = this.graph.traversal();
+
+        // The i % 15 == 0 users are active with level 0
+        List<Vertex> vertices = g.V().has("status", "active")
+                                 .has("level", 0).toList();
+        Assert.assertEquals(20, vertices.size());
+        for (Vertex vertex : vertices) {
+            Assert.assertEquals("active", vertex.value("status"));
+            Assert.assertEquals(0, (int) vertex.value("level"));
+        }
+
+        Assert.assertEquals(0L, g.V().has("status", "deleted")
+                                 .has("level", 0).count().next());
+    }
+
+    @Test
+    public void testUpdateAndRemoveIndexedVertices() {
+        this.addUsers();
+
+        this.graph.vertex(0L).property("status", "inactive");
+        this.graph.tx().commit();
+        Assert.assertEquals(99L, this.count("active"));
+        Assert.assertEquals(201L, this.count("inactive"));
+
+        this.graph.vertex(3L << 20).remove();
+        this.graph.vertex(6L).remove();
+        this.graph.tx().commit();
+        Assert.assertEquals(97L, this.count("active"));
+
+        // Add and remove a vertex in the same tx
+        Vertex vertex = this.graph.addVertex(T.label, "user", T.id, 1000L,
+                                             "status", "active");
+        vertex.remove();
+        this.graph.tx().commit();
+        Assert.assertEquals(97L, this.count("active"));
+
+        // Changes are discarded after rollback
+        this.graph.addVertex(T.label, "user", T.id, 1001L,
+                             "status", "active");
+        this.graph.tx().rollback();
+        Assert.assertEquals(97L, this.count("active"));
+
+        this.graph.addVertex(T.label, "user", T.id, 1001L,
+                             "status", "active");
+        this.graph.tx().commit();
+        Assert.assertEquals(98L, this.count("active"));
+    }
+
+    @Test
+    public void testQueryByBitmapIndexInPage() {
+        this.addUsers();
+
+        Set<Object> ids = new HashSet<>();
+        String page = PageInfo.PAGE_NONE;
+        while (page != null) {
+            GraphTraversal<Vertex, Vertex> traversal;
+            traversal = this.graph.traversal().V().has("status", "active")
+                            .has("~page", page).limit(30);
+            List<Vertex> vertices = traversal.toList();
+            Assert.assertTrue(vertices.size() <= 30);
+            for (Vertex vertex : vertices) {
+                Assert.assertTrue(ids.add(vertex.id()));
+            }
+            page = TraversalUtil.page(traversal);
+        }
+        Assert.assertEquals(100, ids.size());
+    }
+
+    @Test
+    public void testRebuildAndRemoveBitmapIndex() throws TimeoutException {
+        this.addUsers();
+        SchemaManager schema = this.graph.schema();
+
+        // Build the index for the existed vertices
+        schema.indexLabel("userByLevel").onV("user").by("level")
+              .bitmap().create();
+        Assert.assertEquals(60L, this.graph.traversal().V().has("level", 1)
+                                     .count().next());
+
+        Id task = schema.indexLabel("userByStatus").rebuild();
+        this.graph.taskScheduler().waitUntilTaskCompleted(task);
+        Assert.assertEquals(100L, this.count("active"));
+
+        task = schema.indexLabel("userByStatus").remove();
+        this.graph.taskScheduler().waitUntilTaskCompleted(task);
+        Assert.assertThrows(NoIndexException.class, () -> {
+            this.count("active");
+        });
+    }
+
+    @Test
+    public void testCreateBitmapIndexWithInvalidFields() {
+        SchemaManager schema = this.graph.schema();
+
+        Assert.assertThrows(IllegalArgumentException.class, () -> {
+            schema.indexLabel("personByStatus").onV("person").by("status")
+                  .bitmap().create();
+        }, e -> {
+            Assert.assertContains("with number id", e.getMessage());
+        });
+
+        Assert.assertThrows(IllegalArgumentException.class, () -> {
+            schema.indexLabel("userByStatusAndLevel").onV("user")
+                  .by("status", "level").bitmap().create();
+        }, e -> {
+            Assert.assertContains("only build on one field", e.getMessage());
+        });
+
+        Assert.assertThrows(IllegalArgumentException.class, () -> {
+            schema.indexLabel("userByStatus2").onV("user").by("status")
+                  .bitmap().create();
+        }, e -> {
+            Assert.assertContains("Repeated new index label", e.getMessage());
+        });
+    }
+}
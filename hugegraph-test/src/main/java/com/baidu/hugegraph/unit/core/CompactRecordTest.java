@@ -0,0 +1,211 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.unit.core;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.Stack;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Test;
+
+import com.baidu.hugegraph.backend.id.Id;
+import com.baidu.hugegraph.backend.id.IdGenerator;
+import com.baidu.hugegraph.backend.query.Query;
+import com.baidu.hugegraph.exception.NotSupportException;
+import com.baidu.hugegraph.testutil.Assert;
+import com.baidu.hugegraph.testutil.Whitebox;
+import com.baidu.hugegraph.traversal.algorithm.HugeTraverser.Path;
+import com.baidu.hugegraph.traversal.algorithm.records.AbstractRecords;
+import com.baidu.hugegraph.traversal.algorithm.records.KoutRecords;
+import com.baidu.hugegraph.traversal.algorithm.records.SingleWayMultiPathsRecords;
+import com.baidu.hugegraph.traversal.algorithm.records.record.CompactRecord;
+import com.baidu.hugegraph.traversal.algorithm.records.record.Record;
+import com.baidu.hugegraph.traversal.algorithm.records.record.RecordFactory;
+import com.baidu.hugegraph.traversal.algorithm.records.record.RecordType;
+import com.baidu.hugegraph.util.collection.IntIterator;
+import com.google.common.collect.ImmutableList;
+
+public class CompactRecordTest {
+
+    @Test
+    public void testCompactIntRecord() {
+        Record record = RecordFactory.newRecord(RecordType.INT);
+        for (int i = 1000; i > 0; i -= 3) {
+            record.addPath(i, i + 1);
+        }
+
+        CompactRecord compacted = CompactRecord.compact(record);
+        Assert.assertFalse(compacted.spilled());
+        Assert.assertEquals(record.size(), compacted.size());
+        Assert.assertEquals(2L * compacted.size() * Integer.BYTES,
+                            compacted.bytes());
+        assertRecordEquals(record, compacted);
+
+        CompactRecord spilled = compacted.spill(null);
+        Assert.assertTrue(spilled.spilled());
+        Assert.assertEquals(0L, spilled.bytes());
+        assertRecordEquals(record, spilled);
+        Assert.assertSame(spilled, spilled.spill(null));
+
+        Assert.assertFalse(spilled.containsKey(0));
+        Assert.assertFalse(spilled.get(2).hasNext());
+        Assert.assertThrows(NotSupportException.class, () -> {
+            spilled.addPath(0, 1);
+        });
+    }
+
+    @Test
+    public void testCompactArrayRecord() {
+        Record record = RecordFactory.newRecord(RecordType.ARRAY);
+        for (int i = 1; i <= 100; i++) {
+            for (int j = 0; j < i % 5; j++) {
+                record.addPath(i, -j);
+            }
+        }
+        record.addPath(-7, 3);
+
+        CompactRecord compacted = CompactRecord.compact(record);
+        Assert.assertEquals(record.size(), compacted.size());
+        assertRecordEquals(record, compacted);
+        assertRecordEquals(record, compacted.spill(null));
+
+        // Keys are sorted after compacted
+        IntIterator keys = compacted.keys();
+        int last = Integer.MIN_VALUE;
+        while (keys.hasNext()) {
+            int key = keys.next();
+            Assert.assertTrue(key > last);
+            last = key;
+        }
+    }
+
+    @Test
+    public void testSpillWithoutLeftFile() throws Exception {
+        Record record = RecordFactory.newRecord(RecordType.INT);
+        for (int i = 1; i <= 100; i++) {
+            record.addPath(i, i + 1);
+        }
+
+        File directory = Files.createTempDirectory("records").toFile();
+        try {
+            CompactRecord spilled = CompactRecord.compact(record)
+                                                 .spill(directory);
+            assertRecordEquals(record, spilled);
+            Assert.assertArrayEquals(new String[0], directory.list());
+        } finally {
+            FileUtils.deleteQuietly(directory);
+        }
+    }
+
+    @Test
+    public void testMemoryLimitWithMappedIds() {
+        KoutRecords records = new KoutRecords(false, IdGenerator.of("v0"),
+                                              false);
+        records.memoryLimit(1024L, null);
+
+        records.startOneLayer(true);
+        for (int i = 1; i <= 10; i++) {
+            records.addPath(IdGenerator.of("v0"), IdGenerator.of("v" + i));
+        }
+        records.finishOneLayer();
+
+        // The mapped ids are not bounded by the memory limit
+        records.startOneLayer(true);
+        for (int i = 1; i <= 100; i++) {
+            records.addPath(IdGenerator.of("v1"), IdGenerator.of("u" + i));
+        }
+        records.finishOneLayer();
+
+        Stack<Record> layers = Whitebox.getInternalState(records, "records");
+        Assert.assertTrue(((CompactRecord) layers.get(2)).spilled());
+        Assert.assertEquals(100, records.ids(Query.NO_LIMIT).size());
+        Assert.assertEquals(ImmutableList.of(IdGenerator.of("v0"),
+                                             IdGenerator.of("v1"),
+                                             IdGenerator.of("u1")),
+                            linkPath(records, 2, IdGenerator.of("u1")));
+    }
+
+    @Test
+    public void testMemoryLimitWithAccessedVertices() {
+        /*
+         * The 2 layers take (1 + 10) * 8 bytes and 10 * 16 bytes are
+         * reserved for the next layer, the 10 accessed vertices take 80
+         */
+        KoutRecords records = newIntRecords(330L);
+        Stack<Record> layers = Whitebox.getInternalState(records, "records");
+        Assert.assertFalse(((CompactRecord) layers.get(0)).spilled());
+        Assert.assertFalse(((CompactRecord) layers.get(1)).spilled());
+
+        records = newIntRecords(300L);
+        layers = Whitebox.getInternalState(records, "records");
+        Assert.assertTrue(((CompactRecord) layers.get(0)).spilled());
+        Assert.assertTrue(((CompactRecord) layers.get(1)).spilled());
+        Assert.assertEquals(10, records.ids(Query.NO_LIMIT).size());
+        Assert.assertEquals(ImmutableList.of(IdGenerator.of(0L),
+                                             IdGenerator.of(5L)),
+                            linkPath(records, 1, IdGenerator.of(5L)));
+    }
+
+    private static KoutRecords newIntRecords(long memoryLimit) {
+        KoutRecords records = new KoutRecords(false, IdGenerator.of(0L),
+                                              true);
+        records.memoryLimit(memoryLimit, null);
+        records.startOneLayer(true);
+        for (int i = 1; i <= 10; i++) {
+            records.addPath(IdGenerator.of(0L), IdGenerator.of(i));
+        }
+        records.finishOneLayer();
+        return records;
+    }
+
+    private static List<Id> linkPath(KoutRecords records, int layer,
+                                     Id target) {
+        int code = Whitebox.invoke(AbstractRecords.class,
+                                   new Class[]{Id.class}, "code",
+                                   records, target);
+        Path path = Whitebox.invoke(SingleWayMultiPathsRecords.class,
+                                    new Class[]{int.class, int.class},
+                                    "linkPath", records, layer, code);
+        return path.vertices();
+    }
+
+    private static void assertRecordEquals(Record expected, Record actual) {
+        Assert.assertEquals(toSet(expected.keys()), toSet(actual.keys()));
+        IntIterator keys = expected.keys();
+        while (keys.hasNext()) {
+            int key = keys.next();
+            Assert.assertTrue(actual.containsKey(key));
+            Assert.assertEquals(toSet(expected.get(key)),
+                                toSet(actual.get(key)));
+        }
+    }
+
+    private static Set<Integer> toSet(IntIterator iterator) {
+        Set<Integer> values = new HashSet<>();
+        while (iterator.hasNext()) {
+            values.add(iterator.next());
+        }
+        return values;
+    }
+}
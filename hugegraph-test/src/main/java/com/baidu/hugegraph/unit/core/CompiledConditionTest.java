@@ -0,0 +1,164 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.unit.core;
+
+import java.util.Date;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.baidu.hugegraph.backend.id.Id;
+import com.baidu.hugegraph.backend.id.IdGenerator;
+import com.baidu.hugegraph.backend.query.CompiledCondition;
+import com.baidu.hugegraph.backend.query.Condition;
+import com.baidu.hugegraph.backend.query.ConditionQuery;
+import com.baidu.hugegraph.structure.HugeEdge;
+import com.baidu.hugegraph.structure.HugeElement;
+import com.baidu.hugegraph.structure.HugeVertex;
+import com.baidu.hugegraph.testutil.Assert;
+import com.baidu.hugegraph.type.HugeType;
+import com.baidu.hugegraph.type.define.HugeKeys;
+import com.baidu.hugegraph.unit.BaseUnitTest;
+import com.baidu.hugegraph.unit.FakeObjects;
+import com.google.common.collect.ImmutableList;
+
+public class CompiledConditionTest extends BaseUnitTest {
+
+    private static final Id NAME = IdGenerator.of(1);
+    private static final Id AGE = IdGenerator.of(2);
+    private static final Id CITY = IdGenerator.of(3);
+    private static final Id DATE = IdGenerator.of(4);
+    private static final Id WEIGHT = IdGenerator.of(5);
+
+    private HugeEdge edge;
+    private HugeVertex vertex;
+
+    @Before
+    public void setup() {
+        // The edge with date and weight 0.75 from 'tom' aged 18 in Beijing
+        this.edge = new FakeObjects().newEdge(123, 456);
+        this.vertex = this.edge.sourceVertex();
+    }
+
+    @Test
+    public void testCompileStringAndNumberRelation() {
+        HugeVertex v = this.vertex;
+        assertTest(true, v, Condition.eq(NAME, "tom"));
+        assertTest(false, v, Condition.eq(NAME, "cat"));
+        assertTest(true, v, Condition.eq(AGE, 18));
+        assertTest(true, v, Condition.neq(AGE, 20));
+        assertTest(true, v, Condition.gt(AGE, 17));
+        assertTest(false, v, Condition.gt(AGE, 18));
+        assertTest(true, v, Condition.gte(AGE, 18));
+        assertTest(true, v, Condition.lt(AGE, 19));
+        assertTest(false, v, Condition.lte(AGE, 17));
+
+        // The number of different class is compared as decimal
+        assertTest(true, v, Condition.eq(AGE, 18L));
+        assertTest(true, v, Condition.lt(AGE, 18.5D));
+        assertTest(false, v, Condition.gt(AGE, 18.5F));
+
+        // The property is not existed
+        assertTest(false, v, Condition.eq(DATE, 1));
+        assertTest(false, v, Condition.neq(WEIGHT, 1.0D));
+
+        HugeEdge e = this.edge;
+        assertTest(true, e, Condition.eq(WEIGHT, 0.75D));
+        assertTest(true, e, Condition.gt(WEIGHT, 0.5D));
+        assertTest(false, e, Condition.gt(WEIGHT, 0.75D));
+        assertTest(true, e, Condition.lte(WEIGHT, 0.75F));
+    }
+
+    @Test
+    public void testCompileDateAndInRelation() {
+        HugeEdge e = this.edge;
+        Date date = e.value("date");
+        assertTest(true, e, Condition.eq(DATE, new Date(date.getTime())));
+        assertTest(true, e, Condition.gt(DATE, new Date(0L)));
+        assertTest(false, e, Condition.lt(DATE, date));
+        assertTest(true, e, Condition.neq(DATE, new Date(0L)));
+
+        HugeVertex v = this.vertex;
+        assertTest(true, v, Condition.in(CITY, ImmutableList.of("Beijing",
+                                                                "Shanghai")));
+        assertTest(false, v, Condition.in(CITY, ImmutableList.of("Wuhan")));
+        assertTest(false, v, Condition.in(AGE, ImmutableList.of(18L)));
+        assertTest(true, v, Condition.nin(AGE, ImmutableList.of(17, 19)));
+        assertTest(false, v, Condition.nin(NAME, ImmutableList.of("tom")));
+
+        // Fall back to the condition
+        assertTest(true, v, Condition.textContains(CITY, "jing"));
+        assertTest(true, v, Condition.eq(HugeKeys.LABEL, v.schemaLabel().id()));
+
+        Assert.assertThrows(IllegalArgumentException.class, () -> {
+            CompiledCondition.compile(Condition.gt(NAME, "tom")).test(v);
+        }, ex -> {
+            Assert.assertContains("Can't compare between tom(String) and " +
+                                  "tom(String)", ex.getMessage());
+        });
+    }
+
+    @Test
+    public void testCompileLogicCondition() {
+        HugeVertex v = this.vertex;
+        Condition age = Condition.and(Condition.gt(AGE, 10),
+                                      Condition.lt(AGE, 20));
+        assertTest(true, v, age);
+        assertTest(true, v, Condition.or(Condition.eq(NAME, "cat"), age));
+        assertTest(false, v, Condition.and(Condition.eq(NAME, "cat"), age));
+        assertTest(true, v, Condition.and(Condition.or(
+                                          Condition.eq(CITY, "Wuhan"),
+                                          Condition.eq(CITY, "Beijing")),
+                                          Condition.and(age,
+                                          Condition.eq(NAME, "tom"))));
+
+        Assert.assertTrue(CompiledCondition.compile(ImmutableList.of())
+                                           .test(v));
+    }
+
+    @Test
+    public void testConditionQueryTest() {
+        ConditionQuery query = new ConditionQuery(HugeType.VERTEX);
+        Assert.assertTrue(query.test(this.vertex));
+
+        query.query(Condition.eq(NAME, "tom"));
+        query.query(Condition.gte(AGE, 18));
+        Assert.assertTrue(query.test(this.vertex));
+
+        // The compiled conditions are reset after conditions changed
+        query.query(Condition.eq(CITY, "Shanghai"));
+        Assert.assertFalse(query.test(this.vertex));
+        Assert.assertFalse(query.test(this.edge.targetVertex()));
+
+        query.unsetCondition(CITY);
+        Assert.assertTrue(query.test(this.vertex));
+        query.resetUserpropConditions();
+        query.query(Condition.eq(NAME, "cat"));
+        Assert.assertFalse(query.test(this.vertex));
+        Assert.assertTrue(query.copy().test(this.edge.targetVertex()));
+    }
+
+    private static void assertTest(boolean expected, HugeElement element,
+                                   Condition condition) {
+        Assert.assertEquals(expected, condition.test(element));
+        Assert.assertEquals(expected, CompiledCondition.compile(condition)
+                                                       .test(element));
+    }
+}
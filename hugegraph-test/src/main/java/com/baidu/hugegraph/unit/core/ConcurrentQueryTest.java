@@ -0,0 +1,239 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.unit.core;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.After;
+import org.junit.Test;
+
+import com.baidu.hugegraph.HugeFactory;
+import com.baidu.hugegraph.HugeGraph;
+import com.baidu.hugegraph.backend.id.IdGenerator;
+import com.baidu.hugegraph.config.CoreOptions;
+import com.baidu.hugegraph.config.HugeConfig;
+import com.baidu.hugegraph.exception.NoIndexException;
+import com.baidu.hugegraph.schema.SchemaManager;
+import com.baidu.hugegraph.testutil.Assert;
+import com.baidu.hugegraph.type.define.NodeRole;
+import com.baidu.hugegraph.unit.FakeObjects;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+
+public class ConcurrentQueryTest {
+
+    private static final List<String> CITIES = ImmutableList.of(
+            "Beijing", "Shanghai", "Shenzhen", "Hangzhou", "Chengdu");
+
+    private HugeGraph graph;
+
+    private void open(boolean ordered) {
+        this.open(ordered, CoreOptions.QUERY_PAGE_SIZE.defaultValue());
+    }
+
+    private void open(boolean ordered, int pageSize) {
+        HugeConfig config = FakeObjects.newConfig();
+        config.setProperty(CoreOptions.QUERY_CONCURRENT_THREADS.name(), 4);
+        config.setProperty(CoreOptions.QUERY_CONCURRENT_ORDERED.name(),
+                           ordered);
+        // The max number of results of a sub-query fetched by a worker
+        config.setProperty(CoreOptions.QUERY_PAGE_SIZE.name(), pageSize);
+        this.graph = HugeFactory.open(config);
+        // The index labels are built by tasks
+        this.graph.initBackend();
+        this.graph.serverStarted(IdGenerator.of("server1"), NodeRole.MASTER);
+
+        SchemaManager schema = this.graph.schema();
+        schema.propertyKey("name").asText().create();
+        schema.propertyKey("city").asText().create();
+        schema.propertyKey("age").asInt().create();
+        schema.propertyKey("nickname").asText().create();
+        schema.vertexLabel("person")
+              .properties("name", "city", "age", "nickname")
+              .primaryKeys("name").nullableKeys("city", "age", "nickname")
+              .create();
+        schema.indexLabel("personByCity").onV("person").by("city")
+              .secondary().create();
+        schema.indexLabel("personByAge").onV("person").by("age")
+              .range().create();
+
+        for (int i = 0; i < 20; i++) {
+            this.graph.addVertex(T.label, "person", "name", "p" + i,
+                                 "city", CITIES.get(i % CITIES.size()),
+                                 "age", i);
+        }
+        this.graph.tx().commit();
+    }
+
+    @After
+    public void teardown() throws Exception {
+        if (this.graph != null) {
+            this.graph.clearBackend();
+            // The tx of query workers must be closed
+            this.graph.close();
+            this.graph = null;
+        }
+    }
+
+    private List<String> cities(List<Vertex> vertices) {
+        List<String> cities = new ArrayList<>(vertices.size());
+        for (Vertex vertex : vertices) {
+            cities.add(vertex.value("city"));
+        }
+        return cities;
+    }
+
+    private Set<String> names(List<Vertex> vertices) {
+        Set<String> names = new HashSet<>();
+        for (Vertex vertex : vertices) {
+            names.add(vertex.value("name"));
+        }
+        return names;
+    }
+
+    @Test
+    public void testQueryWithinInOrder() {
+        this.open(true);
+        GraphTraversalSource g = this.graph.traversal();
+
+        List<Vertex> vertices = g.V().has("city", P.within("Shenzhen",
+                                                           "Beijing",
+                                                           "Chengdu"))
+                                 .toList();
+        Assert.assertEquals(12, vertices.size());
+        // The results are merged in the order of sub-queries
+        List<String> cities = this.cities(vertices);
+        Assert.assertEquals(ImmutableList.of("Shenzhen", "Beijing",
+                                             "Chengdu"),
+                            new ArrayList<>(new LinkedHashSet<>(
+                                            cities)));
+        Assert.assertEquals(ImmutableList.of("Shenzhen", "Shenzhen",
+                                             "Shenzhen", "Shenzhen"),
+                            cities.subList(0, 4));
+
+        vertices = g.V().hasLabel("person")
+                    .has("name", P.within("p1", "p3", "p5", "p404"))
+                    .toList();
+        Assert.assertEquals(ImmutableSet.of("p1", "p3", "p5"),
+                            this.names(vertices));
+
+        Assert.assertEquals(8L, g.V().has("city", P.within("Shanghai",
+                                                           "Hangzhou",
+                                                           "Macau"))
+                                 .count().next());
+    }
+
+    @Test
+    public void testQueryWithinOutOfOrder() {
+        this.open(false);
+        GraphTraversalSource g = this.graph.traversal();
+
+        List<Vertex> vertices = g.V().has("city", P.within(CITIES)).toList();
+        Assert.assertEquals(20, vertices.size());
+        Set<String> expected = new HashSet<>();
+        for (int i = 0; i < 20; i++) {
+            expected.add("p" + i);
+        }
+        Assert.assertEquals(expected, this.names(vertices));
+
+        vertices = g.V().has("city", P.within("Beijing", "Shanghai"))
+                    .has("age", P.gt(10)).toList();
+        Assert.assertEquals(ImmutableSet.of("p15", "p11", "p16"),
+                            this.names(vertices));
+    }
+
+    @Test
+    public void testQueryWithinAndLimit() {
+        this.open(true);
+        GraphTraversalSource g = this.graph.traversal();
+
+        List<Vertex> vertices = g.V().has("city", P.within(CITIES))
+                                 .limit(3).toList();
+        Assert.assertEquals(3, vertices.size());
+        Assert.assertEquals(ImmutableList.of("Beijing", "Beijing",
+                                             "Beijing"),
+                            this.cities(vertices));
+
+        // Fetch the skipped sub-queries if the results are filtered
+        vertices = g.V().has("city", P.within(CITIES))
+                    .has("age", P.gte(18)).limit(2).toList();
+        Assert.assertEquals(ImmutableSet.of("p18", "p19"),
+                            this.names(vertices));
+
+        vertices = g.V().has("city", P.within(CITIES)).range(0, 30)
+                    .toList();
+        Assert.assertEquals(20, vertices.size());
+    }
+
+    @Test
+    public void testQueryWithinMoreThanCapacity() {
+        this.open(true, 3);
+        GraphTraversalSource g = this.graph.traversal();
+
+        // Each sub-query has 4 results, the rest are iterated by the caller
+        List<Vertex> vertices = g.V().has("city", P.within(CITIES)).toList();
+        Assert.assertEquals(20, vertices.size());
+        Set<String> expected = new HashSet<>();
+        for (int i = 0; i < 20; i++) {
+            expected.add("p" + i);
+        }
+        Assert.assertEquals(expected, this.names(vertices));
+        List<String> cities = this.cities(vertices);
+        Assert.assertEquals(CITIES, new ArrayList<>(new LinkedHashSet<>(
+                                                    cities)));
+        Assert.assertEquals(ImmutableList.of("Beijing", "Beijing",
+                                             "Beijing", "Beijing",
+                                             "Shanghai"),
+                            cities.subList(0, 5));
+
+        vertices = g.V().has("city", P.within(CITIES))
+                    .has("age", P.gte(15)).toList();
+        Assert.assertEquals(ImmutableSet.of("p15", "p16", "p17",
+                                            "p18", "p19"),
+                            this.names(vertices));
+
+        vertices = g.V().has("city", P.within(CITIES)).limit(6).toList();
+        Assert.assertEquals(ImmutableList.of("Beijing", "Beijing",
+                                             "Beijing", "Beijing",
+                                             "Shanghai", "Shanghai"),
+                            this.cities(vertices));
+    }
+
+    @Test
+    public void testQueryWithinWithoutIndex() {
+        this.open(true);
+        GraphTraversalSource g = this.graph.traversal();
+
+        Assert.assertThrows(NoIndexException.class, () -> {
+            g.V().has("city", P.within("Beijing", "Macau"))
+                 .has("nickname", "tom").toList();
+        }, e -> {
+            Assert.assertContains("that are not indexed", e.getMessage());
+        });
+    }
+}
@@ -0,0 +1,303 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.unit.core;
+
+import java.util.List;
+
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.baidu.hugegraph.HugeFactory;
+import com.baidu.hugegraph.HugeGraph;
+import com.baidu.hugegraph.backend.id.Id;
+import com.baidu.hugegraph.backend.id.IdGenerator;
+import com.baidu.hugegraph.backend.query.ConditionQuery;
+import com.baidu.hugegraph.backend.serializer.BinarySerializer;
+import com.baidu.hugegraph.backend.serializer.TextSerializer;
+import com.baidu.hugegraph.backend.store.BackendEntry;
+import com.baidu.hugegraph.config.CoreOptions;
+import com.baidu.hugegraph.config.HugeConfig;
+import com.baidu.hugegraph.exception.NotAllowException;
+import com.baidu.hugegraph.schema.IndexLabel;
+import com.baidu.hugegraph.schema.SchemaManager;
+import com.baidu.hugegraph.structure.HugeIndex;
+import com.baidu.hugegraph.structure.HugeVertex;
+import com.baidu.hugegraph.testutil.Assert;
+import com.baidu.hugegraph.type.HugeType;
+import com.baidu.hugegraph.type.define.HugeKeys;
+import com.baidu.hugegraph.type.define.NodeRole;
+import com.baidu.hugegraph.unit.FakeObjects;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+
+public class CoveringIndexTest {
+
+    private static final int VERTICES = 100;
+
+    private HugeGraph graph;
+
+    @Before
+    public void setup() {
+        // The covering indexes are used only if left indexes are removed
+        this.setup(true);
+    }
+
+    private void setup(boolean removeLeftIndex) {
+        HugeConfig config = FakeObjects.newConfig();
+        config.setProperty(CoreOptions.VERTEX_REMOVE_LEFT_INDEX.name(),
+                           removeLeftIndex);
+        this.graph = HugeFactory.open(config);
+        // The index labels are built by tasks
+        this.graph.initBackend();
+        this.graph.serverStarted(IdGenerator.of("server1"), NodeRole.MASTER);
+        SchemaManager schema = this.graph.schema();
+
+        schema.propertyKey("name").asText().create();
+        schema.propertyKey("city").asText().create();
+        schema.propertyKey("age").asInt().create();
+        schema.propertyKey("tags").asText().valueSet().create();
+        schema.vertexLabel("person").properties("name", "city", "age", "tags")
+              .primaryKeys("name").nullableKeys("city", "age", "tags")
+              .create();
+        schema.edgeLabel("knows").sourceLabel("person")
+              .targetLabel("person").properties("age")
+              .nullableKeys("age").create();
+
+        schema.indexLabel("personByCity").onV("person").by("city")
+              .secondary().include("age").create();
+        schema.indexLabel("personByAge").onV("person").by("age")
+              .range().include("city").create();
+    }
+
+    @After
+    public void teardown() throws Exception {
+        this.graph.clearBackend();
+        this.graph.close();
+    }
+
+    private void addPersons() {
+        for (int i = 0; i < VERTICES; i++) {
+            this.graph.addVertex(T.label, "person", "name", "p" + i,
+                                 "city", i % 2 == 0 ? "Beijing" : "Shanghai",
+                                 "age", i);
+        }
+        this.graph.tx().commit();
+    }
+
+    @Test
+    public void testCreateIndexLabelWithIncludeProperties() {
+        IndexLabel byCity = this.graph.indexLabel("personByCity");
+        Assert.assertTrue(byCity.covering());
+        Assert.assertEquals(ImmutableList.of(
+                            this.graph.propertyKey("age").id()),
+                            byCity.includeProperties());
+
+        Assert.assertTrue(byCity.covers(ImmutableList.of(
+                          this.graph.propertyKey("city").id(),
+                          this.graph.propertyKey("age").id())));
+        Assert.assertFalse(byCity.covers(ImmutableList.of(
+                           this.graph.propertyKey("city").id(),
+                           this.graph.propertyKey("name").id())));
+    }
+
+    @Test
+    public void testQueryByCoveringIndex() {
+        this.addPersons();
+
+        List<Vertex> vertices = this.graph.traversal().V()
+                                    .has("city", "Beijing")
+                                    .has("age", P.lt(10)).toList();
+        Assert.assertEquals(5, vertices.size());
+        for (Vertex vertex : vertices) {
+            Assert.assertEquals("Beijing", vertex.value("city"));
+            Assert.assertTrue((int) vertex.value("age") < 10);
+            // The vertex is built from index without querying backend
+            Assert.assertFalse(((HugeVertex) vertex).isPropLoaded());
+        }
+
+        List<Object> ages = this.graph.traversal().V()
+                                .has("age", P.between(20, 25))
+                                .values("age").toList();
+        ages.sort((a, b) -> (int) a - (int) b);
+        Assert.assertEquals(ImmutableList.of(20, 21, 22, 23, 24), ages);
+    }
+
+    @Test
+    public void testQueryByCoveringIndexWithPropertyNotIncluded() {
+        this.addPersons();
+
+        Vertex vertex = this.graph.traversal().V().has("age", 30)
+                            .next();
+        Assert.assertFalse(((HugeVertex) vertex).isPropLoaded());
+        // Load the other properties from backend when accessed
+        Assert.assertEquals("p30", vertex.value("name"));
+        Assert.assertTrue(((HugeVertex) vertex).isPropLoaded());
+
+        // The query with keys not covered is answered by backend
+        vertex = this.graph.traversal().V().hasLabel("person")
+                     .has("name", "p31").has("age", 31).next();
+        Assert.assertTrue(((HugeVertex) vertex).isPropLoaded());
+    }
+
+    @Test
+    public void testUpdateVertexWithCoveringIndex() {
+        this.addPersons();
+
+        Vertex vertex = this.graph.traversal().V().has("age", 40).next();
+        vertex.property("city", "Shenzhen");
+        this.graph.tx().commit();
+
+        vertex = this.graph.traversal().V().has("city", "Shenzhen").next();
+        Assert.assertEquals(40, (int) vertex.value("age"));
+        vertex = this.graph.traversal().V().has("age", 40).next();
+        Assert.assertEquals("Shenzhen", vertex.value("city"));
+        // The properties not included are kept after updated
+        Assert.assertEquals("p40", vertex.value("name"));
+        Assert.assertEquals(49L, this.graph.traversal().V()
+                                     .has("city", "Beijing")
+                                     .count().next());
+
+        this.graph.traversal().V().has("age", 40).next().remove();
+        this.graph.tx().commit();
+        Assert.assertFalse(this.graph.traversal().V()
+                               .has("city", "Shenzhen").hasNext());
+        Assert.assertEquals(0L, this.graph.traversal().V().has("age", 40)
+                                    .count().next());
+    }
+
+    @Test
+    public void testOverwriteVertexWithCoveringIndex() {
+        this.addPersons();
+
+        // The left index of the overwritten vertex is removed
+        this.graph.addVertex(T.label, "person", "name", "p10",
+                             "city", "Shenzhen", "age", 10);
+        this.graph.tx().commit();
+
+        Assert.assertEquals(0L, this.graph.traversal().V()
+                                    .has("city", "Beijing").has("age", 10)
+                                    .count().next());
+        List<Vertex> vertices = this.graph.traversal().V()
+                                    .has("city", "Beijing")
+                                    .has("age", P.lt(12)).toList();
+        Assert.assertEquals(5, vertices.size());
+        Vertex vertex = this.graph.traversal().V().has("age", 10).next();
+        Assert.assertEquals("Shenzhen", vertex.value("city"));
+    }
+
+    @Test
+    public void testOverwriteVertexWithLeftIndexKept() throws Exception {
+        this.teardown();
+        this.setup(false);
+        this.addPersons();
+
+        // The left index of the overwritten vertex is kept
+        this.graph.addVertex(T.label, "person", "name", "p10",
+                             "city", "Shenzhen", "age", 10);
+        this.graph.tx().commit();
+
+        // The vertices are verified by backend rather than covering index
+        Assert.assertEquals(0L, this.graph.traversal().V()
+                                    .has("city", "Beijing").has("age", 10)
+                                    .count().next());
+        List<Vertex> vertices = this.graph.traversal().V()
+                                    .has("city", "Beijing")
+                                    .has("age", P.lt(12)).toList();
+        Assert.assertEquals(5, vertices.size());
+        for (Vertex v : vertices) {
+            Assert.assertEquals("Beijing", v.value("city"));
+            Assert.assertTrue(((HugeVertex) v).isPropLoaded());
+        }
+        Vertex vertex = this.graph.traversal().V().has("age", 10).next();
+        Assert.assertEquals("Shenzhen", vertex.value("city"));
+    }
+
+    @Test
+    public void testSerializeCoveringIndex() {
+        IndexLabel byCity = this.graph.indexLabel("personByCity");
+        Id age = this.graph.propertyKey("age").id();
+        Id elemId = IdGenerator.of("1:p1");
+        HugeIndex index = new HugeIndex(this.graph, byCity);
+        index.fieldValues("Beijing");
+        index.elementIds(elemId);
+        index.includedValues(elemId, ImmutableMap.of(age, 18));
+
+        ConditionQuery query = new ConditionQuery(HugeType.SECONDARY_INDEX);
+        query.eq(HugeKeys.FIELD_VALUES, "Beijing");
+        query.eq(HugeKeys.INDEX_LABEL_ID, byCity.id());
+
+        BinarySerializer binary = new BinarySerializer();
+        BackendEntry entry = binary.writeIndex(index);
+        HugeIndex result = binary.readIndex(this.graph, query, entry);
+        Assert.assertEquals(ImmutableSet.of(elemId), result.elementIds());
+        Assert.assertEquals(ImmutableMap.of(age, 18),
+                            result.includedValues(elemId));
+
+        TextSerializer text = new TextSerializer(FakeObjects.newConfig());
+        entry = text.writeIndex(index);
+        result = text.readIndex(this.graph, query, entry);
+        Assert.assertEquals(ImmutableSet.of(elemId), result.elementIds());
+        Assert.assertEquals(ImmutableMap.of(age, 18),
+                            result.includedValues(elemId));
+    }
+
+    @Test
+    public void testCreateIndexLabelWithInvalidIncludeProperties() {
+        SchemaManager schema = this.graph.schema();
+
+        Assert.assertThrows(IllegalArgumentException.class, () -> {
+            schema.indexLabel("knowsByAge").onE("knows").by("age")
+                  .range().include("age").create();
+        }, e -> {
+            Assert.assertContains("on vertex label", e.getMessage());
+        });
+
+        Assert.assertThrows(IllegalArgumentException.class, () -> {
+            schema.indexLabel("personByName").onV("person").by("name")
+                  .secondary().include("name").create();
+        }, e -> {
+            Assert.assertContains("can't be an index field", e.getMessage());
+        });
+
+        Assert.assertThrows(IllegalArgumentException.class, () -> {
+            schema.indexLabel("personByName").onV("person").by("name")
+                  .secondary().include("tags").create();
+        }, e -> {
+            Assert.assertContains("cardinality is multiple", e.getMessage());
+        });
+
+        Assert.assertThrows(IllegalArgumentException.class, () -> {
+            schema.indexLabel("personByName").onV("person").by("name")
+                  .search().include("city").create();
+        }, e -> {
+            Assert.assertContains("secondary, range or shard",
+                                  e.getMessage());
+        });
+
+        Assert.assertThrows(NotAllowException.class, () -> {
+            schema.indexLabel("personByCity").include("name").append();
+        });
+    }
+}
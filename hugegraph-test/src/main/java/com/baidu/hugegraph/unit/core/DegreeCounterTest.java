@@ -0,0 +1,208 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.unit.core;
+
+import java.util.Iterator;
+
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.baidu.hugegraph.HugeFactory;
+import com.baidu.hugegraph.HugeGraph;
+import com.baidu.hugegraph.HugeGraphParams;
+import com.baidu.hugegraph.backend.id.Id;
+import com.baidu.hugegraph.backend.id.IdGenerator;
+import com.baidu.hugegraph.backend.store.BackendStore;
+import com.baidu.hugegraph.config.CoreOptions;
+import com.baidu.hugegraph.config.HugeConfig;
+import com.baidu.hugegraph.schema.SchemaManager;
+import com.baidu.hugegraph.testutil.Assert;
+import com.baidu.hugegraph.testutil.Whitebox;
+import com.baidu.hugegraph.traversal.algorithm.CountTraverser;
+import com.baidu.hugegraph.traversal.algorithm.HugeTraverser;
+import com.baidu.hugegraph.traversal.algorithm.steps.EdgeStep;
+import com.baidu.hugegraph.type.define.Directions;
+import com.baidu.hugegraph.unit.FakeObjects;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+public class DegreeCounterTest {
+
+    private HugeGraph graph;
+
+    @Before
+    public void setup() {
+        HugeConfig config = FakeObjects.newConfig();
+        config.setProperty(CoreOptions.QUERY_DEGREE_COUNTER_ENABLE.name(),
+                           true);
+        this.graph = HugeFactory.open(config);
+        SchemaManager schema = this.graph.schema();
+
+        schema.vertexLabel("person").useCustomizeStringId().create();
+        schema.edgeLabel("knows").sourceLabel("person")
+              .targetLabel("person").create();
+        schema.edgeLabel("follows").sourceLabel("person")
+              .targetLabel("person").create();
+    }
+
+    @After
+    public void teardown() throws Exception {
+        this.graph.clearBackend();
+        this.graph.close();
+    }
+
+    private Id label(String name) {
+        return this.graph.edgeLabel(name).id();
+    }
+
+    @Test
+    public void testQueryDegree() {
+        HugeGraph graph = this.graph;
+        Vertex marko = graph.addVertex(T.label, "person", T.id, "marko");
+        Vertex josh = graph.addVertex(T.label, "person", T.id, "josh");
+        Vertex vadas = graph.addVertex(T.label, "person", T.id, "vadas");
+        marko.addEdge("knows", josh);
+        marko.addEdge("knows", vadas);
+        marko.addEdge("follows", josh);
+        josh.addEdge("knows", vadas);
+        graph.tx().commit();
+
+        Id markoId = IdGenerator.of("marko");
+        Id joshId = IdGenerator.of("josh");
+        Id vadasId = IdGenerator.of("vadas");
+        Id knows = this.label("knows");
+        Id follows = this.label("follows");
+
+        Assert.assertEquals(3L, graph.queryDegree(markoId, Directions.OUT));
+        Assert.assertEquals(2L, graph.queryDegree(markoId, Directions.OUT,
+                                                  knows));
+        Assert.assertEquals(0L, graph.queryDegree(markoId, Directions.IN));
+        Assert.assertEquals(2L, graph.queryDegree(joshId, Directions.IN));
+        Assert.assertEquals(3L, graph.queryDegree(joshId, Directions.BOTH));
+        Assert.assertEquals(3L, graph.queryDegree(joshId, Directions.BOTH,
+                                                  knows, follows));
+        Assert.assertEquals(2L, graph.queryDegree(vadasId, Directions.IN,
+                                                  knows, knows));
+
+        // Overwrite an existed edge
+        marko.addEdge("knows", josh);
+        graph.tx().commit();
+        Assert.assertEquals(3L, graph.queryDegree(markoId, Directions.OUT));
+        Assert.assertEquals(2L, graph.queryDegree(joshId, Directions.IN));
+
+        // Remove an edge
+        graph.traversal().E().hasLabel("follows").drop().iterate();
+        graph.tx().commit();
+        Assert.assertEquals(2L, graph.queryDegree(markoId, Directions.OUT));
+        Assert.assertEquals(0L, graph.queryDegree(markoId, Directions.OUT,
+                                                  follows));
+        Assert.assertEquals(1L, graph.queryDegree(joshId, Directions.IN));
+
+        // Remove the edges with the vertex
+        graph.vertex("marko").remove();
+        graph.tx().commit();
+        Assert.assertEquals(0L, graph.queryDegree(markoId, Directions.BOTH));
+        Assert.assertEquals(0L, graph.queryDegree(joshId, Directions.IN));
+        Assert.assertEquals(1L, graph.queryDegree(vadasId, Directions.IN));
+    }
+
+    @Test
+    public void testQueryDegreeWithTtl() {
+        HugeGraph graph = this.graph;
+        graph.schema().edgeLabel("likes").sourceLabel("person")
+             .targetLabel("person").ttl(86400L).create();
+        Vertex marko = graph.addVertex(T.label, "person", T.id, "marko");
+        Vertex josh = graph.addVertex(T.label, "person", T.id, "josh");
+        marko.addEdge("knows", josh);
+        marko.addEdge("likes", josh);
+        graph.tx().commit();
+
+        // The edges with ttl may expire, they are counted by scanning
+        Id markoId = IdGenerator.of("marko");
+        Assert.assertEquals(1L, graph.queryDegree(markoId, Directions.OUT,
+                                                  this.label("knows")));
+        Assert.assertEquals(-1L, graph.queryDegree(markoId, Directions.OUT,
+                                                   this.label("likes")));
+        Assert.assertEquals(-1L, graph.queryDegree(markoId, Directions.OUT,
+                                                   this.label("knows"),
+                                                   this.label("likes")));
+        Assert.assertEquals(-1L, graph.queryDegree(markoId, Directions.OUT));
+
+        // The counters of the labels with ttl are never read
+        HugeGraphParams params = Whitebox.getInternalState(graph, "params");
+        BackendStore store = params.loadGraphStore();
+        store.increaseDegreeCounter(markoId, Directions.OUT,
+                                    this.label("likes"), 100L);
+
+        CountTraverser traverser = new CountTraverser(graph);
+        EdgeStep step = new EdgeStep(graph, Directions.OUT,
+                                     ImmutableList.of("likes"),
+                                     ImmutableMap.of());
+        Assert.assertEquals(1L, traverser.count(markoId,
+                                                ImmutableList.of(step),
+                                                false, 0L));
+    }
+
+    @Test
+    public void testTraverseByDegree() {
+        HugeGraph graph = this.graph;
+        Vertex marko = graph.addVertex(T.label, "person", T.id, "marko");
+        for (String name : ImmutableList.of("josh", "vadas", "peter")) {
+            marko.addEdge("knows", graph.addVertex(T.label, "person",
+                                                   T.id, name));
+        }
+        graph.tx().commit();
+
+        Id markoId = IdGenerator.of("marko");
+        EdgeStep step = new EdgeStep(graph, Directions.OUT,
+                                     ImmutableList.of("knows"),
+                                     ImmutableMap.of(), 10L, 50L);
+        Assert.assertEquals(3, IteratorUtils.count(this.edges(markoId, step)));
+
+        // The degree is read from the counters rather than the edges
+        HugeGraphParams params = Whitebox.getInternalState(graph, "params");
+        BackendStore store = params.loadGraphStore();
+        store.increaseDegreeCounter(markoId, Directions.OUT,
+                                    this.label("knows"), 100L);
+
+        CountTraverser traverser = new CountTraverser(graph);
+        EdgeStep countStep = new EdgeStep(graph, Directions.OUT,
+                                          ImmutableList.of("knows"),
+                                          ImmutableMap.of());
+        Assert.assertEquals(103L, traverser.count(markoId,
+                                                  ImmutableList.of(countStep),
+                                                  false, 0L));
+
+        // The super node is skipped without fetching edges
+        Assert.assertEquals(0, IteratorUtils.count(this.edges(markoId, step)));
+    }
+
+    private Iterator<Edge> edges(Id source, EdgeStep step) {
+        HugeTraverser traverser = new HugeTraverser(this.graph);
+        return Whitebox.invoke(HugeTraverser.class,
+                               new Class[]{Id.class, EdgeStep.class},
+                               "edgesOfVertex", traverser, source, step);
+    }
+}
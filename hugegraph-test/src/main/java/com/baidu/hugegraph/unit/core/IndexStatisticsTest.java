@@ -0,0 +1,280 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.unit.core;
+
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.baidu.hugegraph.HugeFactory;
+import com.baidu.hugegraph.HugeGraph;
+import com.baidu.hugegraph.HugeGraphParams;
+import com.baidu.hugegraph.backend.id.Id;
+import com.baidu.hugegraph.backend.id.IdGenerator;
+import com.baidu.hugegraph.backend.query.Condition;
+import com.baidu.hugegraph.backend.query.ConditionQuery;
+import com.baidu.hugegraph.config.CoreOptions;
+import com.baidu.hugegraph.config.HugeConfig;
+import com.baidu.hugegraph.schema.IndexLabel;
+import com.baidu.hugegraph.schema.IndexStatistics;
+import com.baidu.hugegraph.schema.SchemaManager;
+import com.baidu.hugegraph.testutil.Assert;
+import com.baidu.hugegraph.testutil.Whitebox;
+import com.baidu.hugegraph.type.HugeType;
+import com.baidu.hugegraph.type.define.NodeRole;
+import com.baidu.hugegraph.unit.FakeObjects;
+import com.google.common.collect.ImmutableList;
+
+public class IndexStatisticsTest {
+
+    private static final int VERTICES = 100;
+
+    private HugeGraph graph;
+
+    @Before
+    public void setup() {
+        HugeConfig config = FakeObjects.newConfig();
+        config.setProperty(CoreOptions.SCHEMA_INDEX_STATISTICS_REFRESH.name(),
+                           0.2D);
+        this.graph = HugeFactory.open(config);
+        // The index labels are built by tasks
+        this.graph.initBackend();
+        this.graph.serverStarted(IdGenerator.of("server1"), NodeRole.MASTER);
+        SchemaManager schema = this.graph.schema();
+
+        schema.propertyKey("name").asText().create();
+        schema.propertyKey("city").asText().create();
+        schema.propertyKey("age").asInt().create();
+        schema.vertexLabel("person").properties("name", "city", "age")
+              .primaryKeys("name").nullableKeys("city", "age").create();
+
+        // 90 persons live in Beijing, and each of the others in a city
+        for (int i = 0; i < VERTICES; i++) {
+            String city = i < 90 ? "Beijing" : "City" + i;
+            this.graph.addVertex(T.label, "person", "name", "p" + i,
+                                 "city", city, "age", i);
+        }
+        this.graph.tx().commit();
+
+        // Build indexes after the vertices are added
+        schema.indexLabel("personByCity").onV("person").by("city")
+              .secondary().create();
+        schema.indexLabel("personByAge").onV("person").by("age")
+              .range().create();
+    }
+
+    @After
+    public void teardown() throws Exception {
+        this.graph.clearBackend();
+        this.graph.close();
+    }
+
+    private IndexStatistics.Tracker tracker() {
+        HugeGraphParams params = Whitebox.getInternalState(this.graph,
+                                                           "params");
+        return params.indexStatisticsTracker();
+    }
+
+    private ConditionQuery query(Condition... conditions) {
+        ConditionQuery query = new ConditionQuery(HugeType.VERTEX);
+        for (Condition condition : conditions) {
+            query.query(condition);
+        }
+        return query;
+    }
+
+    @Test
+    public void testCollectStatistics() {
+        IndexLabel byCity = this.graph.indexLabel("personByCity");
+        IndexStatistics statistics = IndexStatistics.of(byCity);
+        Assert.assertNotNull(statistics);
+        Assert.assertEquals(VERTICES, statistics.elements());
+        Assert.assertEquals(11L, statistics.distinct(1));
+        Assert.assertThrows(IllegalArgumentException.class, () -> {
+            statistics.distinct(2);
+        });
+
+        IndexLabel byAge = this.graph.indexLabel("personByAge");
+        Assert.assertNotNull(IndexStatistics.of(byAge));
+        Assert.assertEquals(VERTICES, IndexStatistics.of(byAge).elements());
+    }
+
+    @Test
+    public void testEstimate() {
+        IndexLabel byCity = this.graph.indexLabel("personByCity");
+        IndexLabel byAge = this.graph.indexLabel("personByAge");
+        Id city = this.graph.propertyKey("city").id();
+        Id age = this.graph.propertyKey("age").id();
+        IndexStatistics cityStatistics = IndexStatistics.of(byCity);
+        IndexStatistics ageStatistics = IndexStatistics.of(byAge);
+
+        // Values are assumed to be uniform: 100 / 11
+        Assert.assertEquals(10L, cityStatistics.estimate(
+                            byCity, this.query(Condition.eq(city, "Beijing"))));
+        Assert.assertEquals(19L, cityStatistics.estimate(
+                            byCity, this.query(Condition.in(city,
+                                    ImmutableList.of("City91", "City92")))));
+
+        long ids = ageStatistics.estimate(byAge, this.query(
+                                          Condition.gte(age, 10),
+                                          Condition.lt(age, 20)));
+        Assert.assertTrue(ids >= 8L && ids <= 12L);
+        ids = ageStatistics.estimate(byAge, this.query(
+                                     Condition.gt(age, 80)));
+        Assert.assertTrue(ids >= 17L && ids <= 21L);
+        // At least one bucket is estimated
+        ids = ageStatistics.estimate(byAge, this.query(
+                                     Condition.gt(age, 1000)));
+        Assert.assertEquals(2L, ids);
+    }
+
+    @Test
+    public void testQueryByJointIndexes() {
+        List<Vertex> vertices = this.graph.traversal().V()
+                                    .has("city", "Beijing")
+                                    .has("age", P.lt(5)).toList();
+        Assert.assertEquals(5, vertices.size());
+
+        vertices = this.graph.traversal().V().has("city", "City95")
+                       .has("age", P.gte(50)).toList();
+        Assert.assertEquals(1, vertices.size());
+        Assert.assertEquals("p95", vertices.get(0).value("name"));
+
+        vertices = this.graph.traversal().V().has("city", "City95")
+                       .has("age", P.lt(50)).toList();
+        Assert.assertEquals(0, vertices.size());
+    }
+
+    @Test
+    public void testTrackChanges() {
+        IndexLabel byCity = this.graph.indexLabel("personByCity");
+        IndexStatistics.Tracker tracker = this.tracker();
+        Assert.assertEquals(VERTICES, tracker.statistics(byCity).elements());
+
+        for (int i = 0; i < 10; i++) {
+            this.graph.addVertex(T.label, "person", "name", "n" + i,
+                                 "city", "Shanghai");
+        }
+        // The changes are tracked after committed
+        Assert.assertEquals(VERTICES, tracker.statistics(byCity).elements());
+        this.graph.tx().commit();
+        Assert.assertEquals(VERTICES + 10,
+                            tracker.statistics(byCity).elements());
+        Assert.assertEquals(VERTICES, IndexStatistics.of(byCity).elements());
+        Assert.assertEquals(11L, tracker.statistics(byCity).distinct(1));
+
+        // The vertices without age aren't indexed by age
+        IndexLabel byAge = this.graph.indexLabel("personByAge");
+        Assert.assertEquals(VERTICES, tracker.statistics(byAge).elements());
+
+        this.graph.traversal().V().hasLabel("person").has("name", "n0")
+                  .next().remove();
+        Vertex vertex = this.graph.traversal().V().hasLabel("person")
+                            .has("name", "n1").next();
+        vertex.property("city", "Beijing");
+        this.graph.tx().commit();
+        Assert.assertEquals(VERTICES + 9,
+                            tracker.statistics(byCity).elements());
+
+        this.graph.tx().rollback();
+        Assert.assertEquals(VERTICES + 9,
+                            tracker.statistics(byCity).elements());
+
+        // The changes are reset after rebuilt
+        this.rebuild("personByCity");
+        byCity = this.graph.indexLabel("personByCity");
+        Assert.assertEquals(VERTICES + 9,
+                            IndexStatistics.of(byCity).elements());
+        Assert.assertEquals(VERTICES + 9,
+                            tracker.statistics(byCity).elements());
+    }
+
+    @Test
+    public void testRefreshStatistics() throws Exception {
+        IndexStatistics.Tracker tracker = this.tracker();
+        IndexLabel origin = this.graph.indexLabel("personByCity");
+        // The elements are modified enough to refresh: max(1000, 100 * 0.2)
+        for (int i = 0; i < 1000; i++) {
+            this.graph.addVertex(T.label, "person", "name", "n" + i,
+                                 "city", "Shanghai");
+            if ((i + 1) % 500 == 0) {
+                this.graph.tx().commit();
+            }
+        }
+
+        IndexStatistics statistics = null;
+        for (int i = 0; i < 100; i++) {
+            IndexLabel byCity = this.graph.indexLabel("personByCity");
+            statistics = IndexStatistics.of(byCity);
+            if (statistics.elements() > VERTICES) {
+                break;
+            }
+            Thread.sleep(100L);
+        }
+        Assert.assertEquals(VERTICES + 1000, statistics.elements());
+        Assert.assertEquals(12L, statistics.distinct(1));
+        Assert.assertEquals(VERTICES + 1000, tracker.statistics(
+                            this.graph.indexLabel("personByCity")).elements());
+        // The refreshed statistics are saved into a new index label
+        Assert.assertEquals(VERTICES, IndexStatistics.of(origin).elements());
+
+        // The age index isn't modified
+        IndexLabel byAge = this.graph.indexLabel("personByAge");
+        Assert.assertEquals(VERTICES, IndexStatistics.of(byAge).elements());
+    }
+
+    @Test
+    public void testTrackerStartRefresh() {
+        IndexLabel byCity = this.graph.indexLabel("personByCity");
+        IndexStatistics.Tracker tracker = new IndexStatistics.Tracker();
+        Assert.assertFalse(tracker.startRefresh(byCity, 0.2D, 0L));
+
+        tracker.apply(byCity.id(), 10L, 0L, 10L);
+        Assert.assertFalse(tracker.startRefresh(byCity, 0.2D, 0L));
+        Assert.assertFalse(tracker.startRefresh(byCity, 0.0D, 11L));
+
+        tracker.apply(byCity.id(), -5L, 0L, 10L);
+        Assert.assertEquals(VERTICES + 5,
+                            tracker.statistics(byCity).elements());
+        Assert.assertTrue(tracker.startRefresh(byCity, 0.2D, 0L));
+        // Only one refresh at the same time
+        Assert.assertFalse(tracker.startRefresh(byCity, 0.2D, 0L));
+        tracker.finishRefresh(byCity.id());
+        Assert.assertTrue(tracker.startRefresh(byCity, 0.2D, 0L));
+
+        tracker.reset(byCity.id());
+        Assert.assertEquals(VERTICES, tracker.statistics(byCity).elements());
+    }
+
+    private void rebuild(String indexLabel) {
+        Id task = this.graph.schema().indexLabel(indexLabel).rebuild();
+        try {
+            this.graph.taskScheduler().waitUntilTaskCompleted(task, 10L);
+        } catch (TimeoutException e) {
+            throw new AssertionError(e);
+        }
+    }
+}
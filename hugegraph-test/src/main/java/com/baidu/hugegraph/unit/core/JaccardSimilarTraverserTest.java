@@ -0,0 +1,146 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.unit.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Consumer;
+
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.baidu.hugegraph.HugeFactory;
+import com.baidu.hugegraph.HugeGraph;
+import com.baidu.hugegraph.backend.id.Id;
+import com.baidu.hugegraph.backend.id.IdGenerator;
+import com.baidu.hugegraph.schema.SchemaManager;
+import com.baidu.hugegraph.testutil.Assert;
+import com.baidu.hugegraph.traversal.algorithm.HugeTraverser;
+import com.baidu.hugegraph.traversal.algorithm.JaccardSimilarTraverser;
+import com.baidu.hugegraph.traversal.algorithm.steps.EdgeStep;
+import com.baidu.hugegraph.type.define.Directions;
+import com.baidu.hugegraph.unit.FakeObjects;
+
+public class JaccardSimilarTraverserTest {
+
+    private static final int VERTEX_NUM = 200;
+
+    private HugeGraph graph;
+
+    @Before
+    public void setup() {
+        this.graph = HugeFactory.open(FakeObjects.newConfig());
+        SchemaManager schema = this.graph.schema();
+
+        schema.vertexLabel("person").useCustomizeNumberId().create();
+        schema.edgeLabel("knows").sourceLabel("person")
+              .targetLabel("person").create();
+    }
+
+    @After
+    public void teardown() throws Exception {
+        this.graph.clearBackend();
+        this.graph.close();
+    }
+
+    @Test
+    public void testJaccardSimilarsTopEqualsUnpruned() {
+        this.initSkewedGraph(new Random(20211019L));
+
+        EdgeStep step = new EdgeStep(this.graph, Directions.BOTH);
+        JaccardSimilarTraverser traverser = new TxClosingTraverser(this.graph);
+        try {
+            for (int source = 0; source < VERTEX_NUM; source += 7) {
+                Id id = IdGenerator.of(source);
+                Map<Id, Double> all = traverser.jaccardSimilarsSingle(
+                                      id, step, HugeTraverser.NO_LIMIT);
+                for (int top : new int[]{1, 3, 10, 50, VERTEX_NUM}) {
+                    for (boolean concurrent : new boolean[]{false, true}) {
+                        Map<Id, Double> pruned = traverser.jaccardSimilarsTop(
+                                                 id, step, top,
+                                                 HugeTraverser.NO_LIMIT,
+                                                 concurrent);
+                        assertTopEquals(all, top, pruned);
+                    }
+                }
+            }
+        } finally {
+            traverser.close();
+        }
+    }
+
+    private void initSkewedGraph(Random random) {
+        List<Vertex> vertices = new ArrayList<>(VERTEX_NUM);
+        for (int i = 0; i < VERTEX_NUM; i++) {
+            vertices.add(this.graph.addVertex(T.label, "person", T.id, i));
+        }
+        // A few hubs and many small vertices to make the bounds prune
+        for (int i = 0; i < VERTEX_NUM; i++) {
+            int degree = i % 20 == 0 ? 60 : 1 + random.nextInt(8);
+            for (int j = 0; j < degree; j++) {
+                int target = random.nextInt(VERTEX_NUM);
+                if (target != i) {
+                    vertices.get(i).addEdge("knows", vertices.get(target));
+                }
+            }
+        }
+        this.graph.tx().commit();
+    }
+
+    private static void assertTopEquals(Map<Id, Double> all, int top,
+                                        Map<Id, Double> pruned) {
+        List<Double> expected = new ArrayList<>(all.values());
+        expected.sort(Collections.reverseOrder());
+        expected = expected.subList(0, Math.min(top, expected.size()));
+
+        // Ids may differ among the equal scores, but the scores may not
+        Assert.assertEquals(expected, new ArrayList<>(pruned.values()));
+        for (Map.Entry<Id, Double> e : pruned.entrySet()) {
+            Assert.assertEquals(all.get(e.getKey()), e.getValue());
+        }
+    }
+
+    private static class TxClosingTraverser extends JaccardSimilarTraverser {
+
+        public TxClosingTraverser(HugeGraph graph) {
+            super(graph);
+        }
+
+        @Override
+        protected <K> long traverse(Iterator<K> iterator, Consumer<K> consumer,
+                                    String name) {
+            // Close tx opened in the worker threads to allow closing graph
+            return super.traverse(iterator, k -> {
+                try {
+                    consumer.accept(k);
+                } finally {
+                    this.graph().closeTx();
+                }
+            }, name);
+        }
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.unit.core;
+
+import java.util.Arrays;
+
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.baidu.hugegraph.HugeFactory;
+import com.baidu.hugegraph.HugeGraph;
+import com.baidu.hugegraph.HugeGraphParams;
+import com.baidu.hugegraph.backend.store.BackendStore;
+import com.baidu.hugegraph.config.CoreOptions;
+import com.baidu.hugegraph.config.HugeConfig;
+import com.baidu.hugegraph.schema.SchemaManager;
+import com.baidu.hugegraph.testutil.Assert;
+import com.baidu.hugegraph.testutil.Whitebox;
+import com.baidu.hugegraph.type.HugeType;
+import com.baidu.hugegraph.unit.FakeObjects;
+
+public class LabelCounterTest {
+
+    private HugeGraph graph;
+
+    @Before
+    public void setup() {
+        HugeConfig config = FakeObjects.newConfig();
+        config.setProperty(CoreOptions.QUERY_LABEL_COUNTER_ENABLE.name(),
+                           true);
+        this.graph = HugeFactory.open(config);
+        SchemaManager schema = this.graph.schema();
+
+        schema.propertyKey("name").asText().create();
+        schema.vertexLabel("person").properties("name")
+              .nullableKeys("name").useCustomizeStringId().create();
+        schema.vertexLabel("software").properties("name")
+              .nullableKeys("name").useAutomaticId().create();
+        schema.edgeLabel("created").sourceLabel("person")
+              .targetLabel("software").create();
+        schema.edgeLabel("knows").sourceLabel("person")
+              .targetLabel("person").create();
+    }
+
+    @After
+    public void teardown() throws Exception {
+        this.graph.clearBackend();
+        this.graph.close();
+    }
+
+    private long count(String... labels) {
+        GraphTraversalSource g = this.graph.traversal();
+        if (labels.length == 0) {
+            return g.V().count().next();
+        }
+        String[] others = Arrays.copyOfRange(labels, 1, labels.length);
+        return g.V().hasLabel(labels[0], others).count().next();
+    }
+
+    private long countEdges(String label) {
+        return this.graph.traversal().E().hasLabel(label).count().next();
+    }
+
+    @Test
+    public void testCountVertices() {
+        HugeGraph graph = this.graph;
+        graph.addVertex(T.label, "person", T.id, "marko", "name", "marko");
+        graph.addVertex(T.label, "person", T.id, "josh", "name", "josh");
+        graph.addVertex(T.label, "software", "name", "lop");
+        graph.tx().commit();
+
+        Assert.assertEquals(2L, this.count("person"));
+        Assert.assertEquals(1L, this.count("software"));
+        Assert.assertEquals(3L, this.count("person", "software"));
+        Assert.assertEquals(2L, this.count("person", "person"));
+        Assert.assertEquals(3L, this.count());
+
+        // Overwrite an existed vertex
+        graph.addVertex(T.label, "person", T.id, "josh", "name", "josh2");
+        graph.tx().commit();
+        Assert.assertEquals(2L, this.count("person"));
+
+        // Add and remove a vertex in the same tx
+        Vertex vadas = graph.addVertex(T.label, "person", T.id, "vadas");
+        vadas.remove();
+        graph.tx().commit();
+        Assert.assertEquals(2L, this.count("person"));
+
+        graph.vertex("marko").remove();
+        graph.tx().commit();
+        Assert.assertEquals(1L, this.count("person"));
+        Assert.assertEquals(2L, this.count());
+    }
+
+    @Test
+    public void testCountEdges() {
+        HugeGraph graph = this.graph;
+        Vertex marko = graph.addVertex(T.label, "person", T.id, "marko");
+        Vertex josh = graph.addVertex(T.label, "person", T.id, "josh");
+        Vertex lop = graph.addVertex(T.label, "software", "name", "lop");
+        marko.addEdge("knows", josh);
+        marko.addEdge("created", lop);
+        josh.addEdge("created", lop);
+        graph.tx().commit();
+
+        Assert.assertEquals(1L, this.countEdges("knows"));
+        Assert.assertEquals(2L, this.countEdges("created"));
+        Assert.assertEquals(3L, graph.traversal().E().count().next());
+
+        // Overwrite an existed edge
+        marko.addEdge("knows", josh);
+        graph.tx().commit();
+        Assert.assertEquals(1L, this.countEdges("knows"));
+
+        // Remove the edges with the vertex
+        graph.vertex("marko").remove();
+        graph.tx().commit();
+        Assert.assertEquals(0L, this.countEdges("knows"));
+        Assert.assertEquals(1L, this.countEdges("created"));
+    }
+
+    @Test
+    public void testCountWithPartOfEdgeDeletions() {
+        HugeGraph graph = this.graph;
+        Vertex marko = graph.addVertex(T.label, "person", T.id, "marko");
+        Vertex josh = graph.addVertex(T.label, "person", T.id, "josh");
+        Vertex vadas = graph.addVertex(T.label, "person", T.id, "vadas");
+        Vertex lop = graph.addVertex(T.label, "software", "name", "lop");
+        marko.addEdge("knows", josh);
+        marko.addEdge("knows", vadas);
+        marko.addEdge("created", lop);
+        graph.tx().commit();
+
+        // Commit the adjacent edges one by one before the vertex
+        HugeGraphParams params = Whitebox.getInternalState(graph, "params");
+        Whitebox.setInternalState(params.graphTransaction(),
+                                  "commitPartOfAdjacentEdges", 1);
+        graph.vertex("marko").remove();
+        graph.vertex("josh").remove();
+        graph.tx().commit();
+
+        Assert.assertEquals(1L, this.count("person"));
+        Assert.assertEquals(1L, this.count("software"));
+        Assert.assertEquals(0L, this.countEdges("knows"));
+        Assert.assertEquals(0L, this.countEdges("created"));
+    }
+
+    @Test
+    public void testCountByCounters() {
+        HugeGraph graph = this.graph;
+        graph.addVertex(T.label, "person", T.id, "marko");
+        graph.tx().commit();
+        Assert.assertEquals(1L, this.count("person"));
+
+        // The count is read from the counters rather than scanning
+        HugeGraphParams params = Whitebox.getInternalState(graph, "params");
+        BackendStore store = params.loadGraphStore();
+        store.increaseLabelCounter(HugeType.VERTEX,
+                                   graph.vertexLabel("person").id(), 10L);
+        Assert.assertEquals(11L, this.count("person"));
+        Assert.assertEquals(11L, this.count());
+
+        graph.vertex("marko").remove();
+        graph.tx().commit();
+        Assert.assertEquals(10L, this.count("person"));
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.unit.core;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.baidu.hugegraph.iterator.CIter;
+import com.baidu.hugegraph.metrics.LatencyHistogram;
+import com.baidu.hugegraph.metrics.LatencyMetrics;
+import com.baidu.hugegraph.testutil.Assert;
+import com.google.common.collect.ImmutableList;
+
+public class LatencyMetricsTest {
+
+    @Test
+    public void testHistogramRecord() {
+        long[] bounds = LatencyHistogram.bounds();
+        Assert.assertEquals(20, bounds.length);
+        Assert.assertEquals(5000L, bounds[0]);
+        Assert.assertEquals(10000L, bounds[1]);
+        Assert.assertEquals(20000L, bounds[2]);
+        Assert.assertEquals(50000L, bounds[3]);
+        Assert.assertEquals(10000000000L, bounds[19]);
+
+        LatencyHistogram histogram = new LatencyHistogram();
+        Assert.assertEquals(0L, histogram.count());
+
+        histogram.record(-1L);
+        histogram.record(5000L);
+        histogram.record(5001L);
+        histogram.record(3000000L);
+        histogram.record(60000000000L);
+
+        long[] counts = histogram.cumulativeCounts();
+        Assert.assertEquals(21, counts.length);
+        // The bounds are inclusive
+        Assert.assertEquals(2L, counts[0]);
+        Assert.assertEquals(3L, counts[1]);
+        // The bucket of 5ms
+        Assert.assertEquals(3L, counts[8]);
+        Assert.assertEquals(4L, counts[9]);
+        Assert.assertEquals(4L, counts[19]);
+        Assert.assertEquals(5L, counts[20]);
+        Assert.assertEquals(5L, histogram.count());
+        Assert.assertEquals(60003010001L, histogram.sum());
+    }
+
+    @Test
+    public void testHistogramRecordIterator() throws Exception {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        long start = System.nanoTime();
+        Iterator<Integer> iter = histogram.record(slowIterator(1, 2), start);
+        // Recorded once the iterator is created
+        Assert.assertEquals(1L, histogram.count());
+        Assert.assertEquals(1, (int) iter.next());
+        // The time of the caller between fetches is not recorded
+        Thread.sleep(100L);
+        Assert.assertEquals(2, (int) iter.next());
+        Assert.assertFalse(iter.hasNext());
+        Assert.assertEquals(1L, histogram.count());
+        long sum = histogram.sum();
+        Assert.assertGte(20000000L, sum);
+        Assert.assertLt(100000000L, sum);
+
+        // Moved to the bucket of the increased latency
+        long[] bounds = LatencyHistogram.bounds();
+        int index = Arrays.binarySearch(bounds, 10000000L);
+        Assert.assertEquals(0L, histogram.cumulativeCounts()[index]);
+
+        ((CIter<Integer>) iter).close();
+        Assert.assertEquals(1L, histogram.count());
+        Assert.assertEquals(sum, histogram.sum());
+
+        // Recorded even if dropped without exhausted or closed
+        iter = histogram.record(slowIterator(1, 2), System.nanoTime());
+        Assert.assertEquals(1, (int) iter.next());
+        Assert.assertEquals(2L, histogram.count());
+        Assert.assertGte(sum + 10000000L, histogram.sum());
+    }
+
+    private static Iterator<Integer> slowIterator(Integer... values) {
+        Iterator<Integer> iter = Arrays.asList(values).iterator();
+        return new Iterator<Integer>() {
+
+            @Override
+            public boolean hasNext() {
+                return iter.hasNext();
+            }
+
+            @Override
+            public Integer next() {
+                try {
+                    Thread.sleep(10L);
+                } catch (InterruptedException e) {
+                    throw new AssertionError(e);
+                }
+                return iter.next();
+            }
+        };
+    }
+
+    @Test
+    public void testRegister() {
+        LatencyMetrics metrics = LatencyMetrics.register("test_seconds",
+                                                         "The test latency",
+                                                         "graph", "op");
+        Assert.assertEquals("test_seconds", metrics.name());
+        Assert.assertEquals("The test latency", metrics.help());
+        Assert.assertEquals(ImmutableList.of("graph", "op"),
+                            metrics.labelNames());
+        Assert.assertSame(metrics, LatencyMetrics.register("test_seconds",
+                                                           "The test latency",
+                                                           "graph", "op"));
+        Assert.assertTrue(LatencyMetrics.families().contains(metrics));
+
+        LatencyHistogram histogram = metrics.histogram("g", "get");
+        Assert.assertSame(histogram, metrics.histogram("g", "get"));
+        Assert.assertNotSame(histogram, metrics.histogram("g", "scan"));
+        histogram.record(1000L);
+
+        Map<List<String>, LatencyHistogram> histograms = metrics.histograms();
+        Assert.assertEquals(2, histograms.size());
+        Assert.assertEquals(1L, histograms.get(ImmutableList.of("g", "get"))
+                                          .count());
+
+        Assert.assertThrows(IllegalArgumentException.class, () -> {
+            metrics.histogram("g");
+        }, e -> {
+            Assert.assertContains("Expect 2 label values", e.getMessage());
+        });
+        Assert.assertThrows(IllegalArgumentException.class, () -> {
+            LatencyMetrics.register("test_seconds", "The test latency",
+                                    "graph");
+        }, e -> {
+            Assert.assertContains("has been registered with labels",
+                                  e.getMessage());
+        });
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.unit.core;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+
+import com.baidu.hugegraph.backend.id.Id;
+import com.baidu.hugegraph.backend.id.IdGenerator;
+import com.baidu.hugegraph.testutil.Assert;
+import com.baidu.hugegraph.traversal.algorithm.HugeTraverser.Node;
+import com.baidu.hugegraph.traversal.algorithm.HugeTraverser.Path;
+import com.google.common.collect.ImmutableList;
+
+public class NodePathTest {
+
+    @Test
+    public void testSharedPath() {
+        Node root = new Node(IdGenerator.of(1));
+        Node node2 = new Node(IdGenerator.of(2), root);
+        Node node3 = new Node(IdGenerator.of(3), node2);
+        Node node4 = new Node(IdGenerator.of(4), node2);
+
+        List<Id> path3 = node3.sharedPath();
+        List<Id> path4 = node4.sharedPath();
+        List<Id> copied3 = ImmutableList.of(IdGenerator.of(1),
+                                            IdGenerator.of(2),
+                                            IdGenerator.of(3));
+        Assert.assertEquals(copied3, path3);
+        Assert.assertEquals(path3, new ArrayList<>(copied3));
+        Assert.assertEquals(copied3.hashCode(), path3.hashCode());
+        Assert.assertEquals(3, path4.size());
+        Assert.assertEquals(IdGenerator.of(1), path4.get(0));
+        Assert.assertEquals(IdGenerator.of(4), path4.get(2));
+        Assert.assertEquals(ImmutableList.of(IdGenerator.of(1),
+                                             IdGenerator.of(2),
+                                             IdGenerator.of(4)),
+                            new ArrayList<>(path4));
+        Assert.assertThrows(IndexOutOfBoundsException.class, () -> {
+            path4.get(3);
+        });
+        Assert.assertThrows(UnsupportedOperationException.class, () -> {
+            path4.add(IdGenerator.of(5));
+        });
+
+        // Shared paths are deduplicated with the copied ones
+        Set<Path> paths = new HashSet<>();
+        Assert.assertTrue(paths.add(new Path(path3)));
+        Assert.assertFalse(paths.add(new Path(new ArrayList<>(copied3))));
+        Assert.assertTrue(paths.add(new Path(path4)));
+        Assert.assertEquals(2, paths.size());
+    }
+}
@@ -0,0 +1,223 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.unit.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.baidu.hugegraph.HugeFactory;
+import com.baidu.hugegraph.HugeGraph;
+import com.baidu.hugegraph.HugeGraphParams;
+import com.baidu.hugegraph.backend.id.Id;
+import com.baidu.hugegraph.backend.id.IdGenerator;
+import com.baidu.hugegraph.backend.query.ConditionQuery;
+import com.baidu.hugegraph.backend.serializer.BinarySerializer;
+import com.baidu.hugegraph.backend.serializer.TextSerializer;
+import com.baidu.hugegraph.backend.store.BackendEntry;
+import com.baidu.hugegraph.schema.IndexLabel;
+import com.baidu.hugegraph.schema.IndexStatistics;
+import com.baidu.hugegraph.schema.SchemaManager;
+import com.baidu.hugegraph.structure.HugeIndex;
+import com.baidu.hugegraph.structure.HugeIndex.Posting;
+import com.baidu.hugegraph.testutil.Assert;
+import com.baidu.hugegraph.testutil.Whitebox;
+import com.baidu.hugegraph.traversal.optimize.Text;
+import com.baidu.hugegraph.type.HugeType;
+import com.baidu.hugegraph.type.define.HugeKeys;
+import com.baidu.hugegraph.type.define.NodeRole;
+import com.baidu.hugegraph.unit.FakeObjects;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+
+public class SearchIndexTest {
+
+    private HugeGraph graph;
+
+    @Before
+    public void setup() {
+        this.graph = HugeFactory.open(FakeObjects.newConfig());
+        // The index labels are built by tasks
+        this.graph.initBackend();
+        this.graph.serverStarted(IdGenerator.of("server1"), NodeRole.MASTER);
+        SchemaManager schema = this.graph.schema();
+
+        schema.propertyKey("name").asText().create();
+        schema.propertyKey("description").asText().create();
+        schema.vertexLabel("book").properties("name", "description")
+              .primaryKeys("name").nullableKeys("description").create();
+        schema.indexLabel("bookByDescription").onV("book")
+              .by("description").search().create();
+    }
+
+    @After
+    public void teardown() throws Exception {
+        this.graph.clearBackend();
+        this.graph.close();
+    }
+
+    private void addBook(String name, String description) {
+        this.graph.addVertex(T.label, "book", "name", name,
+                             "description", description);
+    }
+
+    private List<String> search(String text) {
+        List<Vertex> vertices = this.graph.traversal().V()
+                                    .has("description", Text.contains(text))
+                                    .toList();
+        List<String> names = new ArrayList<>(vertices.size());
+        for (Vertex vertex : vertices) {
+            names.add(vertex.value("name"));
+        }
+        return names;
+    }
+
+    @Test
+    public void testCreateScoringSearchIndex() {
+        IndexLabel indexLabel = this.graph.indexLabel("bookByDescription");
+        Assert.assertTrue(indexLabel.scoring());
+
+        this.graph.schema().indexLabel("bookByDescriptionValue").onV("book")
+                  .by("description").secondary().create();
+        Assert.assertFalse(this.graph.indexLabel("bookByDescriptionValue")
+                                     .scoring());
+    }
+
+    @Test
+    public void testQueryRankedByScore() {
+        this.addBook("b1", "graph database and graph engine on graph");
+        this.addBook("b2", "graph processing system with many other words");
+        this.addBook("b3", "relational database system");
+        this.addBook("b4", "key value store");
+        this.graph.tx().commit();
+
+        // The book with more occurrences of the word is ranked first
+        Assert.assertEquals(ImmutableList.of("b1", "b2"),
+                            this.search("(graph)"));
+        // The book matched more words is ranked first
+        Assert.assertEquals(ImmutableList.of("b1", "b3", "b2"),
+                            this.search("(graph|database|system)"));
+        // The rare word has a higher weight
+        Assert.assertEquals("b3", this.search("(relational|system)").get(0));
+        Assert.assertEquals(ImmutableList.of(), this.search("(document)"));
+
+        Assert.assertEquals(1L, this.graph.traversal().V()
+                                    .has("description",
+                                         Text.contains("(graph)"))
+                                    .limit(1).count().next());
+    }
+
+    @Test
+    public void testQueryAfterTextUpdated() {
+        this.addBook("b1", "graph database");
+        this.addBook("b2", "graph engine");
+        this.graph.tx().commit();
+        Assert.assertEquals(2, this.search("(graph)").size());
+
+        Vertex vertex = this.graph.traversal().V().hasLabel("book")
+                            .has("name", "b1").next();
+        vertex.property("description", "document database");
+        this.graph.tx().commit();
+
+        Assert.assertEquals(ImmutableList.of("b2"), this.search("(graph)"));
+        Assert.assertEquals(ImmutableList.of("b1"),
+                            this.search("(document)"));
+        Assert.assertEquals(ImmutableList.of("b1"),
+                            this.search("(database)"));
+
+        this.graph.traversal().V().hasLabel("book").has("name", "b2")
+                  .next().remove();
+        this.graph.tx().commit();
+        Assert.assertEquals(ImmutableList.of(), this.search("(graph)"));
+    }
+
+    @Test
+    public void testCollectStatistics() throws TimeoutException {
+        this.addBook("b1", "graph database and graph engine on graph");
+        this.addBook("b2", "graph processing system with many other words");
+        this.addBook("b3", "relational database system");
+        this.graph.tx().commit();
+
+        // The statistics are built from the changes if not collected yet
+        IndexLabel indexLabel = this.graph.indexLabel("bookByDescription");
+        Assert.assertNull(IndexStatistics.of(indexLabel));
+        HugeGraphParams params = Whitebox.getInternalState(this.graph,
+                                                           "params");
+        IndexStatistics.Tracker tracker = params.indexStatisticsTracker();
+        IndexStatistics tracked = tracker.statistics(indexLabel);
+        Assert.assertEquals(3L, tracked.elements());
+        Assert.assertTrue(tracked.tokens() > 0L);
+        Assert.assertEquals((double) tracked.tokens() / 3,
+                            tracked.avgTokens(), 0.0D);
+
+        // The elements and words are collected when rebuilding index
+        Id task = this.graph.schema().indexLabel("bookByDescription")
+                      .rebuild();
+        this.graph.taskScheduler().waitUntilTaskCompleted(task, 10L);
+        indexLabel = this.graph.indexLabel("bookByDescription");
+        IndexStatistics collected = IndexStatistics.of(indexLabel);
+        Assert.assertNotNull(collected);
+        Assert.assertEquals(3L, collected.elements());
+        Assert.assertEquals(tracked.tokens(), collected.tokens());
+        Assert.assertEquals(3L, tracker.statistics(indexLabel).elements());
+
+        this.graph.traversal().V().hasLabel("book").has("name", "b3")
+                  .next().remove();
+        this.graph.tx().commit();
+        IndexStatistics changed = tracker.statistics(indexLabel);
+        Assert.assertEquals(2L, changed.elements());
+        Assert.assertTrue(changed.tokens() < collected.tokens());
+        Assert.assertEquals(ImmutableList.of("b1", "b2"),
+                            this.search("(graph|database|system)"));
+    }
+
+    @Test
+    public void testSerializePosting() {
+        IndexLabel indexLabel = this.graph.indexLabel("bookByDescription");
+        Id elemId = IdGenerator.of("1:b1");
+        Posting posting = new Posting(2, 5, "graph graph a b c".hashCode());
+        HugeIndex index = new HugeIndex(this.graph, indexLabel);
+        index.fieldValues("graph");
+        index.elementIds(elemId);
+        index.posting(elemId, posting);
+
+        ConditionQuery query = new ConditionQuery(HugeType.SEARCH_INDEX);
+        query.eq(HugeKeys.FIELD_VALUES, "graph");
+        query.eq(HugeKeys.INDEX_LABEL_ID, indexLabel.id());
+
+        BinarySerializer binary = new BinarySerializer();
+        BackendEntry entry = binary.writeIndex(index);
+        HugeIndex result = binary.readIndex(this.graph, query, entry);
+        Assert.assertEquals(ImmutableSet.of(elemId), result.elementIds());
+        Assert.assertEquals(posting, result.posting(elemId));
+
+        TextSerializer text = new TextSerializer(FakeObjects.newConfig());
+        entry = text.writeIndex(index);
+        result = text.readIndex(this.graph, query, entry);
+        Assert.assertEquals(ImmutableSet.of(elemId), result.elementIds());
+        Assert.assertEquals(posting, result.posting(elemId));
+    }
+}
@@ -70,8 +70,6 @@ public class SecurityManagerTest {
         System.setSecurityManager(null);
         graph.clearBackend();
         graph.close();
-        // Stop daemon thread
-        HugeFactory.shutdown(30L);
     }
 
     @Test
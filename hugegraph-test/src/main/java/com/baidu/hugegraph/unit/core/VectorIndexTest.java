@@ -0,0 +1,221 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.unit.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.baidu.hugegraph.HugeFactory;
+import com.baidu.hugegraph.HugeGraph;
+import com.baidu.hugegraph.backend.id.Id;
+import com.baidu.hugegraph.backend.id.IdGenerator;
+import com.baidu.hugegraph.exception.NoIndexException;
+import com.baidu.hugegraph.exception.NotAllowException;
+import com.baidu.hugegraph.exception.NotSupportException;
+import com.baidu.hugegraph.schema.IndexLabel;
+import com.baidu.hugegraph.schema.SchemaManager;
+import com.baidu.hugegraph.testutil.Assert;
+import com.baidu.hugegraph.traversal.optimize.Vectors;
+import com.baidu.hugegraph.type.define.IndexType;
+import com.baidu.hugegraph.type.define.NodeRole;
+import com.baidu.hugegraph.unit.FakeObjects;
+import com.google.common.collect.ImmutableList;
+
+public class VectorIndexTest {
+
+    private HugeGraph graph;
+
+    @Before
+    public void setup() {
+        this.graph = HugeFactory.open(FakeObjects.newConfig());
+        // The index labels are built by tasks
+        this.graph.initBackend();
+        this.graph.serverStarted(IdGenerator.of("server1"), NodeRole.MASTER);
+        SchemaManager schema = this.graph.schema();
+
+        schema.propertyKey("name").asText().create();
+        schema.propertyKey("city").asText().create();
+        schema.propertyKey("embedding").asFloat().valueList().create();
+        schema.vertexLabel("item").properties("name", "city", "embedding")
+              .primaryKeys("name").nullableKeys("city", "embedding")
+              .create();
+        schema.indexLabel("itemByEmbedding").onV("item")
+              .by("embedding").vector().dimension(2).create();
+    }
+
+    @After
+    public void teardown() throws Exception {
+        this.graph.clearBackend();
+        this.graph.close();
+    }
+
+    private void addItem(String name, float x, float y) {
+        this.graph.addVertex(T.label, "item", "name", name,
+                             "embedding", ImmutableList.of(x, y));
+    }
+
+    private List<String> nearest(float x, float y, int top) {
+        List<Vertex> vertices = this.graph.traversal().V().hasLabel("item")
+                                    .has("embedding", Vectors.nearest(
+                                         ImmutableList.of(x, y), top))
+                                    .toList();
+        List<String> names = new ArrayList<>(vertices.size());
+        for (Vertex vertex : vertices) {
+            names.add(vertex.value("name"));
+        }
+        return names;
+    }
+
+    @Test
+    public void testCreateVectorIndex() {
+        IndexLabel indexLabel = this.graph.indexLabel("itemByEmbedding");
+        Assert.assertEquals(IndexType.VECTOR, indexLabel.indexType());
+        Assert.assertEquals(2, indexLabel.vectorDimension());
+
+        SchemaManager schema = this.graph.schema();
+        Assert.assertThrows(IllegalArgumentException.class, () -> {
+            schema.indexLabel("itemByEmbedding2").onV("item")
+                  .by("embedding").vector().create();
+        }, e -> {
+            Assert.assertContains("must be set", e.getMessage());
+        });
+        Assert.assertThrows(IllegalArgumentException.class, () -> {
+            schema.indexLabel("itemByCity").onV("item")
+                  .by("city").vector().dimension(2).create();
+        }, e -> {
+            Assert.assertContains("float or double list property",
+                                  e.getMessage());
+        });
+        Assert.assertThrows(IllegalArgumentException.class, () -> {
+            schema.indexLabel("itemByCity").onV("item")
+                  .by("city").secondary().dimension(2).create();
+        }, e -> {
+            Assert.assertContains("Can only set dimension for vector index",
+                                  e.getMessage());
+        });
+        Assert.assertThrows(NotAllowException.class, () -> {
+            schema.indexLabel("itemByEmbedding").dimension(3).append();
+        });
+    }
+
+    @Test
+    public void testQueryNearest() {
+        this.addItem("east", 1.0F, 0.0F);
+        this.addItem("north", 0.0F, 1.0F);
+        this.addItem("north-east", 1.0F, 1.0F);
+        this.addItem("west", -1.0F, 0.0F);
+        this.graph.addVertex(T.label, "item", "name", "none");
+        this.graph.tx().commit();
+
+        Assert.assertEquals(ImmutableList.of("east", "north-east"),
+                            this.nearest(3.0F, 1.0F, 2));
+        Assert.assertEquals(ImmutableList.of("north", "north-east", "east",
+                                             "west"),
+                            this.nearest(0.0F, 2.0F, 10));
+
+        GraphTraversalSource g = this.graph.traversal();
+        Assert.assertEquals(2L, g.V().has("embedding", Vectors.nearest(
+                                ImmutableList.of(1.0F, 0.0F), 2))
+                                 .count().next());
+
+        Assert.assertThrows(IllegalArgumentException.class, () -> {
+            this.nearest(1.0F, 0.0F, 0);
+        });
+        Assert.assertThrows(IllegalArgumentException.class, () -> {
+            g.V().has("embedding", Vectors.nearest(
+                      ImmutableList.of(1.0F, 0.0F, 0.0F), 1)).toList();
+        }, e -> {
+            Assert.assertContains("The dimension of query vector must be 2",
+                                  e.getMessage());
+        });
+        Assert.assertThrows(NotSupportException.class, () -> {
+            g.V().has("embedding", Vectors.nearest(
+                      ImmutableList.of(1.0F, 0.0F), 1))
+                 .has("city", "Beijing").toList();
+        });
+    }
+
+    @Test
+    public void testQueryNearestAfterUpdated() {
+        this.addItem("east", 1.0F, 0.0F);
+        this.addItem("north", 0.0F, 1.0F);
+        this.graph.tx().commit();
+        // Load the vectors into memory
+        Assert.assertEquals(ImmutableList.of("east"),
+                            this.nearest(1.0F, 0.1F, 1));
+
+        this.addItem("east2", 1.0F, 0.05F);
+        this.graph.tx().commit();
+        Assert.assertEquals(ImmutableList.of("east2"),
+                            this.nearest(1.0F, 0.1F, 1));
+
+        Vertex vertex = this.graph.traversal().V().hasLabel("item")
+                            .has("name", "east2").next();
+        // The values are appended to the list property if not removed
+        vertex.property("embedding").remove();
+        vertex.property("embedding", ImmutableList.of(0.0F, -1.0F));
+        this.graph.tx().commit();
+        Assert.assertEquals(ImmutableList.of("east"),
+                            this.nearest(1.0F, 0.1F, 1));
+        Assert.assertEquals(ImmutableList.of("east2"),
+                            this.nearest(0.0F, -1.0F, 1));
+
+        this.graph.traversal().V().hasLabel("item").has("name", "east")
+                  .next().remove();
+        this.graph.tx().commit();
+        Assert.assertEquals(ImmutableList.of("north", "east2"),
+                            this.nearest(1.0F, 0.1F, 3));
+
+        // The uncommitted changes are invisible to the vector index
+        this.addItem("east3", 1.0F, 0.0F);
+        this.graph.tx().rollback();
+        Assert.assertEquals(ImmutableList.of("north"),
+                            this.nearest(1.0F, 0.1F, 1));
+    }
+
+    @Test
+    public void testQueryNearestAfterIndexRebuilt() throws TimeoutException {
+        this.addItem("east", 1.0F, 0.0F);
+        this.addItem("north", 0.0F, 1.0F);
+        this.graph.tx().commit();
+        Assert.assertEquals(ImmutableList.of("east"),
+                            this.nearest(1.0F, 0.0F, 1));
+
+        SchemaManager schema = this.graph.schema();
+        Id task = schema.indexLabel("itemByEmbedding").rebuild();
+        this.graph.taskScheduler().waitUntilTaskCompleted(task);
+        Assert.assertEquals(ImmutableList.of("east", "north"),
+                            this.nearest(1.0F, 0.0F, 2));
+
+        task = schema.indexLabel("itemByEmbedding").remove();
+        this.graph.taskScheduler().waitUntilTaskCompleted(task);
+        Assert.assertThrows(NoIndexException.class, () -> {
+            this.nearest(1.0F, 0.0F, 1);
+        });
+    }
+}
@@ -19,20 +19,29 @@
 
 package com.baidu.hugegraph.unit.rocksdb;
 
+import java.util.Iterator;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
 
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 import org.junit.Before;
 import org.junit.Test;
 import org.rocksdb.RocksDBException;
 
 import com.baidu.hugegraph.backend.id.Id;
 import com.baidu.hugegraph.backend.id.IdGenerator;
+import com.baidu.hugegraph.backend.store.rocksdb.RocksDBOptions;
+import com.baidu.hugegraph.backend.store.rocksdb.RocksDBSessions;
 import com.baidu.hugegraph.backend.store.rocksdb.RocksDBSessions.Session;
+import com.baidu.hugegraph.backend.store.rocksdb.RocksDBStore.RocksDBGraphStore;
 import com.baidu.hugegraph.backend.store.rocksdb.RocksDBTables;
+import com.baidu.hugegraph.config.CoreOptions;
+import com.baidu.hugegraph.config.HugeConfig;
 import com.baidu.hugegraph.testutil.Assert;
+import com.baidu.hugegraph.testutil.Whitebox;
 import com.baidu.hugegraph.type.HugeType;
+import com.baidu.hugegraph.unit.FakeObjects;
 
 public class RocksDBCountersTest extends BaseRocksDBUnitTest {
 
@@ -81,6 +90,85 @@ public class RocksDBCountersTest extends BaseRocksDBUnitTest {
         }
     }
 
+    @Test
+    public void testBitmapIndex() throws RocksDBException {
+        Session session = this.rocks.session();
+        Id il1 = IdGenerator.of(1L);
+        Id il2 = IdGenerator.of(2L);
+        byte[] chunk1 = new byte[]{1};
+        byte[] chunk2 = new byte[]{2};
+        byte[] chunk3 = new byte[]{3};
+        this.counters.putBitmapIndex(session, il1, "a", 1L, chunk1);
+        this.counters.putBitmapIndex(session, il1, "a", -1L, chunk2);
+        this.counters.putBitmapIndex(session, il1, "ab", 0L, chunk3);
+        this.counters.putBitmapIndex(session, il2, "a", 0L, chunk3);
+        session.commit();
+
+        Assert.assertArrayEquals(chunk1, this.counters.getBitmapIndex(
+                                         session, il1, "a", 1L));
+        Assert.assertNull(this.counters.getBitmapIndex(session, il1, "a", 0L));
+
+        // The chunks are ordered as signed long
+        Iterator<byte[]> chunks = this.counters.queryBitmapIndex(session,
+                                                                 il1, "a");
+        Assert.assertArrayEquals(chunk2, chunks.next());
+        Assert.assertArrayEquals(chunk1, chunks.next());
+        Assert.assertFalse(chunks.hasNext());
+
+        // Delete a chunk by putting empty bitmap
+        this.counters.putBitmapIndex(session, il1, "a", 1L, null);
+        session.commit();
+        Assert.assertEquals(1, IteratorUtils.count(
+                               this.counters.queryBitmapIndex(session,
+                                                              il1, "a")));
+
+        this.counters.deleteBitmapIndex(session, il1);
+        session.commit();
+        Assert.assertFalse(this.counters.queryBitmapIndex(session, il1, "a")
+                                        .hasNext());
+        Assert.assertFalse(this.counters.queryBitmapIndex(session, il1, "ab")
+                                        .hasNext());
+        Assert.assertTrue(this.counters.queryBitmapIndex(session, il2, "a")
+                                       .hasNext());
+    }
+
+    @Test
+    public void testOpenGraphStoreWithoutCountersTable()
+                throws RocksDBException {
+        HugeConfig config = FakeObjects.newConfig();
+        String path = DB_PATH + "/upgrade";
+        config.setProperty(RocksDBOptions.DATA_PATH.name(), path);
+        config.setProperty(RocksDBOptions.WAL_PATH.name(), path);
+        config.setProperty(CoreOptions.QUERY_LABEL_COUNTER_ENABLE.name(),
+                           true);
+        String table = this.counters.table();
+        Id label = IdGenerator.of(1L);
+
+        // Create a store like by older versions, which has no counters table
+        RocksDBGraphStore store = new RocksDBGraphStore(null, DATABASE, "g");
+        store.open(config);
+        store.init();
+        Assert.assertEquals(0L, store.getLabelCounter(HugeType.VERTEX, label));
+        RocksDBSessions sessions = Whitebox.getInternalState(store,
+                                                             "sessions");
+        sessions.dropTable(table);
+        Assert.assertFalse(store.initialized());
+        store.close();
+
+        store = new RocksDBGraphStore(null, DATABASE, "g");
+        store.open(config);
+        try {
+            sessions = Whitebox.getInternalState(store, "sessions");
+            Assert.assertTrue(sessions.existsTable(table));
+            Assert.assertTrue(store.initialized());
+            // The counters are not trusted, count by scanning instead
+            Assert.assertEquals(-1L, store.getLabelCounter(HugeType.VERTEX,
+                                                           label));
+        } finally {
+            store.close();
+        }
+    }
+
     @Test
     public void testCounterWithMutiThreads() {
         final int TIMES = 1000;
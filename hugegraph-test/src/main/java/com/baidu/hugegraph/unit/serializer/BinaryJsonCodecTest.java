@@ -0,0 +1,163 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.unit.serializer;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.junit.Test;
+
+import com.baidu.hugegraph.serializer.BinaryJsonCodec;
+import com.baidu.hugegraph.serializer.BinaryJsonCodec.Encoder;
+import com.baidu.hugegraph.testutil.Assert;
+import com.baidu.hugegraph.unit.BaseUnitTest;
+import com.baidu.hugegraph.util.StringEncoding;
+
+public class BinaryJsonCodecTest extends BaseUnitTest {
+
+    private static String transcode(String json) {
+        byte[] bytes = BinaryJsonCodec.encode(StringEncoding.encode(json));
+        return StringEncoding.decode(BinaryJsonCodec.decode(bytes));
+    }
+
+    @Test
+    public void testEncodeAndDecode() {
+        String json = "{\"id\":\"1:marko\",\"label\":\"person\"," +
+                      "\"type\":\"vertex\",\"properties\":{\"age\":29," +
+                      "\"weight\":0.5,\"big\":123456789012345678901234," +
+                      "\"long\":-9223372036854775808,\"alive\":true," +
+                      "\"dead\":false,\"city\":null,\"tags\":[]," +
+                      "\"name\":\"\\u4e2d\\u6587\\n\"}}\n";
+        Assert.assertEquals(json.replace("\\u4e2d\\u6587", "中文"),
+                            transcode(json));
+
+        json = "[1,\"a\",[\"a\",{\"a\":\"a\"}]]\n";
+        Assert.assertEquals(json, transcode(json));
+
+        json = "\"marko\"\n";
+        Assert.assertEquals(json, transcode(json));
+    }
+
+    @Test
+    public void testEncodeWithMultiRoots() {
+        String json = "{\"type\":\"vertex\",\"label\":\"person\"}\n" +
+                      "{\"type\":\"edge\",\"label\":\"knows\"}\n";
+        Assert.assertEquals(json, transcode(json));
+    }
+
+    @Test
+    public void testEncodeWithRepeatedStrings() {
+        StringBuilder json = new StringBuilder("{\"vertices\":[");
+        for (int i = 0; i < 100; i++) {
+            if (i > 0) {
+                json.append(",");
+            }
+            json.append("{\"id\":\"1:marko\",\"label\":\"person\"," +
+                        "\"type\":\"vertex\",\"properties\":{}}");
+        }
+        json.append("]}\n");
+
+        byte[] bytes = StringEncoding.encode(json.toString());
+        byte[] encoded = BinaryJsonCodec.encode(bytes);
+        // The field names, id and label are only written once
+        Assert.assertTrue(encoded.length < bytes.length / 3);
+        Assert.assertEquals(json.toString(), StringEncoding.decode(
+                                             BinaryJsonCodec.decode(encoded)));
+
+        // The long strings are not put into the dictionary
+        String longString = new String(new char[200]).replace('\0', 'x');
+        String value = "[\"" + longString + "\",\"" + longString + "\"," +
+                       "\"y\",\"y\"]\n";
+        encoded = BinaryJsonCodec.encode(StringEncoding.encode(value));
+        Assert.assertTrue(encoded.length > 400);
+        Assert.assertEquals(value, transcode(value));
+    }
+
+    @Test
+    public void testEncodeAndDecodeByStream() throws IOException {
+        StringBuilder json = new StringBuilder("{\"vertices\":[");
+        for (int i = 0; i < 1000; i++) {
+            if (i > 0) {
+                json.append(",");
+            }
+            json.append("{\"id\":\"1:p" + i + "\",\"label\":\"person\"," +
+                        "\"properties\":{\"age\":" + i + ",\"weight\":" +
+                        i + ".5}}");
+        }
+        json.append("]}\n");
+        byte[] bytes = StringEncoding.encode(json.toString());
+
+        // Encode the json fed in small pieces
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Encoder encoder = BinaryJsonCodec.encoder(out);
+        for (int i = 0; i < bytes.length; i += 7) {
+            encoder.write(bytes, i, Math.min(7, bytes.length - i));
+        }
+        // The encoded bytes are written before the end of json
+        Assert.assertTrue(out.size() > 0);
+        encoder.finish();
+        byte[] encoded = out.toByteArray();
+        Assert.assertArrayEquals(BinaryJsonCodec.encode(bytes), encoded);
+
+        // Decode the binary json read in small pieces
+        out.reset();
+        try (InputStream decoder = BinaryJsonCodec.decoder(
+                                   new ByteArrayInputStream(encoded))) {
+            byte[] buffer = new byte[5];
+            int read;
+            while ((read = decoder.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+        }
+        Assert.assertEquals(json.toString(),
+                            StringEncoding.decode(out.toByteArray()));
+    }
+
+    @Test
+    public void testDecodeWithInvalidBytes() {
+        Assert.assertThrows(IllegalArgumentException.class, () -> {
+            BinaryJsonCodec.decode(StringEncoding.encode("{}"));
+        }, e -> {
+            Assert.assertContains("Invalid binary json header",
+                                  e.getMessage());
+        });
+
+        byte[] bytes = BinaryJsonCodec.encode(StringEncoding.encode(
+                                              "{\"a\":[1]}"));
+        byte[] incomplete = new byte[bytes.length - 1];
+        System.arraycopy(bytes, 0, incomplete, 0, incomplete.length);
+        Assert.assertThrows(IllegalArgumentException.class, () -> {
+            BinaryJsonCodec.decode(incomplete);
+        }, e -> {
+            Assert.assertContains("Incomplete binary json document",
+                                  e.getMessage());
+        });
+
+        bytes[bytes.length - 1] = 0x7f;
+        Assert.assertThrows(IllegalArgumentException.class, () -> {
+            BinaryJsonCodec.decode(bytes);
+        }, e -> {
+            Assert.assertContains("Invalid binary json tag 127",
+                                  e.getMessage());
+        });
+    }
+}
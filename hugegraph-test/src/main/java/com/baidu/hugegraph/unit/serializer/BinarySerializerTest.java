@@ -22,6 +22,7 @@ package com.baidu.hugegraph.unit.serializer;
 import com.baidu.hugegraph.config.HugeConfig;
 import org.junit.Test;
 
+import com.baidu.hugegraph.backend.id.IdGenerator;
 import com.baidu.hugegraph.backend.serializer.BinarySerializer;
 import com.baidu.hugegraph.backend.store.BackendEntry;
 import com.baidu.hugegraph.structure.HugeEdge;
@@ -83,6 +84,60 @@ public class BinarySerializerTest extends BaseUnitTest {
         assertCollectionEquals(edge2.getProperties(), edge.getProperties());
     }
 
+    @Test
+    public void testVertexWithLazyProperties() {
+        BinarySerializer ser = new BinarySerializer(true, true, false, true);
+        HugeEdge edge = new FakeObjects().newEdge(123, 456);
+        HugeVertex origin = edge.sourceVertex();
+
+        BackendEntry entry = ser.writeVertex(origin);
+        HugeVertex vertex = ser.readVertex(edge.graph(), entry);
+        Assert.assertEquals(origin, vertex);
+        Assert.assertNotNull(Whitebox.getInternalState(vertex,
+                                                       "lazyProperties"));
+        Assert.assertEquals(3, vertex.sizeOfProperties());
+        Assert.assertTrue(vertex.hasProperty(IdGenerator.of(2)));
+        Assert.assertFalse(vertex.hasProperty(IdGenerator.of(5)));
+
+        // Decode the accessed property only
+        Assert.assertEquals(18, (int) vertex.getPropertyValue(
+                                                   IdGenerator.of(2)));
+        Assert.assertEquals(3, vertex.sizeOfProperties());
+        Assert.assertNotNull(Whitebox.getInternalState(vertex,
+                                                       "lazyProperties"));
+
+        // Overwrite an undecoded property
+        vertex.addProperty(origin.getProperty(IdGenerator.of(3))
+                                 .propertyKey(), "Wuhan");
+        Assert.assertEquals(3, vertex.sizeOfProperties());
+        Assert.assertEquals("Wuhan",
+                            vertex.getPropertyValue(IdGenerator.of(3)));
+
+        // Decode all the properties
+        Assert.assertEquals("tom", vertex.getPropertyValue(IdGenerator.of(1)));
+        Assert.assertNull(Whitebox.getInternalState(vertex,
+                                                    "lazyProperties"));
+        Assert.assertEquals(3, vertex.getProperties().size());
+    }
+
+    @Test
+    public void testEdgeWithLazyProperties() {
+        BinarySerializer ser = new BinarySerializer(true, true, false, true);
+        HugeEdge edge1 = new FakeObjects().newEdge(123, 456);
+
+        BackendEntry entry = ser.writeEdge(edge1);
+        HugeVertex vertex = ser.readVertex(edge1.graph(), entry);
+        Assert.assertEquals(1, vertex.getEdges().size());
+        HugeEdge edge = vertex.getEdges().iterator().next();
+        Assert.assertEquals(edge1, edge);
+        Assert.assertEquals(2, edge.sizeOfProperties());
+        Assert.assertEquals(0.75, edge.getPropertyValue(IdGenerator.of(5)));
+        assertCollectionEquals(edge1.getProperties(), edge.getProperties());
+
+        HugeEdge copied = edge1.copy();
+        assertCollectionEquals(edge1.getProperties(), copied.getProperties());
+    }
+
     @Test
     public void testVertexForPartition() {
         BinarySerializer ser = new BinarySerializer(true, true, true);
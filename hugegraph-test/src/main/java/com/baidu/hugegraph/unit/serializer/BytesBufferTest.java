@@ -983,6 +983,36 @@ public class BytesBufferTest extends BaseUnitTest {
         Assert.assertArrayEquals(new int[]{2, 5}, (int[]) iterator.next());
     }
 
+    @Test
+    public void testSkipProperty() {
+        Object[][] values = {
+            {genPkey(DataType.BOOLEAN), true},
+            {genPkey(DataType.INT), 128},
+            {genPkey(DataType.FLOAT), 3.14f},
+            {genPkey(DataType.LONG), 1565851529514L},
+            {genPkey(DataType.DOUBLE), 3.14d},
+            {genPkey(DataType.TEXT), "abc"},
+            {genPkey(DataType.BLOB), genBytes("001199aabbcc")},
+            {genPkey(DataType.UUID), UUID.randomUUID()},
+            {genPkey(DataType.OBJECT), new Point(3, 8)},
+            {genSetPkey(DataType.TEXT), ImmutableSet.of("abc", "123")},
+            {genListPkey(DataType.DOUBLE), ImmutableList.of(1.0d, 3.14d)}
+        };
+
+        BytesBuffer buf = BytesBuffer.allocate(0);
+        for (Object[] value : values) {
+            buf.writeProperty((PropertyKey) value[0], value[1]);
+            buf.writeVInt(0x55);
+        }
+
+        BytesBuffer reader = BytesBuffer.wrap(buf.bytes());
+        for (Object[] value : values) {
+            reader.skipProperty((PropertyKey) value[0]);
+            Assert.assertEquals(0x55, reader.readVInt());
+        }
+        Assert.assertEquals(0, reader.remaining());
+    }
+
     @Test
     public void testString() {
         BytesBuffer buf = BytesBuffer.allocate(0);
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.unit.serializer;
+
+import java.io.ByteArrayOutputStream;
+
+import org.junit.Test;
+
+import com.baidu.hugegraph.HugeException;
+import com.baidu.hugegraph.api.API;
+import com.baidu.hugegraph.backend.id.IdGenerator;
+import com.baidu.hugegraph.serializer.PathsWriter;
+import com.baidu.hugegraph.testutil.Assert;
+import com.baidu.hugegraph.traversal.algorithm.HugeTraverser.Path;
+import com.baidu.hugegraph.unit.BaseUnitTest;
+import com.google.common.collect.ImmutableList;
+
+public class PathsWriterTest extends BaseUnitTest {
+
+    private static final Path PATH = new Path(ImmutableList.of(
+                                              IdGenerator.of(1),
+                                              IdGenerator.of(2)));
+
+    @Test
+    public void testFinish() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        PathsWriter writer = new PathsWriter("paths", false, out);
+        Assert.assertFalse(writer.started());
+        Assert.assertTrue(writer.emit(PATH));
+        Assert.assertTrue(writer.started());
+        Assert.assertTrue(writer.emit(PATH));
+        writer.finish();
+        Assert.assertEquals("{\"paths\":[{\"objects\":[1,2]}," +
+                            "{\"objects\":[1,2]}]}",
+                            out.toString(API.CHARSET));
+
+        out = new ByteArrayOutputStream();
+        writer = new PathsWriter("paths", false, out);
+        writer.finish();
+        Assert.assertEquals("{\"paths\":[]}", out.toString(API.CHARSET));
+    }
+
+    @Test
+    public void testFail() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        PathsWriter writer = new PathsWriter("paths", false, out);
+        Assert.assertThrows(IllegalStateException.class, () -> {
+            writer.fail(new HugeException("Failed"));
+        }, e -> {
+            Assert.assertContains("Can't write error before any path",
+                                  e.getMessage());
+        });
+
+        writer.emit(PATH);
+        writer.fail(new HugeException("Reach capacity"));
+        Assert.assertEquals("{\"paths\":[{\"objects\":[1,2]}]," +
+                            "\"complete\":false,\"error\":" +
+                            "{\"exception\":" +
+                            "\"class com.baidu.hugegraph.HugeException\"," +
+                            "\"message\":\"Reach capacity\",\"cause\":\"\"}}",
+                            out.toString(API.CHARSET));
+    }
+}
@@ -93,4 +93,49 @@ public class TextBackendEntryTest extends BaseUnitTest {
         Assert.assertNotEquals(entry4, entry);
         Assert.assertEquals(entry, entry5);
     }
+
+    @Test
+    public void testAppendAndEliminateElementIds() {
+        TextBackendEntry entry = indexEntry("[1,{\"id\":2," +
+                                            "\"expired_time\":100}]");
+        // The element ids are appended even if existed
+        entry.append(indexEntry("[{\"id\":2,\"expired_time\":200}]"));
+        Assert.assertEquals("[1,{\"id\":2,\"expired_time\":100}," +
+                            "{\"id\":2,\"expired_time\":200}]",
+                            entry.column(HugeKeys.ELEMENT_IDS));
+
+        entry.eliminate(indexEntry("[{\"id\":2,\"expired_time\":100}]"));
+        Assert.assertEquals("[1,{\"id\":2,\"expired_time\":200}]",
+                            entry.column(HugeKeys.ELEMENT_IDS));
+        entry.eliminate(indexEntry("[1]"));
+        Assert.assertEquals("[{\"id\":2,\"expired_time\":200}]",
+                            entry.column(HugeKeys.ELEMENT_IDS));
+    }
+
+    @Test
+    public void testAppendAndEliminateCoveringEntries() {
+        TextBackendEntry entry = indexEntry("[{\"id\":1,\"properties\":" +
+                                            "{\"2\":\"18\"}}]");
+        // The covering entries replace the old ones with the same id
+        entry.append(indexEntry("[{\"id\":1,\"properties\":" +
+                                "{\"2\":\"19\"}}]"));
+        entry.append(indexEntry("[{\"id\":3,\"properties\":" +
+                                "{\"2\":\"20\"}}]"));
+        Assert.assertEquals("[{\"id\":1,\"properties\":{\"2\":\"19\"}}," +
+                            "{\"id\":3,\"properties\":{\"2\":\"20\"}}]",
+                            entry.column(HugeKeys.ELEMENT_IDS));
+
+        // The included values of the removed element may be stale
+        entry.eliminate(indexEntry("[{\"id\":1,\"properties\":" +
+                                   "{\"2\":\"18\"}}]"));
+        Assert.assertEquals("[{\"id\":3,\"properties\":{\"2\":\"20\"}}]",
+                            entry.column(HugeKeys.ELEMENT_IDS));
+    }
+
+    private static TextBackendEntry indexEntry(String elementIds) {
+        TextBackendEntry entry = new TextBackendEntry(HugeType.SECONDARY_INDEX,
+                                                      IdGenerator.of("il"));
+        entry.column(HugeKeys.ELEMENT_IDS, elementIds);
+        return entry;
+    }
 }
@@ -0,0 +1,231 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.unit.server;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.baidu.hugegraph.server.AdmissionController;
+import com.baidu.hugegraph.server.AdmissionController.Permit;
+import com.baidu.hugegraph.server.AdmissionController.RequestClass;
+import com.baidu.hugegraph.testutil.Assert;
+import com.baidu.hugegraph.testutil.Whitebox;
+import com.google.common.collect.ImmutableList;
+
+public class AdmissionControllerTest {
+
+    @Test
+    public void testAcquireAndRelease() {
+        AdmissionController admission = new AdmissionController(4, 0, 0,
+                                                                0L);
+        Assert.assertEquals(4, admission.limit());
+
+        List<Permit> permits = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Permit permit = admission.acquire(RequestClass.READ, "g");
+            Assert.assertNotNull(permit);
+            Assert.assertEquals(RequestClass.READ, permit.requestClass());
+            Assert.assertEquals("g", permit.tenant());
+            permits.add(permit);
+        }
+        Assert.assertEquals(4, admission.inflight());
+        Assert.assertNull(admission.acquire(RequestClass.READ, "g"));
+        Assert.assertNull(admission.acquire(RequestClass.WRITE, "g"));
+
+        admission.release(permits.remove(0));
+        Assert.assertEquals(3, admission.inflight(RequestClass.READ));
+        Assert.assertNotNull(admission.acquire(RequestClass.WRITE, "g"));
+        Assert.assertEquals(1, admission.inflight(RequestClass.WRITE));
+
+        Permit permit = permits.get(0);
+        admission.release(permit);
+        Assert.assertThrows(IllegalStateException.class, () -> {
+            admission.release(permit);
+        }, e -> {
+            Assert.assertContains("has been released", e.getMessage());
+        });
+    }
+
+    @Test
+    public void testAcquireWithIdleCapacityBorrowed() {
+        AdmissionController admission = new AdmissionController(8, 0, 0,
+                                                                0L);
+
+        // The share of traversal is 8 * 1 / 8, but it can borrow when idle
+        for (int i = 0; i < 6; i++) {
+            Assert.assertNotNull(admission.acquire(RequestClass.TRAVERSAL,
+                                                   "g"));
+        }
+        Assert.assertNotNull(admission.acquire(RequestClass.GREMLIN, "g"));
+        Assert.assertNotNull(admission.acquire(RequestClass.READ, "g"));
+        Assert.assertNull(admission.acquire(RequestClass.READ, "g"));
+        Assert.assertNull(admission.acquire(RequestClass.GREMLIN, "g"));
+        Assert.assertEquals(6, admission.inflight(RequestClass.TRAVERSAL));
+        Assert.assertEquals(8, admission.inflight());
+    }
+
+    @Test
+    public void testAcquireWithShareReservedForWaiters() throws Exception {
+        AdmissionController admission = new AdmissionController(8, 8, 8,
+                                                                10000L);
+        List<Permit> permits = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            permits.add(admission.acquire(RequestClass.TRAVERSAL, "g"));
+        }
+
+        Permit[] waited = new Permit[2];
+        Thread read = new Thread(() -> {
+            waited[0] = admission.acquire(RequestClass.READ, "g");
+        });
+        read.start();
+        while (admission.waiting(RequestClass.READ) == 0) {
+            Thread.sleep(1L);
+        }
+        Thread traversal = new Thread(() -> {
+            waited[1] = admission.acquire(RequestClass.TRAVERSAL, "g");
+        });
+        traversal.start();
+        while (admission.waiting(RequestClass.TRAVERSAL) == 0) {
+            Thread.sleep(1L);
+        }
+
+        // The released capacity is reserved for the read under its share
+        admission.release(permits.remove(0));
+        read.join();
+        Assert.assertNotNull(waited[0]);
+        Assert.assertEquals(1, admission.waiting(RequestClass.TRAVERSAL));
+        Assert.assertEquals(8, admission.inflight());
+
+        // The traversal borrows it again if no other class is waiting
+        admission.release(permits.remove(0));
+        traversal.join();
+        Assert.assertNotNull(waited[1]);
+        Assert.assertEquals(0, admission.waiting());
+        Assert.assertEquals(7, admission.inflight(RequestClass.TRAVERSAL));
+    }
+
+    @Test
+    public void testAcquireWithWaitTimeout() {
+        AdmissionController admission = new AdmissionController(1, 1, 1,
+                                                                100L);
+        Permit permit = admission.acquire(RequestClass.READ, "g");
+        Assert.assertNotNull(permit);
+
+        long start = System.currentTimeMillis();
+        Assert.assertNull(admission.acquire(RequestClass.READ, "g"));
+        Assert.assertGte(100L, System.currentTimeMillis() - start);
+        Assert.assertEquals(0, admission.waiting(RequestClass.READ));
+
+        admission.release(permit);
+        Assert.assertNotNull(admission.acquire(RequestClass.READ, "g"));
+    }
+
+    @Test
+    public void testAcquireWithMaxWaiters() throws Exception {
+        AdmissionController admission = new AdmissionController(1, 8, 1,
+                                                                10000L);
+        Permit first = admission.acquire(RequestClass.READ, "g");
+        Assert.assertNotNull(first);
+
+        Permit[] waited = new Permit[1];
+        Thread thread = new Thread(() -> {
+            waited[0] = admission.acquire(RequestClass.READ, "g");
+        });
+        thread.start();
+        while (admission.waiting() == 0) {
+            Thread.sleep(1L);
+        }
+
+        // Reject without waiting since the waiters reach the max
+        long start = System.currentTimeMillis();
+        Assert.assertNull(admission.acquire(RequestClass.WRITE, "g"));
+        Assert.assertNull(admission.acquire(RequestClass.READ, "g"));
+        Assert.assertLt(1000L, System.currentTimeMillis() - start);
+
+        admission.release(first);
+        thread.join();
+        Assert.assertNotNull(waited[0]);
+        Assert.assertEquals(0, admission.waiting());
+        Assert.assertEquals(1, admission.inflight());
+    }
+
+    @Test
+    public void testAcquireInRoundRobinOfTenants() throws Exception {
+        AdmissionController admission = new AdmissionController(1, 8, 8,
+                                                                10000L);
+        Permit first = admission.acquire(RequestClass.READ, "ga");
+        Assert.assertNotNull(first);
+
+        List<String> admitted = Collections.synchronizedList(
+                                new ArrayList<>());
+        List<Thread> threads = new ArrayList<>();
+        for (String tenant : ImmutableList.of("ga", "ga", "gb")) {
+            Thread thread = new Thread(() -> {
+                Permit permit = admission.acquire(RequestClass.READ, tenant);
+                admitted.add(permit.tenant());
+                admission.release(permit);
+            });
+            int waiting = admission.waiting(RequestClass.READ);
+            thread.start();
+            while (admission.waiting(RequestClass.READ) == waiting) {
+                Thread.sleep(1L);
+            }
+            threads.add(thread);
+        }
+
+        admission.release(first);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        Assert.assertEquals(ImmutableList.of("ga", "gb", "ga"), admitted);
+        Assert.assertEquals(0, admission.inflight());
+    }
+
+    @Test
+    public void testLimitWithLatencyChanged() {
+        AdmissionController admission = new AdmissionController(100, 0, 0,
+                                                                0L);
+        Class<?>[] types = new Class[]{long.class};
+        for (int i = 0; i < 10; i++) {
+            Whitebox.invoke(AdmissionController.class, types, "updateLimit",
+                            admission, 1000L);
+        }
+        Assert.assertEquals(100, admission.limit());
+
+        // The limit shrinks when the latency increases
+        for (int i = 0; i < 20; i++) {
+            Whitebox.invoke(AdmissionController.class, types, "updateLimit",
+                            admission, 10000L);
+        }
+        int limit = admission.limit();
+        Assert.assertLt(50, limit);
+        Assert.assertGte(4, limit);
+
+        // The limit recovers when the latency drops
+        for (int i = 0; i < 50; i++) {
+            Whitebox.invoke(AdmissionController.class, types, "updateLimit",
+                            admission, 1000L);
+        }
+        Assert.assertGt(limit, admission.limit());
+    }
+}
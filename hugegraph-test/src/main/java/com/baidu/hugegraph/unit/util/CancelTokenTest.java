@@ -0,0 +1,153 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.unit.util;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.baidu.hugegraph.exception.CancelledException;
+import com.baidu.hugegraph.task.TaskManager.ContextCallable;
+import com.baidu.hugegraph.testutil.Assert;
+import com.baidu.hugegraph.util.CancelToken;
+import com.baidu.hugegraph.util.Consumers;
+import com.baidu.hugegraph.util.ExecutorUtil;
+
+public class CancelTokenTest {
+
+    @After
+    public void teardown() {
+        CancelToken.current(null);
+    }
+
+    @Test
+    public void testCancel() {
+        CancelToken token = new CancelToken();
+        Assert.assertFalse(token.cancelled());
+        Assert.assertNull(token.reason());
+        token.check();
+
+        token.cancel("the client is disconnected");
+        token.cancel("timed out");
+        Assert.assertTrue(token.cancelled());
+        Assert.assertEquals("the client is disconnected", token.reason());
+        Assert.assertThrows(CancelledException.class, () -> {
+            token.check();
+        }, e -> {
+            Assert.assertContains("cancelled: the client is disconnected",
+                                  e.getMessage());
+        });
+    }
+
+    @Test
+    public void testCancelWithDeadline() throws InterruptedException {
+        CancelToken token = new CancelToken(50L);
+        Assert.assertFalse(token.cancelled());
+
+        Thread.sleep(100L);
+        Assert.assertTrue(token.cancelled());
+        Assert.assertEquals("timed out", token.reason());
+
+        Assert.assertThrows(IllegalArgumentException.class, () -> {
+            new CancelToken(-1L);
+        }, e -> {
+            Assert.assertContains("must be >= 0", e.getMessage());
+        });
+    }
+
+    @Test
+    public void testCheckCurrent() {
+        Assert.assertNull(CancelToken.current());
+        CancelToken.checkCurrent();
+
+        CancelToken token = new CancelToken();
+        CancelToken.current(token);
+        Assert.assertSame(token, CancelToken.current());
+        CancelToken.checkCurrent();
+
+        token.cancel("test");
+        Assert.assertThrows(CancelledException.class, () -> {
+            CancelToken.checkCurrent();
+        });
+
+        CancelToken.current(null);
+        Assert.assertNull(CancelToken.current());
+        CancelToken.checkCurrent();
+    }
+
+    @Test
+    public void testPassByContextCallable() throws Exception {
+        CancelToken token = new CancelToken();
+        CancelToken.current(token);
+
+        ExecutorService executor = ExecutorUtil.newFixedThreadPool(1,
+                                                                   "test");
+        try {
+            Assert.assertSame(token, executor.submit(new ContextCallable<>(
+                                     CancelToken::current)).get());
+            Assert.assertNull(executor.submit(new ContextCallable<>(
+                              CancelToken::current, false)).get());
+            // Reset after running
+            Callable<CancelToken> current = CancelToken::current;
+            Assert.assertNull(executor.submit(current).get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testStopConsumersIfCancelled() throws Throwable {
+        CancelToken token = new CancelToken();
+        CancelToken.current(token);
+
+        AtomicInteger consumed = new AtomicInteger();
+        ExecutorService executor = ExecutorUtil.newFixedThreadPool(2,
+                                                                   "test");
+        Consumers<Integer> consumers = new Consumers<>(executor, i -> {
+            consumed.incrementAndGet();
+            try {
+                Thread.sleep(1L);
+            } catch (InterruptedException ignored) {
+                // pass
+            }
+        });
+        int total = 10000;
+        try {
+            consumers.start("test");
+            Assert.assertThrows(CancelledException.class, () -> {
+                for (int i = 0; i < total; i++) {
+                    if (i == 10) {
+                        token.cancel("test");
+                    }
+                    consumers.provide(i);
+                }
+            });
+            consumers.await();
+        } catch (CancelledException ignored) {
+            // The other worker may also throw
+        } finally {
+            executor.shutdown();
+        }
+        Assert.assertLt(total, consumed.get());
+    }
+}
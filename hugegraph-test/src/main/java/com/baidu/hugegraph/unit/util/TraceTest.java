@@ -0,0 +1,187 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.unit.util;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.baidu.hugegraph.task.TaskManager.ContextCallable;
+import com.baidu.hugegraph.testutil.Assert;
+import com.baidu.hugegraph.util.ExecutorUtil;
+import com.baidu.hugegraph.util.Trace;
+import com.baidu.hugegraph.util.Trace.Span;
+import com.google.common.base.Function;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterators;
+
+public class TraceTest {
+
+    @After
+    public void teardown() {
+        Trace.activeSpan(null);
+    }
+
+    @Test
+    public void testBeginWithoutTrace() {
+        Assert.assertNull(Trace.current());
+        try (Trace.Scope scope = Trace.begin("backend.scan")) {
+            Assert.assertNull(scope.trace());
+            Assert.assertNull(Trace.activeSpan());
+            Trace.count("hits", 1L);
+        }
+
+        Iterator<Integer> iter = ImmutableList.of(1, 2).iterator();
+        Assert.assertSame(iter, Trace.wrap("backend.scan", iter));
+    }
+
+    @Test
+    public void testBeginWithSameNameMerged() {
+        Trace trace;
+        try (Trace.Scope root = Trace.start("GET /graphs")) {
+            trace = root.trace();
+            Assert.assertSame(trace, Trace.current());
+            for (int i = 0; i < 3; i++) {
+                try (Trace.Scope scope = Trace.begin("graph.vertices")) {
+                    Trace.count("vertex_cache_hits", 2L);
+                    try (Trace.Scope sub = Trace.begin("backend.get",
+                                                       "VERTEX")) {
+                        sub.rows(10L);
+                    }
+                }
+            }
+            Assert.assertSame(trace.root(), Trace.activeSpan());
+        }
+        Assert.assertNull(Trace.activeSpan());
+
+        Span root = trace.root();
+        Assert.assertEquals("GET /graphs", trace.name());
+        Assert.assertEquals(1L, root.calls());
+        Assert.assertEquals(1, root.children().size());
+
+        Span vertices = root.children().get(0);
+        Assert.assertEquals("graph.vertices", vertices.name());
+        Assert.assertEquals(3L, vertices.calls());
+        Assert.assertEquals(6L, vertices.counter("vertex_cache_hits"));
+        Assert.assertEquals(0L, vertices.counter("vertex_cache_misses"));
+
+        Span backend = vertices.children().get(0);
+        Assert.assertEquals("backend.get(VERTEX)", backend.name());
+        Assert.assertEquals(3L, backend.calls());
+        Assert.assertEquals(30L, backend.rows());
+
+        Map<String, Object> map = trace.asMap();
+        Assert.assertEquals(trace.id(), map.get("id"));
+        @SuppressWarnings("unchecked")
+        Map<String, Object> rootMap = (Map<String, Object>) map.get("root");
+        Assert.assertEquals("GET /graphs", rootMap.get("name"));
+        @SuppressWarnings("unchecked")
+        List<Map<String, Object>> children = (List<Map<String, Object>>)
+                                              rootMap.get("children");
+        Assert.assertEquals(6L, children.get(0).get("vertex_cache_hits"));
+    }
+
+    @Test
+    public void testWrapIterator() {
+        // The lazy iterator which queries backend while fetching
+        Function<Integer, Integer> scan = i -> {
+            try (Trace.Scope scope = Trace.begin("backend.scan")) {
+                return i;
+            }
+        };
+        Iterator<Integer> origin = Iterators.transform(
+                                   ImmutableList.of(1, 2, 3).iterator(), scan);
+
+        Trace trace;
+        Iterator<Integer> iter;
+        try (Trace.Scope root = Trace.start("GET /graphs")) {
+            trace = root.trace();
+            try (Trace.Scope scope = Trace.begin("graph.edges")) {
+                iter = scope.wrap(origin);
+            }
+            iter = Trace.wrap("serialize", iter);
+        }
+
+        // The spans of fetching are put under the iterator span
+        try (Trace.Scope root = Trace.start("another")) {
+            Assert.assertEquals(ImmutableList.of(1, 2, 3),
+                                ImmutableList.copyOf(iter));
+            Assert.assertEquals(0, root.trace().root().children().size());
+        }
+
+        List<Span> spans = trace.root().children();
+        Assert.assertEquals(2, spans.size());
+        Span edges = spans.get(0);
+        Assert.assertEquals("graph.edges", edges.name());
+        Assert.assertEquals(1L, edges.calls());
+        Assert.assertEquals(3L, edges.rows());
+        Span backend = edges.children().get(0);
+        Assert.assertEquals("backend.scan", backend.name());
+        Assert.assertEquals(3L, backend.calls());
+        Span serialize = spans.get(1);
+        Assert.assertEquals("serialize", serialize.name());
+        Assert.assertEquals(1L, serialize.calls());
+        Assert.assertEquals(3L, serialize.rows());
+    }
+
+    @Test
+    public void testBeginWithTooManySpans() {
+        Trace trace;
+        try (Trace.Scope root = Trace.start("GET /graphs")) {
+            trace = root.trace();
+            for (int i = 0; i < 1000; i++) {
+                try (Trace.Scope scope = Trace.begin("span-" + i)) {
+                    // pass
+                }
+            }
+            Assert.assertSame(trace.root(), Trace.activeSpan());
+        }
+        Assert.assertEquals(255, trace.root().children().size());
+    }
+
+    @Test
+    public void testPassByContextCallable() throws Exception {
+        Trace trace;
+        ExecutorService executor = ExecutorUtil.newFixedThreadPool(1,
+                                                                   "test");
+        try (Trace.Scope root = Trace.start("GET /graphs")) {
+            trace = root.trace();
+            Callable<Trace> task = () -> {
+                try (Trace.Scope scope = Trace.begin("task")) {
+                    return Trace.current();
+                }
+            };
+            Assert.assertSame(trace, executor.submit(
+                                     new ContextCallable<>(task)).get());
+            Assert.assertNull(executor.submit(new ContextCallable<>(
+                              Trace::current, false)).get());
+            // Reset after running
+            Assert.assertNull(executor.submit(Trace::current).get());
+        } finally {
+            executor.shutdown();
+        }
+        Assert.assertEquals("task", trace.root().children().get(0).name());
+    }
+}
@@ -0,0 +1,208 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.unit.util.collection;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.junit.Test;
+
+import com.baidu.hugegraph.testutil.Assert;
+import com.baidu.hugegraph.testutil.Whitebox;
+import com.baidu.hugegraph.util.collection.HnswIndex;
+import com.google.common.collect.ImmutableList;
+
+public class HnswIndexTest {
+
+    @Test
+    public void testNearest() {
+        HnswIndex<String> index = new HnswIndex<>(2);
+        index.add("east", new float[]{1.0F, 0.0F});
+        index.add("north", new float[]{0.0F, 1.0F});
+        index.add("north-east", new float[]{1.0F, 1.0F});
+        index.add("west", new float[]{-2.0F, 0.0F});
+        Assert.assertEquals(4, index.size());
+        Assert.assertEquals(2, index.dimension());
+
+        Map<String, Double> results = index.nearest(new float[]{3.0F, 1.0F},
+                                                    3);
+        Assert.assertEquals(ImmutableList.of("east", "north-east", "north"),
+                            new ArrayList<>(results.keySet()));
+        // The length of vectors is ignored by cosine distance
+        Assert.assertEquals(0.0D, index.nearest(new float[]{5.0F, 0.0F}, 1)
+                                       .get("east"), 1e-6D);
+        Assert.assertEquals(2.0D, index.nearest(new float[]{-1.0F, 0.0F}, 4)
+                                       .get("east"), 1e-6D);
+
+        Assert.assertTrue(new HnswIndex<String>(2).nearest(
+                          new float[]{1.0F, 0.0F}, 1).isEmpty());
+    }
+
+    @Test
+    public void testNearestWithRecall() {
+        Random random = new Random(1L);
+        int dimension = 16;
+        int count = 2000;
+        List<float[]> vectors = new ArrayList<>(count);
+        HnswIndex<Integer> index = new HnswIndex<>(dimension);
+        for (int i = 0; i < count; i++) {
+            float[] vector = randomVector(random, dimension);
+            vectors.add(vector);
+            index.add(i, vector);
+        }
+
+        int top = 10;
+        int matched = 0;
+        int queries = 50;
+        for (int i = 0; i < queries; i++) {
+            float[] query = randomVector(random, dimension);
+            Set<Integer> expected = exactNearest(vectors, query, top);
+            Map<Integer, Double> results = index.nearest(query, top);
+            Assert.assertEquals(top, results.size());
+            double last = -1.0D;
+            for (Map.Entry<Integer, Double> e : results.entrySet()) {
+                Assert.assertTrue(e.getValue() >= last);
+                last = e.getValue();
+                if (expected.contains(e.getKey())) {
+                    matched++;
+                }
+            }
+        }
+        double recall = (double) matched / (queries * top);
+        Assert.assertTrue("Unexpected recall " + recall, recall >= 0.9D);
+    }
+
+    @Test
+    public void testAddAndRemove() {
+        HnswIndex<String> index = new HnswIndex<>(2);
+        index.add("a", new float[]{1.0F, 0.0F});
+        index.add("b", new float[]{0.0F, 1.0F});
+
+        // Replace the vector of an existing key
+        index.add("a", new float[]{0.0F, 2.0F});
+        Assert.assertEquals(2, index.size());
+        Assert.assertEquals(0.0D, index.nearest(new float[]{0.0F, 1.0F}, 2)
+                                       .get("a"), 1e-6D);
+
+        Assert.assertTrue(index.remove("b"));
+        Assert.assertFalse(index.remove("b"));
+        Assert.assertEquals(1, index.size());
+        Assert.assertEquals(ImmutableList.of("a"), new ArrayList<>(
+                            index.nearest(new float[]{0.0F, 1.0F}, 2)
+                                 .keySet()));
+
+        // Removed nodes are compacted after removing most of the keys
+        for (int i = 0; i < 100; i++) {
+            index.add("k" + i, new float[]{1.0F, i});
+        }
+        for (int i = 0; i < 100; i++) {
+            index.remove("k" + i);
+        }
+        Assert.assertEquals(1, index.size());
+        Assert.assertEquals(ImmutableList.of("a"), new ArrayList<>(
+                            index.nearest(new float[]{1.0F, 0.0F}, 3)
+                                 .keySet()));
+    }
+
+    @Test
+    public void testReplaceWithCompaction() {
+        HnswIndex<String> index = new HnswIndex<>(2);
+        for (int i = 0; i < 10; i++) {
+            index.add("k" + i, new float[]{1.0F, i});
+        }
+        // The replaced nodes are compacted like the removed nodes
+        for (int i = 0; i < 1000; i++) {
+            index.add("k" + (i % 10), new float[]{i, 1.0F});
+        }
+        Assert.assertEquals(10, index.size());
+        List<?> nodes = Whitebox.getInternalState(index, "nodes");
+        Assert.assertTrue("Unexpected nodes " + nodes.size(),
+                          nodes.size() <= 21);
+        // The last vectors of keys are kept
+        Assert.assertEquals(0.0D, index.nearest(new float[]{999.0F, 1.0F}, 10)
+                                       .get("k9"), 1e-6D);
+        Assert.assertEquals(10, index.nearest(new float[]{1.0F, 1.0F}, 20)
+                                     .size());
+    }
+
+    @Test
+    public void testInvalidArguments() {
+        Assert.assertThrows(IllegalArgumentException.class, () -> {
+            new HnswIndex<String>(0);
+        }, e -> {
+            Assert.assertContains("The dimension must be > 0",
+                                  e.getMessage());
+        });
+
+        HnswIndex<String> index = new HnswIndex<>(2);
+        Assert.assertThrows(IllegalArgumentException.class, () -> {
+            index.add("a", new float[]{1.0F});
+        }, e -> {
+            Assert.assertContains("The dimension of vector must be 2",
+                                  e.getMessage());
+        });
+        Assert.assertThrows(IllegalArgumentException.class, () -> {
+            index.nearest(new float[]{1.0F, 0.0F}, 0);
+        }, e -> {
+            Assert.assertContains("The top must be > 0", e.getMessage());
+        });
+    }
+
+    private static float[] randomVector(Random random, int dimension) {
+        float[] vector = new float[dimension];
+        for (int i = 0; i < dimension; i++) {
+            vector[i] = (float) random.nextGaussian();
+        }
+        return vector;
+    }
+
+    private static Set<Integer> exactNearest(List<float[]> vectors,
+                                             float[] query, int top) {
+        TreeMap<Double, Integer> distances = new TreeMap<>();
+        for (int i = 0; i < vectors.size(); i++) {
+            distances.put(cosineDistance(vectors.get(i), query), i);
+        }
+        Set<Integer> results = new HashSet<>();
+        for (Integer id : distances.values()) {
+            if (results.size() >= top) {
+                break;
+            }
+            results.add(id);
+        }
+        return results;
+    }
+
+    private static double cosineDistance(float[] v1, float[] v2) {
+        double dot = 0.0D;
+        double norm1 = 0.0D;
+        double norm2 = 0.0D;
+        for (int i = 0; i < v1.length; i++) {
+            dot += v1[i] * v2[i];
+            norm1 += v1[i] * v1[i];
+            norm2 += v2[i] * v2[i];
+        }
+        return 1.0D - dot / Math.sqrt(norm1 * norm2);
+    }
+}
@@ -0,0 +1,276 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.unit.util.collection;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.eclipse.collections.api.iterator.MutableLongIterator;
+import org.junit.Test;
+
+import com.baidu.hugegraph.backend.id.Id;
+import com.baidu.hugegraph.backend.id.IdGenerator;
+import com.baidu.hugegraph.testutil.Assert;
+import com.baidu.hugegraph.type.define.CollectionType;
+import com.baidu.hugegraph.util.collection.BitmapIdSet;
+import com.baidu.hugegraph.util.collection.LongBitmap;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+
+public class LongBitmapTest {
+
+    private static final int SIZE = 100000;
+
+    @Test
+    public void testAddAndRemove() {
+        LongBitmap bitmap = new LongBitmap();
+        Set<Long> numbers = new HashSet<>();
+        Random random = new Random();
+        for (int i = 0; i < SIZE; i++) {
+            // Mix dense and sparse values, include negative values
+            long number = i % 2 == 0 ? random.nextInt(SIZE) - SIZE / 2 :
+                                       random.nextLong();
+            Assert.assertEquals(numbers.add(number), bitmap.add(number));
+        }
+        Assert.assertEquals(numbers.size(), bitmap.cardinality());
+        assertBitmapEquals(numbers, bitmap);
+
+        for (long number = -SIZE / 2; number < SIZE / 2; number += 3) {
+            Assert.assertEquals(numbers.remove(number), bitmap.remove(number));
+        }
+        Assert.assertEquals(numbers.size(), bitmap.cardinality());
+        assertBitmapEquals(numbers, bitmap);
+
+        bitmap.clear();
+        Assert.assertTrue(bitmap.isEmpty());
+        Assert.assertFalse(bitmap.longIterator().hasNext());
+    }
+
+    @Test
+    public void testIteratorRemove() {
+        LongBitmap bitmap = new LongBitmap();
+        Set<Long> numbers = new HashSet<>();
+        for (long i = 0L; i < SIZE; i++) {
+            bitmap.add(i * 3L);
+        }
+        MutableLongIterator iterator = bitmap.longIterator();
+        while (iterator.hasNext()) {
+            long number = iterator.next();
+            if (number % 2L == 0L) {
+                iterator.remove();
+            } else {
+                numbers.add(number);
+            }
+        }
+        Assert.assertEquals(numbers.size(), bitmap.cardinality());
+        assertBitmapEquals(numbers, bitmap);
+    }
+
+    @Test
+    public void testBulkOperations() {
+        Random random = new Random();
+        for (int bound : new int[]{SIZE, SIZE * 100}) {
+            LongBitmap bitmap1 = new LongBitmap();
+            LongBitmap bitmap2 = new LongBitmap();
+            Set<Long> numbers1 = new HashSet<>();
+            Set<Long> numbers2 = new HashSet<>();
+            for (int i = 0; i < SIZE; i++) {
+                long number = random.nextInt(bound);
+                bitmap1.add(number);
+                numbers1.add(number);
+                number = random.nextInt(bound);
+                bitmap2.add(number);
+                numbers2.add(number);
+            }
+
+            Set<Long> intersect = new HashSet<>(numbers1);
+            intersect.retainAll(numbers2);
+            Assert.assertEquals(intersect.size(),
+                                bitmap1.andCardinality(bitmap2));
+
+            LongBitmap and = bitmap1.copy();
+            and.and(bitmap2);
+            assertBitmapEquals(intersect, and);
+
+            Set<Long> union = new HashSet<>(numbers1);
+            union.addAll(numbers2);
+            LongBitmap or = bitmap1.copy();
+            or.or(bitmap2);
+            assertBitmapEquals(union, or);
+
+            Set<Long> diff = new HashSet<>(numbers1);
+            diff.removeAll(numbers2);
+            LongBitmap andNot = bitmap1.copy();
+            andNot.andNot(bitmap2);
+            assertBitmapEquals(diff, andNot);
+
+            // The operands are not changed
+            assertBitmapEquals(numbers1, bitmap1);
+            assertBitmapEquals(numbers2, bitmap2);
+        }
+    }
+
+    @Test
+    public void testBitmapIdSet() {
+        BitmapIdSet set1 = new BitmapIdSet(CollectionType.EC);
+        BitmapIdSet set2 = new BitmapIdSet(CollectionType.EC);
+        for (int i = 0; i < 1000; i++) {
+            set1.add(IdGenerator.of(i));
+            set2.add(IdGenerator.of(i + 500));
+        }
+        set1.add(IdGenerator.of("a"));
+        set1.add(IdGenerator.of("b"));
+        set2.add(IdGenerator.of("b"));
+
+        Assert.assertEquals(1002, set1.size());
+        Assert.assertTrue(set1.contains(IdGenerator.of(999)));
+        Assert.assertTrue(set1.contains(IdGenerator.of("a")));
+        Assert.assertFalse(set1.contains(IdGenerator.of(1000)));
+        Assert.assertEquals(501L, set1.intersectSize(set2));
+
+        BitmapIdSet union = new BitmapIdSet(CollectionType.EC);
+        Assert.assertTrue(union.addAll(set1));
+        Assert.assertTrue(union.addAll(set2));
+        Assert.assertFalse(union.addAll(set2));
+        Assert.assertEquals(1502, union.size());
+
+        BitmapIdSet retained = new BitmapIdSet(CollectionType.EC);
+        retained.addAll(set1);
+        Assert.assertTrue(retained.retainAll(set2));
+        Assert.assertEquals(501, retained.size());
+        Assert.assertTrue(retained.contains(IdGenerator.of("b")));
+
+        BitmapIdSet removed = new BitmapIdSet(CollectionType.EC);
+        removed.addAll(set1);
+        Assert.assertTrue(removed.removeAll(set2));
+        Assert.assertEquals(501, removed.size());
+        Assert.assertTrue(removed.contains(IdGenerator.of("a")));
+        Assert.assertTrue(removed.contains(IdGenerator.of(499)));
+        Assert.assertFalse(removed.contains(IdGenerator.of(500)));
+
+        Iterator<Id> iterator = removed.iterator();
+        while (iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+        Assert.assertTrue(removed.isEmpty());
+    }
+
+    @Test
+    public void testBitmapIdSetIterationOrder() {
+        BitmapIdSet set = new BitmapIdSet(CollectionType.JCF);
+        set.add(IdGenerator.of(100000));
+        set.add(IdGenerator.of("b"));
+        set.add(IdGenerator.of(3));
+        set.add(IdGenerator.of(70000));
+        set.add(IdGenerator.of("a"));
+        set.add(IdGenerator.of(1));
+
+        List<Id> ids = new ArrayList<>(set);
+        Assert.assertEquals(ImmutableSet.of(IdGenerator.of("a"),
+                                            IdGenerator.of("b")),
+                            ImmutableSet.copyOf(ids.subList(0, 2)));
+        Assert.assertEquals(ImmutableList.of(IdGenerator.of(1),
+                                             IdGenerator.of(3),
+                                             IdGenerator.of(70000),
+                                             IdGenerator.of(100000)),
+                            ids.subList(2, 6));
+    }
+
+    @Test
+    public void testToAndFromBytes() {
+        Random random = new Random();
+        LongBitmap bitmap = new LongBitmap();
+        Set<Long> numbers = new HashSet<>();
+        // Dense values are stored in bitmap container
+        for (long i = 0L; i < SIZE; i++) {
+            bitmap.add(i);
+            numbers.add(i);
+        }
+        // Sparse values are stored in array containers
+        for (int i = 0; i < 100; i++) {
+            long number = random.nextLong();
+            bitmap.add(number);
+            numbers.add(number);
+        }
+
+        LongBitmap copied = LongBitmap.fromBytes(bitmap.toBytes());
+        assertBitmapEquals(numbers, copied);
+        assertBitmapEquals(new HashSet<>(),
+                           LongBitmap.fromBytes(new LongBitmap().toBytes()));
+
+        Assert.assertThrows(IllegalArgumentException.class, () -> {
+            byte[] bytes = bitmap.toBytes();
+            LongBitmap.fromBytes(Arrays.copyOf(bytes, bytes.length + 1));
+        });
+    }
+
+    @Test
+    public void testOrByChunks() {
+        LongBitmap bitmap = new LongBitmap();
+        for (long i = -3L; i < 3L; i++) {
+            bitmap.add(i << Character.SIZE);
+            bitmap.add((i << Character.SIZE) + 1L);
+        }
+
+        // Merge the chunks in order like reading from backend
+        LongBitmap merged = new LongBitmap();
+        Set<Long> chunks = new HashSet<>();
+        for (long i = -3L; i < 3L; i++) {
+            long value = i << Character.SIZE;
+            Assert.assertTrue(chunks.add(LongBitmap.chunk(value)));
+            Assert.assertEquals(LongBitmap.chunk(value),
+                                LongBitmap.chunk(value + 1L));
+            LongBitmap chunk = new LongBitmap();
+            chunk.add(value);
+            chunk.add(value + 1L);
+            merged.or(chunk);
+        }
+        Assert.assertEquals(12L, merged.cardinality());
+        Assert.assertEquals(12L, merged.andCardinality(bitmap));
+
+        // Merge the chunks out of order
+        LongBitmap other = new LongBitmap();
+        other.add(5L);
+        other.add(-1L << Character.SIZE);
+        merged.or(other);
+        Assert.assertEquals(13L, merged.cardinality());
+        Assert.assertTrue(merged.contains(5L));
+    }
+
+    private static void assertBitmapEquals(Set<Long> expected,
+                                           LongBitmap bitmap) {
+        Assert.assertEquals(expected.size(), bitmap.cardinality());
+        for (Long number : expected) {
+            Assert.assertTrue(bitmap.contains(number));
+        }
+        Set<Long> actual = new HashSet<>();
+        MutableLongIterator iterator = bitmap.longIterator();
+        while (iterator.hasNext()) {
+            actual.add(iterator.next());
+        }
+        Assert.assertEquals(expected, actual);
+    }
+}
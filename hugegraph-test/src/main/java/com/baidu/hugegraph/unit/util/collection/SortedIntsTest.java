@@ -0,0 +1,79 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.unit.util.collection;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+import com.baidu.hugegraph.testutil.Assert;
+import com.baidu.hugegraph.util.collection.SortedInts;
+
+public class SortedIntsTest {
+
+    @Test
+    public void testDistinct() {
+        int[] values = new int[]{5, 3, 5, -1, 3, 9, 0};
+        int size = SortedInts.distinct(values, 6);
+        Assert.assertEquals(4, size);
+        Assert.assertArrayEquals(new int[]{-1, 3, 5, 9},
+                                 Arrays.copyOf(values, size));
+
+        Assert.assertEquals(0, SortedInts.distinct(new int[0], 0));
+        Assert.assertEquals(1, SortedInts.distinct(new int[]{7}, 1));
+    }
+
+    @Test
+    public void testIntersectSize() {
+        Random random = new Random();
+        // Similar sizes to merge and different sizes to gallop
+        for (int size2 : new int[]{1000, 100000}) {
+            int[] values1 = randomSorted(random, 1000, 20000);
+            int[] values2 = randomSorted(random, size2, 200000);
+            Set<Integer> set = new HashSet<>();
+            for (int value : values1) {
+                set.add(value);
+            }
+            int expected = 0;
+            for (int value : values2) {
+                if (set.contains(value)) {
+                    expected++;
+                }
+            }
+            Assert.assertEquals(expected,
+                                SortedInts.intersectSize(values1, values2));
+            Assert.assertEquals(expected,
+                                SortedInts.intersectSize(values2, values1));
+        }
+        Assert.assertEquals(0, SortedInts.intersectSize(new int[0],
+                                                        new int[]{1, 2}));
+    }
+
+    private static int[] randomSorted(Random random, int size, int bound) {
+        int[] values = new int[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = random.nextInt(bound);
+        }
+        return Arrays.copyOf(values, SortedInts.distinct(values, size));
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2017 HugeGraph Authors
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.baidu.hugegraph.unit.util.collection;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.baidu.hugegraph.testutil.Assert;
+import com.baidu.hugegraph.unit.BaseUnitTest;
+import com.baidu.hugegraph.util.collection.TopKScores;
+import com.google.common.collect.ImmutableList;
+
+public class TopKScoresTest extends BaseUnitTest {
+
+    @Test
+    public void testOffer() {
+        TopKScores<String> scores = new TopKScores<>(3);
+        Assert.assertEquals(Double.NEGATIVE_INFINITY, scores.threshold(),
+                            0.0D);
+        Assert.assertFalse(scores.prunable(0.0D));
+
+        Assert.assertTrue(scores.offer("a", 0.5D));
+        Assert.assertTrue(scores.offer("b", 0.1D));
+        Assert.assertFalse(scores.offer("b", 0.9D));
+        Assert.assertTrue(scores.offer("c", 0.3D));
+        Assert.assertEquals(0.1D, scores.threshold(), 0.0D);
+
+        Assert.assertTrue(scores.offer("d", 0.7D));
+        Assert.assertFalse(scores.offer("e", 0.2D));
+        // The score equal to the threshold can't be kept
+        Assert.assertFalse(scores.offer("e", 0.3D));
+        Assert.assertEquals(0.3D, scores.threshold(), 0.0D);
+        Assert.assertTrue(scores.prunable(0.2D));
+        Assert.assertFalse(scores.prunable(0.3D));
+
+        // The evicted key can be offered again
+        Assert.assertTrue(scores.offer("b", 0.8D));
+        Assert.assertEquals(3, scores.size());
+        Assert.assertEquals(0.5D, scores.threshold(), 0.0D);
+    }
+
+    @Test
+    public void testToMap() {
+        TopKScores<String> scores = new TopKScores<>(3);
+        Assert.assertEquals(0, scores.toMap().size());
+
+        scores.offer("a", 0.5D);
+        scores.offer("b", 0.1D);
+        Assert.assertEquals(ImmutableList.of("a", "b"),
+                            ImmutableList.copyOf(scores.toMap().keySet()));
+
+        scores.offer("c", 0.3D);
+        scores.offer("d", 0.7D);
+        Map<String, Double> results = scores.toMap();
+        Assert.assertEquals(ImmutableList.of("d", "a", "c"),
+                            ImmutableList.copyOf(results.keySet()));
+        Assert.assertEquals(0.7D, results.get("d"), 0.0D);
+        Assert.assertEquals(0.5D, results.get("a"), 0.0D);
+        Assert.assertEquals(0.3D, results.get("c"), 0.0D);
+    }
+
+    @Test
+    public void testOfferConcurrent() {
+        int k = 10;
+        int size = 10000;
+        List<Double> values = new ArrayList<>(size);
+        Random random = new Random();
+        for (int i = 0; i < size; i++) {
+            values.add(random.nextDouble());
+        }
+        TopKScores<Integer> scores = new TopKScores<>(k);
+        runWithThreads(8, () -> {
+            for (int i = 0; i < size; i++) {
+                scores.offer(i, values.get(i));
+            }
+        });
+
+        List<Double> expected = new ArrayList<>(values);
+        expected.sort(Collections.reverseOrder());
+        expected = expected.subList(0, k);
+        Map<Integer, Double> results = scores.toMap();
+        Assert.assertEquals(expected, ImmutableList.copyOf(results.values()));
+        for (Map.Entry<Integer, Double> e : results.entrySet()) {
+            Assert.assertEquals(values.get(e.getKey()), e.getValue());
+        }
+        Assert.assertEquals(expected.get(k - 1), scores.threshold(), 0.0D);
+    }
+
+    @Test
+    public void testInvalidK() {
+        Assert.assertThrows(IllegalArgumentException.class, () -> {
+            new TopKScores<>(0);
+        }, e -> {
+            Assert.assertContains("The k of top scores must be > 0",
+                                  e.getMessage());
+        });
+    }
+}